@@ -26,7 +26,6 @@ import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
 import org.apache.commons.io.IOUtils;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
@@ -38,9 +37,7 @@ import org.talend.dataprep.api.service.command.transformation.SuggestDataSetActi
 import org.talend.dataprep.api.service.command.transformation.SuggestLookupActions;
 import org.talend.dataprep.command.CommandHelper;
 import org.talend.dataprep.command.GenericCommand;
-import org.talend.dataprep.command.dataset.DataSetGet;
 import org.talend.dataprep.command.dataset.DataSetSampleGet;
-import org.talend.dataprep.dataset.store.content.DataSetContentLimit;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.APIErrorCodes;
 import org.talend.dataprep.exception.error.CommonErrorCodes;
@@ -58,9 +55,6 @@ import io.swagger.annotations.ApiParam;
 @RestController
 public class DataSetAPI extends APIService {
 
-    @Autowired
-    DataSetContentLimit limit;
-
     /**
      * Create a dataset from request body content.
      *
@@ -168,12 +162,8 @@ public class DataSetAPI extends APIService {
             LOG.debug("Requesting dataset #{} (pool: {})...", id, getConnectionStats());
         }
         try {
-            HystrixCommand<InputStream> retrievalCommand;
-            if (limit.limitContentSize()) {
-                retrievalCommand = getCommand(DataSetGet.class, id);
-            } else {
-                retrievalCommand = getCommand(DataSetSampleGet.class, id);
-            }
+            // dataset is displayed from its sample (see export for the full content)
+            final HystrixCommand<InputStream> retrievalCommand = getCommand(DataSetSampleGet.class, id);
             return CommandHelper.toStreaming(retrievalCommand);
         } finally {
             if (LOG.isDebugEnabled()) {
@@ -196,12 +186,7 @@ public class DataSetAPI extends APIService {
         }
         final DataSetMetadata metadata;
         try {
-            final HystrixCommand<DataSetMetadata> getMetadataCommand;
-            if (limit.limitContentSize()) {
-                getMetadataCommand = getCommand(DataSetGetMetadata.class, id);
-            } else {
-                getMetadataCommand = getCommand(DataSetSampleGetMetadata.class, id);
-            }
+            final HystrixCommand<DataSetMetadata> getMetadataCommand = getCommand(DataSetSampleGetMetadata.class, id);
             metadata = getMetadataCommand.execute();
         } finally {
             if (LOG.isDebugEnabled()) {
@@ -34,7 +34,7 @@ import org.talend.dataprep.api.service.command.transformation.SuggestActionParam
 import org.talend.dataprep.api.service.command.transformation.SuggestColumnActions;
 import org.talend.dataprep.command.CommandHelper;
 import org.talend.dataprep.command.GenericCommand;
-import org.talend.dataprep.command.dataset.DataSetGet;
+import org.talend.dataprep.command.dataset.DataSetSampleGet;
 import org.talend.dataprep.command.preparation.PreparationDetailsGet;
 import org.talend.dataprep.metrics.Timed;
 
@@ -109,7 +109,7 @@ public class TransformAPI extends APIService {
             inputData = getCommand(PreparationGetContent.class, preparationId, dynamicParamsInput.getStepId(),
                     preparationDetailsGet);
         } else {
-            inputData = getCommand(DataSetGet.class, dynamicParamsInput.getDatasetId());
+            inputData = getCommand(DataSetSampleGet.class, dynamicParamsInput.getDatasetId());
         }
 
         // get params, passing content in the body
@@ -38,6 +38,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.talend.daikon.exception.json.JsonErrorCode;
 import org.talend.dataprep.api.dataset.DataSetGovernance;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
@@ -79,6 +80,50 @@ public class DataSetAPITest extends ApiServiceTestBase {
         assertThat(dataSetContent, sameJSONAs(expectedContent).allowingExtraUnexpectedFields());
     }
 
+    @Test
+    public void testDataSetGetReturnsSample() throws Exception {
+        // given a dataset with a sample of 10 rows (out of 100)
+        final Object sampleSize = ReflectionTestUtils.getField(contentStore, "sampleSize");
+        ReflectionTestUtils.setField(contentStore, "sampleSize", 10);
+        try {
+            final String dataSetId = createDataset("t-shirt_100.csv", "sampled", "text/csv");
+
+            // when
+            final String dataSetContent = when().get("/api/datasets/{id}", dataSetId).asString();
+
+            // then, content comes from the sample endpoint with the tdp ids of the full content
+            final List<Integer> tdpIds = from(dataSetContent).getList("records.tdpId", Integer.class);
+            assertThat(tdpIds, hasSize(10));
+            assertThat(tdpIds, everyItem(allOf(greaterThanOrEqualTo(1), lessThanOrEqualTo(100))));
+            assertThat(from(dataSetContent).getString("metadata.id"), is(dataSetId));
+        } finally {
+            ReflectionTestUtils.setField(contentStore, "sampleSize", sampleSize);
+        }
+    }
+
+    @Test
+    public void testDataSetSampleOnlyHasRowsWithinLimit() throws Exception {
+        // given a dataset with a sample of 10 rows taken from the first 20 rows (out of 100)
+        final Object sampleSize = ReflectionTestUtils.getField(contentStore, "sampleSize");
+        final Object recordsLimit = ReflectionTestUtils.getField(contentStore, "recordsLimit");
+        ReflectionTestUtils.setField(contentStore, "sampleSize", 10);
+        ReflectionTestUtils.setField(contentStore, "recordsLimit", 20L);
+        try {
+            final String dataSetId = createDataset("t-shirt_100.csv", "limited", "text/csv");
+
+            // when
+            final String dataSetContent = when().get("/api/datasets/{id}", dataSetId).asString();
+
+            // then, sample is full and only holds rows within limit
+            final List<Integer> tdpIds = from(dataSetContent).getList("records.tdpId", Integer.class);
+            assertThat(tdpIds, hasSize(10));
+            assertThat(tdpIds, everyItem(allOf(greaterThanOrEqualTo(1), lessThanOrEqualTo(20))));
+        } finally {
+            ReflectionTestUtils.setField(contentStore, "sampleSize", sampleSize);
+            ReflectionTestUtils.setField(contentStore, "recordsLimit", recordsLimit);
+        }
+    }
+
     @Test
     public void test_TDP_2052() throws Exception {
         // given a created dataset
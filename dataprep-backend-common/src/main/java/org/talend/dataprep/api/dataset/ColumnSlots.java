@@ -0,0 +1,108 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.api.dataset;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An append only dictionary that gives each column id a slot (an index in the values array of a {@link DataSetRow}).
+ * A dictionary is shared by all rows created from the same {@link RowMetadata} (and its clones), so a column id is
+ * resolved to a slot once for all rows. Slots are never removed nor reused: removing a value from a row simply empties
+ * its slot.
+ * <p>
+ * This class is thread safe: lookups are lock free, only the creation of a new slot is synchronized.
+ */
+final class ColumnSlots {
+
+    /** Column id to slot. */
+    private final Map<String, Integer> slots = new ConcurrentHashMap<>();
+
+    /** Slot to column id. */
+    private volatile String[] ids = new String[0];
+
+    /** Slots ordered by (alphabetical) column id, lazily computed. */
+    private volatile int[] sortedSlots = new int[0];
+
+    /**
+     * @param id A column id.
+     * @return The slot of the column id or <code>-1</code> if this id has no slot yet.
+     */
+    int slotOf(String id) {
+        final Integer slot = slots.get(id);
+        return slot == null ? -1 : slot;
+    }
+
+    /**
+     * @param id A column id.
+     * @return The slot of the column id, a new slot is allocated if this id has no slot yet.
+     */
+    int slotFor(String id) {
+        final Integer slot = slots.get(id);
+        if (slot != null) {
+            return slot;
+        }
+        synchronized (this) {
+            final Integer existing = slots.get(id);
+            if (existing != null) {
+                return existing;
+            }
+            final int newSlot = ids.length;
+            final String[] newIds = Arrays.copyOf(ids, newSlot + 1);
+            newIds[newSlot] = id;
+            ids = newIds;
+            // Publish slot only once id is visible
+            slots.put(id, newSlot);
+            return newSlot;
+        }
+    }
+
+    /**
+     * @param slot A slot previously returned by {@link #slotFor(String)}.
+     * @return The column id for this slot.
+     */
+    String idOf(int slot) {
+        return ids[slot];
+    }
+
+    /**
+     * @return The number of allocated slots.
+     */
+    int size() {
+        return ids.length;
+    }
+
+    /**
+     * @return All allocated slots, ordered by column id (alphabetical order).
+     */
+    int[] sortedSlots() {
+        final int[] current = sortedSlots;
+        final String[] currentIds = ids;
+        if (current.length == currentIds.length) {
+            return current;
+        }
+        final Integer[] sorted = new Integer[currentIds.length];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = i;
+        }
+        Arrays.sort(sorted, (slot1, slot2) -> currentIds[slot1].compareTo(currentIds[slot2]));
+        final int[] result = new int[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            result[i] = sorted[i];
+        }
+        sortedSlots = result;
+        return result;
+    }
+}
@@ -13,20 +13,23 @@
 
 package org.talend.dataprep.api.dataset;
 
-import static java.util.stream.StreamSupport.stream;
 import static org.talend.dataprep.api.dataset.diff.Flag.*;
 
 import java.util.*;
+import java.util.function.BiConsumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import org.apache.commons.lang.StringUtils;
 import org.talend.dataprep.api.dataset.diff.FlagNames;
 import org.talend.dataprep.api.type.Type;
 
 /**
- * A DataSetRow is a row of a dataset. Values in data set row are <b>alphabetically</b> ordered by name.
+ * A DataSetRow is a row of a dataset. Values in data set row are <b>alphabetically</b> ordered by name (unless the row
+ * is the result of {@link #order(List)}).
+ * <p>
+ * Values are stored in an array: each column id is resolved to a slot once by the {@link ColumnSlots} shared with the
+ * {@link RowMetadata} the row was created with, so reading or setting a value does not involve any string comparison.
  */
 public class DataSetRow implements Cloneable {
 
@@ -37,11 +40,23 @@ public class DataSetRow implements Cloneable {
      */
     public static final Predicate<Map.Entry<String, String>> SKIP_TDP_ID = e -> !DataSetRow.TDP_ID.equals(e.getKey());
 
+    /** Marker for a value explicitly set to <code>null</code> (an empty slot means there's no value). */
+    private static final String NULL_VALUE = new String(); // NOSONAR instance identity is used as marker
+
     /** Metadata information (columns...) about this DataSetRow */
     private RowMetadata rowMetadata;
 
-    /** Values of the dataset row. */
-    private SortedMap<String, String> values = new TreeMap<>();
+    /** Column id to slot dictionary used to store values (kept even if row metadata changes). */
+    private final ColumnSlots slots;
+
+    /** Values of the dataset row, indexed by slot. */
+    private String[] values;
+
+    /** Number of values in this row. */
+    private int size;
+
+    /** Slots in iteration order if row was ordered, <code>null</code> means alphabetical order. */
+    private int[] order;
 
     /** True if this row is deleted. */
     private boolean deleted;
@@ -52,12 +67,20 @@ public class DataSetRow implements Cloneable {
     /** Row id */
     private Long tdpId;
 
+    /** Parsed values, indexed by slot (allocated on first {@link #parse(String, ValueParser)}). */
+    private Object[] parsed;
+
+    /** The value each parsed value was parsed from: a parsed value is only valid while the slot holds this value. */
+    private String[] parsedFrom;
+
+    /** The parser of each parsed value. */
+    private ValueParser<?>[] parsers;
+
     /**
      * Constructor with values.
      */
     public DataSetRow(RowMetadata rowMetadata) {
-        this.rowMetadata = rowMetadata;
-        this.deleted = false;
+        this(rowMetadata, rowMetadata == null ? new ColumnSlots() : rowMetadata.getSlots());
     }
 
     /**
@@ -67,15 +90,26 @@ public class DataSetRow implements Cloneable {
      */
     public DataSetRow(RowMetadata rowMetadata, Map<String, ?> values) {
         this(rowMetadata);
-        values.forEach((k, v) -> this.values.put(k, String.valueOf(v)));
+        values.forEach((k, v) -> put(k, String.valueOf(v)));
     }
 
     public DataSetRow(Map<String, String> values) {
-        this.values.putAll(values);
+        this(toRowMetadata(values));
+        values.forEach(this::put);
+    }
+
+    private DataSetRow(RowMetadata rowMetadata, ColumnSlots slots) {
+        this.rowMetadata = rowMetadata;
+        this.slots = slots;
+        this.values = new String[slots.size()];
+        this.deleted = false;
+    }
+
+    private static RowMetadata toRowMetadata(Map<String, String> values) {
         List<ColumnMetadata> columns = values.keySet().stream() //
                 .map(columnName -> ColumnMetadata.Builder.column().name(columnName).type(Type.STRING).build()) //
                 .collect(Collectors.toList());
-        rowMetadata = new RowMetadata(columns);
+        return new RowMetadata(columns);
     }
 
     /**
@@ -92,7 +126,7 @@ public class DataSetRow implements Cloneable {
      * @param value - the value
      */
     public DataSetRow set(final String name, final String value) {
-        values.put(name, value);
+        put(name, value);
         return this;
     }
 
@@ -103,7 +137,89 @@ public class DataSetRow implements Cloneable {
      * @return - the value as string
      */
     public String get(final String id) {
-        return values.get(id);
+        return unwrap(rawValue(id));
+    }
+
+    /**
+     * Get the value associated with the provided key, parsed with <code>parser</code>. The parsed value is kept in the
+     * row so next calls with the same parser do not parse value again, as long as value does not change.
+     *
+     * @param id the column id.
+     * @param parser the parser of the value.
+     * @return the parsed value, <code>null</code> if there's no value or if value can't be parsed.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T parse(final String id, final ValueParser<T> parser) {
+        final int slot = slots.slotOf(id);
+        final String value = slot < 0 || slot >= values.length ? null : values[slot];
+        if (value == null || value == NULL_VALUE) { // NOSONAR identity comparison is intended
+            return parser.parse(null);
+        }
+        if (parsed == null || slot >= parsed.length) {
+            parsed = parsed == null ? new Object[values.length] : Arrays.copyOf(parsed, values.length);
+            parsedFrom = parsedFrom == null ? new String[values.length] : Arrays.copyOf(parsedFrom, values.length);
+            parsers = parsers == null ? new ValueParser<?>[values.length] : Arrays.copyOf(parsers, values.length);
+        } else if (parsedFrom[slot] == value && parsers[slot] == parser) { // NOSONAR identity comparison is intended
+            return (T) parsed[slot];
+        }
+        final T result = parser.parse(value);
+        parsed[slot] = result;
+        parsedFrom[slot] = value;
+        parsers[slot] = parser;
+        return result;
+    }
+
+    private void put(String id, String value) {
+        final int slot = slots.slotFor(id);
+        if (slot >= values.length) {
+            values = Arrays.copyOf(values, Math.max(slot + 1, slots.size()));
+        }
+        if (values[slot] == null) {
+            size++;
+        }
+        values[slot] = value == null ? NULL_VALUE : value;
+    }
+
+    /**
+     * @return The stored value for <code>id</code>: <code>null</code> if there's no value, {@link #NULL_VALUE} if value
+     * was set to <code>null</code>.
+     */
+    private String rawValue(String id) {
+        final int slot = slots.slotOf(id);
+        return slot < 0 || slot >= values.length ? null : values[slot];
+    }
+
+    private boolean containsKey(String id) {
+        return rawValue(id) != null;
+    }
+
+    private static String unwrap(String value) {
+        return value == NULL_VALUE ? null : value; // NOSONAR identity comparison is intended
+    }
+
+    /**
+     * Calls <code>consumer</code> with (id, value) of each value in this row, in this row's order.
+     */
+    private void forEachValue(BiConsumer<String, String> consumer) {
+        int remaining = size;
+        boolean[] visited = null;
+        if (order != null) {
+            visited = new boolean[values.length];
+            for (int slot : order) {
+                if (slot < values.length && values[slot] != null && !visited[slot]) {
+                    visited[slot] = true;
+                    remaining--;
+                    consumer.accept(slots.idOf(slot), unwrap(values[slot]));
+                }
+            }
+        }
+        if (remaining > 0) {
+            for (int slot : slots.sortedSlots()) {
+                if (slot < values.length && values[slot] != null && (visited == null || !visited[slot])) {
+                    consumer.accept(slots.idOf(slot), unwrap(values[slot]));
+                }
+            }
+        }
     }
 
     /**
@@ -139,18 +255,18 @@ public class DataSetRow implements Cloneable {
      */
     public Map<String, Object> values() {
 
-        final Map<String, Object> result = new LinkedHashMap<>(values.size() + 1);
+        final Map<String, Object> result = new LinkedHashMap<>(size + 1);
 
         // if not old value, no diff to compute
         if (this.oldValue == null) {
-            result.putAll(values);
+            forEachValue(result::put);
             return result;
         }
 
         // row is no more deleted : we write row values with the *NEW* flag
         if (oldValue.isDeleted() && !isDeleted()) {
             result.put(FlagNames.ROW_DIFF_KEY, NEW.getValue());
-            result.putAll(values);
+            forEachValue(result::put);
         }
         // row has been deleted : we write row values with the *DELETED* flag
         else if (!oldValue.isDeleted() && isDeleted()) {
@@ -165,32 +281,32 @@ public class DataSetRow implements Cloneable {
         final Map<String, Object> originalValues = oldValue.values();
 
         // compute the new value (column is not found in old value)
-        values.entrySet().stream().forEach(entry -> {
-            if (!originalValues.containsKey(entry.getKey())) {
-                diff.put(entry.getKey(), NEW.getValue());
+        forEachValue((id, value) -> {
+            if (!originalValues.containsKey(id)) {
+                diff.put(id, NEW.getValue());
             }
         });
 
         // compute the deleted values (column is deleted)
         originalValues.entrySet().stream().forEach(entry -> {
-            if (!values.containsKey(entry.getKey())) {
+            if (!containsKey(entry.getKey())) {
                 diff.put(entry.getKey(), DELETE.getValue());
                 // put back the original entry so that the value can be displayed
-                values.put(entry.getKey(), (String) entry.getValue());
+                put(entry.getKey(), (String) entry.getValue());
             }
         });
 
         // compute the update values (column is still here but value is different)
-        values.entrySet().stream().forEach(entry -> {
-            if (originalValues.containsKey(entry.getKey())) {
-                final Object originalValue = originalValues.get(entry.getKey());
-                if (!StringUtils.equals(entry.getValue(), (String) originalValue)) {
-                    diff.put(entry.getKey(), UPDATE.getValue());
+        forEachValue((id, value) -> {
+            if (originalValues.containsKey(id)) {
+                final Object originalValue = originalValues.get(id);
+                if (!StringUtils.equals(value, (String) originalValue)) {
+                    diff.put(id, UPDATE.getValue());
                 }
             }
         });
 
-        result.putAll(values);
+        forEachValue(result::put);
         if (!diff.isEmpty()) {
             result.put(FlagNames.DIFF_KEY, diff);
         }
@@ -213,7 +329,11 @@ public class DataSetRow implements Cloneable {
     public void clear() {
         deleted = false;
         oldValue = null;
-        values.clear();
+        Arrays.fill(values, null);
+        size = 0;
+        parsed = null;
+        parsedFrom = null;
+        parsers = null;
     }
 
     /**
@@ -221,7 +341,14 @@ public class DataSetRow implements Cloneable {
      */
     @Override
     public DataSetRow clone() {
-        final DataSetRow clone = new DataSetRow(rowMetadata, values);
+        final DataSetRow clone = new DataSetRow(rowMetadata, slots);
+        clone.values = Arrays.copyOf(values, values.length);
+        clone.size = size;
+        if (parsed != null) {
+            clone.parsed = Arrays.copyOf(parsed, parsed.length);
+            clone.parsedFrom = Arrays.copyOf(parsedFrom, parsedFrom.length);
+            clone.parsers = Arrays.copyOf(parsers, parsers.length);
+        }
         clone.setDeleted(this.isDeleted());
         clone.setTdpId(this.tdpId);
         return clone;
@@ -248,7 +375,20 @@ public class DataSetRow implements Cloneable {
         if (o == null || getClass() != o.getClass())
             return false;
         DataSetRow that = (DataSetRow) o;
-        return Objects.equals(deleted, that.deleted) && Objects.equals(values, that.values);
+        if (deleted != that.deleted || size != that.size) {
+            return false;
+        }
+        for (int slot = 0; slot < values.length; slot++) {
+            final String value = values[slot];
+            if (value != null) {
+                final String other = that.slots == slots ? (slot < that.values.length ? that.values[slot] : null)
+                        : that.rawValue(slots.idOf(slot));
+                if (other == null || (value == NULL_VALUE || other == NULL_VALUE ? value != other : !value.equals(other))) { // NOSONAR
+                    return false;
+                }
+            }
+        }
+        return true;
     }
 
     /**
@@ -256,12 +396,21 @@ public class DataSetRow implements Cloneable {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(deleted, values);
+        // Same as a Map<String, String> hash code so hash does not depend on slots
+        int valuesHash = 0;
+        for (int slot = 0; slot < values.length; slot++) {
+            if (values[slot] != null) {
+                valuesHash += Objects.hashCode(slots.idOf(slot)) ^ Objects.hashCode(unwrap(values[slot]));
+            }
+        }
+        return Objects.hash(deleted, valuesHash);
     }
 
     @Override
     public String toString() {
-        return "DataSetRow{" + "deleted=" + deleted + ", oldValue=" + oldValue + ", values=" + values + '}';
+        final Map<String, String> printedValues = new LinkedHashMap<>(size);
+        forEachValue(printedValues::put);
+        return "DataSetRow{" + "deleted=" + deleted + ", oldValue=" + oldValue + ", values=" + printedValues + '}';
     }
 
     /**
@@ -278,15 +427,21 @@ public class DataSetRow implements Cloneable {
         if (columns.isEmpty()) {
             return this;
         }
-        if (columns.size() < values.size()) {
-            throw new IllegalArgumentException("Expected " + values.size() + " columns but got " + columns.size());
+        if (columns.size() < size) {
+            throw new IllegalArgumentException("Expected " + size + " columns but got " + columns.size());
         }
+        final int[] columnsOrder = new int[columns.size()];
+        for (int i = 0; i < columnsOrder.length; i++) {
+            columnsOrder[i] = slots.slotFor(columns.get(i).getId());
+        }
+        return order(columnsOrder);
+    }
 
-        List<String> idIndexes = columns.stream().map(ColumnMetadata::getId).collect(Collectors.toList());
-        SortedMap<String, String> orderedValues = new TreeMap<>((id1, id2) -> idIndexes.indexOf(id1) - idIndexes.indexOf(id2));
-        orderedValues.putAll(values);
-        final DataSetRow dataSetRow = new DataSetRow(rowMetadata);
-        dataSetRow.values = orderedValues;
+    private DataSetRow order(int[] columnsOrder) {
+        final DataSetRow dataSetRow = new DataSetRow(rowMetadata, slots);
+        dataSetRow.values = Arrays.copyOf(values, Math.max(values.length, slots.size()));
+        dataSetRow.size = size;
+        dataSetRow.order = columnsOrder;
         return dataSetRow;
     }
 
@@ -297,7 +452,12 @@ public class DataSetRow implements Cloneable {
      * @return A new data set row for method with values ordered following its <code>columns</code>.
      */
     public DataSetRow order() {
-        return order(getRowMetadata().getColumns());
+        final RowMetadata metadata = getRowMetadata();
+        if (metadata.getSlots() == slots && !metadata.getColumns().isEmpty() && metadata.size() >= size) {
+            // Slots of row metadata columns are computed once for all rows
+            return order(metadata.getColumnSlots());
+        }
+        return order(metadata.getColumns());
     }
 
     /**
@@ -311,8 +471,10 @@ public class DataSetRow implements Cloneable {
     public boolean deleteColumnById(String id) {
         rowMetadata.deleteColumnById(id);
 
-        if (values.containsKey(id)) {
-            values.remove(id);
+        final int slot = slots.slotOf(id);
+        if (slot >= 0 && slot < values.length && values[slot] != null) {
+            values[slot] = null;
+            size--;
             return true;
         }
         return false;
@@ -327,15 +489,25 @@ public class DataSetRow implements Cloneable {
      */
     @SafeVarargs
     public final String[] toArray(Predicate<Map.Entry<String, String>>... filters) {
-        Stream<Map.Entry<String, String>> stream = stream(values.entrySet().spliterator(), false);
-        // Apply filters
-        for (Predicate<Map.Entry<String, String>> filter : filters) {
-            stream = stream.filter(filter);
-        }
-        // Get as string array the selected columns
-        final List<String> strings = stream.map(Map.Entry::getValue) //
-                .map(String::valueOf) //
-                .collect(Collectors.<String> toList());
+        final List<String> strings = new ArrayList<>(size);
+        if (filters.length == 0 || (filters.length == 1 && filters[0] == SKIP_TDP_ID)) {
+            // Fast path: no entry to build for filters
+            forEachValue((id, value) -> {
+                if (filters.length == 0 || !TDP_ID.equals(id)) {
+                    strings.add(String.valueOf(value));
+                }
+            });
+        } else {
+            forEachValue((id, value) -> {
+                final Map.Entry<String, String> entry = new AbstractMap.SimpleImmutableEntry<>(id, value);
+                for (Predicate<Map.Entry<String, String>> filter : filters) {
+                    if (!filter.test(entry)) {
+                        return;
+                    }
+                }
+                strings.add(String.valueOf(value));
+            });
+        }
         return strings.toArray(new String[strings.size()]);
     }
 
@@ -352,7 +524,15 @@ public class DataSetRow implements Cloneable {
      * <code>false</code> otherwise.
      */
     public boolean isEmpty() {
-        return values.isEmpty() || values.values().stream().filter(s -> !StringUtils.isEmpty(s)).count() == 0;
+        if (size == 0) {
+            return true;
+        }
+        for (String value : values) {
+            if (value != null && !StringUtils.isEmpty(unwrap(value))) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -414,6 +594,11 @@ public class DataSetRow implements Cloneable {
             return delegate.get(id);
         }
 
+        @Override
+        public <T> T parse(String id, ValueParser<T> parser) {
+            return delegate.parse(id, parser);
+        }
+
         @Override
         public boolean isDeleted() {
             return deleted;
@@ -474,6 +659,11 @@ public class DataSetRow implements Cloneable {
             return delegate.order(columns);
         }
 
+        @Override
+        public DataSetRow order() {
+            return delegate.order();
+        }
+
         @Override
         public Long getTdpId() {
             return delegate.getTdpId();
@@ -15,10 +15,7 @@ package org.talend.dataprep.api.dataset;
 
 import java.io.Serializable;
 import java.text.DecimalFormat;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
 
 import javax.annotation.Nonnull;
 
@@ -44,6 +41,15 @@ public class RowMetadata implements Serializable {
 
     private int nextId = 0;
 
+    /** Column id to column index, lazily built and reset on each change on columns. */
+    private transient Map<String, ColumnMetadata> columnsById;
+
+    /** Slot of each column (in columns order), lazily built and reset on each change on columns. */
+    private transient int[] columnSlots;
+
+    /** Column id to slot dictionary shared by the rows (and the clones of this metadata), lazily created. */
+    private transient ColumnSlots slots;
+
     /**
      * Default empty constructor.
      */
@@ -92,6 +98,7 @@ public class RowMetadata implements Serializable {
      * @param columnMetadata the metadata to set.
      */
     public void setColumns(List<ColumnMetadata> columnMetadata) {
+        columnsChanged();
         columns.clear();
         nextId = 0;
         columnMetadata.forEach(this::addColumn);
@@ -113,6 +120,7 @@ public class RowMetadata implements Serializable {
      */
     public ColumnMetadata deleteColumnById(String id) {
         ColumnMetadata column = getById(id);
+        columnsChanged();
         if (column != null && columns.remove(column)) {
             return column;
         }
@@ -125,6 +133,7 @@ public class RowMetadata implements Serializable {
             columnMetadata.setId(format.format(nextId));
         }
         columns.add(index, columnMetadata);
+        columnsChanged();
         nextId++;
         return columnMetadata;
     }
@@ -145,14 +154,63 @@ public class RowMetadata implements Serializable {
         if (wantedId == null) {
             return null;
         }
-        for (ColumnMetadata column : columns) {
-            if (wantedId.equals(column.getId())) {
-                return column;
+        Map<String, ColumnMetadata> index = columnsById;
+        if (index == null) {
+            index = new HashMap<>(columns.size() * 2);
+            for (ColumnMetadata column : columns) {
+                index.putIfAbsent(column.getId(), column);
+            }
+            columnsById = index;
+        }
+        final ColumnMetadata column = index.get(wantedId);
+        if (column != null && wantedId.equals(column.getId())) {
+            return column;
+        }
+        // Column id may have changed since index was built
+        for (ColumnMetadata current : columns) {
+            if (wantedId.equals(current.getId())) {
+                return current;
             }
         }
         return null;
     }
 
+    /**
+     * Resets the lazily computed column indexes, must be called after each change on columns.
+     */
+    private void columnsChanged() {
+        columnsById = null;
+        columnSlots = null;
+    }
+
+    /**
+     * @return The column id to slot dictionary to be used by {@link DataSetRow rows} described by this metadata.
+     */
+    ColumnSlots getSlots() {
+        ColumnSlots current = slots;
+        if (current == null) {
+            current = new ColumnSlots();
+            slots = current;
+        }
+        return current;
+    }
+
+    /**
+     * @return The slots (see {@link #getSlots()}) of this metadata columns, in the columns order.
+     */
+    int[] getColumnSlots() {
+        int[] current = columnSlots;
+        if (current == null) {
+            final ColumnSlots dictionary = getSlots();
+            current = new int[columns.size()];
+            for (int i = 0; i < current.length; i++) {
+                current[i] = dictionary.slotFor(columns.get(i).getId());
+            }
+            columnSlots = current;
+        }
+        return current;
+    }
+
     /**
      * Compute the diff from the given reference to this and update the diffFlag on each columnMetadata.
      * 
@@ -181,6 +239,7 @@ public class RowMetadata implements Serializable {
                 int position = findColumnPosition(reference.getColumns(), referenceColumn.getId());
                 referenceColumn.setDiffFlagValue(Flag.DELETE.getValue());
                 columns.add(position, referenceColumn);
+                columnsChanged();
             }
         });
 
@@ -274,6 +333,8 @@ public class RowMetadata implements Serializable {
         columns.forEach(col -> copyColumns.add(ColumnMetadata.Builder.column().copy(col).build()));
         final RowMetadata clone = new RowMetadata(new ArrayList<>(copyColumns));
         clone.nextId = nextId;
+        // Clones describe the same rows: share slots so rows can keep their values layout
+        clone.slots = getSlots();
         return clone;
     }
 }
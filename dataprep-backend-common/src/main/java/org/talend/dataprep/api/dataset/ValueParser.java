@@ -0,0 +1,47 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.api.dataset;
+
+import java.math.BigDecimal;
+
+import org.talend.daikon.number.BigDecimalParser;
+
+/**
+ * Parses cell values to typed values. Parsed values are kept by {@link DataSetRow#parse(String, ValueParser)} so that
+ * consecutive actions and filters on the same cell do not parse it again.
+ * <p>
+ * A parser must always return the same (immutable) result for the same value: rows reuse a parsed value as long as it
+ * was parsed by the same parser instance.
+ *
+ * @param <T> the type of the parsed values.
+ */
+@FunctionalInterface
+public interface ValueParser<T> {
+
+    /** Parser for numbers (see {@link BigDecimalParser#toBigDecimal(String)}). */
+    ValueParser<BigDecimal> NUMBER = value -> {
+        try {
+            return BigDecimalParser.toBigDecimal(value);
+        } catch (NumberFormatException e) {
+            // BigDecimalParser.toBigDecimal throws NumberFormatException when parsing null or NaN strings.
+            return null;
+        }
+    };
+
+    /**
+     * @param value the value to parse (may be <code>null</code>).
+     * @return the parsed value or <code>null</code> if value can't be parsed.
+     */
+    T parse(String value);
+}
@@ -17,7 +17,9 @@ import static org.talend.dataprep.api.dataset.DataSetRow.TDP_ID;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.BitSet;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
@@ -140,6 +142,59 @@ public class DataSetRowIterator implements Iterator<DataSetRow> {
         }
     }
 
+    /**
+     * Skips the next row without reading its values.
+     */
+    public void skip() {
+        try {
+            // Current token is the start of next row, or null if nothing was read yet
+            JsonToken token = parser.getCurrentToken() == null ? parser.nextToken() : parser.getCurrentToken();
+            while (token != null && token != JsonToken.START_OBJECT && token != JsonToken.END_ARRAY) {
+                token = parser.nextToken();
+            }
+            if (token == JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                parser.nextToken();
+            }
+            nextRowId++;
+        } catch (IOException e) {
+            throw new TDPException(CommonErrorCodes.UNABLE_TO_PARSE_JSON, e);
+        }
+    }
+
+    /**
+     * Returns the rows at the given positions, rows in between are skipped (see {@link #skip()}).
+     *
+     * @param positions The positions of the rows to return (from the next row of this iterator).
+     * @return An iterator over the selected rows (same row instance is reused as for {@link #next()}).
+     */
+    public Iterator<DataSetRow> select(BitSet positions) {
+        return new Iterator<DataSetRow>() {
+
+            private int position;
+
+            private int nextPosition = positions.nextSetBit(0);
+
+            @Override
+            public boolean hasNext() {
+                return nextPosition >= 0 && DataSetRowIterator.this.hasNext();
+            }
+
+            @Override
+            public DataSetRow next() {
+                for (; position < nextPosition && DataSetRowIterator.this.hasNext(); position++) {
+                    skip();
+                }
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                position++;
+                nextPosition = positions.nextSetBit(nextPosition + 1);
+                return DataSetRowIterator.this.next();
+            }
+        };
+    }
+
     /**
      * Set the string value and deal with the TDP-ID case.
      *
@@ -110,6 +110,22 @@ public class StatisticsAdapter {
         genericAdapt(columns, results, filter);
     }
 
+    /**
+     * Extract data type analysis result only and inject them in columns metadata. Data type occurrences are counted as
+     * values are analyzed, so unlike semantic types, they can be adapted before analysis ends.
+     *
+     * @param columns The columns metadata
+     * @param results The (possibly partial) analysis results
+     */
+    public void adaptTypes(List<ColumnMetadata> columns, List<Analyzers.Result> results) {
+        final Iterator<Analyzers.Result> resultIterator = results.iterator();
+        columns.forEach(c -> {
+            if (resultIterator.hasNext()) {
+                injectDataTypeAnalysis(c, resultIterator.next());
+            }
+        });
+    }
+
     /**
      * Extract analysis result and inject them in columns metadata
      *
@@ -0,0 +1,178 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.api.filter;
+
+import java.util.BitSet;
+import java.util.function.Predicate;
+
+import org.talend.dataprep.api.dataset.DataSetRow;
+import org.talend.dataprep.api.dataset.ValueParser;
+
+/**
+ * A compiled filter: all static work (parsing of constants, formatters, column resolution...) is done when filter is
+ * built, so evaluation only reads and tests row values.
+ * <p>
+ * In addition to the {@link Predicate} contract, filters on values can be evaluated on a {@link RowIndex} (see
+ * {@link #filter(RowIndex)}), without reading rows at all.
+ */
+public abstract class RowFilter implements Predicate<DataSetRow> {
+
+    /**
+     * Evaluates this filter on all the rows of an index.
+     *
+     * @param index The index of the rows to filter.
+     * @return The positions of the rows that match this filter, <code>null</code> if this filter can't be evaluated on
+     * the index (rows must then be tested one by one).
+     */
+    public BitSet filter(RowIndex index) {
+        return null;
+    }
+
+    /**
+     * @param predicate A predicate on rows.
+     * @return A filter that evaluates the predicate.
+     */
+    public static RowFilter of(Predicate<DataSetRow> predicate) {
+        if (predicate instanceof RowFilter) {
+            return (RowFilter) predicate;
+        }
+        return new RowFilter() {
+
+            @Override
+            public boolean test(DataSetRow row) {
+                return predicate.test(row);
+            }
+        };
+    }
+
+    /**
+     * @param columnId A column id.
+     * @param predicate A predicate on values of the column.
+     * @return A filter that evaluates the predicate on the values of the column.
+     */
+    public static RowFilter onValue(String columnId, Predicate<String> predicate) {
+        return new RowFilter() {
+
+            @Override
+            public boolean test(DataSetRow row) {
+                return predicate.test(row.get(columnId));
+            }
+
+            @Override
+            public BitSet filter(RowIndex index) {
+                return index.select(columnId, predicate);
+            }
+        };
+    }
+
+    /**
+     * @param columnId A column id.
+     * @param parser The parser of the values of the column.
+     * @param predicate A predicate on parsed values of the column (parsed value is <code>null</code> if value can't be
+     * parsed).
+     * @return A filter that evaluates the predicate on the parsed values of the column (values are parsed with
+     * {@link DataSetRow#parse(String, ValueParser)}).
+     */
+    public static <T> RowFilter onValue(String columnId, ValueParser<T> parser, Predicate<T> predicate) {
+        return new RowFilter() {
+
+            @Override
+            public boolean test(DataSetRow row) {
+                return predicate.test(row.parse(columnId, parser));
+            }
+
+            @Override
+            public BitSet filter(RowIndex index) {
+                return index.select(columnId, v -> predicate.test(parser.parse(v)));
+            }
+        };
+    }
+
+    /**
+     * @return A filter that matches rows that match both <code>left</code> and <code>right</code>. When rows are tested
+     * one by one, <code>right</code> is only evaluated on rows that match <code>left</code>; on a {@link RowIndex},
+     * both are evaluated on all rows.
+     */
+    public static RowFilter and(RowFilter left, RowFilter right) {
+        return new RowFilter() {
+
+            @Override
+            public boolean test(DataSetRow row) {
+                return left.test(row) && right.test(row);
+            }
+
+            @Override
+            public BitSet filter(RowIndex index) {
+                final BitSet selection = left.filter(index);
+                final BitSet rightSelection = selection == null ? null : right.filter(index);
+                if (rightSelection == null) {
+                    return null;
+                }
+                selection.and(rightSelection);
+                return selection;
+            }
+        };
+    }
+
+    /**
+     * @return A filter that matches rows that match <code>left</code> or <code>right</code>. When rows are tested one
+     * by one, <code>right</code> is only evaluated on rows that don't match <code>left</code>; on a {@link RowIndex},
+     * both are evaluated on all rows.
+     */
+    public static RowFilter or(RowFilter left, RowFilter right) {
+        return new RowFilter() {
+
+            @Override
+            public boolean test(DataSetRow row) {
+                return left.test(row) || right.test(row);
+            }
+
+            @Override
+            public BitSet filter(RowIndex index) {
+                final BitSet selection = left.filter(index);
+                final BitSet rightSelection = selection == null ? null : right.filter(index);
+                if (rightSelection == null) {
+                    return null;
+                }
+                selection.or(rightSelection);
+                return selection;
+            }
+        };
+    }
+
+    /**
+     * @return A filter that matches rows that don't match <code>filter</code>.
+     */
+    public static RowFilter not(RowFilter filter) {
+        return new RowFilter() {
+
+            @Override
+            public boolean test(DataSetRow row) {
+                return !filter.test(row);
+            }
+
+            @Override
+            public BitSet filter(RowIndex index) {
+                final BitSet matches = filter.filter(index);
+                if (matches == null) {
+                    return null;
+                }
+                final BitSet selection = new BitSet(index.size());
+                selection.set(0, index.size());
+                selection.andNot(matches);
+                return selection;
+            }
+        };
+    }
+}
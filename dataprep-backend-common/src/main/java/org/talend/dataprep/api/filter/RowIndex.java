@@ -0,0 +1,185 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.api.filter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * An index of the values of rows stored as a JSON array (as read by a
+ * {@link org.talend.dataprep.api.dataset.json.DataSetRowIterator}), used to evaluate filters without reading the rows
+ * (see {@link RowFilter#filter(RowIndex)}).
+ * <p>
+ * Columns are indexed on first use: the distinct values of the column are stored once in a dictionary, and the value
+ * of each row is stored as its position in the dictionary. A predicate on values is then evaluated once per distinct
+ * value, and the positions of the matching rows are returned as a {@link BitSet}.
+ * <p>
+ * An index is thread safe.
+ */
+public class RowIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RowIndex.class);
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    /** The rows content (returns <code>null</code> if rows are no longer available). */
+    private final Supplier<InputStream> rows;
+
+    /** The indexed columns, by column id. */
+    private final Map<String, ColumnIndex> columns = new HashMap<>();
+
+    /** Number of rows (-1 until a column is indexed). */
+    private int size = -1;
+
+    /**
+     * Constructor.
+     *
+     * @param rows The rows content, read each time a column is indexed (supplier returns <code>null</code> if rows are
+     * no longer available).
+     */
+    public RowIndex(Supplier<InputStream> rows) {
+        this.rows = rows;
+    }
+
+    /**
+     * Evaluates a predicate on the values of a column.
+     *
+     * @param columnId The column id.
+     * @param predicate A predicate on values of the column (value is <code>null</code> for rows without value).
+     * @return The positions of the rows whose value matches the predicate, <code>null</code> if rows are no longer
+     * available.
+     */
+    public BitSet select(String columnId, Predicate<String> predicate) {
+        final ColumnIndex column = column(columnId);
+        if (column == null) {
+            return null;
+        }
+        final boolean[] matches = new boolean[column.dictionary.length];
+        for (int i = 0; i < matches.length; i++) {
+            matches[i] = predicate.test(column.dictionary[i]);
+        }
+        final BitSet selection = new BitSet(column.codes.length);
+        for (int row = 0; row < column.codes.length; row++) {
+            if (matches[column.codes[row]]) {
+                selection.set(row);
+            }
+        }
+        return selection;
+    }
+
+    /**
+     * @return The number of rows, -1 if not known yet (no column was indexed).
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * @return The index of a column, column is indexed if needed (<code>null</code> if rows are no longer available).
+     */
+    private synchronized ColumnIndex column(String columnId) {
+        ColumnIndex column = columns.get(columnId);
+        if (column == null) {
+            column = index(columnId);
+            if (column != null) {
+                columns.put(columnId, column);
+                size = column.codes.length;
+            }
+        }
+        return column;
+    }
+
+    /**
+     * Reads the rows to index the values of a column (values of other columns are skipped).
+     *
+     * @param columnId The column id.
+     * @return The index of the column, <code>null</code> if rows are no longer available.
+     */
+    private ColumnIndex index(String columnId) {
+        final long start = System.currentTimeMillis();
+        try (InputStream content = rows.get()) {
+            if (content == null) {
+                return null;
+            }
+            final Map<String, Integer> codes = new HashMap<>();
+            final List<String> dictionary = new ArrayList<>();
+            int[] rowCodes = new int[Math.max(size, 16)];
+            int count = 0;
+            try (JsonParser parser = FACTORY.createParser(content)) {
+                if (parser.nextToken() != JsonToken.START_ARRAY) {
+                    return null;
+                }
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    String value = null;
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        final boolean indexed = columnId.equals(parser.getCurrentName());
+                        final JsonToken token = parser.nextToken();
+                        if (indexed && token == JsonToken.VALUE_STRING) {
+                            value = parser.getText();
+                        } else if (indexed && token == JsonToken.VALUE_NULL) {
+                            // Same as DataSetRowIterator
+                            value = StringUtils.EMPTY;
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                    Integer code = codes.get(value);
+                    if (code == null) {
+                        code = dictionary.size();
+                        codes.put(value, code);
+                        dictionary.add(value);
+                    }
+                    if (count == rowCodes.length) {
+                        rowCodes = Arrays.copyOf(rowCodes, count * 2);
+                    }
+                    rowCodes[count++] = code;
+                }
+            }
+            LOGGER.debug("Column #{} indexed ({} rows, {} distinct values) in {} ms.", columnId, count, dictionary.size(),
+                    System.currentTimeMillis() - start);
+            return new ColumnIndex(dictionary.toArray(new String[dictionary.size()]), Arrays.copyOf(rowCodes, count));
+        } catch (IOException e) {
+            LOGGER.debug("Unable to index column #{}.", columnId, e);
+            return null;
+        }
+    }
+
+    /**
+     * The values of a column.
+     */
+    private static class ColumnIndex {
+
+        /** The distinct values of the column. */
+        private final String[] dictionary;
+
+        /** The value of each row (as position in dictionary). */
+        private final int[] codes;
+
+        private ColumnIndex(String[] dictionary, int[] codes) {
+            this.dictionary = dictionary;
+            this.codes = codes;
+        }
+    }
+}
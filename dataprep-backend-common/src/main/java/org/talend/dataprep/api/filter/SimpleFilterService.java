@@ -16,14 +16,20 @@ package org.talend.dataprep.api.filter;
 import static org.apache.commons.lang.StringUtils.isEmpty;
 import static org.apache.commons.lang.StringUtils.isNotEmpty;
 
+import java.text.Format;
 import java.text.ParseException;
 import java.time.DateTimeException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiPredicate;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.math.NumberUtils;
@@ -35,6 +41,7 @@ import org.talend.daikon.number.BigDecimalParser;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.DataSetRow;
 import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.ValueParser;
 import org.talend.dataprep.api.type.Type;
 import org.talend.dataprep.date.DateManipulator;
 import org.talend.dataprep.exception.TDPException;
@@ -44,6 +51,10 @@ import org.talend.dataprep.transformation.api.action.metadata.date.DateParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+/**
+ * Builds {@link RowFilter filters} from JSON filter definitions. Filters are compiled: values, patterns and columns
+ * of the definition are parsed and resolved once when filter is built, not for each row.
+ */
 @Service
 public class SimpleFilterService implements FilterService {
 
@@ -83,9 +94,9 @@ public class SimpleFilterService implements FilterService {
     private DateParser dateParser;
 
     @Override
-    public Predicate<DataSetRow> build(String filterAsString, RowMetadata rowMetadata) {
+    public RowFilter build(String filterAsString, RowMetadata rowMetadata) {
         if (isEmpty(filterAsString)) {
-            return r -> true;
+            return RowFilter.of(r -> true);
         }
         try {
             ObjectMapper mapper = new ObjectMapper();
@@ -101,7 +112,7 @@ public class SimpleFilterService implements FilterService {
         }
     }
 
-    private Predicate<DataSetRow> buildFilter(JsonNode currentNode, RowMetadata rowMetadata) {
+    private RowFilter buildFilter(JsonNode currentNode, RowMetadata rowMetadata) {
         final Iterator<JsonNode> children = currentNode.elements();
         final JsonNode currentNodeContent = children.next();
         final String columnId = currentNodeContent.has("field") ? currentNodeContent.get("field").asText() : null;
@@ -155,11 +166,11 @@ public class SimpleFilterService implements FilterService {
      * @param rowMetadata Row metadata to used to obtain information (valid/invalid, types...)
      * @return the AND predicate
      */
-    private Predicate<DataSetRow> createAndPredicate(final JsonNode nodeContent, RowMetadata rowMetadata) {
+    private RowFilter createAndPredicate(final JsonNode nodeContent, RowMetadata rowMetadata) {
         checkValidMultiPredicate(nodeContent);
-        final Predicate<DataSetRow> leftFilter = buildFilter(nodeContent.get(0), rowMetadata);
-        final Predicate<DataSetRow> rightFilter = buildFilter(nodeContent.get(1), rowMetadata);
-        return leftFilter.and(rightFilter);
+        final RowFilter leftFilter = buildFilter(nodeContent.get(0), rowMetadata);
+        final RowFilter rightFilter = buildFilter(nodeContent.get(1), rowMetadata);
+        return RowFilter.and(leftFilter, rightFilter);
     }
 
     /**
@@ -169,11 +180,11 @@ public class SimpleFilterService implements FilterService {
      * @param rowMetadata Row metadata to used to obtain information (valid/invalid, types...)
      * @return the OR predicate
      */
-    private Predicate<DataSetRow> createOrPredicate(final JsonNode nodeContent, RowMetadata rowMetadata) {
+    private RowFilter createOrPredicate(final JsonNode nodeContent, RowMetadata rowMetadata) {
         checkValidMultiPredicate(nodeContent);
-        final Predicate<DataSetRow> leftFilter = buildFilter(nodeContent.get(0), rowMetadata);
-        final Predicate<DataSetRow> rightFilter = buildFilter(nodeContent.get(1), rowMetadata);
-        return leftFilter.or(rightFilter);
+        final RowFilter leftFilter = buildFilter(nodeContent.get(0), rowMetadata);
+        final RowFilter rightFilter = buildFilter(nodeContent.get(1), rowMetadata);
+        return RowFilter.or(leftFilter, rightFilter);
     }
 
     /**
@@ -183,14 +194,14 @@ public class SimpleFilterService implements FilterService {
      * @param rowMetadata Row metadata to used to obtain information (valid/invalid, types...)
      * @return The NOT predicate
      */
-    private Predicate<DataSetRow> createNotPredicate(final JsonNode nodeContent, RowMetadata rowMetadata) {
+    private RowFilter createNotPredicate(final JsonNode nodeContent, RowMetadata rowMetadata) {
         if (!nodeContent.isObject()) {
             throw new IllegalArgumentException("Unsupported query, malformed 'not' (expected 1 object child).");
         }
         if (nodeContent.size() == 0) {
             throw new IllegalArgumentException("Unsupported query, malformed 'not' (object child is empty).");
         }
-        return buildFilter(nodeContent, rowMetadata).negate();
+        return RowFilter.not(buildFilter(nodeContent, rowMetadata));
     }
 
     /**
@@ -203,10 +214,15 @@ public class SimpleFilterService implements FilterService {
      * @param value The compare value
      * @return The eq predicate
      */
-    private Predicate<DataSetRow> createEqualsPredicate(final JsonNode node, final String columnId, final String value) {
+    private RowFilter createEqualsPredicate(final JsonNode node, final String columnId, final String value) {
         checkValidValue(node, value);
-        return safeNumber(
-                r -> StringUtils.equals(r.get(columnId), value) || NumberUtils.compare(toBigDecimal(r.get(columnId)), toBigDecimal(value)) == 0);
+        final Double number = toNumber(value);
+        if (number == null) {
+            return RowFilter.onValue(columnId, v -> StringUtils.equals(v, value));
+        }
+        return RowFilter.or(RowFilter.onValue(columnId, v -> StringUtils.equals(v, value)), //
+                RowFilter.onValue(columnId, ValueParser.NUMBER,
+                        n -> n != null && NumberUtils.compare(n.doubleValue(), number) == 0));
     }
 
     /**
@@ -217,9 +233,9 @@ public class SimpleFilterService implements FilterService {
      * @param value The compare value
      * @return The gt predicate
      */
-    private Predicate<DataSetRow> createGreaterThanPredicate(final JsonNode node, final String columnId, final String value) {
+    private RowFilter createGreaterThanPredicate(final JsonNode node, final String columnId, final String value) {
         checkValidValue(node, value);
-        return safeNumber(r -> toBigDecimal(r.get(columnId)) > toBigDecimal(value));
+        return createNumberPredicate(columnId, value, (columnValue, number) -> columnValue > number);
     }
 
     /**
@@ -230,9 +246,9 @@ public class SimpleFilterService implements FilterService {
      * @param value The compare value
      * @return The lt predicate
      */
-    private Predicate<DataSetRow> createLowerThanPredicate(final JsonNode node, final String columnId, final String value) {
+    private RowFilter createLowerThanPredicate(final JsonNode node, final String columnId, final String value) {
         checkValidValue(node, value);
-        return safeNumber(r -> toBigDecimal(r.get(columnId)) < toBigDecimal(value));
+        return createNumberPredicate(columnId, value, (columnValue, number) -> columnValue < number);
     }
 
     /**
@@ -243,9 +259,9 @@ public class SimpleFilterService implements FilterService {
      * @param value The compare value
      * @return The gte predicate
      */
-    private Predicate<DataSetRow> createGreaterOrEqualsPredicate(final JsonNode node, final String columnId, final String value) {
+    private RowFilter createGreaterOrEqualsPredicate(final JsonNode node, final String columnId, final String value) {
         checkValidValue(node, value);
-        return safeNumber(r -> toBigDecimal(r.get(columnId)) >= toBigDecimal(value));
+        return createNumberPredicate(columnId, value, (columnValue, number) -> columnValue >= number);
     }
 
     /**
@@ -256,9 +272,26 @@ public class SimpleFilterService implements FilterService {
      * @param value The compare value
      * @return The lte predicate
      */
-    private Predicate<DataSetRow> createLowerOrEqualsPredicate(final JsonNode node, final String columnId, final String value) {
+    private RowFilter createLowerOrEqualsPredicate(final JsonNode node, final String columnId, final String value) {
         checkValidValue(node, value);
-        return safeNumber(r -> toBigDecimal(r.get(columnId)) <= toBigDecimal(value));
+        return createNumberPredicate(columnId, value, (columnValue, number) -> columnValue <= number);
+    }
+
+    /**
+     * Create a predicate that compares the number value of the var to a value (parsed once).
+     *
+     * @param columnId The column id
+     * @param value The compare value
+     * @param comparison The comparison between the var and the value
+     * @return The comparison predicate, a predicate that never matches if value is not a number
+     */
+    private RowFilter createNumberPredicate(final String columnId, final String value,
+            final BiPredicate<Double, Double> comparison) {
+        final Double number = toNumber(value);
+        if (number == null) {
+            return RowFilter.of(r -> false);
+        }
+        return RowFilter.onValue(columnId, ValueParser.NUMBER, n -> n != null && comparison.test(n.doubleValue(), number));
     }
 
     /**
@@ -269,9 +302,9 @@ public class SimpleFilterService implements FilterService {
      * @param value The contained value
      * @return The contains predicate
      */
-    private Predicate<DataSetRow> createContainsPredicate(final JsonNode node, final String columnId, final String value) {
+    private RowFilter createContainsPredicate(final JsonNode node, final String columnId, final String value) {
         checkValidValue(node, value);
-        return r -> StringUtils.containsIgnoreCase(r.get(columnId), value);
+        return RowFilter.onValue(columnId, v -> StringUtils.containsIgnoreCase(v, value));
     }
 
     /**
@@ -282,9 +315,9 @@ public class SimpleFilterService implements FilterService {
      * @param value The value to match
      * @return The match predicate
      */
-    private Predicate<DataSetRow> createMatchesPredicate(final JsonNode node, final String columnId, final String value) {
+    private RowFilter createMatchesPredicate(final JsonNode node, final String columnId, final String value) {
         checkValidValue(node, value);
-        return r -> matches(r.get(columnId), value);
+        return RowFilter.onValue(columnId, matches(value));
     }
 
     /**
@@ -294,12 +327,9 @@ public class SimpleFilterService implements FilterService {
      * @param rowMetadata Row metadata to used to obtain information (valid/invalid, types...)
      * @return The invalid value predicate
      */
-    private Predicate<DataSetRow> createInvalidPredicate(final String columnId, RowMetadata rowMetadata) {
-        return r -> {
-            final Set<String> invalidValues = getInvalidValues(columnId, rowMetadata);
-            final String columnValue = r.get(columnId);
-            return invalidValues.contains(columnValue);
-        };
+    private RowFilter createInvalidPredicate(final String columnId, RowMetadata rowMetadata) {
+        final Supplier<ColumnMetadata> column = columnOf(columnId, rowMetadata);
+        return RowFilter.onValue(columnId, v -> getInvalidValues(column.get()).contains(v));
     }
 
     /**
@@ -309,12 +339,9 @@ public class SimpleFilterService implements FilterService {
      * @param rowMetadata Row metadata to used to obtain information (valid/invalid, types...)
      * @return The valid value predicate
      */
-    private Predicate<DataSetRow> createValidPredicate(final String columnId, RowMetadata rowMetadata) {
-        return r -> {
-            final Set<String> invalidValues = getInvalidValues(columnId, rowMetadata);
-            final String columnValue = r.get(columnId);
-            return isNotEmpty(columnValue) && !invalidValues.contains(columnValue);
-        };
+    private RowFilter createValidPredicate(final String columnId, RowMetadata rowMetadata) {
+        final Supplier<ColumnMetadata> column = columnOf(columnId, rowMetadata);
+        return RowFilter.onValue(columnId, v -> isNotEmpty(v) && !getInvalidValues(column.get()).contains(v));
     }
 
     /**
@@ -323,8 +350,8 @@ public class SimpleFilterService implements FilterService {
      * @param columnId The column id
      * @return The empty value predicate
      */
-    private Predicate<DataSetRow> createEmptyPredicate(final String columnId) {
-        return r -> isEmpty(r.get(columnId));
+    private RowFilter createEmptyPredicate(final String columnId) {
+        return RowFilter.onValue(columnId, StringUtils::isEmpty);
     }
 
     /**
@@ -334,18 +361,27 @@ public class SimpleFilterService implements FilterService {
      * @param nodeContent The node content that contains min/max values
      * @return The range predicate
      */
-    private Predicate<DataSetRow> createRangePredicate(final String columnId, final JsonNode nodeContent, final RowMetadata rowMetadata) {
+    private RowFilter createRangePredicate(final String columnId, final JsonNode nodeContent, final RowMetadata rowMetadata) {
         final String start = nodeContent.get("start").asText();
         final String end = nodeContent.get("end").asText();
-        return r -> {
-            final String columnType = rowMetadata.getById(columnId).getType();
-            Type parsedType = Type.get(columnType);
-            if (Type.DATE.isAssignableFrom(parsedType)) {
-                return createDateRangePredicate(columnId, start, end, rowMetadata).test(r);
-            } else {
-                // Assume range can be parsed as number (may happen if column is currently marked as string, but will
-                // contain some numbers).
-                return createNumberRangePredicate(columnId, start, end).test(r);
+        final Supplier<ColumnMetadata> column = columnOf(columnId, rowMetadata);
+        final RowFilter dateRange = compileOrFail(() -> createDateRangePredicate(columnId, start, end, column));
+        final RowFilter numberRange = compileOrFail(() -> createNumberRangePredicate(columnId, start, end));
+        final Map<String, Boolean> isDate = new ConcurrentHashMap<>();
+        // Assume range can be parsed as number if column is not a date (may happen if column is currently marked as
+        // string, but will contain some numbers).
+        final Supplier<RowFilter> range = () -> isDate.computeIfAbsent(column.get().getType(),
+                t -> Type.DATE.isAssignableFrom(Type.get(t))) ? dateRange : numberRange;
+        return new RowFilter() {
+
+            @Override
+            public boolean test(DataSetRow row) {
+                return range.get().test(row);
+            }
+
+            @Override
+            public BitSet filter(RowIndex index) {
+                return range.get().filter(index);
             }
         };
     }
@@ -356,9 +392,11 @@ public class SimpleFilterService implements FilterService {
      * @param columnId The column id
      * @param start The start value
      * @param end The end value
+     * @param column The column metadata
      * @return The date range predicate
      */
-    private Predicate<DataSetRow> createDateRangePredicate(final String columnId, final String start, final String end, final RowMetadata rowMetadata) {
+    private Predicate<DataSetRow> createDateRangePredicate(final String columnId, final String start, final String end,
+            final Supplier<ColumnMetadata> column) {
         try {
             final long minTimestamp = Long.parseLong(start);
             final long maxTimestamp = Long.parseLong(end);
@@ -367,8 +405,7 @@ public class SimpleFilterService implements FilterService {
             final LocalDateTime maxDate = dateManipulator.fromEpochMillisecondsWithSystemOffset(maxTimestamp);
 
             return safeDate(r -> {
-                final ColumnMetadata columnMetadata = rowMetadata.getById(columnId);
-                final LocalDateTime columnValue = dateParser.parse(r.get(columnId), columnMetadata);
+                final LocalDateTime columnValue = dateParser.parse(r, column.get());
                 return minDate.compareTo(columnValue) == 0 || (minDate.isBefore(columnValue) && maxDate.isAfter(columnValue));
             });
         } catch (Exception e) {
@@ -386,12 +423,15 @@ public class SimpleFilterService implements FilterService {
      * @param end The end value
      * @return The number range predicate
      */
-    private Predicate<DataSetRow> createNumberRangePredicate(final String columnId, final String start, final String end) {
+    private RowFilter createNumberRangePredicate(final String columnId, final String start, final String end) {
         try {
             final double min = toBigDecimal(start);
             final double max = toBigDecimal(end);
-            return safeNumber(r -> {
-                final double columnValue = toBigDecimal(r.get(columnId));
+            return RowFilter.onValue(columnId, ValueParser.NUMBER, n -> {
+                if (n == null) {
+                    return false;
+                }
+                final double columnValue = n.doubleValue();
                 return NumberUtils.compare(columnValue, min) == 0 || (columnValue > min && columnValue < max);
             });
         } catch (Exception e) {
@@ -401,13 +441,45 @@ public class SimpleFilterService implements FilterService {
     }
 
     /**
-     * Get the invalid value collection on a specific column
+     * Compiles a predicate, if compilation fails, the error is reported when the predicate is evaluated (so a filter
+     * is only rejected when the failing predicate is needed).
+     *
+     * @param compiler The predicate compilation.
+     * @return The compiled predicate or a predicate that throws the compilation error.
+     */
+    private static RowFilter compileOrFail(Supplier<? extends Predicate<DataSetRow>> compiler) {
+        try {
+            return RowFilter.of(compiler.get());
+        } catch (IllegalArgumentException e) {
+            return RowFilter.of(r -> {
+                throw e;
+            });
+        }
+    }
+
+    /**
+     * Resolves a column once: column is looked up in row metadata until it exists.
      *
      * @param columnId The column id
-     * @return The invalid values for the specified column
+     * @param rowMetadata Row metadata where column is defined
+     * @return A supplier of the column metadata (<code>null</code> if column does not exist).
      */
-    private Set<String> getInvalidValues(final String columnId, final RowMetadata rowMetadata) {
+    private static Supplier<ColumnMetadata> columnOf(final String columnId, final RowMetadata rowMetadata) {
         final ColumnMetadata column = rowMetadata.getById(columnId);
+        if (column != null) {
+            return () -> column;
+        }
+        return () -> rowMetadata.getById(columnId);
+    }
+
+    /**
+     * Get the invalid value collection on a specific column. Invalid values are read on each call as they may be
+     * updated during transformation.
+     *
+     * @param column The column (may be <code>null</code>)
+     * @return The invalid values for the specified column
+     */
+    private static Set<String> getInvalidValues(final ColumnMetadata column) {
         if (column != null) {
             return column.getQuality().getInvalidValues();
         }
@@ -440,65 +512,74 @@ public class SimpleFilterService implements FilterService {
     }
 
     /**
-     * Test a string value against a pattern returned during value analysis.
+     * Compiles a pattern returned during value analysis to a predicate on string values.
      *
-     * @param value A string value. May be null.
      * @param pattern A pattern as returned in value analysis.
-     * @return <code>true</code> if value matches, <code>false</code> otherwise.
+     * @return A predicate that returns <code>true</code> if value matches, <code>false</code> otherwise.
      */
-    private boolean matches(String value, String pattern) {
-        if (value == null && pattern == null) {
-            return true;
-        }
-        if (value == null) {
-            return false;
-        }
+    private static Predicate<String> matches(String pattern) {
         // Character based patterns
         if (StringUtils.containsAny(pattern, new char[] { 'A', 'a', '9' })) {
-            if (value.length() != pattern.length()) {
-                return false;
-            }
-            final char[] valueArray = value.toCharArray();
             final char[] patternArray = pattern.toCharArray();
-            for (int i = 0; i < valueArray.length; i++) {
-                if (patternArray[i] == 'A') {
-                    if (!Character.isUpperCase(valueArray[i])) {
-                        return false;
-                    }
-                } else if (patternArray[i] == 'a') {
-                    if (!Character.isLowerCase(valueArray[i])) {
-                        return false;
-                    }
-                } else if (patternArray[i] == '9') {
-                    if (!Character.isDigit(valueArray[i])) {
-                        return false;
-                    }
-                } else {
-                    if (valueArray[i] != patternArray[i]) {
-                        return false;
-                    }
+            return value -> value != null && matches(value, patternArray);
+        }
+        final Format format;
+        try {
+            format = DateTimeFormatter.ofPattern(pattern).toFormat();
+        } catch (IllegalArgumentException e) {
+            // Not a valid date pattern: fails the same way an evaluation with this pattern would.
+            return value -> {
+                if (value == null) {
+                    return false;
                 }
+                throw e;
+            };
+        }
+        return value -> {
+            if (value == null) {
+                return false;
             }
-        } else {
-            final DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
             try {
-                formatter.toFormat().parseObject(value);
+                format.parseObject(value);
+                return true;
             } catch (ParseException e) {
                 return false;
             }
-        }
-        return true;
+        };
     }
 
-    private static Predicate<DataSetRow> safeNumber(Predicate<DataSetRow> inner) {
-        return r -> {
-            try {
-                return inner.test(r);
-            } catch (NumberFormatException e) {
-                // BigDecimalParser.toBigDecimal throws NumberFormatException when parsing null or NaN strings.
-                return false;
+    /**
+     * Test a string value against a character based pattern.
+     *
+     * @param value A string value.
+     * @param patternArray A pattern (with 'A', 'a' and '9' as upper case, lower case and digit characters).
+     * @return <code>true</code> if value matches, <code>false</code> otherwise.
+     */
+    private static boolean matches(String value, char[] patternArray) {
+        if (value.length() != patternArray.length) {
+            return false;
+        }
+        for (int i = 0; i < patternArray.length; i++) {
+            final char c = value.charAt(i);
+            if (patternArray[i] == 'A') {
+                if (!Character.isUpperCase(c)) {
+                    return false;
+                }
+            } else if (patternArray[i] == 'a') {
+                if (!Character.isLowerCase(c)) {
+                    return false;
+                }
+            } else if (patternArray[i] == '9') {
+                if (!Character.isDigit(c)) {
+                    return false;
+                }
+            } else {
+                if (c != patternArray[i]) {
+                    return false;
+                }
             }
-        };
+        }
+        return true;
     }
 
     private static Predicate<DataSetRow> safeDate(Predicate<DataSetRow> inner) {
@@ -515,10 +596,23 @@ public class SimpleFilterService implements FilterService {
     /**
      * Simple wrapper to call BigDecimalParser to simplify code above.
      */
-    private double toBigDecimal(String value) {
+    private static double toBigDecimal(String value) {
         return BigDecimalParser.toBigDecimal(value).doubleValue();
     }
 
+    /**
+     * @param value A string value. May be null.
+     * @return The number value, <code>null</code> if value can't be parsed as number.
+     */
+    private static Double toNumber(String value) {
+        try {
+            return toBigDecimal(value);
+        } catch (NumberFormatException e) {
+            // BigDecimalParser.toBigDecimal throws NumberFormatException when parsing null or NaN strings.
+            return null;
+        }
+    }
+
     // Intentionally left with package modifier since only used by unit test (in same package)
     void setDateParser(final DateParser dateParser) {
         this.dateParser = dateParser;
@@ -116,6 +116,10 @@ public class FileSystemContentCache implements ContentCache {
                     return true;
                 }
                 final String fileName = file.getName();
+                // only consider entries of this key (<key>.<time to live>)
+                if (!StringUtils.substringBeforeLast(fileName, ".").equals(path.getFileName().toString())) {
+                    continue;
+                }
                 final String suffix = StringUtils.substringAfterLast(fileName, ".");
                 if (isLiveEntry(suffix)) {
                     LOGGER.debug("[{}] Cache hit.", key);
@@ -0,0 +1,466 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.cache.file;
+
+import java.io.*;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.talend.dataprep.cache.ContentCache;
+import org.talend.dataprep.cache.ContentCacheKey;
+import org.talend.dataprep.exception.TDPException;
+import org.talend.dataprep.exception.error.CommonErrorCodes;
+
+/**
+ * File system cache implementation with an in-memory index of entries:
+ * <ul>
+ * <li>lookups never list the cache directory (the directory is only read once at startup to rebuild the index).</li>
+ * <li>disk usage is bounded: when cached content exceeds <code>service.cache.file.max.size</code> bytes, least
+ * recently used entries are evicted.</li>
+ * <li>small entries (e.g. transformation metadata) are also kept in memory, so they are served without any file
+ * access.</li>
+ * <li>an entry is written in a temporary file and only becomes visible (and replaces any previous content) once its
+ * output stream is closed.</li>
+ * </ul>
+ * As index is not shared, this cache expects to be the only one to write in its location.
+ */
+@Component
+@ConditionalOnProperty(name = "service.cache", havingValue = "indexed-file")
+@EnableScheduling
+public class IndexedFileSystemContentCache implements ContentCache {
+
+    /** This class' logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(IndexedFileSystemContentCache.class);
+
+    /** Expiration time of permanent entries. */
+    private static final long NEVER = Long.MAX_VALUE;
+
+    /** Where to store published cache entries. */
+    private final Path entries;
+
+    /** Where to store cache entries being written. */
+    private final Path temporary;
+
+    /** Maximum size (in bytes) of cached content on disk. */
+    private final long maxSize;
+
+    /** Maximum size (in bytes) of cached content in memory. */
+    private final long memoryMaxSize;
+
+    /** Maximum size (in bytes) of a cache entry kept in memory. */
+    private final int memoryEntryMaxSize;
+
+    /** Entries by key, in access order (least recently used first). */
+    private final LinkedHashMap<String, Entry> index = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** Content of small entries by key, in access order (least recently used first). */
+    private final LinkedHashMap<String, byte[]> memory = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** Size (in bytes) of cached content on disk. */
+    private long size;
+
+    /** Size (in bytes) of cached content in memory. */
+    private long memorySize;
+
+    /** Files of removed entries that could not be deleted yet. */
+    private final Set<Path> deletions = new HashSet<>();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Default constructor.
+     *
+     * @param location where to store cache entries.
+     * @param maxSize maximum size (in bytes) of cached content on disk.
+     * @param memoryMaxSize maximum size (in bytes) of cached content in memory.
+     * @param memoryEntryMaxSize maximum size (in bytes) of a cache entry kept in memory.
+     */
+    @Autowired
+    public IndexedFileSystemContentCache(@Value("${service.cache.file.location}") String location,
+            @Value("${service.cache.file.max.size:10737418240}") long maxSize,
+            @Value("${service.cache.memory.max.size:33554432}") long memoryMaxSize,
+            @Value("${service.cache.memory.entry.max.size:65536}") int memoryEntryMaxSize) {
+        this.entries = Paths.get(location, "indexed-cache");
+        this.temporary = Paths.get(location, "indexed-cache-tmp");
+        this.maxSize = maxSize;
+        this.memoryMaxSize = memoryMaxSize;
+        this.memoryEntryMaxSize = memoryEntryMaxSize;
+        try {
+            FileUtils.forceMkdir(entries.toFile());
+            // content of temporary directory was never published
+            FileUtils.deleteDirectory(temporary.toFile());
+            FileUtils.forceMkdir(temporary.toFile());
+        } catch (IOException e) {
+            throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+        }
+        load();
+    }
+
+    /**
+     * Rebuilds the index from the files of published entries (files are indexed from the least to the most recently
+     * modified).
+     */
+    private void load() {
+        final long start = System.currentTimeMillis();
+        final File[] files = entries.toFile().listFiles();
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        synchronized (this) {
+            for (File file : files) {
+                final String name = file.getName();
+                try {
+                    final String key = URLDecoder.decode(StringUtils.substringBeforeLast(name, "."), "UTF-8");
+                    final long expiration = Long.parseLong(StringUtils.substringAfterLast(name, "."));
+                    if (expiration > start) {
+                        publish(key, new Entry(file.toPath(), file.length(), expiration), null);
+                        continue;
+                    }
+                } catch (IllegalArgumentException | UnsupportedEncodingException e) {
+                    LOGGER.debug("Ignore file '{}'", file, e);
+                }
+                delete(file.toPath());
+            }
+            evictOverflow(null);
+        }
+        LOGGER.info("{} cache entries ({} bytes) indexed in {} ms.", index.size(), size,
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * @return The entry for the key if it is live (<code>null</code> otherwise).
+     */
+    private synchronized Entry lookup(ContentCacheKey key) {
+        final Entry entry = index.get(key.getKey());
+        if (entry != null && entry.expiration > System.currentTimeMillis() + EVICTION_PERIOD) {
+            hits.incrementAndGet();
+            LOGGER.debug("[{}] Cache hit.", key);
+            return entry;
+        }
+        misses.incrementAndGet();
+        LOGGER.debug("[{}] Cache miss.", key);
+        return null;
+    }
+
+    @Override
+    public boolean has(ContentCacheKey key) {
+        return lookup(key) != null;
+    }
+
+    @Override
+    public InputStream get(ContentCacheKey key) {
+        final Entry entry = lookup(key);
+        if (entry == null) {
+            return null;
+        }
+        synchronized (this) {
+            final byte[] content = memory.get(key.getKey());
+            if (content != null) {
+                return new ByteArrayInputStream(content);
+            }
+        }
+        try {
+            return Files.newInputStream(entry.path);
+        } catch (NoSuchFileException e) {
+            LOGGER.debug("[{}] Cache entry was removed.", key, e);
+            synchronized (this) {
+                if (index.get(key.getKey()) == entry) {
+                    remove(key.getKey());
+                }
+            }
+            return null;
+        } catch (IOException e) {
+            throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+        }
+    }
+
+    @Override
+    public OutputStream put(ContentCacheKey key, TimeToLive timeToLive) {
+        final long expiration = timeToLive.getTime() > 0 ? System.currentTimeMillis() + timeToLive.getTime() : NEVER;
+        try {
+            final Path path = Files.createTempFile(temporary, "entry", ".tmp");
+            LOGGER.debug("{} Cache add.", key);
+            return new EntryOutputStream(key.getKey(), expiration, path);
+        } catch (IOException e) {
+            throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+        }
+    }
+
+    @Override
+    public void evict(ContentCacheKey key) {
+        final String prefix = key.getKey();
+        synchronized (this) {
+            final List<String> evicted = new ArrayList<>();
+            for (String entryKey : index.keySet()) {
+                if (entryKey.startsWith(prefix)) {
+                    evicted.add(entryKey);
+                }
+            }
+            evicted.forEach(this::remove);
+        }
+        LOGGER.debug("[{}] Evict.", key);
+    }
+
+    @Override
+    public void clear() {
+        synchronized (this) {
+            new ArrayList<>(index.keySet()).forEach(this::remove);
+            deletions.removeIf(this::delete);
+        }
+    }
+
+    /**
+     * A clean up process that starts a minute after the previous ended: removes expired entries (only the index is
+     * read).
+     */
+    @Scheduled(fixedDelay = 60000)
+    public synchronized void janitor() {
+        final long start = System.currentTimeMillis();
+        final List<String> expired = new ArrayList<>();
+        for (Map.Entry<String, Entry> entry : index.entrySet()) {
+            if (entry.getValue().expiration < start) {
+                expired.add(entry.getKey());
+            }
+        }
+        expired.forEach(this::remove);
+        deletions.removeIf(this::delete);
+        LOGGER.debug("Janitor removed {} expired entries ({} entries, {} bytes in cache, {} hits, {} misses, {} evictions).",
+                expired.size(), index.size(), size, hits, misses, evictions);
+    }
+
+    /**
+     * @return The number of lookups that found a live entry.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return The number of lookups that found no live entry.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return The number of entries removed because cache exceeded its maximum size.
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * @return The size (in bytes) of cached content on disk.
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    /**
+     * Makes an entry visible (must be called with lock).
+     *
+     * @param key The entry key.
+     * @param entry The entry to publish.
+     * @param content The entry content if it should be kept in memory (<code>null</code> otherwise).
+     */
+    private void publish(String key, Entry entry, byte[] content) {
+        final Entry previous = index.get(key);
+        remove(key, previous == null || !previous.path.equals(entry.path));
+        index.put(key, entry);
+        size += entry.size;
+        if (content != null) {
+            memory.put(key, content);
+            memorySize += content.length;
+            final Iterator<Map.Entry<String, byte[]>> iterator = memory.entrySet().iterator();
+            while (memorySize > memoryMaxSize && iterator.hasNext()) {
+                memorySize -= iterator.next().getValue().length;
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Evicts least recently used entries until cache size is below its maximum (must be called with lock).
+     *
+     * @param kept The key of an entry that must not be evicted (<code>null</code> if none).
+     */
+    private void evictOverflow(String kept) {
+        final Iterator<String> keys = index.keySet().iterator();
+        final List<String> evicted = new ArrayList<>();
+        long remaining = size;
+        while (remaining > maxSize && keys.hasNext()) {
+            final String key = keys.next();
+            if (!key.equals(kept)) {
+                remaining -= index.get(key).size;
+                evicted.add(key);
+            }
+        }
+        evicted.forEach(this::remove);
+        evictions.addAndGet(evicted.size());
+    }
+
+    /**
+     * Removes an entry and deletes its file (must be called with lock).
+     */
+    private void remove(String key) {
+        remove(key, true);
+    }
+
+    /**
+     * Removes an entry (must be called with lock).
+     *
+     * @param key The entry key.
+     * @param deleteFile <code>false</code> if the entry file was replaced by a new one.
+     */
+    private void remove(String key, boolean deleteFile) {
+        final Entry entry = index.remove(key);
+        if (entry != null) {
+            size -= entry.size;
+            if (deleteFile && !delete(entry.path)) {
+                deletions.add(entry.path);
+            }
+        }
+        final byte[] content = memory.remove(key);
+        if (content != null) {
+            memorySize -= content.length;
+        }
+    }
+
+    /**
+     * @return <code>true</code> if file no longer exists.
+     */
+    private boolean delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+            return true;
+        } catch (IOException e) {
+            LOGGER.debug("Unable to delete '{}'.", path, e);
+            return false;
+        }
+    }
+
+    /**
+     * A published cache entry.
+     */
+    private static class Entry {
+
+        private final Path path;
+
+        private final long size;
+
+        private final long expiration;
+
+        private Entry(Path path, long size, long expiration) {
+            this.path = path;
+            this.size = size;
+            this.expiration = expiration;
+        }
+    }
+
+    /**
+     * Writes an entry in a temporary file, and publishes it when closed.
+     */
+    private class EntryOutputStream extends OutputStream {
+
+        private final String key;
+
+        private final long expiration;
+
+        private final Path path;
+
+        private final OutputStream output;
+
+        /** Content written so far (as long as it is small enough to be kept in memory). */
+        private ByteArrayOutputStream content = new ByteArrayOutputStream();
+
+        private long written;
+
+        private boolean closed;
+
+        private EntryOutputStream(String key, long expiration, Path path) throws IOException {
+            this.key = key;
+            this.expiration = expiration;
+            this.path = path;
+            this.output = new BufferedOutputStream(Files.newOutputStream(path));
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            output.write(b);
+            written++;
+            if (content != null) {
+                content.write(b);
+                checkContentSize();
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            output.write(b, off, len);
+            written += len;
+            if (content != null) {
+                content.write(b, off, len);
+                checkContentSize();
+            }
+        }
+
+        private void checkContentSize() {
+            if (content.size() > memoryEntryMaxSize) {
+                content = null;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            output.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                output.close();
+                final Path published = entries.resolve(URLEncoder.encode(key, "UTF-8") + '.' + expiration);
+                synchronized (IndexedFileSystemContentCache.this) {
+                    Files.move(path, published, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    publish(key, new Entry(published, written, expiration), content == null ? null : content.toByteArray());
+                    evictOverflow(key);
+                }
+            } finally {
+                delete(path);
+            }
+        }
+    }
+}
@@ -23,30 +23,20 @@ import static org.talend.dataprep.exception.error.DataSetErrorCodes.DATASET_DOES
 import java.io.InputStream;
 
 import org.apache.http.client.methods.HttpGet;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Scope;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.talend.dataprep.command.GenericCommand;
-import org.talend.dataprep.dataset.store.content.DataSetContentLimit;
 import org.talend.dataprep.exception.TDPException;
 
 /**
- * Command to get a dataset.
+ * Command to get a dataset sample (rows sampled from the whole dataset content, see {@link DataSetGet} for the full
+ * content).
  */
 @Component
 @Scope(SCOPE_PROTOTYPE)
 public class DataSetSampleGet extends GenericCommand<InputStream> {
 
-    private final String dataSetId;
-
-    @Autowired
-    DataSetContentLimit limit;
-
-    @Autowired
-    ApplicationContext context;
-
     /**
      * Constructor.
      *
@@ -54,7 +44,6 @@ public class DataSetSampleGet extends GenericCommand<InputStream> {
      */
     public DataSetSampleGet(String dataSetId) {
         super(DATASET_GROUP);
-        this.dataSetId = dataSetId;
         execute(() -> new HttpGet(datasetServiceUrl + "/datasets/" + dataSetId + "/sample"));
         onError(e -> new TDPException(UNABLE_TO_RETRIEVE_DATASET_CONTENT, e, build().put("id", dataSetId)));
         on(HttpStatus.NOT_FOUND).then((req, res) -> {
@@ -63,15 +52,4 @@ public class DataSetSampleGet extends GenericCommand<InputStream> {
         on(HttpStatus.NO_CONTENT).then(emptyStream());
         on(HttpStatus.OK).then(pipeStream());
     }
-
-    @Override
-    protected InputStream run() throws Exception {
-        if (limit.limitContentSize()) {
-            // Data Set service limit content size, no need to call sample service (may not even exist).
-            final DataSetGet dataSetGet = context.getBean(DataSetGet.class, dataSetId);
-            return dataSetGet.execute();
-        } else {
-            return super.run();
-        }
-    }
 }
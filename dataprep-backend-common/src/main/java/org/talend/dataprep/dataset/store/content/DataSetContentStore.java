@@ -13,7 +13,9 @@
 
 package org.talend.dataprep.dataset.store.content;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -96,6 +98,61 @@ public abstract class DataSetContentStore {
         return dataSetRowStream;
     }
 
+    /**
+     * Returns a representative sample of the data set content: rows are taken from the whole content (not only from
+     * its head) and keep the tdp id they have in {@link #stream(DataSetMetadata)}. Default implementation returns the
+     * full content, implementations that store a sample in {@link #storeAsColumnar(DataSetMetadata)} return it.
+     *
+     * @param dataSetMetadata The {@link DataSetMetadata data set} to read rows from.
+     * @return A <b>{@link DataSetRow}</b> stream of the sampled rows.
+     */
+    public Stream<DataSetRow> sample(DataSetMetadata dataSetMetadata) {
+        return stream(dataSetMetadata);
+    }
+
+    /**
+     * Returns the rows of the data set content with a tdp id (as in {@link #stream(DataSetMetadata)}) between
+     * <code>from</code> and <code>to</code> (both included), in ascending tdp id order. Default implementation filters
+     * the full content, implementations able to seek to a row are encouraged to only read the requested rows.
+     *
+     * @param dataSetMetadata The {@link DataSetMetadata data set} to read rows from.
+     * @param from The tdp id of the first row to read.
+     * @param to The tdp id of the last row to read.
+     * @return A <b>{@link DataSetRow}</b> stream of the requested rows.
+     */
+    public Stream<DataSetRow> select(DataSetMetadata dataSetMetadata, long from, long to) {
+        return stream(dataSetMetadata).filter(row -> row.getTdpId() >= from && row.getTdpId() <= to);
+    }
+
+    /**
+     * Stores an optimized representation of the data set content in order to speed up later calls to
+     * {@link #stream(DataSetMetadata)}. Default implementation does nothing: implementations are free to ignore this
+     * call, {@link #stream(DataSetMetadata)} must always return the data set content.
+     *
+     * @param dataSetMetadata The {@link DataSetMetadata data set} (fully analyzed) to store content for.
+     * @see #stream(DataSetMetadata)
+     */
+    public void storeAsColumnar(DataSetMetadata dataSetMetadata) {
+        // Nothing to do by default
+    }
+
+    /**
+     * Same as {@link #storeAsColumnar(DataSetMetadata)} but also gives each row read from the data set content to
+     * <code>observer</code>, so that callers needing to see the whole content (e.g. to count rows) piggyback on the scan
+     * instead of reading the content again. Default implementation does not read the content and returns
+     * <code>false</code>.
+     *
+     * @param dataSetMetadata The {@link DataSetMetadata data set} (fully analyzed) to store content for.
+     * @param observer The consumer of the rows (rows may be reused once consumed, copy them to keep them).
+     * @return <code>true</code> if all the rows were given to <code>observer</code>, <code>false</code> if the content
+     * was not (fully) read and the caller must read it by itself.
+     * @see #storeAsColumnar(DataSetMetadata)
+     */
+    public boolean storeAsColumnar(DataSetMetadata dataSetMetadata, Consumer<DataSetRow> observer) {
+        storeAsColumnar(dataSetMetadata);
+        return false;
+    }
+
     /**
      * Returns the {@link DataSetMetadata data set} content as "raw" (i.e. the content supplied by user upon data set
      * creation).
@@ -105,6 +162,22 @@ public abstract class DataSetContentStore {
      */
     public abstract InputStream getAsRaw(DataSetMetadata dataSetMetadata);
 
+    /**
+     * Copies the raw content of <code>source</code> to <code>target</code>. Default implementation reads the raw content
+     * of <code>source</code> and stores it as raw content of <code>target</code>, implementations able to share content
+     * between data sets should override it.
+     *
+     * @param source The {@link DataSetMetadata data set} to copy content from.
+     * @param target The {@link DataSetMetadata data set} to copy content to.
+     */
+    public void copy(DataSetMetadata source, DataSetMetadata target) {
+        try (InputStream content = getAsRaw(source)) {
+            storeAsRaw(target, content);
+        } catch (IOException e) {
+            throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+        }
+    }
+
     /**
      * Deletes the {@link DataSetMetadata data set}. No recovery operation is expected.
      *
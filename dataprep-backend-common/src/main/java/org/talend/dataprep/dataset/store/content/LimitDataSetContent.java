@@ -2,6 +2,7 @@ package org.talend.dataprep.dataset.store.content;
 
 import java.io.InputStream;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import org.springframework.stereotype.Component;
@@ -45,7 +46,7 @@ class LimitDataSetContent implements DataSetContentLimit {
 
         @Override
         public Stream<DataSetRow> stream(DataSetMetadata dataSetMetadata) {
-            Stream<DataSetRow> dataSetRowStream = super.stream(dataSetMetadata);
+            Stream<DataSetRow> dataSetRowStream = store.stream(dataSetMetadata);
             // deal with dataset size limit (ignored if limit is <= 0)
             final Optional<Long> limit = dataSetMetadata.getContent().getLimit();
             if (limit.isPresent() && limit.get() > 0) {
@@ -54,6 +55,42 @@ class LimitDataSetContent implements DataSetContentLimit {
             return dataSetRowStream;
         }
 
+        @Override
+        public Stream<DataSetRow> sample(DataSetMetadata dataSetMetadata) {
+            Stream<DataSetRow> sample = store.sample(dataSetMetadata);
+            // only keep sampled rows within dataset size limit (tdp ids start at 1)
+            final Optional<Long> limit = dataSetMetadata.getContent().getLimit();
+            if (limit.isPresent() && limit.get() > 0) {
+                sample = sample.filter(row -> row.getTdpId() == null || row.getTdpId() <= limit.get());
+            }
+            return sample;
+        }
+
+        @Override
+        public Stream<DataSetRow> select(DataSetMetadata dataSetMetadata, long from, long to) {
+            // only select rows within dataset size limit (tdp ids start at 1)
+            final Optional<Long> limit = dataSetMetadata.getContent().getLimit();
+            if (limit.isPresent() && limit.get() > 0) {
+                return store.select(dataSetMetadata, from, Math.min(to, limit.get()));
+            }
+            return store.select(dataSetMetadata, from, to);
+        }
+
+        @Override
+        public void storeAsColumnar(DataSetMetadata dataSetMetadata) {
+            store.storeAsColumnar(dataSetMetadata);
+        }
+
+        @Override
+        public boolean storeAsColumnar(DataSetMetadata dataSetMetadata, Consumer<DataSetRow> observer) {
+            return store.storeAsColumnar(dataSetMetadata, observer);
+        }
+
+        @Override
+        public void copy(DataSetMetadata source, DataSetMetadata target) {
+            store.copy(source, target);
+        }
+
         @Override
         public InputStream getAsRaw(DataSetMetadata dataSetMetadata) {
             return store.getAsRaw(dataSetMetadata);
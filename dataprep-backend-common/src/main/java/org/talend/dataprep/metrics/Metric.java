@@ -0,0 +1,161 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Measures of an endpoint or of a pipeline element: a histogram of durations (recorded in nanoseconds) and the volume
+ * (bytes and rows) processed. All methods are thread safe.
+ *
+ * @see Metrics
+ */
+public class Metric implements MetricMBean {
+
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final String name;
+
+    private final Histogram durations = new Histogram();
+
+    private final LongAdder errors = new LongAdder();
+
+    private final LongAdder bytesIn = new LongAdder();
+
+    private final LongAdder bytesOut = new LongAdder();
+
+    private final LongAdder rows = new LongAdder();
+
+    private final LongAdder memoHits = new LongAdder();
+
+    private final LongAdder memoMisses = new LongAdder();
+
+    Metric(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @param nanos A duration in nanoseconds.
+     */
+    public void record(long nanos) {
+        durations.record(nanos);
+    }
+
+    /**
+     * Counts a failed execution.
+     */
+    public void error() {
+        errors.increment();
+    }
+
+    public void addBytesIn(long bytes) {
+        bytesIn.add(bytes);
+    }
+
+    public void addBytesOut(long bytes) {
+        bytesOut.add(bytes);
+    }
+
+    public void addRows(long count) {
+        rows.add(count);
+    }
+
+    /**
+     * @param hits Number of values whose result was found in a memo.
+     * @param misses Number of values whose result had to be computed.
+     */
+    public void addMemo(long hits, long misses) {
+        memoHits.add(hits);
+        memoMisses.add(misses);
+    }
+
+    @JsonIgnore
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getCount() {
+        return durations.getCount();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public double getTotalTime() {
+        return durations.getSum() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getMeanTime() {
+        return durations.getMean() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getMedianTime() {
+        return durations.getPercentile(0.5) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getP95Time() {
+        return durations.getPercentile(0.95) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getP99Time() {
+        return durations.getPercentile(0.99) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getMaxTime() {
+        return durations.getMax() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public long getBytesIn() {
+        return bytesIn.sum();
+    }
+
+    @Override
+    public long getBytesOut() {
+        return bytesOut.sum();
+    }
+
+    @Override
+    public long getRows() {
+        return rows.sum();
+    }
+
+    @Override
+    public long getMemoHits() {
+        return memoHits.sum();
+    }
+
+    @Override
+    public long getMemoMisses() {
+        return memoMisses.sum();
+    }
+
+    @Override
+    public double getRowsPerSecond() {
+        final long totalTime = durations.getSum();
+        return totalTime == 0 ? 0 : getRows() * (double) TimeUnit.SECONDS.toNanos(1) / totalTime;
+    }
+}
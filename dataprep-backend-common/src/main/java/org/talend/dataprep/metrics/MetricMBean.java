@@ -0,0 +1,48 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.metrics;
+
+/**
+ * JMX view of a {@link Metric} (durations are in milliseconds).
+ */
+public interface MetricMBean {
+
+    long getCount();
+
+    long getErrors();
+
+    double getTotalTime();
+
+    double getMeanTime();
+
+    double getMedianTime();
+
+    double getP95Time();
+
+    double getP99Time();
+
+    double getMaxTime();
+
+    long getBytesIn();
+
+    long getBytesOut();
+
+    long getRows();
+
+    long getMemoHits();
+
+    long getMemoMisses();
+
+    double getRowsPerSecond();
+}
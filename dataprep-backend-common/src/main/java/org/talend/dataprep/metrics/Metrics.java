@@ -0,0 +1,137 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.PreDestroy;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process registry of {@link Metric metrics}. Metrics are created on first use, registered as MBeans (in the
+ * <code>org.talend.dataprep</code> JMX domain) and exposed by {@link MetricsService}.
+ * <p>
+ * The metric of the endpoint being executed is attached to the current thread (see {@link #current()}), so code that
+ * does not know the endpoint (e.g. a transformation pipeline) can report the rows it processed for it.
+ */
+@Component
+public class Metrics {
+
+    /** This class' logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(Metrics.class);
+
+    /** Metric of the endpoint executed by the current thread. */
+    private static final ThreadLocal<Metric> CURRENT = new ThreadLocal<>();
+
+    /** <code>true</code> to register metrics as MBeans. */
+    @Value("${metrics.jmx.enabled:true}")
+    private boolean jmxEnabled;
+
+    private final ConcurrentMap<String, Metric> metrics = new ConcurrentHashMap<>();
+
+    /** Names of the metrics this registry registered in JMX. */
+    private final Set<String> registered = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param name A metric name.
+     * @return The metric with given name, created if needed.
+     */
+    public Metric get(String name) {
+        Metric metric = metrics.get(name);
+        if (metric == null) {
+            final Metric created = new Metric(name);
+            metric = metrics.putIfAbsent(name, created);
+            if (metric == null) {
+                metric = created;
+                register(created);
+            }
+        }
+        return metric;
+    }
+
+    /**
+     * @return All metrics, sorted by name.
+     */
+    public SortedMap<String, Metric> getAll() {
+        return new TreeMap<>(metrics);
+    }
+
+    /**
+     * @return The metric of the endpoint executed by the current thread, or <code>null</code> if none.
+     */
+    public static Metric current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Attaches a metric to the current thread.
+     *
+     * @param metric The metric of the endpoint executed by current thread (may be <code>null</code>).
+     * @return The metric previously attached to current thread (to be restored once endpoint completes).
+     */
+    static Metric attach(Metric metric) {
+        final Metric previous = CURRENT.get();
+        if (metric == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(metric);
+        }
+        return previous;
+    }
+
+    private void register(Metric metric) {
+        if (!jmxEnabled) {
+            return;
+        }
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName objectName = objectName(metric.getName());
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(metric, objectName);
+                registered.add(metric.getName());
+            }
+        } catch (JMException e) {
+            LOGGER.debug("Unable to register metric '{}' in JMX.", metric.getName(), e);
+        }
+    }
+
+    @PreDestroy
+    void unregister() {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (String name : registered) {
+            try {
+                server.unregisterMBean(objectName(name));
+            } catch (JMException e) {
+                LOGGER.debug("Unable to unregister metric '{}' from JMX.", name, e);
+            }
+        }
+        registered.clear();
+    }
+
+    private static ObjectName objectName(String name) throws JMException {
+        return new ObjectName("org.talend.dataprep:type=Metrics,name=" + ObjectName.quote(name));
+    }
+}
@@ -0,0 +1,139 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.metrics;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.apache.commons.io.input.ProxyInputStream;
+import org.apache.commons.io.output.ProxyOutputStream;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.talend.dataprep.util.AspectHelper;
+
+/**
+ * Implements {@link Timed} and {@link VolumeMetered}: each annotated method has a {@link Metric} (named after the
+ * class and method names) that records the duration of calls. When a method returns a {@link StreamingResponseBody},
+ * the duration includes the streaming of the response.
+ * <p>
+ * For {@link VolumeMetered} methods, the bytes read from {@link InputStream} arguments and the bytes written to
+ * {@link OutputStream} arguments, streamed responses and returned {@link InputStream} are also counted.
+ */
+@Configuration
+@Aspect
+class MetricsAspect {
+
+    @Autowired
+    private Metrics metrics;
+
+    @Around("@annotation(org.talend.dataprep.metrics.Timed) || @annotation(org.talend.dataprep.metrics.VolumeMetered)")
+    public Object measure(ProceedingJoinPoint pjp) throws Throwable {
+        final Metric metric = metrics.get(pjp.getSignature().getDeclaringType().getSimpleName() + '.' + pjp.getSignature().getName());
+        final boolean volume = AspectHelper.getAnnotation(pjp, VolumeMetered.class) != null;
+        final long start = System.nanoTime();
+        final Object result;
+        final Metric previous = Metrics.attach(metric);
+        try {
+            result = volume ? pjp.proceed(countingArguments(pjp.getArgs(), metric)) : pjp.proceed();
+        } catch (Throwable t) {
+            metric.record(System.nanoTime() - start);
+            metric.error();
+            throw t;
+        } finally {
+            Metrics.attach(previous);
+        }
+        if (result instanceof StreamingResponseBody) {
+            final StreamingResponseBody body = (StreamingResponseBody) result;
+            return (StreamingResponseBody) output -> {
+                final Metric caller = Metrics.attach(metric);
+                try {
+                    body.writeTo(volume ? new CountingOutputStream(output, metric) : output);
+                } catch (IOException | RuntimeException e) {
+                    metric.error();
+                    throw e;
+                } finally {
+                    Metrics.attach(caller);
+                    metric.record(System.nanoTime() - start);
+                }
+            };
+        }
+        metric.record(System.nanoTime() - start);
+        if (volume && result instanceof InputStream) {
+            return new CountingInputStream((InputStream) result, metric, false);
+        }
+        return result;
+    }
+
+    private static Object[] countingArguments(Object[] arguments, Metric metric) {
+        final Object[] counting = arguments.clone();
+        for (int i = 0; i < counting.length; i++) {
+            if (counting[i] instanceof InputStream) {
+                counting[i] = new CountingInputStream((InputStream) counting[i], metric, true);
+            } else if (counting[i] instanceof OutputStream) {
+                counting[i] = new CountingOutputStream((OutputStream) counting[i], metric);
+            }
+        }
+        return counting;
+    }
+
+    /**
+     * Adds the bytes read to the bytes in (or out) of a metric.
+     */
+    private static class CountingInputStream extends ProxyInputStream {
+
+        private final Metric metric;
+
+        private final boolean in;
+
+        private CountingInputStream(InputStream delegate, Metric metric, boolean in) {
+            super(delegate);
+            this.metric = metric;
+            this.in = in;
+        }
+
+        @Override
+        protected void afterRead(int n) {
+            if (n > 0) {
+                if (in) {
+                    metric.addBytesIn(n);
+                } else {
+                    metric.addBytesOut(n);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the bytes written to the bytes out of a metric.
+     */
+    private static class CountingOutputStream extends ProxyOutputStream {
+
+        private final Metric metric;
+
+        private CountingOutputStream(OutputStream delegate, Metric metric) {
+            super(delegate);
+            this.metric = metric;
+        }
+
+        @Override
+        protected void afterWrite(int n) {
+            metric.addBytesOut(n);
+        }
+    }
+}
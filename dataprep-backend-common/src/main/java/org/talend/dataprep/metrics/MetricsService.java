@@ -0,0 +1,40 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.metrics;
+
+import static org.springframework.web.bind.annotation.RequestMethod.GET;
+
+import java.util.SortedMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+
+@RestController
+@Api(value = "metrics", basePath = "/metrics", description = "metrics of running application")
+public class MetricsService {
+
+    @Autowired
+    private Metrics metrics;
+
+    @RequestMapping(value = "/metrics", method = GET)
+    @ApiOperation(value = "Get the metrics of the service (durations in milliseconds)", produces = MediaType.APPLICATION_JSON_VALUE)
+    public SortedMap<String, Metric> metrics() {
+        return metrics.getAll();
+    }
+}
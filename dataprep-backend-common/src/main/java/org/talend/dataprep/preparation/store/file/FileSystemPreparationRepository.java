@@ -119,6 +119,17 @@ public class FileSystemPreparationRepository implements PreparationRepository {
      */
     @Override
     public <T extends Identifiable> T get(String id, Class<T> clazz) {
+        return read(id, clazz);
+    }
+
+    /**
+     * Reads the Identifiable that matches the id and the class from its file.
+     *
+     * @param id the wanted Identifiable id.
+     * @param clazz the wanted Identifiable class.
+     * @return the Identifiable that matches the id and the class or null if none match.
+     */
+    protected <T extends Identifiable> T read(String id, Class<T> clazz) {
 
         final File from = getIdentifiableFile(clazz, id);
         if (from.getName().startsWith(".")) {
@@ -177,7 +188,7 @@ public class FileSystemPreparationRepository implements PreparationRepository {
         Collection<T> result;
         try (final Stream<File> stream = Arrays.stream(files)) {
              result = stream.filter(file -> StringUtils.startsWith(file.getName(), clazz.getSimpleName()))
-                    .map(file -> get(file.getName(), clazz))                   // read all files
+                    .map(file -> read(file.getName(), clazz))                  // read all files
                     .filter(entry -> entry != null)                            // filter out null entries
                     .filter(entry -> clazz.isAssignableFrom(entry.getClass())) // filter out the unwanted objects (should not be necessary but you never know)
                     .collect(Collectors.toSet());                              // and put it in a set
@@ -245,7 +256,7 @@ public class FileSystemPreparationRepository implements PreparationRepository {
      * @param id the object id.
      * @return the id striped of the classname prefix if needed.
      */
-    private String stripOptionalPrefix(Class clazz, String id) {
+    protected String stripOptionalPrefix(Class clazz, String id) {
 
         if (StringUtils.isBlank(id)) {
             return null;
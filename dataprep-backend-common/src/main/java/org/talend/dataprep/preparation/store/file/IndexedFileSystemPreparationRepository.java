@@ -0,0 +1,324 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.preparation.store.file;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.talend.daikon.exception.ExceptionContext;
+import org.talend.dataprep.api.preparation.Identifiable;
+import org.talend.dataprep.api.preparation.Preparation;
+import org.talend.dataprep.api.preparation.PreparationActions;
+import org.talend.dataprep.api.preparation.Step;
+import org.talend.dataprep.api.share.Owner;
+import org.talend.dataprep.exception.TDPException;
+import org.talend.dataprep.exception.error.CommonErrorCodes;
+import org.talend.dataprep.preparation.store.PreparationRepository;
+import org.talend.dataprep.security.Security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * File system preparation repository that serves reads from memory. Files are written (and read at startup) the same
+ * way {@link FileSystemPreparationRepository} does, and:
+ * <ul>
+ * <li>all preparations are kept in memory, indexed by id, dataset id and name (ignoring case).</li>
+ * <li>all steps are kept in memory, so walking the ancestry of a step does not read any file.</li>
+ * <li>most recently used preparation actions are cached (a step content holds all the actions of the preparation at
+ * this step, so these are the largest objects of the repository). Cached actions are copied in and out, so they are
+ * not read from files again but callers can't modify them.</li>
+ * </ul>
+ * As index is not shared, this repository expects to be the only one to write in its location.
+ */
+@Component
+@ConditionalOnProperty(name = "preparation.store", havingValue = "indexed-file")
+public class IndexedFileSystemPreparationRepository extends FileSystemPreparationRepository {
+
+    /** This class' logger. */
+    private static final Logger LOG = LoggerFactory.getLogger(IndexedFileSystemPreparationRepository.class);
+
+    /** The dataprep ready jackson builder. */
+    @Autowired
+    private ObjectMapper mapper;
+
+    /** Security to get the current user. */
+    @Autowired
+    private Security security;
+
+    /** Number of preparation actions kept in memory. */
+    @Value("${preparation.store.actions.cache.size:1000}")
+    private int actionsCacheSize;
+
+    /** Preparations by id. */
+    private final Map<String, Preparation> preparations = new HashMap<>();
+
+    /** Preparation ids by dataset id. */
+    private final Map<String, Set<String>> byDataSet = new HashMap<>();
+
+    /** Preparation ids by lower case name. */
+    private final Map<String, Set<String>> byName = new HashMap<>();
+
+    /** Steps by id. */
+    private final Map<String, Step> steps = new HashMap<>();
+
+    /** Most recently used preparation actions (in access order). */
+    private final Map<String, PreparationActions> actions = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Indexes all preparations and steps.
+     */
+    @PostConstruct
+    private void index() {
+        final long start = System.currentTimeMillis();
+        super.listAll(Preparation.class).forEach(this::index);
+        super.listAll(Step.class).forEach(this::index);
+        LOG.info("{} preparations and {} steps indexed in {} ms", preparations.size(), steps.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * @see PreparationRepository#add(Identifiable)
+     */
+    @Override
+    public void add(Identifiable object) {
+        super.add(object);
+        if (object != null) {
+            index(object);
+        }
+    }
+
+    /**
+     * @see PreparationRepository#get(String, Class)
+     */
+    @Override
+    public <T extends Identifiable> T get(String id, Class<T> clazz) {
+        if (StringUtils.isEmpty(id)) {
+            return null;
+        }
+        final String key = stripOptionalPrefix(clazz, id);
+        if (Preparation.class.equals(clazz)) {
+            final Preparation preparation;
+            synchronized (this) {
+                preparation = preparations.get(key);
+            }
+            return preparation == null ? null : clazz.cast(withOwner(copy(preparation)));
+        } else if (Step.class.equals(clazz)) {
+            final Step step;
+            synchronized (this) {
+                step = steps.get(key);
+            }
+            return step == null ? null : clazz.cast(copy(step));
+        } else if (PreparationActions.class.equals(clazz)) {
+            synchronized (this) {
+                final PreparationActions cached = actions.get(key);
+                if (cached != null) {
+                    return clazz.cast(copy(cached));
+                }
+            }
+            final T read = read(id, clazz);
+            if (read != null) {
+                index(read);
+            }
+            return read;
+        }
+        return super.get(id, clazz);
+    }
+
+    /**
+     * @see PreparationRepository#getByDataSet(String)
+     */
+    @Override
+    public Collection<Preparation> getByDataSet(String dataSetId) {
+        if (StringUtils.isEmpty(dataSetId)) {
+            return Collections.emptyList();
+        }
+        return lookup(byDataSet, dataSetId);
+    }
+
+    /**
+     * @see PreparationRepository#getByMatchingName(String, boolean)
+     */
+    @Override
+    public Collection<Preparation> getByMatchingName(String name, boolean exactMatch) {
+        if (exactMatch && !StringUtils.isEmpty(name)) {
+            return lookup(byName, StringUtils.lowerCase(name));
+        }
+        return super.getByMatchingName(name, exactMatch);
+    }
+
+    /**
+     * @see PreparationRepository#listAll(Class)
+     */
+    @Override
+    public <T extends Identifiable> Collection<T> listAll(Class<T> clazz) {
+        final Collection<? extends Identifiable> indexed;
+        synchronized (this) {
+            if (Preparation.class.equals(clazz)) {
+                indexed = new ArrayList<>(preparations.values());
+            } else if (Step.class.equals(clazz)) {
+                indexed = new ArrayList<>(steps.values());
+            } else {
+                indexed = null;
+            }
+        }
+        if (indexed == null) {
+            return super.listAll(clazz);
+        }
+        return indexed.stream().map(this::copy).map(clazz::cast).collect(Collectors.toSet());
+    }
+
+    /**
+     * @see PreparationRepository#clear()
+     */
+    @Override
+    public void clear() {
+        synchronized (this) {
+            preparations.clear();
+            byDataSet.clear();
+            byName.clear();
+            steps.clear();
+            actions.clear();
+        }
+        super.clear();
+    }
+
+    /**
+     * @see PreparationRepository#remove(Identifiable)
+     */
+    @Override
+    public void remove(Identifiable object) {
+        super.remove(object);
+        if (object == null) {
+            return;
+        }
+        synchronized (this) {
+            final String key = stripOptionalPrefix(object.getClass(), object.id());
+            if (object instanceof Preparation) {
+                unindex(preparations.remove(key));
+            } else if (object instanceof Step) {
+                steps.remove(key);
+            } else if (object instanceof PreparationActions) {
+                actions.remove(key);
+            }
+        }
+    }
+
+    private void index(Identifiable object) {
+        final String key = stripOptionalPrefix(object.getClass(), object.id());
+        if (key == null) {
+            return;
+        }
+        if (object instanceof Preparation) {
+            // index a copy, so caller can't modify indexed preparation
+            final Preparation preparation = copy((Preparation) object);
+            synchronized (this) {
+                unindex(preparations.put(key, preparation));
+                byDataSet.computeIfAbsent(preparation.getDataSetId(), k -> new HashSet<>()).add(key);
+                byName.computeIfAbsent(StringUtils.lowerCase(preparation.getName()), k -> new HashSet<>()).add(key);
+            }
+        } else if (object instanceof Step) {
+            final Step step = copy((Step) object);
+            synchronized (this) {
+                steps.put(key, step);
+            }
+        } else if (object instanceof PreparationActions) {
+            // cache a copy, so caller can't modify cached actions
+            final PreparationActions preparationActions = copy((PreparationActions) object);
+            synchronized (this) {
+                actions.put(key, preparationActions);
+                while (actions.size() > actionsCacheSize) {
+                    actions.remove(actions.keySet().iterator().next());
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes a preparation from secondary indexes (must be called with lock).
+     */
+    private void unindex(Preparation preparation) {
+        if (preparation == null) {
+            return;
+        }
+        final String key = stripOptionalPrefix(Preparation.class, preparation.id());
+        removeKey(byDataSet, preparation.getDataSetId(), key);
+        removeKey(byName, StringUtils.lowerCase(preparation.getName()), key);
+    }
+
+    private static void removeKey(Map<String, Set<String>> index, String indexKey, String key) {
+        final Set<String> keys = index.get(indexKey);
+        if (keys != null) {
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                index.remove(indexKey);
+            }
+        }
+    }
+
+    private Collection<Preparation> lookup(Map<String, Set<String>> index, String indexKey) {
+        final List<Preparation> found = new ArrayList<>();
+        synchronized (this) {
+            for (String key : index.getOrDefault(indexKey, Collections.emptySet())) {
+                found.add(preparations.get(key));
+            }
+        }
+        return found.stream().map(this::copy).map(this::withOwner).collect(Collectors.toList());
+    }
+
+    private Identifiable copy(Identifiable object) {
+        if (object instanceof Preparation) {
+            return withOwner(copy((Preparation) object));
+        } else if (object instanceof Step) {
+            return copy((Step) object);
+        }
+        return object;
+    }
+
+    private Step copy(Step step) {
+        return new Step(step.getParent(), step.getContent(), step.getAppVersion(), step.getDiff());
+    }
+
+    private PreparationActions copy(PreparationActions preparationActions) {
+        try {
+            return mapper.readerFor(PreparationActions.class).readValue(mapper.writeValueAsBytes(preparationActions));
+        } catch (IOException e) {
+            throw new TDPException(CommonErrorCodes.UNABLE_TO_SAVE_PREPARATION, e,
+                    ExceptionContext.build().put("id", preparationActions.id()));
+        }
+    }
+
+    private Preparation withOwner(Preparation preparation) {
+        preparation.setOwner(new Owner(security.getUserId(), security.getUserId(), null));
+        return preparation;
+    }
+
+    private Preparation copy(Preparation preparation) {
+        try {
+            return mapper.readerFor(Preparation.class).readValue(mapper.writeValueAsBytes(preparation));
+        } catch (IOException e) {
+            throw new TDPException(CommonErrorCodes.UNABLE_TO_SAVE_PREPARATION, e,
+                    ExceptionContext.build().put("id", preparation.id()));
+        }
+    }
+}
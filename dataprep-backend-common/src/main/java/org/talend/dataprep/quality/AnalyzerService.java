@@ -316,6 +316,18 @@ public class AnalyzerService implements DisposableBean {
                 Analysis.SEMANTIC, Analysis.QUANTILES, Analysis.SUMMARY, Analysis.HISTOGRAM);
     }
 
+    /**
+     * Same analysis as {@link #full(List)} except the semantic analysis: to be used along with a
+     * {@link #schemaAnalysis(List) schema analysis} of the same records (which already computes semantic types).
+     *
+     * @param columns the columns to analyze.
+     * @return the analyzers to perform for all statistics but the schema.
+     */
+    public Analyzer<Analyzers.Result> advancedAnalysis(final List<ColumnMetadata> columns) {
+        return build(columns, Analysis.QUALITY, Analysis.CARDINALITY, Analysis.FREQUENCY, Analysis.PATTERNS, Analysis.LENGTH,
+                Analysis.QUANTILES, Analysis.SUMMARY, Analysis.HISTOGRAM);
+    }
+
     public Analyzer<Analyzers.Result> qualityAnalysis(List<ColumnMetadata> columns) {
         return build(columns, Analysis.QUALITY, Analysis.SUMMARY, Analysis.SEMANTIC);
     }
@@ -22,6 +22,8 @@ public class AggregationOperation {
     private String columnId;
     /** The operation operator. */
     private Operator operator;
+    /** The percentile (between 0 and 100) to compute, only used by the {@link Operator#PERCENTILE} operator. */
+    private Double percentile;
 
     /**
      * Default empty constructor needed for json serialization.
@@ -40,6 +42,17 @@ public class AggregationOperation {
         this.operator = operator;
     }
 
+    /**
+     * Create a percentile aggregation operation.
+     *
+     * @param columnId the column id to aggregate.
+     * @param percentile the percentile (between 0 and 100) to compute.
+     */
+    public AggregationOperation(String columnId, double percentile) {
+        this(columnId, Operator.PERCENTILE);
+        this.percentile = percentile;
+    }
+
     /**
      * @return the ColumnId
      */
@@ -68,11 +81,26 @@ public class AggregationOperation {
         this.operator = operator;
     }
 
+    /**
+     * @return the percentile to compute (<code>null</code> means the median for {@link Operator#PERCENTILE}).
+     */
+    public Double getPercentile() {
+        return percentile;
+    }
+
+    /**
+     * @param percentile the percentile to set.
+     */
+    public void setPercentile(Double percentile) {
+        this.percentile = percentile;
+    }
+
     /**
      * @see Object#toString()
      */
     @Override
     public String toString() {
-        return "AggregationOperation{" + "columnId='" + columnId + '\'' + ", operator=" + operator + '}';
+        return "AggregationOperation{" + "columnId='" + columnId + '\'' + ", operator=" + operator + ", percentile=" + percentile
+                + '}';
     }
 }
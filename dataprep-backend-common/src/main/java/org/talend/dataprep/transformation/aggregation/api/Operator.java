@@ -21,7 +21,9 @@ public enum Operator {
                       MIN,
                       MAX,
                       AVERAGE,
-                      SUM;
+                      SUM,
+                      DISTINCT_COUNT,
+                      PERCENTILE;
 
 
 }
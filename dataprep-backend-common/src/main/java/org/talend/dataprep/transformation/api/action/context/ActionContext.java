@@ -71,6 +71,9 @@ public class ActionContext {
 
     private Predicate<DataSetRow> filter = r -> true;
 
+    /** Results of the action for the values of its column (created on first use). */
+    private ValueMemo valueMemo;
+
     /**
      * Default constructor.
      *
@@ -210,6 +213,21 @@ public class ActionContext {
             context.remove(column);
         }
         LOGGER.debug("Removed {} when new row was set.", toRemove);
+        // Results may depend on column metadata (e.g. date patterns)
+        if (valueMemo != null) {
+            valueMemo.clear();
+        }
+    }
+
+    /**
+     * @return The memo of the action results for the values of its column.
+     * @see org.talend.dataprep.transformation.api.action.metadata.common.ValueAction
+     */
+    public ValueMemo getValueMemo() {
+        if (valueMemo == null) {
+            valueMemo = new ValueMemo();
+        }
+        return valueMemo;
     }
 
     public void setParameters(Map<String, String> parameters) {
@@ -324,6 +342,11 @@ public class ActionContext {
             return delegate.getParent();
         }
 
+        @Override
+        public ValueMemo getValueMemo() {
+            return delegate.getValueMemo();
+        }
+
         @Override
         public String column(String name, Function<RowMetadata, ColumnMetadata> create) {
             if (!delegate.context.containsKey(getColumnKey(name))) {
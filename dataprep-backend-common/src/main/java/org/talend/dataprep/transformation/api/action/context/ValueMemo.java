@@ -0,0 +1,87 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.transformation.api.action.context;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bounded memo of the results an action computed for the values of its column, so that repeated values are only
+ * computed once. The least recently used values are evicted once the memo is full.
+ * <p>
+ * A memo belongs to an {@link ActionContext}: it is used by one thread at a time and must only hold results that
+ * depend on the cell value (see
+ * {@link org.talend.dataprep.transformation.api.action.metadata.common.ValueAction}).
+ */
+public class ValueMemo {
+
+    /** Maximum number of values remembered. */
+    public static final int MAX_VALUES = 1024;
+
+    /** Results per value (in access order). */
+    private final Map<String, Object> results = new LinkedHashMap<String, Object>(16, 0.75f, true) {
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+            return size() > MAX_VALUES;
+        }
+    };
+
+    private long hits;
+
+    private long misses;
+
+    /**
+     * Returns the result remembered for <code>value</code>, or computes it with <code>function</code> (and remembers it)
+     * if <code>value</code> is not known.
+     *
+     * @param value The cell value (may be <code>null</code>).
+     * @param function The function that computes the result of a value (results are not remembered if it throws).
+     * @return The result for <code>value</code>.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String value, Function<String, T> function) {
+        final Object result = results.get(value);
+        if (result != null || results.containsKey(value)) {
+            hits++;
+            return (T) result;
+        }
+        misses++;
+        final T computed = function.apply(value);
+        results.put(value, computed);
+        return computed;
+    }
+
+    /**
+     * Forgets all the remembered results (hits and misses are kept).
+     */
+    public void clear() {
+        results.clear();
+    }
+
+    /**
+     * @return The number of values whose result was remembered.
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return The number of values whose result had to be computed.
+     */
+    public long getMisses() {
+        return misses;
+    }
+}
@@ -127,7 +127,11 @@ public class ActionFactory {
                 ((RowAction) metadata).applyOnLine(actionRow, context);
                 break;
             case COLUMN:
-                ((ColumnAction) metadata).applyOnColumn(actionRow, context);
+                if (metadata instanceof ValueAction && actionRow == row && ((ValueAction) metadata).isPure(context)) {
+                    applyOnValue((ValueAction) metadata, actionRow, context);
+                } else {
+                    ((ColumnAction) metadata).applyOnColumn(actionRow, context);
+                }
                 break;
             case DATASET:
                 ((DataSetAction) metadata).applyOnDataSet(actionRow, context);
@@ -146,4 +150,17 @@ public class ActionFactory {
         }
     }
 
+    /**
+     * Applies a {@link ValueAction} on the column of the row, the new value is taken from the memo of the action
+     * context when the value was already seen.
+     */
+    private static void applyOnValue(ValueAction action, DataSetRow row, ActionContext context) {
+        final String columnId = context.getColumnId();
+        final String value = row.get(columnId);
+        final String newValue = context.getValueMemo().get(value, v -> action.applyOnValue(v, context));
+        if (!StringUtils.equals(value, newValue)) {
+            row.set(columnId, newValue);
+        }
+    }
+
 }
@@ -51,7 +51,15 @@ public abstract class ActionMetadata {
         METADATA_COPY_COLUMNS,
         METADATA_DELETE_COLUMNS,
         VALUES_COLUMN,
-        NEED_STATISTICS
+        NEED_STATISTICS,
+        /**
+         * Action depends on row order or on previous rows: it must be applied by a single thread on all rows.
+         */
+        FORBID_DISTRIBUTED,
+        /**
+         * Action only marks rows as deleted (values of rows are left unchanged).
+         */
+        DELETE_ROWS
     }
 
     /**
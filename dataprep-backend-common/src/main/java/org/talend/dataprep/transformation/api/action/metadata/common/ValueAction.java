@@ -0,0 +1,42 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.transformation.api.action.metadata.common;
+
+import org.talend.dataprep.transformation.api.action.context.ActionContext;
+
+/**
+ * Interface for column actions that are pure per cell: the new value of a cell only depends on its current value (and
+ * on the action parameters). When applied on a column, the new value is computed once per distinct value and reused
+ * for the following rows (see {@link org.talend.dataprep.transformation.api.action.context.ValueMemo}).
+ */
+public interface ValueAction {
+
+    /**
+     * Compute the new value of a cell.
+     *
+     * @param value the current value of the cell (may be null).
+     * @param context the transformation context.
+     * @return the new value of the cell.
+     */
+    String applyOnValue(final String value, final ActionContext context);
+
+    /**
+     * @param context the transformation context.
+     * @return <code>true</code> if, with the parameters of the context, the new value only depends on the current value
+     * (default), <code>false</code> if it depends on other cells of the row.
+     */
+    default boolean isPure(final ActionContext context) {
+        return true;
+    }
+}
@@ -63,6 +63,15 @@ public class Lookup extends ActionMetadata implements DataSetAction {
     /** This class' logger. */
     private static final Logger LOGGER = LoggerFactory.getLogger(Lookup.class);
 
+    /** Context key of the lookup row matcher. */
+    private static final String ROW_MATCHER = "rowMatcher"; //$NON-NLS-1$
+
+    /** Context key of the columns to add (parsed from parameters once). */
+    private static final String COLUMNS_TO_ADD = "colsToAdd"; //$NON-NLS-1$
+
+    /** Context key of the positions of the columns to add in the lookup values. */
+    private static final String COLUMNS_POSITIONS = "colsPositions"; //$NON-NLS-1$
+
     /** DataSet service url. */
     @Value("${dataset.service.url}")
     private String datasetServiceUrl;
@@ -153,16 +162,21 @@ public class Lookup extends ActionMetadata implements DataSetAction {
     public void compile(ActionContext context) {
         super.compile(context);
         if (context.getActionStatus() == ActionContext.ActionStatus.OK) {
-            List<LookupSelectedColumnParameter> colsToAdd = getColsToAdd(context.getParameters());
+            List<LookupSelectedColumnParameter> colsToAdd = context.get(COLUMNS_TO_ADD, this::getColsToAdd);
             if (colsToAdd.isEmpty()) {
                 context.setActionStatus(ActionContext.ActionStatus.CANCELED);
             }
             //
-            LookupRowMatcher rowMatcher = context.get("rowMatcher", //
+            LookupRowMatcher rowMatcher = context.get(ROW_MATCHER, //
                         (p) -> {
                        String dataSetId = p.get(LOOKUP_DS_ID.getKey());
                        return applicationContext.getBean(LookupRowMatcher.class, dataSetId);
             });
+            // Resolve the selected columns in the lookup values once
+            context.get(COLUMNS_POSITIONS, p -> {
+                final String joinOn = p.get(LOOKUP_JOIN_ON.getKey());
+                return colsToAdd.stream().mapToInt(toAdd -> rowMatcher.getColumnIndex(joinOn, toAdd.getId())).toArray();
+            });
             // Create lookup result columns
             final Map<String, String> parameters = context.getParameters();
             final String columnId = parameters.get(COLUMN_ID.getKey());
@@ -198,19 +212,28 @@ public class Lookup extends ActionMetadata implements DataSetAction {
         String joinOn = parameters.get(LOOKUP_JOIN_ON.getKey());
 
         // get the rowMatcher from context
-        LookupRowMatcher rowMatcher = context.get("rowMatcher");
+        LookupRowMatcher rowMatcher = context.get(ROW_MATCHER);
 
-        // get the matching lookup row
-        DataSetRow matchingRow = rowMatcher.getMatchingRow(joinOn, joinValue);
+        // get the matching lookup values
+        String[] matchingValues = rowMatcher.getMatchingValues(joinOn, joinValue);
 
-        // get the columns to add
-        List<LookupSelectedColumnParameter> colsToAdd = getColsToAdd(parameters);
-        colsToAdd.forEach(toAdd -> {
+        // get the columns to add (and their position in lookup values)
+        List<LookupSelectedColumnParameter> colsToAdd = context.get(COLUMNS_TO_ADD);
+        int[] positions = context.get(COLUMNS_POSITIONS);
+        for (int i = 0; i < positions.length; i++) {
             // get the new column
-            String newColId = context.column(toAdd.getId());
+            String newColId = context.column(colsToAdd.get(i).getId());
             // insert new row value
-            row.set(newColId, matchingRow.get(toAdd.getId()));
-        });
+            final String value;
+            if (positions[i] < 0) {
+                value = null;
+            } else if (matchingValues == null) {
+                value = EMPTY;
+            } else {
+                value = matchingValues[positions[i]];
+            }
+            row.set(newColId, value);
+        }
     }
 
     /**
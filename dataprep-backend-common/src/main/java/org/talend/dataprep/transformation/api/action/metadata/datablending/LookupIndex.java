@@ -0,0 +1,190 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.transformation.api.action.metadata.datablending;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Stream;
+
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.DataSetRow;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Hash index of a lookup dataset on a join column: for each join value, the values (in column order) of the first
+ * lookup row with this join value. An index is immutable once built, so it can be shared between concurrent
+ * transformations.
+ * <p>
+ * Binary format (see {@link #write(OutputStream, ObjectMapper)}):
+ * <ul>
+ * <li>format version.</li>
+ * <li>JSON of the lookup columns (length + bytes).</li>
+ * <li>number of rows then, for each row, join value followed by one value per column.</li>
+ * <li>end marker (the format version, again) to detect incomplete content.</li>
+ * </ul>
+ * Strings are written as their UTF-8 length (<code>-1</code> for <code>null</code>) followed by their UTF-8 bytes.
+ */
+class LookupIndex {
+
+    private static final int FORMAT_VERSION = 1;
+
+    /** Lookup dataset columns. */
+    private final List<ColumnMetadata> columns;
+
+    /** Position of each lookup column id in the row values. */
+    private final Map<String, Integer> positions = new HashMap<>();
+
+    /** Lookup row values per join value. */
+    private final Map<String, String[]> rows;
+
+    private LookupIndex(List<ColumnMetadata> columns, Map<String, String[]> rows) {
+        this.columns = columns;
+        this.rows = rows;
+        for (int i = 0; i < columns.size(); i++) {
+            positions.put(columns.get(i).getId(), i);
+        }
+    }
+
+    /**
+     * Builds the index of lookup records.
+     *
+     * @param columns The lookup dataset columns.
+     * @param records The lookup dataset records.
+     * @param joinOn The id of the join column.
+     * @return The index of all records on the join column.
+     */
+    static LookupIndex build(List<ColumnMetadata> columns, Stream<DataSetRow> records, String joinOn) {
+        final Map<String, String[]> rows = new HashMap<>();
+        records.forEach(row -> {
+            final String joinValue = row.get(joinOn);
+            if (joinValue != null && !rows.containsKey(joinValue)) {
+                final String[] values = new String[columns.size()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = row.get(columns.get(i).getId());
+                }
+                rows.put(joinValue, values);
+            }
+        });
+        return new LookupIndex(columns, rows);
+    }
+
+    /**
+     * @param joinValue A join value.
+     * @return The values of the matching lookup row (in column order), <code>null</code> if no row matches.
+     */
+    String[] get(String joinValue) {
+        return rows.get(joinValue);
+    }
+
+    /**
+     * @param columnId A lookup column id.
+     * @return The position of the column values in {@link #get(String)} results, <code>-1</code> if column does not
+     * exist in lookup dataset.
+     */
+    int indexOf(String columnId) {
+        final Integer position = positions.get(columnId);
+        return position == null ? -1 : position;
+    }
+
+    List<ColumnMetadata> getColumns() {
+        return columns;
+    }
+
+    /**
+     * @return The number of distinct join values.
+     */
+    int size() {
+        return rows.size();
+    }
+
+    /**
+     * Writes this index in binary format.
+     *
+     * @param output Where to write the index (not closed by this method).
+     * @param mapper The mapper used to write column metadata.
+     * @throws IOException In case of write error.
+     */
+    void write(OutputStream output, ObjectMapper mapper) throws IOException {
+        final DataOutputStream data = new DataOutputStream(new BufferedOutputStream(output, 64 * 1024));
+        data.writeInt(FORMAT_VERSION);
+        final byte[] columnsJson = mapper.writeValueAsBytes(columns);
+        data.writeInt(columnsJson.length);
+        data.write(columnsJson);
+        data.writeInt(rows.size());
+        for (Map.Entry<String, String[]> row : rows.entrySet()) {
+            writeString(data, row.getKey());
+            for (String value : row.getValue()) {
+                writeString(data, value);
+            }
+        }
+        data.writeInt(FORMAT_VERSION);
+        data.flush();
+    }
+
+    /**
+     * Reads an index written by {@link #write(OutputStream, ObjectMapper)}.
+     *
+     * @param input The binary content of the index (not closed by this method).
+     * @param mapper The mapper used to read column metadata.
+     * @return The index.
+     * @throws IOException In case of read error or if content is incomplete.
+     */
+    static LookupIndex read(InputStream input, ObjectMapper mapper) throws IOException {
+        final DataInputStream data = new DataInputStream(new BufferedInputStream(input, 64 * 1024));
+        if (data.readInt() != FORMAT_VERSION) {
+            throw new IOException("Unsupported lookup index format.");
+        }
+        final byte[] columnsJson = new byte[data.readInt()];
+        data.readFully(columnsJson);
+        final List<ColumnMetadata> columns = mapper.readValue(columnsJson, new TypeReference<List<ColumnMetadata>>() {
+        });
+        final int size = data.readInt();
+        final Map<String, String[]> rows = new HashMap<>(size * 4 / 3 + 1);
+        for (int i = 0; i < size; i++) {
+            final String joinValue = readString(data);
+            final String[] values = new String[columns.size()];
+            for (int j = 0; j < values.length; j++) {
+                values[j] = readString(data);
+            }
+            rows.put(joinValue, values);
+        }
+        if (data.readInt() != FORMAT_VERSION) {
+            throw new IOException("Incomplete lookup index.");
+        }
+        return new LookupIndex(columns, rows);
+    }
+
+    private static void writeString(DataOutputStream data, String value) throws IOException {
+        if (value == null) {
+            data.writeInt(-1);
+        } else {
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            data.writeInt(bytes.length);
+            data.write(bytes);
+        }
+    }
+
+    private static String readString(DataInputStream data) throws IOException {
+        final int length = data.readInt();
+        if (length < 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        data.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
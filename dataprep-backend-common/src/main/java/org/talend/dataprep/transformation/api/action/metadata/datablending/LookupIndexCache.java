@@ -0,0 +1,193 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.transformation.api.action.metadata.datablending;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.talend.dataprep.api.dataset.DataSet;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.DataSetRow;
+import org.talend.dataprep.cache.ContentCache;
+import org.talend.dataprep.cache.ContentCacheKey;
+import org.talend.dataprep.command.dataset.DataSetGet;
+import org.talend.dataprep.exception.TDPException;
+import org.talend.dataprep.exception.error.TransformationErrorCodes;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Shares {@link LookupIndex lookup indexes} between transformations. An index is identified by the lookup dataset id,
+ * the version of its content and the join column, so an index is built once per lookup dataset version:
+ * <ul>
+ * <li>most recently used indexes are kept in memory.</li>
+ * <li>all indexes are stored in the {@link ContentCache}, so they survive memory eviction and are shared between
+ * service instances.</li>
+ * </ul>
+ * Concurrent requests for the same index wait for the first one to build it.
+ */
+@Component
+public class LookupIndexCache {
+
+    /** This class' logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(LookupIndexCache.class);
+
+    /** Spring application context. */
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    /** The dataprep ready jackson builder. */
+    @Autowired
+    @Lazy // needed to prevent a circular dependency
+    private ObjectMapper mapper;
+
+    /** Where indexes are stored. */
+    @Autowired
+    private ContentCache contentCache;
+
+    /** Number of indexes kept in memory. */
+    @Value("${lookup.index.memory.size:4}")
+    private int memorySize;
+
+    /** Indexes kept in memory (in access order). */
+    private final Map<String, LookupIndex> indexes = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** Locks to build an index once. */
+    private final ConcurrentMap<String, Object> locks = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the index of the lookup dataset on the join column, index is built if needed.
+     *
+     * @param dataSetId The lookup dataset id.
+     * @param metadata The lookup dataset metadata (used to detect content changes).
+     * @param joinOn The id of the join column.
+     * @return The index of the lookup dataset content.
+     */
+    LookupIndex get(String dataSetId, DataSetMetadata metadata, String joinOn) {
+        final LookupIndexKey key = new LookupIndexKey(dataSetId, metadata, joinOn);
+        LookupIndex index = getFromMemory(key);
+        if (index != null) {
+            return index;
+        }
+        final Object lock = locks.computeIfAbsent(key.getKey(), k -> new Object());
+        try {
+            synchronized (lock) {
+                index = getFromMemory(key);
+                if (index == null) {
+                    index = getFromContentCache(key);
+                }
+                if (index == null) {
+                    index = build(dataSetId, joinOn);
+                    store(key, index);
+                }
+                synchronized (indexes) {
+                    indexes.put(key.getKey(), index);
+                    while (indexes.size() > memorySize) {
+                        indexes.remove(indexes.keySet().iterator().next());
+                    }
+                }
+                return index;
+            }
+        } finally {
+            locks.remove(key.getKey(), lock);
+        }
+    }
+
+    private LookupIndex getFromMemory(LookupIndexKey key) {
+        synchronized (indexes) {
+            return indexes.get(key.getKey());
+        }
+    }
+
+    private LookupIndex getFromContentCache(LookupIndexKey key) {
+        try (InputStream input = contentCache.get(key)) {
+            if (input == null) {
+                return null;
+            }
+            final LookupIndex index = LookupIndex.read(input, mapper);
+            LOGGER.debug("Lookup index {} read from cache ({} values).", key.getKey(), index.size());
+            return index;
+        } catch (IOException e) {
+            LOGGER.debug("Unable to read lookup index {}, index is rebuilt.", key.getKey(), e);
+            return null;
+        }
+    }
+
+    private LookupIndex build(String dataSetId, String joinOn) {
+        final long start = System.currentTimeMillis();
+        final DataSetGet dataSetGet = applicationContext.getBean(DataSetGet.class, dataSetId);
+        try (InputStream input = dataSetGet.execute()) {
+            final JsonParser jsonParser = mapper.getFactory().createParser(input);
+            final DataSet lookup = mapper.readerFor(DataSet.class).readValue(jsonParser);
+            final LookupIndex index;
+            try (Stream<DataSetRow> records = lookup.getRecords()) {
+                index = LookupIndex.build(lookup.getMetadata().getRowMetadata().getColumns(), records, joinOn);
+            }
+            LOGGER.debug("Lookup index of {} on {} built in {} ms ({} values).", dataSetId, joinOn,
+                    System.currentTimeMillis() - start, index.size());
+            return index;
+        } catch (IOException e) {
+            throw new TDPException(TransformationErrorCodes.UNABLE_TO_READ_LOOKUP_DATASET, e);
+        }
+    }
+
+    private void store(LookupIndexKey key, LookupIndex index) {
+        try (OutputStream output = contentCache.put(key, ContentCache.TimeToLive.LONG)) {
+            index.write(output, mapper);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to store lookup index {}.", key.getKey(), e);
+            contentCache.evict(key);
+        }
+    }
+
+    /**
+     * Content cache key of a lookup index.
+     */
+    private static class LookupIndexKey implements ContentCacheKey {
+
+        private final String key;
+
+        /**
+         * Last modification date, number of records and columns of the lookup dataset identify the content version.
+         */
+        private LookupIndexKey(String dataSetId, DataSetMetadata metadata, String joinOn) {
+            final long version = 31L * metadata.getLastModificationDate() + metadata.getContent().getNbRecords();
+            final int columns = metadata.getRowMetadata().getColumns().stream() //
+                    .map(c -> c.getId() + c.getName()) //
+                    .reduce("", String::concat) //
+                    .hashCode();
+            this.key = "lookup_" + dataSetId + '_' + Long.toHexString(version) + '_' + Integer.toHexString(columns) + '_'
+                    + joinOn + "_index";
+        }
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+    }
+}
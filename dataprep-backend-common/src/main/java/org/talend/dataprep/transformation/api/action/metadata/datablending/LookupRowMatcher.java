@@ -15,68 +15,57 @@ package org.talend.dataprep.transformation.api.action.metadata.datablending;
 
 import static org.apache.commons.lang.StringUtils.EMPTY;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 
 import javax.annotation.PostConstruct;
 
-import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.WebApplicationContext;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
-import org.talend.dataprep.api.dataset.DataSet;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
 import org.talend.dataprep.api.dataset.DataSetRow;
 import org.talend.dataprep.api.dataset.RowMetadata;
-import org.talend.dataprep.command.dataset.DataSetGet;
+import org.talend.dataprep.api.service.command.dataset.DataSetGetMetadata;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.TransformationErrorCodes;
 
-import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.databind.ObjectMapper;
-
 /**
- *
+ * Matches rows with the rows of a lookup dataset. Lookup rows are read from a {@link LookupIndex} shared by all
+ * transformations (see {@link LookupIndexCache}): only the lookup dataset metadata is read for each transformation.
  */
 @Component
 @Scope("prototype")
-public class LookupRowMatcher implements DisposableBean {
+public class LookupRowMatcher {
 
     /** This class' logger. */
     private static final Logger LOGGER = LoggerFactory.getLogger(LookupRowMatcher.class);
 
-    /** The dataprep ready jackson builder. */
-    @Autowired
-    @Lazy // needed to prevent a circular dependency
-    private ObjectMapper mapper;
-
     /** The Spring application context. */
     @Autowired
     private WebApplicationContext context;
 
+    /** The shared lookup indexes. */
+    @Autowired
+    private LookupIndexCache indexCache;
+
     /** The dataset id to lookup. */
     private String datasetId;
 
-    /** The dataset lookup input stream. */
-    private InputStream input;
-
-    /** Lookup row iterator. */
-    private Iterator<DataSetRow> lookupIterator;
+    /** The lookup dataset metadata. */
+    private DataSetMetadata metadata;
 
     /** Default empty row for the parsed lookup dataset. */
     private DataSetRow emptyRow;
 
-    /** Cache of dataset row. */
-    private Map<String, DataSetRow> cache = new HashMap<>();
+    /** The index of the lookup dataset (on {@link #indexJoinOn}). */
+    private LookupIndex index;
+
+    /** The column id the index is built on. */
+    private String indexJoinOn;
 
     /**
      * Default constructor.
@@ -88,37 +77,29 @@ public class LookupRowMatcher implements DisposableBean {
     }
 
     /**
-     * Open the connection to get the dataset content and init the row iterator.
+     * Get the lookup dataset metadata.
      */
     @PostConstruct
     private void init() {
-
-        final DataSetGet dataSetGet = context.getBean(DataSetGet.class, datasetId);
-
         LOGGER.debug("opening {}", datasetId);
-
-        this.input = dataSetGet.execute();
-        try {
-            JsonParser jsonParser = mapper.getFactory().createParser(input);
-            DataSet lookup = mapper.readerFor(DataSet.class).readValue(jsonParser);
-            this.lookupIterator = lookup.getRecords().iterator();
-            this.emptyRow = getEmptyRow(lookup.getMetadata().getRowMetadata().getColumns());
-        } catch (IOException e) {
-            throw new TDPException(TransformationErrorCodes.UNABLE_TO_READ_LOOKUP_DATASET, e);
+        final DataSetGetMetadata dataSetGetMetadata = context.getBean(DataSetGetMetadata.class, datasetId);
+        this.metadata = dataSetGetMetadata.execute();
+        if (metadata == null) {
+            throw new TDPException(TransformationErrorCodes.UNABLE_TO_READ_LOOKUP_DATASET);
         }
+        this.emptyRow = getEmptyRow(metadata.getRowMetadata().getColumns());
     }
 
     /**
-     * Gently close the input stream as well as the http client.
+     * @param joinOn the column id to join on.
+     * @return The index of the lookup dataset on the join column.
      */
-    @Override
-    public void destroy() {
-        try {
-            input.close();
-        } catch (IOException e) {
-            LOGGER.warn("Error cleaning LookupRowMatcher", e);
+    private LookupIndex getIndex(String joinOn) {
+        if (index == null || !joinOn.equals(indexJoinOn)) {
+            index = indexCache.get(datasetId, metadata, joinOn);
+            indexJoinOn = joinOn;
         }
-        LOGGER.debug("connection to {} closed", datasetId);
+        return index;
     }
 
     /**
@@ -129,38 +110,43 @@ public class LookupRowMatcher implements DisposableBean {
      * @return the matching row or an empty one based on the
      */
     protected DataSetRow getMatchingRow(String joinOn, String joinValue) {
-
-        if (joinValue == null) {
-            LOGGER.debug("join value is null, returning empty row");
+        final String[] values = getMatchingValues(joinOn, joinValue);
+        if (values == null) {
+            LOGGER.trace("no row found for {}, returning an empty row", joinValue);
             return emptyRow;
         }
-
-        // first, let's look in the cache
-        if (cache.containsKey(joinValue)) {
-            return cache.get(joinValue);
+        final DataSetRow row = new DataSetRow(emptyRow.getRowMetadata());
+        final List<ColumnMetadata> columns = getIndex(joinOn).getColumns();
+        for (int i = 0; i < values.length; i++) {
+            row.set(columns.get(i).getId(), values[i]);
         }
+        return row;
+    }
 
-        // if the value is not cached, let's update the cache
-        while (lookupIterator.hasNext()) {
-            DataSetRow nextRow = lookupIterator.next();
-            final String nextRowJoinValue = nextRow.get(joinOn);
-
-            // update the cache no matter what so that the next joinValue may be already cached !
-            if (!cache.containsKey(nextRowJoinValue)) {
-                cache.put(nextRowJoinValue, nextRow.clone());
-                LOGGER.trace("row found and cached for {} -> {}", nextRowJoinValue, nextRow.values());
-            }
-
-            // if matching row is found, let's stop here
-            if (StringUtils.equals(joinValue, nextRowJoinValue)) {
-                return nextRow;
-            }
+    /**
+     * Return the values of the matching row, see {@link #getColumnIndex(String, String)} for the position of a column
+     * in these values.
+     *
+     * @param joinOn the column id to join on.
+     * @param joinValue the join value.
+     * @return the values of the matching row or <code>null</code> if no row matches.
+     */
+    protected String[] getMatchingValues(String joinOn, String joinValue) {
+        if (joinValue == null) {
+            LOGGER.debug("join value is null, returning empty row");
+            return null;
         }
+        return getIndex(joinOn).get(joinValue);
+    }
 
-        // the join value was not found and the cache is fully updated, so let's cache an empty row and return it
-        cache.put(joinValue, this.emptyRow);
-        LOGGER.trace("no row found for {}, returning an empty row", joinValue);
-        return this.emptyRow;
+    /**
+     * @param joinOn the column id to join on.
+     * @param columnId a lookup column id.
+     * @return the position of the column in {@link #getMatchingValues(String, String)} result or <code>-1</code> if
+     * the lookup dataset has no such column.
+     */
+    protected int getColumnIndex(String joinOn, String columnId) {
+        return getIndex(joinOn).indexOf(columnId);
     }
 
     public RowMetadata getRowMetadata() {
@@ -31,13 +31,14 @@ import org.talend.dataprep.api.dataset.statistics.Statistics;
 import org.talend.dataprep.transformation.api.action.context.ActionContext;
 import org.talend.dataprep.transformation.api.action.metadata.common.ActionMetadata;
 import org.talend.dataprep.transformation.api.action.metadata.common.ColumnAction;
+import org.talend.dataprep.transformation.api.action.metadata.common.ValueAction;
 import org.talend.dataprep.parameters.Parameter;
 
 /**
  * Change the date pattern on a 'date' column.
  */
 @Component(ChangeDatePattern.ACTION_BEAN_PREFIX + ChangeDatePattern.ACTION_NAME)
-public class ChangeDatePattern extends AbstractDate implements ColumnAction, DatePatternParamModel {
+public class ChangeDatePattern extends AbstractDate implements ColumnAction, ValueAction, DatePatternParamModel {
 
     /** Action name. */
     public static final String ACTION_NAME = "change_date_pattern"; //$NON-NLS-1$
@@ -95,19 +96,30 @@ public class ChangeDatePattern extends AbstractDate implements ColumnAction, Dat
     @Override
     public void applyOnColumn(DataSetRow row, ActionContext context) {
         final String columnId = context.getColumnId();
-        final DatePattern newPattern = context.get(COMPILED_DATE_PATTERN);
-
-        // Change the date pattern
         final String value = row.get(columnId);
         if (StringUtils.isBlank(value)) {
             return;
         }
+        row.set(columnId, applyOnValue(value, context));
+    }
+
+    /**
+     * @see ValueAction#applyOnValue(String, ActionContext)
+     */
+    @Override
+    public String applyOnValue(String value, ActionContext context) {
+        if (StringUtils.isBlank(value)) {
+            return value;
+        }
+        // Change the date pattern
+        final DatePattern newPattern = context.get(COMPILED_DATE_PATTERN);
         try {
-            final LocalDateTime date = dateParser.parse(value, context.getRowMetadata().getById(columnId));
-            row.set(columnId, newPattern.getFormatter().format(date));
+            final LocalDateTime date = dateParser.parse(value, context.getRowMetadata().getById(context.getColumnId()));
+            return newPattern.getFormatter().format(date);
         } catch (DateTimeException e) {
             // cannot parse the date, let's leave it as is
             LOGGER.debug("Unable to parse date {}.", value, e);
+            return value;
         }
     }
 
@@ -181,9 +181,7 @@ public class ComputeTimeSince extends AbstractDate implements ColumnAction {
                 break;
             case OTHER_COLUMN_MODE:
                 ColumnMetadata selectedColumn = rowMetadata.getById(parameters.get(SELECTED_COLUMN_PARAMETER));
-                String dateToCompare = row.get(selectedColumn.getId());
-
-                since = dateParser.parse(dateToCompare, selectedColumn);
+                since = dateParser.parse(row, selectedColumn);
                 break;
             case NOW_SERVER_SIDE_MODE:
             default:
@@ -192,8 +190,7 @@ public class ComputeTimeSince extends AbstractDate implements ColumnAction {
             }
 
             // parse the date
-            String value = row.get(columnId);
-            LocalDateTime temporalAccessor = dateParser.parse(value, context.getRowMetadata().getById(columnId));
+            LocalDateTime temporalAccessor = dateParser.parse(row, context.getRowMetadata().getById(columnId));
             Temporal valueAsDate = LocalDateTime.from(temporalAccessor);
             long newValue = unit.between(valueAsDate, since);
             row.set(newColumnId, String.valueOf(newValue));
@@ -16,10 +16,12 @@ package org.talend.dataprep.transformation.api.action.metadata.date;
 import static java.util.stream.Collectors.toList;
 import static org.apache.commons.lang.StringUtils.isNotEmpty;
 
+import java.text.ParsePosition;
 import java.time.DateTimeException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
 import java.util.*;
 
 import org.apache.commons.lang.StringUtils;
@@ -28,6 +30,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.DataSetRow;
+import org.talend.dataprep.api.dataset.ValueParser;
 import org.talend.dataprep.api.dataset.statistics.PatternFrequency;
 import org.talend.dataprep.quality.AnalyzerService;
 import org.talend.dataquality.statistics.frequency.pattern.PatternFrequencyStatistics;
@@ -36,15 +40,31 @@ import org.talend.dataquality.common.inference.Analyzers;
 
 /**
  * Component in charge of parsing dates.
+ * <p>
+ * Date patterns of a column are compiled once in a {@link ParsePlan}. A plan remembers the recently parsed values, as
+ * well as values that could not be parsed (so DQ library is not called again and again for the same invalid values). A
+ * plan is also the {@link ValueParser} of the dates kept in rows (see {@link #parse(DataSetRow, ColumnMetadata)}).
+ * <p>
+ * Plans are confined to the thread that uses them (no lock is needed to parse values, even when actions run in
+ * parallel): each thread keeps the plans of the columns it recently used, until the column pattern statistics change.
  */
 @Component
 public class DateParser {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DateParser.class);
 
+    /** Maximum number of parse plans kept per thread. */
+    private static final int MAX_PLANS = 16;
+
+    /** Maximum number of parsed (or unparseable) values remembered per plan. */
+    private static final int MAX_VALUES = 1024;
+
     @Autowired
     private AnalyzerService analyzerService;
 
+    /** Parse plans of the current thread, by identity of the column pattern statistics. */
+    private final ThreadLocal<ParsePlan[]> plans = ThreadLocal.withInitial(() -> new ParsePlan[MAX_PLANS]);
+
     /**
      * Returns the most frequent pattern. If few patterns are equally frequent, no guaranty of which one is returned.
      *
@@ -52,7 +72,7 @@ public class DateParser {
      * @return the most frequent pattern or null if no pattern at all.
      */
     public DatePattern getMostFrequentPattern(ColumnMetadata column) {
-        List<DatePattern> patterns = getPatterns(column.getStatistics().getPatternFrequencies());
+        List<DatePattern> patterns = getPlan(column).getPatterns();
         if (!patterns.isEmpty()) {
             return patterns.get(0);
         } else {
@@ -72,12 +92,82 @@ public class DateParser {
      * @throws DateTimeException if the date cannot be parsed, or if value is empty or null.
      */
     public LocalDateTime parse(String value, ColumnMetadata column) {
+        final ParsePlan plan = getPlan(column);
+        return parse(value, column, plan, plan.parse(value));
+    }
+
+    /**
+     * Parse the date time out of the value of the given column in the row, same as {@link #parse(String, ColumnMetadata)}
+     * but the date parsed from the column patterns is kept in the row (see {@link DataSetRow#parse(String, ValueParser)})
+     * for next actions and filters on the same value.
+     *
+     * @param row the row to get the value from.
+     * @param column the column to get the value and the date patterns from.
+     * @return the parsed date time. For date only value, time is set to 00:00:00.
+     * @throws DateTimeException if the date cannot be parsed, or if value is empty or null.
+     */
+    public LocalDateTime parse(DataSetRow row, ColumnMetadata column) {
+        final ParsePlan plan = getPlan(column);
+        final String columnId = column.getId();
+        return parse(row.get(columnId), column, plan, row.parse(columnId, plan));
+    }
+
+    /**
+     * Returns the date parsed from the column patterns, or calls the DQ library if value did not match any of them.
+     *
+     * @param value the value to get the date time from.
+     * @param column the column to get the date patterns from.
+     * @param plan the parse plan of the column.
+     * @param date the date parsed by the plan (<code>null</code> if value did not match any pattern).
+     * @return the parsed date time.
+     * @throws DateTimeException if the date cannot be parsed, or if value is empty or null.
+     */
+    private LocalDateTime parse(String value, ColumnMetadata column, ParsePlan plan, LocalDateTime date) {
+        if (date != null) {
+            return date;
+        }
+        LOGGER.debug("Unable to parse date '{}' from column patterns.", value);
+        if (plan.isUnparseable(value)) {
+            throw new DateTimeException("'" + value + "' does not match any known pattern");
+        }
         try {
-            return parseDateFromPatterns(value, getPatterns(column.getStatistics().getPatternFrequencies()));
-        } catch (DateTimeException e) {
-            LOGGER.debug("Unable to parse date '{}'", value, e);
             return guessAndParse(value, column);
+        } catch (DateTimeException e) {
+            plan.setUnparseable(value);
+            throw e;
+        }
+    }
+
+    /**
+     * Parse the date time out of the given value using <b>only</b> the known date patterns from the column statistics
+     * (DQ library is never called).
+     *
+     * @param value the value to get the date time from.
+     * @param column the column to get the date patterns from.
+     * @return the parsed date time (for date only value, time is set to 00:00:00) or <code>null</code> if value is null
+     * or does not match any of the column patterns.
+     */
+    public LocalDateTime parseFromColumnPatterns(String value, ColumnMetadata column) {
+        return getPlan(column).parse(value);
+    }
+
+    /**
+     * Returns the parse plan for the column patterns, plan is created if the current thread has no plan for the column
+     * or if the column pattern statistics changed since the plan was created.
+     *
+     * @param column the column to get the date patterns from.
+     * @return the parse plan of the column.
+     */
+    private ParsePlan getPlan(ColumnMetadata column) {
+        final List<PatternFrequency> patternFrequencies = column.getStatistics().getPatternFrequencies();
+        final ParsePlan[] threadPlans = plans.get();
+        final int slot = (System.identityHashCode(patternFrequencies) & Integer.MAX_VALUE) % threadPlans.length;
+        ParsePlan plan = threadPlans[slot];
+        if (plan == null || !plan.isPlanOf(patternFrequencies)) {
+            plan = new ParsePlan(patternFrequencies, getPatterns(patternFrequencies));
+            threadPlans[slot] = plan;
         }
+        return plan;
     }
 
     /**
@@ -154,25 +244,42 @@ public class DateParser {
             throw new DateTimeException("cannot parse null");
         }
 
+        final LocalDateTime date = parse(value, patterns);
+        if (date == null) {
+            throw new DateTimeException("'" + value + "' does not match any known pattern");
+        }
+        return date;
+    }
+
+    /**
+     * Parse the date from the given patterns without throwing exceptions for patterns that do not match.
+     *
+     * @param value the text to parse.
+     * @param patterns the patterns to use.
+     * @return the parsed date-time or <code>null</code> if no pattern matches the value.
+     */
+    private static LocalDateTime parse(String value, List<DatePattern> patterns) {
         for (DatePattern pattern : patterns) {
             final DateTimeFormatter formatter = pattern.getFormatter();
 
-            // first try to parse directly as LocalDateTime
+            // first check the value matches the pattern (no exception is thrown if it does not)
+            final ParsePosition position = new ParsePosition(0);
+            if (formatter.parseUnresolved(value, position) == null || position.getIndex() != value.length()) {
+                continue;
+            }
+            // then parse as LocalDateTime or, if value has no time, as LocalDate
             try {
-                return LocalDateTime.parse(value, formatter);
-            } catch (DateTimeException e) {
-                LOGGER.debug("Unable to parse date '{}' using LocalDateTime.", value, e);
-                // if it fails, let's try the LocalDate first
-                try {
-                    LocalDate temp = LocalDate.parse(value, formatter);
-                    return temp.atStartOfDay();
-                } catch (DateTimeException e2) {
-                    LOGGER.debug("Unable to parse date '{}' using LocalDate.", value, e2);
-                    // nothing to do here, just try the next formatter
+                final TemporalAccessor parsed = formatter.parseBest(value, LocalDateTime::from, LocalDate::from);
+                if (parsed instanceof LocalDateTime) {
+                    return (LocalDateTime) parsed;
                 }
+                return ((LocalDate) parsed).atStartOfDay();
+            } catch (DateTimeException e) {
+                LOGGER.debug("Unable to parse date '{}' using pattern '{}'.", value, pattern.getPattern(), e);
+                // nothing to do here, just try the next formatter
             }
         }
-        throw new DateTimeException("'" + value + "' does not match any known pattern");
+        return null;
     }
 
     /**
@@ -197,4 +304,106 @@ public class DateParser {
                 }).filter(datePattern -> datePattern != null) // remove non valid date patterns
                 .sorted().collect(toList());
     }
+
+    /**
+     * Compiled date patterns of a column with the recently parsed values (only used by the thread that created it).
+     */
+    private static class ParsePlan implements ValueParser<LocalDateTime> {
+
+        /** The column pattern statistics the plan was created from. */
+        private final List<PatternFrequency> source;
+
+        /** The pattern frequencies of the statistics when the plan was created. */
+        private final PatternFrequency[] frequencies;
+
+        /** The patterns of the statistics when the plan was created. */
+        private final String[] sourcePatterns;
+
+        /** The occurrences of the statistics when the plan was created. */
+        private final long[] occurrences;
+
+        /** Valid date patterns, sorted by frequency. */
+        private final List<DatePattern> patterns;
+
+        /** Recently parsed values. */
+        private final Map<String, LocalDateTime> parsed = new LinkedHashMap<String, LocalDateTime>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, LocalDateTime> eldest) {
+                return size() > MAX_VALUES;
+            }
+        };
+
+        /** Recent values that could not be parsed (not even by DQ library). */
+        private final Map<String, Boolean> unparseable = new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > MAX_VALUES;
+            }
+        };
+
+        private ParsePlan(List<PatternFrequency> source, List<DatePattern> patterns) {
+            this.source = source;
+            this.frequencies = source.toArray(new PatternFrequency[source.size()]);
+            this.sourcePatterns = new String[frequencies.length];
+            this.occurrences = new long[frequencies.length];
+            for (int i = 0; i < frequencies.length; i++) {
+                sourcePatterns[i] = frequencies[i].getPattern();
+                occurrences[i] = frequencies[i].getOccurrences();
+            }
+            this.patterns = Collections.unmodifiableList(patterns);
+        }
+
+        /**
+         * @param patternFrequencies column pattern statistics.
+         * @return <code>true</code> if the plan was created from these statistics and they did not change since.
+         */
+        private boolean isPlanOf(List<PatternFrequency> patternFrequencies) {
+            if (patternFrequencies != source || patternFrequencies.size() != frequencies.length) {
+                return false;
+            }
+            int i = 0;
+            for (PatternFrequency patternFrequency : patternFrequencies) {
+                if (patternFrequency != frequencies[i] //
+                        || !StringUtils.equals(patternFrequency.getPattern(), sourcePatterns[i]) //
+                        || patternFrequency.getOccurrences() != occurrences[i]) {
+                    return false;
+                }
+                i++;
+            }
+            return true;
+        }
+
+        private List<DatePattern> getPatterns() {
+            return patterns;
+        }
+
+        /**
+         * @param value the text to parse.
+         * @return the parsed date-time or <code>null</code> if value is null or no pattern matches the value.
+         */
+        @Override
+        public LocalDateTime parse(String value) {
+            if (value == null) {
+                return null;
+            }
+            LocalDateTime date = parsed.get(value);
+            if (date == null) {
+                date = DateParser.parse(value, patterns);
+                if (date != null) {
+                    parsed.put(value, date);
+                }
+            }
+            return date;
+        }
+
+        private boolean isUnparseable(String value) {
+            return unparseable.containsKey(value);
+        }
+
+        private void setUnparseable(String value) {
+            unparseable.put(value, Boolean.TRUE);
+        }
+    }
 }
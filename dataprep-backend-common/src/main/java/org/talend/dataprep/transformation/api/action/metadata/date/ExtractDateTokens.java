@@ -182,7 +182,7 @@ public class ExtractDateTokens extends AbstractDate implements ColumnAction {
         }
         TemporalAccessor temporalAccessor = null;
         try {
-            temporalAccessor = dateParser.parse(value, context.getRowMetadata().getById(columnId));
+            temporalAccessor = dateParser.parse(row, context.getRowMetadata().getById(columnId));
         } catch (DateTimeException e) {
             // temporalAccessor is left null, this will be used bellow to set empty new value for all fields
             LOGGER.debug("Unable to parse date {}.", value, e);
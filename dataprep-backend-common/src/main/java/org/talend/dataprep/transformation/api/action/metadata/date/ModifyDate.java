@@ -165,7 +165,7 @@ public class ModifyDate extends AbstractDate implements ColumnAction, DatePatter
         try {
             final DatePattern outputPattern = context.get(PATTERN_CONTEXT_KEY);
 
-            LocalDateTime date = dateParser.parse(value, context.getRowMetadata().getById(columnId));
+            LocalDateTime date = dateParser.parse(row, context.getRowMetadata().getById(columnId));
 
             date = date.plus(amount, context.get(UNIT_CONTEXT_KEY));
 
@@ -60,6 +60,6 @@ public abstract class AbstractDelete extends ActionMetadata implements ColumnAct
 
     @Override
     public Set<Behavior> getBehavior() {
-        return EnumSet.of(Behavior.VALUES_ALL);
+        return EnumSet.of(Behavior.VALUES_ALL, Behavior.DELETE_ROWS);
     }
 }
@@ -105,6 +105,6 @@ public class Delete extends ActionMetadata implements RowAction {
 
     @Override
     public Set<Behavior> getBehavior() {
-        return EnumSet.of(Behavior.VALUES_ALL);
+        return EnumSet.of(Behavior.VALUES_ALL, Behavior.DELETE_ROWS);
     }
 }
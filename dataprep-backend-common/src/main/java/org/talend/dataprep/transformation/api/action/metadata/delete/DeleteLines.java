@@ -65,6 +65,6 @@ public class DeleteLines extends ActionMetadata implements ColumnAction {
 
     @Override
     public Set<Behavior> getBehavior() {
-        return EnumSet.of(Behavior.VALUES_ALL);
+        return EnumSet.of(Behavior.VALUES_ALL, Behavior.DELETE_ROWS);
     }
 }
@@ -59,6 +59,6 @@ public class KeepOnly extends ActionMetadata implements ColumnAction {
 
     @Override
     public Set<Behavior> getBehavior() {
-        return EnumSet.of(Behavior.VALUES_ALL);
+        return EnumSet.of(Behavior.VALUES_ALL, Behavior.DELETE_ROWS);
     }
 }
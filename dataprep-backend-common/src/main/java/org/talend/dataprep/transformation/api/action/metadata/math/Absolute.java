@@ -20,9 +20,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
-import org.talend.daikon.number.BigDecimalParser;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.DataSetRow;
+import org.talend.dataprep.api.dataset.ValueParser;
 import org.talend.dataprep.api.type.Type;
 import org.talend.dataprep.transformation.api.action.context.ActionContext;
 import org.talend.dataprep.transformation.api.action.metadata.category.ActionCategory;
@@ -67,18 +67,13 @@ public class Absolute extends ActionMetadata implements ColumnAction {
     }
 
     /**
-     * Try to parse and return the absolute value of a long value as string
+     * Return the absolute value of a decimal value as string
      *
-     * @param value The value to execute action
+     * @param value The parsed value to execute action (null if value is not a number)
      * @return the absolute value or null
      */
-    private String executeOnFloat(final String value) {
-        try {
-            BigDecimal bd = BigDecimalParser.toBigDecimal(value);
-            return bd.abs().toPlainString();
-        } catch (NumberFormatException nfe2) {
-            return null;
-        }
+    private String executeOnFloat(final BigDecimal value) {
+        return value == null ? null : value.abs().toPlainString();
     }
 
     @Override
@@ -110,12 +105,12 @@ public class Absolute extends ActionMetadata implements ColumnAction {
         case INTEGER:
             absValueStr = executeOnLong(value);
             if (absValueStr == null) {
-                absValueStr = executeOnFloat(value);
+                absValueStr = executeOnFloat(row.parse(columnId, ValueParser.NUMBER));
             }
             break;
         case DOUBLE:
         case FLOAT:
-            absValueStr = executeOnFloat(value);
+            absValueStr = executeOnFloat(row.parse(columnId, ValueParser.NUMBER));
             if (absValueStr == null) {
                 absValueStr = executeOnLong(value);
             }
@@ -18,9 +18,9 @@ import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
 
-import org.talend.daikon.number.BigDecimalParser;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.DataSetRow;
+import org.talend.dataprep.api.dataset.ValueParser;
 import org.talend.dataprep.api.type.Type;
 import org.talend.dataprep.parameters.Parameter;
 import org.talend.dataprep.transformation.api.action.context.ActionContext;
@@ -70,18 +70,12 @@ public abstract class AbstractRound extends ActionMetadata implements ColumnActi
         }
 
         final String columnId = context.getColumnId();
-        final String value = row.get(columnId);
-        if (value == null) {
+        final BigDecimal bd = row.parse(columnId, ValueParser.NUMBER);
+        if (bd == null) {
+            // No value or Nan: nothing to do, but fail silently (no change in value)
             return;
         }
-
-        try {
-            BigDecimal bd = BigDecimalParser.toBigDecimal(value);
-            bd = bd.setScale(precision, getRoundingMode());
-            row.set(columnId, String.valueOf(bd));
-        } catch (NumberFormatException nfe2) {
-            // Nan: nothing to do, but fail silently (no change in value)
-        }
+        row.set(columnId, String.valueOf(bd.setScale(precision, getRoundingMode())));
     }
 
     protected abstract RoundingMode getRoundingMode();
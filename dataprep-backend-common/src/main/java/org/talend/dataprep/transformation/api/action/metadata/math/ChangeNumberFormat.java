@@ -35,6 +35,7 @@ import org.talend.dataprep.transformation.api.action.context.ActionContext;
 import org.talend.dataprep.transformation.api.action.metadata.category.ActionCategory;
 import org.talend.dataprep.transformation.api.action.metadata.common.ActionMetadata;
 import org.talend.dataprep.transformation.api.action.metadata.common.ColumnAction;
+import org.talend.dataprep.transformation.api.action.metadata.common.ValueAction;
 import org.talend.dataprep.parameters.Parameter;
 import org.talend.dataprep.parameters.SelectParameter;
 
@@ -42,7 +43,7 @@ import org.talend.dataprep.parameters.SelectParameter;
  * Change the pattern on a 'number' column.
  */
 @Component(ChangeNumberFormat.ACTION_BEAN_PREFIX + ChangeNumberFormat.ACTION_NAME)
-public class ChangeNumberFormat extends ActionMetadata implements ColumnAction {
+public class ChangeNumberFormat extends ActionMetadata implements ColumnAction, ValueAction {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ChangeNumberFormat.class);
 
@@ -256,6 +257,16 @@ public class ChangeNumberFormat extends ActionMetadata implements ColumnAction {
             } catch (IllegalArgumentException e) {
                 LOGGER.warn("Unsupported number format", e);
                 actionContext.setActionStatus(ActionContext.ActionStatus.CANCELED);
+                return;
+            }
+            // Values are changed to numbers (in compile since values may be memoized, see ValueAction)
+            final ColumnMetadata columnMetadata = actionContext.getRowMetadata().getById(actionContext.getColumnId());
+            if (columnMetadata != null) {
+                columnMetadata.setType(Type.DOUBLE.toString());
+                columnMetadata.setTypeForced(true);
+                columnMetadata.setDomain("");
+                columnMetadata.setDomainLabel("");
+                columnMetadata.setDomainForced(true);
             }
         }
     }
@@ -266,20 +277,23 @@ public class ChangeNumberFormat extends ActionMetadata implements ColumnAction {
     @Override
     public void applyOnColumn(DataSetRow row, ActionContext context) {
         final String columnId = context.getColumnId();
-        final DecimalFormat decimalTargetFormat = context.get(COMPILED_TARGET_FORMAT);
-
-        final ColumnMetadata columnMetadata = context.getRowMetadata().getById(columnId);
-        columnMetadata.setType(Type.DOUBLE.toString());
-        columnMetadata.setTypeForced(true);
-        columnMetadata.setDomain("");
-        columnMetadata.setDomainLabel("");
-        columnMetadata.setDomainForced(true);
-
         final String value = row.get(columnId);
         if (StringUtils.isBlank(value)) {
             LOGGER.debug("Unable to parse {} value as Number, it is blank", value);
             return;
         }
+        row.set(columnId, applyOnValue(value, context));
+    }
+
+    /**
+     * @see ValueAction#applyOnValue(String, ActionContext)
+     */
+    @Override
+    public String applyOnValue(String value, ActionContext context) {
+        if (StringUtils.isBlank(value)) {
+            return value;
+        }
+        final DecimalFormat decimalTargetFormat = context.get(COMPILED_TARGET_FORMAT);
 
         try {
             BigDecimal bd;
@@ -301,11 +315,10 @@ public class ChangeNumberFormat extends ActionMetadata implements ColumnAction {
                 break;
             }
 
-            String newValue = BigDecimalFormatter.format(bd, decimalTargetFormat);
-
-            row.set(columnId, newValue);
+            return BigDecimalFormatter.format(bd, decimalTargetFormat);
         } catch (NumberFormatException e) {
             LOGGER.debug("Unable to parse {} value as Number", value);
+            return value;
         }
     }
 
@@ -26,10 +26,10 @@ import org.apache.commons.lang.StringUtils;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 import org.talend.daikon.exception.ExceptionContext;
-import org.talend.daikon.number.BigDecimalParser;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.DataSetRow;
 import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.ValueParser;
 import org.talend.dataprep.api.type.Type;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.CommonErrorCodes;
@@ -173,28 +173,38 @@ public class NumericOperations extends ActionMetadata implements ColumnAction, O
 
         // extract transformation parameters
         final String operator = parameters.get(OPERATOR_PARAMETER);
-        String operand;
+        BigDecimal operand;
         if (parameters.get(MODE_PARAMETER).equals(CONSTANT_MODE)) {
-            operand = parameters.get(OPERAND_PARAMETER);
+            operand = ValueParser.NUMBER.parse(parameters.get(OPERAND_PARAMETER));
         } else {
             final ColumnMetadata selectedColumn = rowMetadata.getById(parameters.get(SELECTED_COLUMN_PARAMETER));
-            operand = row.get(selectedColumn.getId());
+            operand = row.parse(selectedColumn.getId(), ValueParser.NUMBER);
         }
 
         // column creation
         final String newColumnId = context.column("result");
 
         // set new column value
-        final String sourceValue = row.get(columnId);
+        final BigDecimal sourceValue = row.parse(columnId, ValueParser.NUMBER);
         final String newValue = compute(sourceValue, operator, operand);
         row.set(newColumnId, newValue);
     }
 
     protected String compute(final String stringOperandOne, final String operator, final String stringOperandTwo) {
-        try {
-            final BigDecimal operandOne = BigDecimalParser.toBigDecimal(stringOperandOne);
-            final BigDecimal operandTwo = BigDecimalParser.toBigDecimal(stringOperandTwo);
+        return compute(ValueParser.NUMBER.parse(stringOperandOne), operator, ValueParser.NUMBER.parse(stringOperandTwo));
+    }
 
+    /**
+     * @param operandOne the first operand (null if not a number).
+     * @param operator the operator.
+     * @param operandTwo the second operand (null if not a number).
+     * @return the result of the operation, an empty string if an operand is not a number or the operation fails.
+     */
+    private String compute(final BigDecimal operandOne, final String operator, final BigDecimal operandTwo) {
+        if (operandOne == null || operandTwo == null) {
+            return "";
+        }
+        try {
             BigDecimal toReturn;
 
             final int scale = 2;
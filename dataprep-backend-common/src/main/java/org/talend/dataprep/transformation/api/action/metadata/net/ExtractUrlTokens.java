@@ -112,21 +112,35 @@ public class ExtractUrlTokens extends ActionMetadata implements ColumnAction {
         final RowMetadata rowMetadata = context.getRowMetadata();
         final ColumnMetadata column = rowMetadata.getById(columnId);
 
+        // Tokens only depend on the value, they are extracted once per distinct value.
+        final String[] tokens = context.getValueMemo().get(originalValue, ExtractUrlTokens::extractTokens);
+        for (int i = 0; i < tokens.length; i++) {
+            final String columnName = column.getName() + UrlTokenExtractors.urlTokenExtractors[i].getTokenName();
+            row.set(context.column(columnName), tokens[i]);
+        }
+    }
+
+    /**
+     * @param value the url to extract tokens from.
+     * @return the value of each token (see {@link UrlTokenExtractors#urlTokenExtractors}), empty if value is not an url.
+     */
+    private static String[] extractTokens(String value) {
         URI url = null;
         try {
-            url = new URI(originalValue);
+            url = new URI(value);
         } catch (URISyntaxException | NullPointerException e) {
             // Nothing to do, silently skip this row, leave url null, will be treated just below
-            LOGGER.debug("Unable to parse value {}.", originalValue, e);
+            LOGGER.debug("Unable to parse value {}.", value, e);
         }
-        // if url is null, we still loop on urlTokenExtractors in order to create the column metadata for all rows, even
-        // invalid ones.
-        for (UrlTokenExtractor urlTokenExtractor : UrlTokenExtractors.urlTokenExtractors) {
-            final String columnName = column.getName() + urlTokenExtractor.getTokenName();
-            final String id = context.column(columnName);
-            final String tokenValue = (url == null ? StringUtils.EMPTY : urlTokenExtractor.extractToken(url));
-            row.set(id, (tokenValue == null ? StringUtils.EMPTY : tokenValue));
+        // if url is null, we still return all the tokens in order to set all the columns for all rows, even invalid
+        // ones.
+        final UrlTokenExtractor[] extractors = UrlTokenExtractors.urlTokenExtractors;
+        final String[] tokens = new String[extractors.length];
+        for (int i = 0; i < extractors.length; i++) {
+            final String tokenValue = (url == null ? StringUtils.EMPTY : extractors[i].extractToken(url));
+            tokens[i] = (tokenValue == null ? StringUtils.EMPTY : tokenValue);
         }
+        return tokens;
     }
 
     @Override
@@ -33,13 +33,14 @@ import org.talend.dataprep.transformation.api.action.metadata.category.ActionCat
 import org.talend.dataprep.transformation.api.action.metadata.common.ActionMetadata;
 import org.talend.dataprep.transformation.api.action.metadata.common.ColumnAction;
 import org.talend.dataprep.transformation.api.action.metadata.common.OtherColumnParameters;
+import org.talend.dataprep.transformation.api.action.metadata.common.ValueAction;
 import org.talend.dataquality.standardization.phone.PhoneNumberHandlerBase;
 
 /**
  * Format a validated phone number to a specified format.
  */
 @Component(FormatPhoneNumber.ACTION_BEAN_PREFIX + FormatPhoneNumber.ACTION_NAME)
-public class FormatPhoneNumber extends ActionMetadata implements ColumnAction {
+public class FormatPhoneNumber extends ActionMetadata implements ColumnAction, ValueAction {
 
     /**
      * Action name.
@@ -106,6 +107,25 @@ public class FormatPhoneNumber extends ActionMetadata implements ColumnAction {
         row.set(columnId, formatedStr);
     }
 
+    @Override
+    public String applyOnValue(String value, ActionContext context) {
+        if (StringUtils.isEmpty(value)) {
+            return value;
+        }
+        // region is a constant (see isPure), no need for the row
+        return formatIfValid(getRegionCode(context, null), context.get(PHONE_NUMBER_HANDLER_KEY),
+                context.getParameters().get(FORMAT_TYPE_PARAMETER), value);
+    }
+
+    /**
+     * @return <code>true</code> only if the region is a constant (it may be read from another column of the row
+     * otherwise).
+     */
+    @Override
+    public boolean isPure(ActionContext context) {
+        return OtherColumnParameters.CONSTANT_MODE.equals(context.getParameters().get(OtherColumnParameters.MODE_PARAMETER));
+    }
+
     /**
      * When the phone is a valid phone number,format it as the specified form.
      * 
@@ -34,13 +34,14 @@ import org.talend.dataprep.transformation.api.action.metadata.common.ActionMetad
 import org.talend.dataprep.transformation.api.action.metadata.common.CellAction;
 import org.talend.dataprep.transformation.api.action.metadata.common.ColumnAction;
 import org.talend.dataprep.transformation.api.action.metadata.common.ReplaceOnValueHelper;
+import org.talend.dataprep.transformation.api.action.metadata.common.ValueAction;
 import org.talend.dataprep.parameters.Parameter;
 
 /**
  * Replace the content or part of a cell by a value.
  */
 @Component(ReplaceOnValue.ACTION_BEAN_PREFIX + ReplaceOnValue.REPLACE_ON_VALUE_ACTION_NAME)
-public class ReplaceOnValue extends ActionMetadata implements ColumnAction, CellAction {
+public class ReplaceOnValue extends ActionMetadata implements ColumnAction, CellAction, ValueAction {
 
     public static final String REGEX_HELPER_KEY = "regex_helper";
 
@@ -121,6 +122,14 @@ public class ReplaceOnValue extends ActionMetadata implements ColumnAction, Cell
         apply(row, context);
     }
 
+    /**
+     * @see ValueAction#applyOnValue(String, ActionContext)
+     */
+    @Override
+    public String applyOnValue(String value, ActionContext context) {
+        return computeNewValue(context, value);
+    }
+
     /**
      * @see CellAction#applyOnCell(DataSetRow, ActionContext)
      */
@@ -6,7 +6,7 @@ package org.talend.dataprep.transformation.pipeline;
 public interface Monitored {
 
     /**
-     * @return The total time spent in the pipeline element (in milliseconds).
+     * @return The total time spent in the pipeline element (in nanoseconds).
      */
     long getTotalTime();
 
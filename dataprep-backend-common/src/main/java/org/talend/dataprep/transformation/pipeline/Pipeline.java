@@ -1,6 +1,7 @@
 package org.talend.dataprep.transformation.pipeline;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -25,25 +26,44 @@ import org.talend.dataprep.transformation.pipeline.node.*;
 import org.talend.dataquality.common.inference.Analyzer;
 import org.talend.dataquality.common.inference.Analyzers;
 
-public class Pipeline implements Node, RuntimeNode {
+public class Pipeline implements Node, RuntimeNode, Monitored {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(Pipeline.class);
 
     private final Node node;
 
+    private final List<String> plan;
+
+    private long totalTime;
+
+    private long count;
+
     /**
      * @param node The source node (the node in the pipeline that submit content to the pipeline).
      * @see Builder to create a new instance of this class.
      */
     Pipeline(Node node) {
+        this(node, Collections.emptyList());
+    }
+
+    /**
+     * @param node The source node (the node in the pipeline that submit content to the pipeline).
+     * @param plan The decisions taken while pipeline was planned.
+     * @see Builder to create a new instance of this class.
+     */
+    Pipeline(Node node, List<String> plan) {
         this.node = node;
+        this.plan = plan;
     }
 
     public void execute(DataSet dataSet) {
+        final long start = System.nanoTime();
         final RowMetadata rowMetadata = dataSet.getMetadata().getRowMetadata().clone();
         try (Stream<DataSetRow> records = dataSet.getRecords()) {
-            records.forEach(r -> node.exec().receive(r, rowMetadata));
+            records.forEach(r -> receive(r, rowMetadata));
             node.exec().signal(Signal.END_OF_STREAM);
+        } finally {
+            totalTime += System.nanoTime() - start;
         }
     }
 
@@ -56,6 +76,7 @@ public class Pipeline implements Node, RuntimeNode {
 
     @Override
     public void receive(DataSetRow row, RowMetadata metadata) {
+        count++;
         node.exec().receive(row, metadata);
     }
 
@@ -84,10 +105,33 @@ public class Pipeline implements Node, RuntimeNode {
         return this;
     }
 
+    /**
+     * @return The total time spent in {@link #execute(DataSet)} (in nanoseconds).
+     */
+    @Override
+    public long getTotalTime() {
+        return totalTime;
+    }
+
+    /**
+     * @return The number of rows submitted to the pipeline.
+     */
+    @Override
+    public long getCount() {
+        return count;
+    }
+
     public Node getNode() {
         return node;
     }
 
+    /**
+     * @return The decisions taken while pipeline was planned (empty if no optimization was done).
+     */
+    public List<String> getPlan() {
+        return plan;
+    }
+
     public static class Builder {
 
         private final List<Action> actions = new ArrayList<>();
@@ -122,6 +166,17 @@ public class Pipeline implements Node, RuntimeNode {
 
         private AnalyzerService analyzerService;
 
+        private ForkJoinPool parallelPool;
+
+        private long reservoirMemoryBudget = ReservoirNode.DEFAULT_MEMORY_BUDGET;
+
+        private boolean planner;
+
+        private final List<String> plan = new ArrayList<>();
+
+        /** Columns to analyze in a reservoir before next action (<code>null</code> if no reservoir is needed). */
+        private Predicate<ColumnMetadata> pendingReservoir;
+
         public static Builder builder() {
             return new Builder();
         }
@@ -186,6 +241,39 @@ public class Pipeline implements Node, RuntimeNode {
             return this;
         }
 
+        /**
+         * Enables parallel execution of stateless actions (see {@link ParallelNode}).
+         *
+         * @param parallelPool The pool used to apply actions, <code>null</code> to apply all actions serially.
+         * @return this builder.
+         */
+        public Builder withParallelism(ForkJoinPool parallelPool) {
+            this.parallelPool = parallelPool;
+            return this;
+        }
+
+        /**
+         * @param reservoirMemoryBudget Estimated size (in bytes) of rows each {@link ReservoirNode} keeps in memory before
+         * spilling them to disk.
+         * @return this builder.
+         */
+        public Builder withReservoirMemoryBudget(long reservoirMemoryBudget) {
+            this.reservoirMemoryBudget = reservoirMemoryBudget;
+            return this;
+        }
+
+        /**
+         * Enables the optimization of the pipeline before it is built (see {@link PipelinePlanner}): useless actions are
+         * removed, row deletions are applied earlier and stateless actions are applied in one node.
+         *
+         * @param planner <code>true</code> to optimize the pipeline.
+         * @return this builder.
+         */
+        public Builder withPlanner(boolean planner) {
+            this.planner = planner;
+            return this;
+        }
+
         public Builder withFilter(Predicate<DataSetRow> filter) {
             this.inFilter = filter;
             return this;
@@ -250,13 +338,13 @@ public class Pipeline implements Node, RuntimeNode {
             return this;
         }
 
-        private void addReservoirStatistics(Action action, ActionAnalysis analysis, NodeBuilder builder) {
+        private void addReservoirStatistics(Action action, ActionAnalysis analysis) {
             if (allowMetadataChange) {
                 if (actionToMetadata.get(action).getBehavior().contains(ActionMetadata.Behavior.NEED_STATISTICS)) {
                     if (actionRegistry != null) {
-                        builder.to(new ReservoirNode(inlineAnalyzer, getReservoirStats(), analysis.filter, adapter));
+                        requestReservoir(analysis.filter);
                     } else {
-                        builder.to(new ReservoirNode(inlineAnalyzer, getReservoirStats(), c -> true, adapter));
+                        requestReservoir(c -> true);
                     }
                 }
                 if (action.getParameters().containsKey(ImplicitParameters.FILTER.getKey())) {
@@ -264,7 +352,7 @@ public class Pipeline implements Node, RuntimeNode {
                     final String filterAsString = action.getParameters().get(ImplicitParameters.FILTER.getKey());
                     if (StringUtils.contains(filterAsString, "valid") || StringUtils.contains(filterAsString, "invalid")) {
                         // TODO Perform static analysis of filter to discover which column is the filter on.
-                        builder.to(new ReservoirNode(inlineAnalyzer, getReservoirStats(), c -> true, adapter));
+                        requestReservoir(c -> true);
                     }
                 }
             }
@@ -280,17 +368,38 @@ public class Pipeline implements Node, RuntimeNode {
             }
             if (rowMetadata.getColumns().isEmpty()) {
                 LOGGER.debug("No initial metadata submitted for transformation, computing new one.");
-                current.to(new ReservoirNode(inlineAnalyzer, getReservoirStats(), c -> true, adapter));
+                requestReservoir(c -> true);
             }
             // Apply actions
-            for (Action action : actions) {
-                addReservoirStatistics(action, analysis, current);
+            final List<Action> plannedActions;
+            if (planner) {
+                final PipelinePlanner pipelinePlanner = new PipelinePlanner(actionToMetadata);
+                plannedActions = pipelinePlanner.plan(actions);
+                plan.addAll(pipelinePlanner.getDecisions());
+            } else {
+                plannedActions = actions;
+            }
+            final List<Action> fusedActions = new ArrayList<>();
+            for (Action action : plannedActions) {
+                if ((parallelPool != null || planner) && PipelinePlanner.isStateless(action, actionToMetadata.get(action))) {
+                    if (fusedActions.isEmpty()) {
+                        flushReservoir(current);
+                    }
+                    fusedActions.add(action);
+                    continue;
+                }
+                addFusedNode(fusedActions, current);
+                addReservoirStatistics(action, analysis);
+                flushReservoir(current);
                 current.to(new CompileNode(action, context.create(action.getRowAction())));
                 current.to(new ActionNode(action, context.in(action.getRowAction())));
             }
+            addFusedNode(fusedActions, current);
+            flushReservoir(current);
             // Analyze (delayed)
             if (analysis.needDelayedAnalysis && needGlobalStatistics) {
-                current.to(new ReservoirNode(inlineAnalyzer, delayedAnalyzer, analysis.filter, adapter));
+                // Without out filter, next nodes only need statistics at end of stream: analyze and emit in one pass
+                current.to(newReservoir(delayedAnalyzer, analysis.filter, outFilter == null));
             }
             // Output
             if (outFilter != null) {
@@ -300,7 +409,49 @@ public class Pipeline implements Node, RuntimeNode {
             current.to(outputSupplier.get());
             current.to(monitorSupplier.get());
             // Finally build pipeline
-            return new Pipeline(current.build());
+            return new Pipeline(current.build(), plan);
+        }
+
+        private void addFusedNode(List<Action> fusedActions, NodeBuilder builder) {
+            if (fusedActions.isEmpty()) {
+                return;
+            }
+            if (parallelPool != null) {
+                builder.to(new ParallelNode(fusedActions, parallelPool, planner));
+            } else if (fusedActions.size() > 1) {
+                plan.add("Fuse " + fusedActions.stream().map(Action::getName).collect(Collectors.toList()) + " in one node");
+                builder.to(new FusedActionNode(fusedActions, context, true));
+            } else {
+                final Action action = fusedActions.get(0);
+                builder.to(new CompileNode(action, context.create(action.getRowAction())));
+                builder.to(new ActionNode(action, context.in(action.getRowAction())));
+            }
+            fusedActions.clear();
+        }
+
+        /**
+         * Requests a reservoir (for statistics) before next action. Consecutive requests (with no action in between) are
+         * merged into one reservoir that analyzes all requested columns.
+         */
+        private void requestReservoir(Predicate<ColumnMetadata> filter) {
+            if (pendingReservoir == null) {
+                pendingReservoir = filter;
+            } else {
+                plan.add("Merge consecutive reservoirs");
+                pendingReservoir = pendingReservoir.or(filter);
+            }
+        }
+
+        private void flushReservoir(NodeBuilder builder) {
+            if (pendingReservoir != null) {
+                builder.to(newReservoir(getReservoirStats(), pendingReservoir, false));
+                pendingReservoir = null;
+            }
+        }
+
+        private ReservoirNode newReservoir(Function<List<ColumnMetadata>, Analyzer<Analyzers.Result>> delayedAnalyzer,
+                Predicate<ColumnMetadata> filter, boolean emitDuringAnalysis) {
+            return new ReservoirNode(inlineAnalyzer, delayedAnalyzer, filter, adapter, reservoirMemoryBudget, emitDuringAnalysis);
         }
 
         private Function<List<ColumnMetadata>, Analyzer<Analyzers.Result>> getReservoirStats() {
@@ -1,5 +1,9 @@
 package org.talend.dataprep.transformation.pipeline;
 
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.talend.dataprep.api.preparation.Action;
 import org.talend.dataprep.transformation.pipeline.link.BasicLink;
 import org.talend.dataprep.transformation.pipeline.link.CloneLink;
 import org.talend.dataprep.transformation.pipeline.node.*;
@@ -15,9 +19,9 @@ public class PipelineConsoleDump extends Visitor {
     private void buildMonitorInformation(Monitored monitored) {
         final long totalTime = monitored.getTotalTime();
         final long count = monitored.getCount();
-        double speed = totalTime > 0 ? Math.round(((double) count * 1000) / totalTime) : Double.POSITIVE_INFINITY;
+        double speed = totalTime > 0 ? Math.round(((double) count * TimeUnit.SECONDS.toNanos(1)) / totalTime) : Double.POSITIVE_INFINITY;
 
-        builder.append("(").append(monitored.getTotalTime()).append(" ms - ").append(monitored.getCount()).append(" rows - ")
+        builder.append("(").append(TimeUnit.NANOSECONDS.toMillis(totalTime)).append(" ms - ").append(count).append(" rows - ")
                 .append(speed).append(" rows/s) ");
     }
 
@@ -36,6 +40,31 @@ public class PipelineConsoleDump extends Visitor {
         super.visitCompile(compileNode);
     }
 
+    @Override
+    public void visitParallel(ParallelNode parallelNode) {
+        buildMonitorInformation(parallelNode);
+        builder.append("PARALLEL").append(" [");
+        builder.append(parallelNode.getActions().stream().map(Action::getName).collect(Collectors.joining(", ")));
+        builder.append("] ").append("(workers: ").append(parallelNode.getWorkerCount()).append(")").append('\n');
+        super.visitParallel(parallelNode);
+    }
+
+    @Override
+    public void visitFused(FusedActionNode fusedActionNode) {
+        buildMonitorInformation(fusedActionNode);
+        builder.append("FUSED").append(" [");
+        builder.append(fusedActionNode.getActions().stream().map(Action::getName).collect(Collectors.joining(", ")));
+        builder.append("]").append('\n');
+        super.visitFused(fusedActionNode);
+    }
+
+    @Override
+    public void visitReservoir(ReservoirNode reservoirNode) {
+        buildMonitorInformation(reservoirNode);
+        builder.append("RESERVOIR").append('\n');
+        super.visitReservoir(reservoirNode);
+    }
+
     @Override
     public void visitSource(SourceNode sourceNode) {
         builder.append("-> SOURCE").append('\n');
@@ -50,7 +79,11 @@ public class PipelineConsoleDump extends Visitor {
 
     @Override
     public void visitPipeline(Pipeline pipeline) {
+        buildMonitorInformation(pipeline);
         builder.append("PIPELINE {").append('\n');
+        for (String decision : pipeline.getPlan()) {
+            builder.append("PLAN: ").append(decision).append('\n');
+        }
         super.visitPipeline(pipeline);
         builder.append('\n').append('}').append('\n');
     }
@@ -0,0 +1,124 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.transformation.pipeline;
+
+import java.util.List;
+
+import org.talend.dataprep.api.preparation.Action;
+import org.talend.dataprep.metrics.Metric;
+import org.talend.dataprep.metrics.Metrics;
+import org.talend.dataprep.transformation.api.action.context.ActionContext;
+import org.talend.dataprep.transformation.api.action.context.ValueMemo;
+import org.talend.dataprep.transformation.pipeline.node.ActionNode;
+import org.talend.dataprep.transformation.pipeline.node.FusedActionNode;
+import org.talend.dataprep.transformation.pipeline.node.ParallelNode;
+import org.talend.dataprep.transformation.pipeline.node.ReservoirNode;
+
+/**
+ * Reports the time spent and the rows processed by each {@link Monitored} element of an executed pipeline to
+ * {@link Metrics}:
+ * <ul>
+ * <li><code>pipeline</code>: the whole pipeline (rows are the rows submitted to pipeline).</li>
+ * <li><code>pipeline.action.&lt;name&gt;</code>: an action, whatever the node (action, fused or parallel) that applied
+ * it.</li>
+ * <li><code>pipeline.fused</code> and <code>pipeline.parallel</code>: all the nodes that apply actions together.</li>
+ * <li><code>pipeline.reservoir</code> and <code>pipeline.node.&lt;class name&gt;</code>: other nodes (e.g. writers).</li>
+ * </ul>
+ * Hits and misses of the value memo of actions (see
+ * {@link org.talend.dataprep.transformation.api.action.metadata.common.ValueAction}) are reported to the metric of
+ * the action, whatever the node that applied it.
+ * Rows submitted to pipeline are also added to the metric of the current endpoint (if any).
+ */
+public class PipelineMetrics extends Visitor {
+
+    private final Metrics metrics;
+
+    public PipelineMetrics(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    private void report(String name, Monitored monitored) {
+        final Metric metric = metrics.get(name);
+        metric.record(monitored.getTotalTime());
+        metric.addRows(monitored.getCount());
+    }
+
+    private void reportMemo(Action action, ActionContext context) {
+        final ValueMemo memo = context.getValueMemo();
+        if (memo.getHits() > 0 || memo.getMisses() > 0) {
+            metrics.get("pipeline.action." + action.getName()).addMemo(memo.getHits(), memo.getMisses());
+        }
+    }
+
+    private void reportAction(Action action, long totalTime, long count) {
+        final Metric metric = metrics.get("pipeline.action." + action.getName());
+        metric.record(totalTime);
+        metric.addRows(count);
+    }
+
+    @Override
+    public void visitPipeline(Pipeline pipeline) {
+        report("pipeline", pipeline);
+        final Metric endpoint = Metrics.current();
+        if (endpoint != null) {
+            endpoint.addRows(pipeline.getCount());
+        }
+        super.visitPipeline(pipeline);
+    }
+
+    @Override
+    public void visitAction(ActionNode actionNode) {
+        report("pipeline.action." + actionNode.getAction().getName(), actionNode);
+        reportMemo(actionNode.getAction(), actionNode.getActionContext());
+        super.visitAction(actionNode);
+    }
+
+    @Override
+    public void visitFused(FusedActionNode fusedActionNode) {
+        report("pipeline.fused", fusedActionNode);
+        final List<Action> actions = fusedActionNode.getActions();
+        for (int i = 0; i < actions.size(); i++) {
+            reportAction(actions.get(i), fusedActionNode.getActionTotalTime(i), fusedActionNode.getActionCount(i));
+            reportMemo(actions.get(i), fusedActionNode.getActionContext(i));
+        }
+        super.visitFused(fusedActionNode);
+    }
+
+    @Override
+    public void visitParallel(ParallelNode parallelNode) {
+        report("pipeline.parallel", parallelNode);
+        final List<Action> actions = parallelNode.getActions();
+        for (int i = 0; i < actions.size(); i++) {
+            reportAction(actions.get(i), parallelNode.getActionTotalTime(i), parallelNode.getActionCount(i));
+            for (ActionContext context : parallelNode.getActionContexts(i)) {
+                reportMemo(actions.get(i), context);
+            }
+        }
+        super.visitParallel(parallelNode);
+    }
+
+    @Override
+    public void visitReservoir(ReservoirNode reservoirNode) {
+        report("pipeline.reservoir", reservoirNode);
+        super.visitReservoir(reservoirNode);
+    }
+
+    @Override
+    public void visitNode(Node node) {
+        if (node instanceof Monitored) {
+            report("pipeline.node." + node.getClass().getSimpleName(), (Monitored) node);
+        }
+        super.visitNode(node);
+    }
+}
@@ -0,0 +1,191 @@
+package org.talend.dataprep.transformation.pipeline;
+
+import java.util.*;
+
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.talend.dataprep.api.preparation.Action;
+import org.talend.dataprep.transformation.api.action.metadata.category.ScopeCategory;
+import org.talend.dataprep.transformation.api.action.metadata.common.ActionMetadata;
+import org.talend.dataprep.transformation.api.action.metadata.common.ImplicitParameters;
+
+/**
+ * Rewrites the list of actions of a pipeline before nodes are created, using the {@link ActionMetadata.Behavior} of each
+ * action:
+ * <ul>
+ * <li>Dead column elimination: a stateless action on a column deleted later (and not read in between) is removed.</li>
+ * <li>Predicate pushdown: an action that only deletes rows is moved before the stateless actions that do not change the
+ * columns it reads, so these actions no longer transform rows that end up deleted.</li>
+ * </ul>
+ * Result of the planning does not change the content of the transformed rows that are not deleted. Each decision is
+ * kept for {@link PipelineConsoleDump}.
+ */
+class PipelinePlanner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PipelinePlanner.class);
+
+    private final Map<Action, ActionMetadata> actionToMetadata;
+
+    private final List<String> decisions = new ArrayList<>();
+
+    /**
+     * @param actionToMetadata The metadata of the actions to plan.
+     */
+    PipelinePlanner(Map<Action, ActionMetadata> actionToMetadata) {
+        this.actionToMetadata = actionToMetadata;
+    }
+
+    /**
+     * @param action An action of the pipeline.
+     * @param actionMetadata The metadata of the action (may be <code>null</code>).
+     * @return <code>true</code> if the action only changes values of the column it is applied on, does not depend on row
+     * order and does not need statistics.
+     */
+    static boolean isStateless(Action action, ActionMetadata actionMetadata) {
+        if (actionMetadata == null || !isColumnScoped(action)) {
+            return false;
+        }
+        // Filters on (in)valid values need statistics
+        if (StringUtils.contains(getFilter(action), "valid")) {
+            return false;
+        }
+        return EnumSet.of(ActionMetadata.Behavior.VALUES_COLUMN).equals(actionMetadata.getBehavior());
+    }
+
+    /**
+     * @param actions The actions to plan (in the order given by the preparation).
+     * @return The actions to execute (in execution order).
+     */
+    List<Action> plan(List<Action> actions) {
+        final List<Action> planned = new ArrayList<>(actions);
+        eliminateDeadColumns(planned);
+        pushDownRowDeletions(planned);
+        return planned;
+    }
+
+    /**
+     * @return The decisions taken by the last {@link #plan(List)}.
+     */
+    List<String> getDecisions() {
+        return decisions;
+    }
+
+    private void eliminateDeadColumns(List<Action> actions) {
+        final Iterator<Action> iterator = actions.iterator();
+        int index = 0;
+        while (iterator.hasNext()) {
+            final Action action = iterator.next();
+            if (isStateless(action, actionToMetadata.get(action))) {
+                final Action deleteColumn = findColumnDeletion(actions, index, getColumnId(action));
+                if (deleteColumn != null) {
+                    decide("Remove " + describe(action) + ": column is deleted by " + describe(deleteColumn));
+                    iterator.remove();
+                    continue;
+                }
+            }
+            index++;
+        }
+    }
+
+    /**
+     * @return The action (after <code>index</code>) that deletes <code>columnId</code> if no action in between reads it,
+     * <code>null</code> otherwise.
+     */
+    private Action findColumnDeletion(List<Action> actions, int index, String columnId) {
+        if (StringUtils.isEmpty(columnId)) {
+            return null;
+        }
+        for (int i = index + 1; i < actions.size(); i++) {
+            final Action next = actions.get(i);
+            final ActionMetadata nextMetadata = actionToMetadata.get(next);
+            if (nextMetadata == null || !isColumnScoped(next)) {
+                // Line or data set actions may read any column
+                return null;
+            }
+            if (nextMetadata.getBehavior().contains(ActionMetadata.Behavior.METADATA_DELETE_COLUMNS)
+                    && columnId.equals(getColumnId(next)) && StringUtils.isEmpty(getFilter(next))) {
+                return next;
+            }
+            if (reads(next, columnId)) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private void pushDownRowDeletions(List<Action> actions) {
+        for (int i = 1; i < actions.size(); i++) {
+            final Action action = actions.get(i);
+            if (!isPushable(action)) {
+                continue;
+            }
+            int target = i;
+            while (target > 0) {
+                final Action previous = actions.get(target - 1);
+                if (!isStateless(previous, actionToMetadata.get(previous)) || reads(action, getColumnId(previous))) {
+                    break;
+                }
+                target--;
+            }
+            if (target < i) {
+                decide("Move " + describe(action) + " before " + describe(actions.get(target)));
+                actions.remove(i);
+                actions.add(target, action);
+            }
+        }
+    }
+
+    /**
+     * @return <code>true</code> if action only deletes rows and only depends on values of the row.
+     */
+    private boolean isPushable(Action action) {
+        final ActionMetadata actionMetadata = actionToMetadata.get(action);
+        if (actionMetadata == null) {
+            return false;
+        }
+        final Set<ActionMetadata.Behavior> behavior = actionMetadata.getBehavior();
+        return behavior.contains(ActionMetadata.Behavior.DELETE_ROWS)
+                && !behavior.contains(ActionMetadata.Behavior.NEED_STATISTICS)
+                && !StringUtils.contains(getFilter(action), "valid");
+    }
+
+    /**
+     * @return <code>true</code> if any parameter of <code>action</code> (column, filter...) mentions
+     * <code>columnId</code>.
+     */
+    private static boolean reads(Action action, String columnId) {
+        if (StringUtils.isEmpty(columnId)) {
+            return true;
+        }
+        for (String value : action.getParameters().values()) {
+            if (StringUtils.contains(value, columnId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isColumnScoped(Action action) {
+        final ScopeCategory scope = ScopeCategory.from(action.getParameters().get(ImplicitParameters.SCOPE.getKey()));
+        return scope == ScopeCategory.CELL || scope == ScopeCategory.COLUMN;
+    }
+
+    private static String getColumnId(Action action) {
+        return action.getParameters().get(ImplicitParameters.COLUMN_ID.getKey());
+    }
+
+    private static String getFilter(Action action) {
+        return action.getParameters().get(ImplicitParameters.FILTER.getKey());
+    }
+
+    private static String describe(Action action) {
+        final String columnId = getColumnId(action);
+        return action.getName() + (columnId == null ? "" : " (column " + columnId + ")");
+    }
+
+    private void decide(String decision) {
+        LOGGER.debug("Plan: {}", decision);
+        decisions.add(decision);
+    }
+}
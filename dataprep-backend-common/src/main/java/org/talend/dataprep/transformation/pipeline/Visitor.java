@@ -20,6 +20,18 @@ public abstract class Visitor {
         doNodeVisit(compileNode);
     }
 
+    public void visitParallel(ParallelNode parallelNode) {
+        doNodeVisit(parallelNode);
+    }
+
+    public void visitFused(FusedActionNode fusedActionNode) {
+        doNodeVisit(fusedActionNode);
+    }
+
+    public void visitReservoir(ReservoirNode reservoirNode) {
+        doNodeVisit(reservoirNode);
+    }
+
     public void visitSource(SourceNode sourceNode) {
         doNodeVisit(sourceNode);
     }
@@ -0,0 +1,133 @@
+package org.talend.dataprep.transformation.pipeline.node;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.talend.dataprep.api.dataset.DataSetRow;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.preparation.Action;
+import org.talend.dataprep.transformation.api.action.context.ActionContext;
+import org.talend.dataprep.transformation.api.action.context.TransformationContext;
+
+/**
+ * Compiles and applies a list of actions on a row in one call (instead of one {@link CompileNode} / {@link ActionNode}
+ * pair per action). A chain is not thread safe: it must be used by one thread at a time.
+ */
+final class ActionChain {
+
+    private final List<Action> actions;
+
+    private final ActionContext[] actionContexts;
+
+    /** Status shared by all chains of the same actions: an action done or canceled is no longer applied by others. */
+    private final AtomicReferenceArray<ActionContext.ActionStatus> statuses;
+
+    private final boolean skipDeletedRows;
+
+    /** Time spent (in nanoseconds) in each action. */
+    private final long[] totalTimes;
+
+    /** Number of rows each action was applied on. */
+    private final long[] counts;
+
+    /** Hash code of the row metadata actions were compiled for. */
+    private int hashCode = 0;
+
+    /** Row metadata after all actions were applied (<code>null</code> if not compiled yet). */
+    private RowMetadata outputMetadata;
+
+    /**
+     * @param actions The actions to apply (in this order).
+     * @param context The transformation context that creates the action contexts.
+     * @param statuses The action statuses shared with other chains of the same actions.
+     * @param skipDeletedRows <code>true</code> to leave rows already deleted unchanged.
+     */
+    ActionChain(List<Action> actions, TransformationContext context, AtomicReferenceArray<ActionContext.ActionStatus> statuses,
+            boolean skipDeletedRows) {
+        this.actions = actions;
+        this.statuses = statuses;
+        this.skipDeletedRows = skipDeletedRows;
+        this.actionContexts = new ActionContext[actions.size()];
+        this.totalTimes = new long[actions.size()];
+        this.counts = new long[actions.size()];
+        for (int i = 0; i < actionContexts.length; i++) {
+            actionContexts[i] = context.create(actions.get(i).getRowAction());
+        }
+    }
+
+    /**
+     * Compiles actions for <code>metadata</code> if needed.
+     *
+     * @param metadata The row metadata of next rows.
+     * @return The row metadata once all actions are applied.
+     */
+    RowMetadata compile(RowMetadata metadata) {
+        if (outputMetadata == null || hashCode != metadata.hashCode()) {
+            RowMetadata actionMetadata = metadata;
+            for (int i = 0; i < actionContexts.length; i++) {
+                actionContexts[i].setRowMetadata(actionMetadata.clone());
+                actions.get(i).getRowAction().compile(actionContexts[i]);
+                actionMetadata = actionContexts[i].getRowMetadata();
+            }
+            hashCode = metadata.hashCode();
+            outputMetadata = actionMetadata;
+        }
+        return outputMetadata;
+    }
+
+    /**
+     * Applies all actions on <code>row</code>, {@link #compile(RowMetadata)} must be called first.
+     *
+     * @param row The row to transform.
+     * @return The transformed row.
+     */
+    DataSetRow apply(DataSetRow row) {
+        DataSetRow current = row;
+        for (int i = 0; i < actionContexts.length; i++) {
+            if (skipDeletedRows && current.isDeleted()) {
+                break;
+            }
+            if (isStopped(statuses.get(i))) {
+                continue;
+            }
+            final ActionContext actionContext = actionContexts[i];
+            if (isStopped(actionContext.getActionStatus())) {
+                statuses.compareAndSet(i, null, actionContext.getActionStatus());
+                continue;
+            }
+            final long start = System.nanoTime();
+            current = actions.get(i).getRowAction().apply(current, actionContext);
+            totalTimes[i] += System.nanoTime() - start;
+            counts[i]++;
+        }
+        return current;
+    }
+
+    /**
+     * @param index The index of an action.
+     * @return The context of the action.
+     */
+    ActionContext getActionContext(int index) {
+        return actionContexts[index];
+    }
+
+    /**
+     * @param index The index of an action.
+     * @return The time spent (in nanoseconds) in the action.
+     */
+    long getTotalTime(int index) {
+        return totalTimes[index];
+    }
+
+    /**
+     * @param index The index of an action.
+     * @return The number of rows the action was applied on.
+     */
+    long getCount(int index) {
+        return counts[index];
+    }
+
+    private static boolean isStopped(ActionContext.ActionStatus status) {
+        return status == ActionContext.ActionStatus.DONE || status == ActionContext.ActionStatus.CANCELED;
+    }
+}
@@ -25,7 +25,7 @@ public class ActionNode extends BasicNode implements Monitored {
     @Override
     public void receive(DataSetRow row, RowMetadata metadata) {
         final DataSetRow actionRow;
-        final long start = System.currentTimeMillis();
+        final long start = System.nanoTime();
         try {
             switch (actionContext.getActionStatus()) {
             case NOT_EXECUTED:
@@ -39,7 +39,7 @@ public class ActionNode extends BasicNode implements Monitored {
                 break;
             }
         } finally {
-            totalTime += System.currentTimeMillis() - start;
+            totalTime += System.nanoTime() - start;
             count++;
         }
         link.exec().emit(actionRow, actionContext.getRowMetadata());
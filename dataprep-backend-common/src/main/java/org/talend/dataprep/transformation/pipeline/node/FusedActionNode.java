@@ -0,0 +1,96 @@
+package org.talend.dataprep.transformation.pipeline.node;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.talend.dataprep.api.dataset.DataSetRow;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.preparation.Action;
+import org.talend.dataprep.transformation.api.action.context.ActionContext;
+import org.talend.dataprep.transformation.api.action.context.TransformationContext;
+import org.talend.dataprep.transformation.pipeline.Monitored;
+import org.talend.dataprep.transformation.pipeline.Visitor;
+
+/**
+ * A node that applies a chain of stateless actions on each row in one step. It replaces the {@link CompileNode} /
+ * {@link ActionNode} pairs of these actions when they are applied serially (see {@link ParallelNode} otherwise).
+ */
+public class FusedActionNode extends BasicNode implements Monitored {
+
+    private final List<Action> actions;
+
+    private final ActionChain chain;
+
+    private long totalTime;
+
+    private long count;
+
+    /**
+     * @param actions The actions to apply (in this order).
+     * @param context The transformation context that creates (and cleans up) the action contexts.
+     * @param skipDeletedRows <code>true</code> to leave rows already deleted unchanged.
+     */
+    public FusedActionNode(List<Action> actions, TransformationContext context, boolean skipDeletedRows) {
+        this.actions = new ArrayList<>(actions);
+        this.chain = new ActionChain(this.actions, context, new AtomicReferenceArray<>(actions.size()), skipDeletedRows);
+    }
+
+    @Override
+    public void receive(DataSetRow row, RowMetadata metadata) {
+        final DataSetRow actionRow;
+        final RowMetadata actionMetadata;
+        final long start = System.nanoTime();
+        try {
+            actionMetadata = chain.compile(metadata);
+            actionRow = chain.apply(row);
+        } finally {
+            totalTime += System.nanoTime() - start;
+            count++;
+        }
+        link.exec().emit(actionRow, actionMetadata);
+    }
+
+    @Override
+    public void accept(Visitor visitor) {
+        visitor.visitFused(this);
+    }
+
+    @Override
+    public long getTotalTime() {
+        return totalTime;
+    }
+
+    @Override
+    public long getCount() {
+        return count;
+    }
+
+    public List<Action> getActions() {
+        return actions;
+    }
+
+    /**
+     * @param index The index of an action in {@link #getActions()}.
+     * @return The context of the action.
+     */
+    public ActionContext getActionContext(int index) {
+        return chain.getActionContext(index);
+    }
+
+    /**
+     * @param index The index of an action in {@link #getActions()}.
+     * @return The time spent (in nanoseconds) in the action.
+     */
+    public long getActionTotalTime(int index) {
+        return chain.getTotalTime(index);
+    }
+
+    /**
+     * @param index The index of an action in {@link #getActions()}.
+     * @return The number of rows the action was applied on.
+     */
+    public long getActionCount(int index) {
+        return chain.getCount(index);
+    }
+}
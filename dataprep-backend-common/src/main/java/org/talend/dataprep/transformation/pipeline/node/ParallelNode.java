@@ -0,0 +1,276 @@
+package org.talend.dataprep.transformation.pipeline.node;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.talend.dataprep.api.dataset.DataSetRow;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.preparation.Action;
+import org.talend.dataprep.exception.TDPException;
+import org.talend.dataprep.exception.error.CommonErrorCodes;
+import org.talend.dataprep.transformation.api.action.context.ActionContext;
+import org.talend.dataprep.transformation.api.action.context.TransformationContext;
+import org.talend.dataprep.transformation.pipeline.Monitored;
+import org.talend.dataprep.transformation.pipeline.Signal;
+import org.talend.dataprep.transformation.pipeline.Visitor;
+
+/**
+ * A node that applies a chain of stateless actions on batches of rows using a {@link ForkJoinPool}. It replaces the
+ * {@link CompileNode} / {@link ActionNode} pairs of these actions in the pipeline.
+ * <p>
+ * Action contexts are not thread safe, so each worker compiles its own copy of the actions. Processed batches are emitted
+ * in their original order and from the thread that submitted rows to this node: nodes after this one (analysis, writer)
+ * are still executed serially.
+ */
+public class ParallelNode extends BasicNode implements Monitored {
+
+    /** Number of rows submitted at once to a worker. */
+    public static final int BATCH_SIZE = 1024;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelNode.class);
+
+    private final List<Action> actions;
+
+    private final ForkJoinPool pool;
+
+    /** Maximum number of batches waiting to be emitted (bounds memory usage). */
+    private final int maxPendingBatches;
+
+    /** Status shared by all workers: an action done or canceled by a worker is no longer applied by the others. */
+    private final AtomicReferenceArray<ActionContext.ActionStatus> statuses;
+
+    /** <code>true</code> if actions are not applied on deleted rows. */
+    private final boolean skipDeletedRows;
+
+    /** Workers available for a new batch. */
+    private final Queue<Worker> idleWorkers = new ConcurrentLinkedQueue<>();
+
+    /** All the created workers (for clean up). */
+    private final Queue<Worker> workers = new ConcurrentLinkedQueue<>();
+
+    /** Submitted batches, in row order. */
+    private final Deque<Future<Batch>> pending = new ArrayDeque<>();
+
+    private final AtomicLong totalTime = new AtomicLong();
+
+    private Batch current;
+
+    private long count;
+
+    /**
+     * @param actions The actions to apply (in this order), actions must not depend on the order of rows.
+     * @param pool The pool used to process batches of rows.
+     */
+    public ParallelNode(List<Action> actions, ForkJoinPool pool) {
+        this(actions, pool, false);
+    }
+
+    /**
+     * @param actions The actions to apply (in this order), actions must not depend on the order of rows.
+     * @param pool The pool used to process batches of rows.
+     * @param skipDeletedRows <code>true</code> to leave rows already deleted unchanged.
+     */
+    public ParallelNode(List<Action> actions, ForkJoinPool pool, boolean skipDeletedRows) {
+        this.actions = new ArrayList<>(actions);
+        this.pool = pool;
+        this.maxPendingBatches = pool.getParallelism() * 2;
+        this.statuses = new AtomicReferenceArray<>(actions.size());
+        this.skipDeletedRows = skipDeletedRows;
+    }
+
+    @Override
+    public void receive(DataSetRow row, RowMetadata metadata) {
+        if (current != null && current.metadata != metadata && current.metadata.hashCode() != metadata.hashCode()) {
+            // Metadata changed: batch must be compiled for the new metadata
+            submit();
+        }
+        if (current == null) {
+            current = new Batch(metadata);
+        }
+        // Source may reuse the same row instance
+        current.rows.add(row.clone());
+        count++;
+        if (current.rows.size() >= BATCH_SIZE) {
+            submit();
+        }
+        emit(false);
+    }
+
+    private void submit() {
+        final Batch batch = current;
+        current = null;
+        pending.add(pool.submit(() -> process(batch)));
+        while (pending.size() > maxPendingBatches) {
+            emit(pending.poll());
+        }
+    }
+
+    /**
+     * Emits the processed batches (in order) to the next node.
+     *
+     * @param wait <code>true</code> to wait for all submitted batches, <code>false</code> to emit only the ones
+     * already processed.
+     */
+    private void emit(boolean wait) {
+        while (!pending.isEmpty() && (wait || pending.peek().isDone())) {
+            emit(pending.poll());
+        }
+    }
+
+    private void emit(Future<Batch> future) {
+        final Batch batch;
+        try {
+            batch = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+        } catch (ExecutionException e) {
+            throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e.getCause());
+        }
+        if (link != null) {
+            for (DataSetRow row : batch.rows) {
+                link.exec().emit(row, batch.outputMetadata);
+            }
+        }
+    }
+
+    private Batch process(Batch batch) {
+        final long start = System.nanoTime();
+        Worker worker = idleWorkers.poll();
+        if (worker == null) {
+            worker = new Worker();
+            workers.add(worker);
+        }
+        try {
+            worker.process(batch);
+            return batch;
+        } finally {
+            idleWorkers.add(worker);
+            totalTime.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void signal(Signal signal) {
+        try {
+            if (signal == Signal.END_OF_STREAM) {
+                if (current != null) {
+                    submit();
+                }
+                emit(true);
+            } else if (signal == Signal.CANCEL) {
+                current = null;
+                pending.forEach(future -> future.cancel(true));
+                pending.clear();
+            }
+        } finally {
+            if (signal == Signal.END_OF_STREAM || signal == Signal.CANCEL) {
+                LOGGER.debug("Clean up {} worker(s).", workers.size());
+                workers.forEach(worker -> worker.context.cleanup());
+            }
+        }
+        super.signal(signal);
+    }
+
+    @Override
+    public void accept(Visitor visitor) {
+        visitor.visitParallel(this);
+    }
+
+    @Override
+    public long getTotalTime() {
+        return totalTime.get();
+    }
+
+    @Override
+    public long getCount() {
+        return count;
+    }
+
+    public List<Action> getActions() {
+        return actions;
+    }
+
+    /**
+     * @param index The index of an action in {@link #getActions()}.
+     * @return The contexts of the action in all the workers created so far.
+     */
+    public List<ActionContext> getActionContexts(int index) {
+        final List<ActionContext> contexts = new ArrayList<>(workers.size());
+        for (Worker worker : workers) {
+            contexts.add(worker.chain.getActionContext(index));
+        }
+        return contexts;
+    }
+
+    /**
+     * @param index The index of an action in {@link #getActions()}.
+     * @return The time spent (in nanoseconds) in the action by all the workers created so far.
+     */
+    public long getActionTotalTime(int index) {
+        long totalTime = 0;
+        for (Worker worker : workers) {
+            totalTime += worker.chain.getTotalTime(index);
+        }
+        return totalTime;
+    }
+
+    /**
+     * @param index The index of an action in {@link #getActions()}.
+     * @return The number of rows the action was applied on by all the workers created so far.
+     */
+    public long getActionCount(int index) {
+        long count = 0;
+        for (Worker worker : workers) {
+            count += worker.chain.getCount(index);
+        }
+        return count;
+    }
+
+    /**
+     * @return The number of workers created so far.
+     */
+    public int getWorkerCount() {
+        return workers.size();
+    }
+
+    /**
+     * A batch of rows, all received with the same row metadata.
+     */
+    private static class Batch {
+
+        private final RowMetadata metadata;
+
+        private final List<DataSetRow> rows = new ArrayList<>(BATCH_SIZE);
+
+        /** Row metadata after all actions were applied. */
+        private RowMetadata outputMetadata;
+
+        private Batch(RowMetadata metadata) {
+            this.metadata = metadata;
+        }
+    }
+
+    /**
+     * A worker owns its own action contexts, it is used by one thread at a time.
+     */
+    private class Worker {
+
+        private final TransformationContext context = new TransformationContext();
+
+        private final ActionChain chain = new ActionChain(actions, context, statuses, skipDeletedRows);
+
+        private void process(Batch batch) {
+            final RowMetadata outputMetadata = chain.compile(batch.metadata);
+            final List<DataSetRow> rows = batch.rows;
+            for (int r = 0; r < rows.size(); r++) {
+                rows.set(r, chain.apply(rows.get(r)));
+            }
+            batch.outputMetadata = outputMetadata;
+        }
+    }
+}
@@ -1,8 +1,5 @@
 package org.talend.dataprep.transformation.pipeline.node;
 
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -11,13 +8,10 @@ import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
-import org.talend.dataprep.api.dataset.DataSet;
 import org.talend.dataprep.api.dataset.DataSetRow;
 import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.dataset.statistics.StatisticsAdapter;
@@ -27,22 +21,23 @@ import org.talend.dataprep.exception.error.CommonErrorCodes;
 import org.talend.dataprep.transformation.pipeline.Monitored;
 import org.talend.dataprep.transformation.pipeline.Signal;
 import org.talend.dataprep.transformation.pipeline.Visitor;
-import org.talend.dataprep.util.FilesHelper;
 import org.talend.dataquality.common.inference.Analyzer;
 import org.talend.dataquality.common.inference.Analyzers;
 
-import com.fasterxml.jackson.core.JsonFactory;
-import com.fasterxml.jackson.core.JsonGenerator;
-import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.databind.ObjectMapper;
-
 public class ReservoirNode extends AnalysisNode implements Monitored {
 
+    /** Default estimated size (in bytes) of rows kept in memory before they are spilled to disk. */
+    public static final long DEFAULT_MEMORY_BUDGET = 16 * 1024 * 1024;
+
     private static final Logger LOGGER = LoggerFactory.getLogger(ReservoirNode.class);
 
-    private final JsonGenerator generator;
+    private final RowReservoir reservoir;
 
-    private final File reservoir;
+    /**
+     * <code>true</code> if rows can be sent to next node while delayed analysis runs (next nodes do not need
+     * statistics before end of stream).
+     */
+    private final boolean emitDuringAnalysis;
 
     private final Function<List<ColumnMetadata>, Analyzer<Analyzers.Result>> delayedAnalyzer;
 
@@ -60,23 +55,33 @@ public class ReservoirNode extends AnalysisNode implements Monitored {
                          Function<List<ColumnMetadata>, Analyzer<Analyzers.Result>> delayedAnalyzer,
                          Predicate<ColumnMetadata> filter, //
                          StatisticsAdapter adapter) {
+        this(analyzer, delayedAnalyzer, filter, adapter, DEFAULT_MEMORY_BUDGET, false);
+    }
+
+    /**
+     * @param analyzer The analyzer used while rows are received (type inference).
+     * @param delayedAnalyzer The analyzer used once all rows are received.
+     * @param filter Filter for columns to analyze.
+     * @param adapter The adapter to update columns with analysis results.
+     * @param memoryBudget Estimated size (in bytes) of rows kept in memory before they are spilled to disk.
+     * @param emitDuringAnalysis <code>true</code> to send rows to next node during delayed analysis (in one pass),
+     * <code>false</code> to send them once delayed analysis is over.
+     */
+    public ReservoirNode(Function<List<ColumnMetadata>, Analyzer<Analyzers.Result>> analyzer, //
+                         Function<List<ColumnMetadata>, Analyzer<Analyzers.Result>> delayedAnalyzer,
+                         Predicate<ColumnMetadata> filter, //
+                         StatisticsAdapter adapter, //
+                         long memoryBudget, //
+                         boolean emitDuringAnalysis) {
         super(analyzer, filter, adapter);
         this.delayedAnalyzer = delayedAnalyzer;
-        try {
-            reservoir = File.createTempFile("ReservoirNode", ".zip");
-            JsonFactory factory = new JsonFactory();
-            generator = factory.createGenerator(new GZIPOutputStream(new FileOutputStream(reservoir), true));
-            generator.writeStartObject();
-            generator.writeFieldName("records");
-            generator.writeStartArray();
-        } catch (IOException e) {
-            throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
-        }
+        this.reservoir = new RowReservoir(memoryBudget);
+        this.emitDuringAnalysis = emitDuringAnalysis;
     }
 
     @Override
     public void receive(DataSetRow row, RowMetadata metadata) {
-        final long start = System.currentTimeMillis();
+        final long start = System.nanoTime();
         try {
             List<ColumnMetadata> columns = metadata.getColumns();
             if (!columns.isEmpty()) {
@@ -112,44 +117,28 @@ public class ReservoirNode extends AnalysisNode implements Monitored {
             }
             // Store rows for end of stream signal.
             try {
-                generator.writeStartObject();
-                columns.stream().forEach(column -> {
-                    try {
-                        generator.writeStringField(column.getId(), row.get(column.getId()));
-                    } catch (IOException e) {
-                        throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
-                    }
-                });
-                if (row.isDeleted()) {
-                    generator.writeBooleanField("_deleted", true);
-                }
-                generator.writeEndObject();
+                reservoir.add(row, columns);
             } catch (IOException e) {
                 throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
             }
 
         } finally {
-            totalTime += System.currentTimeMillis() - start;
+            totalTime += System.nanoTime() - start;
             count++;
         }
     }
 
     @Override
     public void accept(Visitor visitor) {
-        visitor.visitNode(this);
+        visitor.visitReservoir(this);
     }
 
     @Override
     public void signal(Signal signal) {
-        final long start = System.currentTimeMillis();
+        final long start = System.nanoTime();
         try {
             if (signal == Signal.END_OF_STREAM) {
-                // End temporary output
-                generator.writeEndArray();
-                generator.writeEndObject();
-                generator.flush();
-                // Send stored records to next steps
-                final ObjectMapper mapper = new ObjectMapper();
+                boolean emitted = false;
                 if (rowMetadata != null && resultAnalyzer != null) {
                     // Adapt row metadata to infer type (only for non type-forced columns)
                     resultAnalyzer.end();
@@ -158,15 +147,17 @@ public class ReservoirNode extends AnalysisNode implements Monitored {
                     resultAnalyzer.close();
 
                     final Analyzer<Analyzers.Result> configuredAnalyzer = delayedAnalyzer.apply(filteredColumns);
-                    try (JsonParser parser = mapper.getFactory()
-                            .createParser(new GZIPInputStream(new FileInputStream(reservoir)))) {
-                        final DataSet dataSet = mapper.readerFor(DataSet.class).readValue(parser);
-                        dataSet.getRecords().forEach(r -> {
+                    try {
+                        reservoir.replay(rowMetadata, r -> {
                             if (!r.isDeleted()) {
                                 final String[] values = r.order(columns).toArray(DataSetRow.SKIP_TDP_ID.and(e -> filteredColumnNames.contains(e.getKey())));
                                 configuredAnalyzer.analyze(values);
                             }
+                            if (emitDuringAnalysis) {
+                                link.exec().emit(r, rowMetadata);
+                            }
                         });
+                        emitted = emitDuringAnalysis;
                         configuredAnalyzer.end();
                         adapter.adapt(columns, configuredAnalyzer.getResult(), filter);
                     } finally {
@@ -178,16 +169,16 @@ public class ReservoirNode extends AnalysisNode implements Monitored {
                     }
                 }
                 // Continue process
-                try (JsonParser parser = mapper.getFactory().createParser(new GZIPInputStream(new FileInputStream(reservoir)))) {
-                    final DataSet dataSet = mapper.readerFor(DataSet.class).readValue(parser);
-                    dataSet.getRecords().forEach(r -> link.exec().emit(r, rowMetadata));
+                if (!emitted && rowMetadata != null) {
+                    reservoir.replay(rowMetadata, r -> link.exec().emit(r, rowMetadata));
                 }
+                LOGGER.debug("Replayed {} row(s) (spilled to disk: {}).", reservoir.size(), reservoir.isSpilled());
             }
         } catch (Exception e) {
             LOGGER.warn("Unable to perform delayed analysis.", e);
         } finally {
-            FilesHelper.deleteQuietly(reservoir);
-            totalTime += System.currentTimeMillis() - start;
+            reservoir.close();
+            totalTime += System.nanoTime() - start;
         }
         super.signal(signal);
     }
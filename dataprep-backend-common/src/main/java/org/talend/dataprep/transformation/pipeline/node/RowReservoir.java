@@ -0,0 +1,276 @@
+package org.talend.dataprep.transformation.pipeline.node;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.DataSetRow;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.util.FilesHelper;
+
+/**
+ * Stores rows so they can be replayed (possibly several times) once all rows are received. Rows are kept in memory until
+ * their estimated size reaches a byte budget, then all rows are spilled to a temporary file.
+ * <p>
+ * Spill file is a compressed sequence of records:
+ * <ul>
+ * <li>columns record: <code>COLUMNS</code>, number of columns, column ids (written when columns change).</li>
+ * <li>row record: <code>ROW</code>, tdp id, deleted flag, one value per column.</li>
+ * <li>end record: <code>END</code>.</li>
+ * </ul>
+ * Strings are written as their UTF-8 length (<code>-1</code> for <code>null</code>) followed by their UTF-8 bytes.
+ */
+final class RowReservoir implements Closeable {
+
+    private static final byte COLUMNS = 0;
+
+    private static final byte ROW = 1;
+
+    private static final byte END = 2;
+
+    /** Estimated memory overhead of a stored row and of a stored value (in bytes). */
+    private static final int ROW_OVERHEAD = 64;
+
+    private static final int VALUE_OVERHEAD = 48;
+
+    private final long memoryBudget;
+
+    /** Rows kept in memory (empty once rows are spilled). */
+    private final List<StoredRow> rows = new ArrayList<>();
+
+    private long memorySize;
+
+    /** Columns of the last added row. */
+    private List<ColumnMetadata> lastColumns;
+
+    private String[] lastColumnIds;
+
+    private File spill;
+
+    private Deflater deflater;
+
+    private DataOutputStream output;
+
+    /** Column ids last written to spill file. */
+    private String[] spilledColumnIds;
+
+    private long count;
+
+    /**
+     * @param memoryBudget Estimated size (in bytes) of rows to keep in memory before spilling rows to disk.
+     */
+    RowReservoir(long memoryBudget) {
+        this.memoryBudget = memoryBudget;
+    }
+
+    /**
+     * Stores the values of <code>row</code> for the given columns.
+     *
+     * @param row The row to store.
+     * @param columns The columns to store values of.
+     * @throws IOException In case rows can't be spilled to disk.
+     */
+    void add(DataSetRow row, List<ColumnMetadata> columns) throws IOException {
+        final String[] columnIds = getColumnIds(columns);
+        final String[] values = new String[columnIds.length];
+        for (int i = 0; i < columnIds.length; i++) {
+            values[i] = row.get(columnIds[i]);
+        }
+        final StoredRow storedRow = new StoredRow(columnIds, row.getTdpId(), row.isDeleted(), values);
+        count++;
+        if (output != null) {
+            write(storedRow);
+            return;
+        }
+        rows.add(storedRow);
+        memorySize += ROW_OVERHEAD;
+        for (String value : values) {
+            memorySize += VALUE_OVERHEAD + (value == null ? 0 : value.length() * 2);
+        }
+        if (memorySize > memoryBudget) {
+            spill = File.createTempFile("ReservoirNode", ".bin");
+            deflater = new Deflater(Deflater.BEST_SPEED);
+            output = new DataOutputStream(
+                    new BufferedOutputStream(new DeflaterOutputStream(new FileOutputStream(spill), deflater), 64 * 1024));
+            for (StoredRow memoryRow : rows) {
+                write(memoryRow);
+            }
+            rows.clear();
+            memorySize = 0;
+        }
+    }
+
+    private String[] getColumnIds(List<ColumnMetadata> columns) {
+        if (columns != lastColumns || columns.size() != lastColumnIds.length) {
+            final String[] columnIds = new String[columns.size()];
+            for (int i = 0; i < columnIds.length; i++) {
+                columnIds[i] = columns.get(i).getId();
+            }
+            // Share same array between rows with same columns
+            if (lastColumnIds == null || !Arrays.equals(lastColumnIds, columnIds)) {
+                lastColumnIds = columnIds;
+            }
+            lastColumns = columns;
+        }
+        return lastColumnIds;
+    }
+
+    private void write(StoredRow row) throws IOException {
+        if (row.columnIds != spilledColumnIds) {
+            output.writeByte(COLUMNS);
+            output.writeInt(row.columnIds.length);
+            for (String columnId : row.columnIds) {
+                writeString(columnId);
+            }
+            spilledColumnIds = row.columnIds;
+        }
+        output.writeByte(ROW);
+        output.writeBoolean(row.tdpId != null);
+        if (row.tdpId != null) {
+            output.writeLong(row.tdpId);
+        }
+        output.writeBoolean(row.deleted);
+        for (String value : row.values) {
+            writeString(value);
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        if (value == null) {
+            output.writeInt(-1);
+        } else {
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        final int length = input.readInt();
+        if (length < 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Sends all stored rows (in the order they were added) to <code>consumer</code>. The same row instance is used for
+     * all rows, missing values are replayed as empty strings.
+     *
+     * @param metadata The row metadata of replayed rows.
+     * @param consumer The consumer of rows.
+     * @throws IOException In case rows can't be read from disk.
+     */
+    void replay(RowMetadata metadata, Consumer<DataSetRow> consumer) throws IOException {
+        final DataSetRow row = new DataSetRow(metadata);
+        if (spill == null) {
+            long rowId = 1;
+            for (StoredRow storedRow : rows) {
+                fill(row, storedRow.columnIds, storedRow.tdpId, storedRow.deleted, storedRow.values, rowId++);
+                consumer.accept(row);
+            }
+            return;
+        }
+        if (output != null) {
+            output.writeByte(END);
+            output.close();
+            deflater.end();
+            output = null;
+        }
+        try (DataInputStream input = new DataInputStream(
+                new BufferedInputStream(new InflaterInputStream(new FileInputStream(spill)), 64 * 1024))) {
+            String[] columnIds = new String[0];
+            String[] values = new String[0];
+            long rowId = 1;
+            byte record;
+            while ((record = input.readByte()) != END) {
+                if (record == COLUMNS) {
+                    columnIds = new String[input.readInt()];
+                    for (int i = 0; i < columnIds.length; i++) {
+                        columnIds[i] = readString(input);
+                    }
+                    values = new String[columnIds.length];
+                } else {
+                    final Long tdpId = input.readBoolean() ? input.readLong() : null;
+                    final boolean deleted = input.readBoolean();
+                    for (int i = 0; i < values.length; i++) {
+                        values[i] = readString(input);
+                    }
+                    fill(row, columnIds, tdpId, deleted, values, rowId++);
+                    consumer.accept(row);
+                }
+            }
+        }
+    }
+
+    private static void fill(DataSetRow row, String[] columnIds, Long tdpId, boolean deleted, String[] values, long rowId) {
+        row.clear();
+        row.setTdpId(tdpId == null ? rowId : tdpId);
+        row.setDeleted(deleted);
+        for (int i = 0; i < columnIds.length; i++) {
+            row.set(columnIds[i], values[i] == null ? "" : values[i]);
+        }
+    }
+
+    /**
+     * @return The number of stored rows.
+     */
+    long size() {
+        return count;
+    }
+
+    /**
+     * @return <code>true</code> if rows were spilled to disk.
+     */
+    boolean isSpilled() {
+        return spill != null;
+    }
+
+    /**
+     * Discards all stored rows.
+     */
+    @Override
+    public void close() {
+        rows.clear();
+        if (output != null) {
+            try {
+                output.close();
+            } catch (IOException e) {
+                // Ignored, file is deleted anyway
+            } finally {
+                deflater.end();
+                output = null;
+            }
+        }
+        if (spill != null) {
+            FilesHelper.deleteQuietly(spill);
+        }
+    }
+
+    private static class StoredRow {
+
+        private final String[] columnIds;
+
+        private final Long tdpId;
+
+        private final boolean deleted;
+
+        private final String[] values;
+
+        private StoredRow(String[] columnIds, Long tdpId, boolean deleted, String[] values) {
+            this.columnIds = columnIds;
+            this.tdpId = tdpId;
+            this.deleted = deleted;
+            this.values = values;
+        }
+    }
+}
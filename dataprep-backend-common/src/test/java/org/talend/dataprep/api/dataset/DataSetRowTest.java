@@ -18,6 +18,7 @@ import static org.junit.Assert.*;
 import static org.talend.dataprep.api.dataset.ColumnMetadata.Builder.column;
 import static org.talend.dataprep.api.dataset.diff.Flag.*;
 
+import java.math.BigDecimal;
 import java.util.*;
 
 import org.junit.Test;
@@ -308,4 +309,77 @@ public class DataSetRowTest {
         assertEquals("2", strings[0]);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testOrderWithValueSetAfterOrder() throws Exception {
+        final RowMetadata metadata = new RowMetadata(Arrays.asList(column().id(0).type(Type.STRING).build(), //
+                column().id(1).type(Type.STRING).build()));
+        final DataSetRow row = new DataSetRow(metadata);
+        row.set("0000", "a");
+        row.set("0001", "b");
+        final DataSetRow ordered = row.order(Arrays.asList(metadata.getById("0001"), metadata.getById("0000")));
+        ordered.set("0002", "c");
+        assertArrayEquals(new String[] { "b", "a", "c" }, ordered.toArray());
+        // Original row is unchanged
+        assertArrayEquals(new String[] { "a", "b" }, row.toArray());
+    }
+
+    @Test
+    public void testEqualsWithDifferentMetadata() throws Exception {
+        final DataSetRow row1 = new DataSetRow(new RowMetadata());
+        row1.set("0001", "b");
+        row1.set("0000", "a");
+        final DataSetRow row2 = new DataSetRow(new RowMetadata());
+        row2.set("0000", "a");
+        row2.set("0001", "b");
+        assertEquals(row1, row2);
+        assertEquals(row1.hashCode(), row2.hashCode());
+        // null value is not the same as empty value
+        row1.set("0002", null);
+        row2.set("0002", "");
+        assertNotEquals(row1, row2);
+        assertNull(row1.get("0002"));
+        assertTrue(row1.values().containsKey("0002"));
+    }
+
+    @Test
+    public void testCloneSharesNoValues() throws Exception {
+        final DataSetRow row = new DataSetRow(new RowMetadata());
+        row.set("0000", "a");
+        final DataSetRow clone = row.clone();
+        clone.set("0000", "b");
+        clone.set("0001", "c");
+        assertEquals("a", row.get("0000"));
+        assertNull(row.get("0001"));
+        assertEquals(1, row.values().size());
+    }
+
+    @Test
+    public void testParseKeepsParsedValue() throws Exception {
+        final DataSetRow row = new DataSetRow(new RowMetadata());
+        row.set("0000", "1.5");
+        final int[] calls = new int[1];
+        final ValueParser<BigDecimal> parser = value -> {
+            calls[0]++;
+            return ValueParser.NUMBER.parse(value);
+        };
+        // parsed once, then reused
+        assertEquals(new BigDecimal("1.5"), row.parse("0000", parser));
+        assertEquals(new BigDecimal("1.5"), row.parse("0000", parser));
+        assertEquals(1, calls[0]);
+        // a clone reuses the parsed values
+        final DataSetRow clone = row.clone();
+        assertEquals(new BigDecimal("1.5"), clone.parse("0000", parser));
+        assertEquals(1, calls[0]);
+        // a new value is parsed again
+        row.set("0000", "2");
+        assertEquals(new BigDecimal("2"), row.parse("0000", parser));
+        assertEquals(2, calls[0]);
+        assertEquals(new BigDecimal("1.5"), clone.parse("0000", parser));
+        // invalid and missing values
+        row.set("0000", "a");
+        assertNull(row.parse("0000", parser));
+        assertNull(row.parse("0001", parser));
+        row.clear();
+        assertNull(row.parse("0000", ValueParser.NUMBER));
+    }
+}
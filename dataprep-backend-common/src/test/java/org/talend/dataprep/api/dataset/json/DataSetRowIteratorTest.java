@@ -17,7 +17,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -76,6 +78,31 @@ public class DataSetRowIteratorTest {
         Assert.assertEquals(expectedRows, actual);
     }
 
+    @Test
+    public void should_iterate_selected_rows() throws IOException {
+
+        // given
+        List<DataSetRow> expectedRows = new ArrayList<>();
+        expectedRows.add(getDataSetRow("Buzz Lightyear", "", "1995–present"));
+        expectedRows.add(getDataSetRow("Mr. Potato Head", "Don Rickles", "1995–present"));
+        final BitSet selection = new BitSet();
+        selection.set(1);
+        selection.set(2);
+        selection.set(5); // out of the rows
+
+        // when
+        final InputStream json = DataSetRowIteratorTest.class.getResourceAsStream("datasetrow.json");
+        final Iterator<DataSetRow> iterator = new DataSetRowIterator(json, false).select(selection);
+
+        List<DataSetRow> actual = new ArrayList<>();
+        while (iterator.hasNext()) {
+            actual.add(iterator.next().clone());
+        }
+
+        // then
+        Assert.assertEquals(expectedRows, actual);
+    }
+
     private DataSetRow getDataSetRow(final long tdpId, String... data) {
         DataSetRow row = getDataSetRow(data);
         row.setTdpId(tdpId);
@@ -17,13 +17,20 @@ import static java.time.Month.JANUARY;
 import static java.time.ZoneOffset.UTC;
 import static java.util.Collections.singletonList;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.DateTimeException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.function.Predicate;
 
@@ -33,6 +40,8 @@ import org.mockito.Mockito;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.DataSetRow;
 import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.json.DataSetRowIterator;
+import org.talend.dataprep.api.type.Type;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.transformation.api.action.metadata.date.DateParser;
 
@@ -652,6 +661,8 @@ public class SimpleFilterServiceTest {
         when(dateParser.parse("1980-01-01", column)).thenReturn(LocalDateTime.of(1980, JANUARY, 1, 0, 0));
         when(dateParser.parse("1990-01-01", column)).thenReturn(LocalDateTime.of(1990, JANUARY, 1, 0, 0));
         when(dateParser.parse("2000-01-01", column)).thenReturn(LocalDateTime.of(2000, JANUARY, 1, 0, 0));
+        when(dateParser.parse(Mockito.any(DataSetRow.class), Mockito.eq(column)))
+                .thenAnswer(invocation -> dateParser.parse(((DataSetRow) invocation.getArguments()[0]).get("0001"), column));
         service.setDateParser(dateParser);
 
         //when
@@ -805,4 +816,152 @@ public class SimpleFilterServiceTest {
         //then
     }
 
-}
\ No newline at end of file
+
+    @Test
+    public void should_not_match_number_predicate_with_invalid_value() throws Exception {
+        //given
+        final String filtersDefinition = "{" +
+                "   \"gt\": {" +
+                "       \"field\": \"0001\"," +
+                "       \"value\": \"toto\"" +
+                "   }" +
+                "}";
+
+        //when
+        final Predicate<DataSetRow> filter = service.build(filtersDefinition, rowMetadata);
+
+        //then
+        datasetRowFromValues.set("0001", "6");
+        assertThat(filter.test(datasetRowFromValues), is(false));
+        datasetRowFromValues.set("0001", "toto");
+        assertThat(filter.test(datasetRowFromValues), is(false));
+    }
+
+    @Test
+    public void should_read_invalid_values_updated_after_build() throws Exception {
+        //given
+        final String filtersDefinition = "{" +
+                "   \"invalid\": {" +
+                "       \"field\": \"0001\"" +
+                "   }" +
+                "}";
+        final Predicate<DataSetRow> filter = service.build(filtersDefinition, rowMetadata);
+
+        //when
+        rowMetadata.getById("0001").getQuality().getInvalidValues().add("toto");
+
+        //then
+        datasetRowFromMetadata.set("0001", "toto");
+        assertThat(filter.test(datasetRowFromMetadata), is(true));
+    }
+
+    @Test
+    public void should_filter_rows_with_nested_filters() throws Exception {
+        //given
+        final String filtersDefinition = "{" +
+                "   \"or\": [" +
+                "       {" +
+                "           \"and\": [" +
+                "               {" +
+                "                   \"not\": {" +
+                "                       \"empty\": {" +
+                "                           \"field\": \"0001\"" +
+                "                       }" +
+                "                   }" +
+                "               }," +
+                "               {" +
+                "                   \"gte\": {" +
+                "                       \"field\": \"0002\"," +
+                "                       \"value\": \"5\"" +
+                "                   }" +
+                "               }" +
+                "           ]" +
+                "       }," +
+                "       {" +
+                "           \"eq\": {" +
+                "               \"field\": \"0002\"," +
+                "               \"value\": \"toto\"" +
+                "           }" +
+                "       }" +
+                "   ]" +
+                "}";
+        final RowFilter filter = service.build(filtersDefinition, rowMetadata);
+        final List<DataSetRow> rows = new ArrayList<>();
+        final String[][] values = { { "a", "6" }, { "", "6" }, { "b", "4" }, { "", "toto" }, { "c", "5.0" } };
+        for (String[] value : values) {
+            final DataSetRow row = new DataSetRow(new HashMap<>());
+            row.set("0001", value[0]);
+            row.set("0002", value[1]);
+            rows.add(row);
+        }
+
+        //when
+        final boolean[] matches = new boolean[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            matches[i] = filter.test(rows.get(i));
+        }
+
+        //then
+        assertThat(Arrays.toString(matches), is("[true, false, false, true, true]"));
+    }
+
+    @Test
+    public void should_filter_rows_with_index() throws Exception {
+        //given
+        final String filtersDefinition = "{" +
+                "   \"or\": [" +
+                "       {" +
+                "           \"and\": [" +
+                "               {" +
+                "                   \"not\": {" +
+                "                       \"empty\": {" +
+                "                           \"field\": \"0001\"" +
+                "                       }" +
+                "                   }" +
+                "               }," +
+                "               {" +
+                "                   \"range\": {" +
+                "                       \"field\": \"0002\"," +
+                "                       \"start\": \"5\"," +
+                "                       \"end\": \"10\"" +
+                "                   }" +
+                "               }" +
+                "           ]" +
+                "       }," +
+                "       {" +
+                "           \"eq\": {" +
+                "               \"field\": \"0002\"," +
+                "               \"value\": \"toto\"" +
+                "           }" +
+                "       }" +
+                "   ]" +
+                "}";
+        final RowMetadata metadata = new RowMetadata();
+        metadata.setColumns(singletonList(ColumnMetadata.Builder.column().id(2).type(Type.INTEGER).build()));
+        final RowFilter filter = service.build(filtersDefinition, metadata);
+        final String rows = "[" +
+                "{\"tdpId\": \"1\", \"0001\": \"a\", \"0002\": \"6\"}," +
+                "{\"tdpId\": \"2\", \"0001\": \"\", \"0002\": \"6\"}," +
+                "{\"tdpId\": \"3\", \"0001\": \"b\", \"0002\": \"4\"}," +
+                "{\"tdpId\": \"4\", \"0002\": \"toto\"}," +
+                "{\"tdpId\": \"5\", \"_deleted\": true, \"0001\": \"c\", \"0002\": \"5.0\"}," +
+                "{\"tdpId\": \"6\", \"0001\": \"d\", \"0002\": \"10\"}" +
+                "]";
+        final RowIndex index = new RowIndex(() -> new ByteArrayInputStream(rows.getBytes(StandardCharsets.UTF_8)));
+
+        //when
+        final BitSet selection = filter.filter(index);
+
+        //then
+        assertThat(selection.toString(), is("{0, 3, 4}"));
+        assertThat(index.size(), is(6));
+        final DataSetRowIterator iterator = new DataSetRowIterator(new ByteArrayInputStream(rows.getBytes(StandardCharsets.UTF_8)),
+                true);
+        for (int i = 0; iterator.hasNext(); i++) {
+            assertThat(filter.test(iterator.next()), is(selection.get(i)));
+        }
+        // filters on rows can't be evaluated on index
+        assertThat(RowFilter.of(r -> true).filter(index), is(nullValue()));
+        assertThat(RowFilter.and(filter, RowFilter.of(r -> true)).filter(index), is(nullValue()));
+    }
+}
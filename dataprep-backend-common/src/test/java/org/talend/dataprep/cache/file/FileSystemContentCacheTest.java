@@ -66,6 +66,14 @@ public class FileSystemContentCacheTest {
     }
 
 
+    @Test
+    public void testHasNotWithOtherEntries() throws Exception {
+        // Put a content in cache for another key...
+        addCacheEntry(new DummyCacheKey("other"), "content", ContentCache.TimeToLive.DEFAULT);
+        // ... has() must still return false for content
+        Assert.assertThat(cache.has(new DummyCacheKey("toto")), is(false));
+    }
+
     @Test
     public void testGet() throws Exception {
         ContentCacheKey key = new DummyCacheKey("tata");
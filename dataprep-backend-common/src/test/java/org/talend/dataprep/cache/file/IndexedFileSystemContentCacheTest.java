@@ -0,0 +1,180 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.cache.file;
+
+import static org.hamcrest.CoreMatchers.is;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.talend.dataprep.cache.ContentCache;
+import org.talend.dataprep.cache.ContentCacheKey;
+
+public class IndexedFileSystemContentCacheTest {
+
+    public static final String TEST_DIRECTORY = "target/cache/indexed-test";
+
+    /** The content cache to test. */
+    private IndexedFileSystemContentCache cache;
+
+    @Before
+    public void setUp() throws Exception {
+        cache = new IndexedFileSystemContentCache(TEST_DIRECTORY, 100, 10, 5);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        cache.clear();
+        FileUtils.deleteDirectory(FileUtils.getFile(TEST_DIRECTORY));
+    }
+
+    @Test
+    public void testHasNot() throws Exception {
+        addCacheEntry(new DummyCacheKey("other"), "content", ContentCache.TimeToLive.DEFAULT);
+        Assert.assertThat(cache.has(new DummyCacheKey("toto")), is(false));
+        Assert.assertThat(cache.get(new DummyCacheKey("toto")), is((InputStream) null));
+    }
+
+    @Test
+    public void testPutGet() throws Exception {
+        ContentCacheKey key = new DummyCacheKey("tata");
+        addCacheEntry(key, "yet another content...", ContentCache.TimeToLive.DEFAULT);
+        Assert.assertThat(cache.has(key), is(true));
+        Assert.assertThat(IOUtils.toString(cache.get(key)), is("yet another content..."));
+    }
+
+    @Test
+    public void testEntryNotVisibleBeforeClose() throws Exception {
+        ContentCacheKey key = new DummyCacheKey("titi");
+        try (OutputStream entry = cache.put(key, ContentCache.TimeToLive.DEFAULT)) {
+            entry.write("partial".getBytes());
+            entry.flush();
+            Assert.assertThat(cache.has(key), is(false));
+        }
+        Assert.assertThat(cache.has(key), is(true));
+    }
+
+    @Test
+    public void testReplaceEntry() throws Exception {
+        ContentCacheKey key = new DummyCacheKey("titi");
+        addCacheEntry(key, "first content", ContentCache.TimeToLive.PERMANENT);
+        addCacheEntry(key, "second content", ContentCache.TimeToLive.PERMANENT);
+        Assert.assertThat(IOUtils.toString(cache.get(key)), is("second content"));
+        Assert.assertThat(cache.getSize(), is(14L));
+    }
+
+    @Test
+    public void testEvict() throws Exception {
+        ContentCacheKey key = () -> "tutu-1";
+        ContentCacheKey otherKey = () -> "tutu-2";
+        addCacheEntry(key, "content, yes again", ContentCache.TimeToLive.PERMANENT);
+        addCacheEntry(otherKey, "content, yes again", ContentCache.TimeToLive.PERMANENT);
+        // evict with a partial key removes all matching entries
+        cache.evict(() -> "tutu");
+        Assert.assertThat(cache.has(key), is(false));
+        Assert.assertThat(cache.has(otherKey), is(false));
+        Assert.assertThat(cache.getSize(), is(0L));
+    }
+
+    @Test
+    public void testEvictLeastRecentlyUsed() throws Exception {
+        // given 3 entries of 40 bytes (cache is limited to 100 bytes)
+        ContentCacheKey first = new DummyCacheKey("first");
+        ContentCacheKey second = new DummyCacheKey("second");
+        ContentCacheKey third = new DummyCacheKey("third");
+        final String content = "0123456789012345678901234567890123456789";
+        addCacheEntry(first, content, ContentCache.TimeToLive.DEFAULT);
+        addCacheEntry(second, content, ContentCache.TimeToLive.DEFAULT);
+        IOUtils.toString(cache.get(first));
+
+        // when
+        addCacheEntry(third, content, ContentCache.TimeToLive.DEFAULT);
+
+        // then
+        Assert.assertThat(cache.has(first), is(true));
+        Assert.assertThat(cache.has(second), is(false));
+        Assert.assertThat(cache.has(third), is(true));
+        Assert.assertThat(cache.getEvictions(), is(1L));
+        Assert.assertThat(cache.getSize(), is(80L));
+    }
+
+    @Test
+    public void testSmallEntryServedFromMemory() throws Exception {
+        ContentCacheKey key = new DummyCacheKey("small");
+        addCacheEntry(key, "abc", ContentCache.TimeToLive.DEFAULT);
+        // remove files behind the cache's back: small entry is still served
+        FileUtils.cleanDirectory(FileUtils.getFile(TEST_DIRECTORY, "indexed-cache"));
+        Assert.assertThat(IOUtils.toString(cache.get(key)), is("abc"));
+    }
+
+    @Test
+    public void testReloadIndex() throws Exception {
+        ContentCacheKey key = new DummyCacheKey("reload me/1");
+        addCacheEntry(key, "content", ContentCache.TimeToLive.DEFAULT);
+
+        // when a new cache is created on same location
+        final IndexedFileSystemContentCache reloaded = new IndexedFileSystemContentCache(TEST_DIRECTORY, 100, 10, 5);
+
+        // then
+        Assert.assertThat(reloaded.has(key), is(true));
+        Assert.assertThat(IOUtils.toString(reloaded.get(key)), is("content"));
+    }
+
+    @Test
+    public void testJanitor() throws Exception {
+        ContentCacheKey key = new DummyCacheKey("janitor me");
+        addCacheEntry(key, "janitor content", ContentCache.TimeToLive.IMMEDIATE);
+        cache.janitor();
+        Assert.assertThat(cache.has(key), is(true));
+
+        Thread.sleep(ContentCache.TimeToLive.IMMEDIATE.getTime() + 500);
+        cache.janitor();
+
+        Assert.assertThat(cache.has(key), is(false));
+        Assert.assertThat(FileUtils.getFile(TEST_DIRECTORY, "indexed-cache").list().length, is(0));
+    }
+
+    @Test
+    public void testHitsAndMisses() throws Exception {
+        ContentCacheKey key = new DummyCacheKey("counted");
+        cache.has(key);
+        addCacheEntry(key, "content", ContentCache.TimeToLive.DEFAULT);
+        cache.has(key);
+        cache.get(key).close();
+        Assert.assertThat(cache.getHits(), is(2L));
+        Assert.assertThat(cache.getMisses(), is(1L));
+    }
+
+    /**
+     * Add the cache entry.
+     *
+     * @param key where to put the cache entry.
+     * @param content the cache entry content.
+     * @param timeToLive the time to live for entry
+     * @throws IOException if an error occurs.
+     */
+    private void addCacheEntry(ContentCacheKey key, String content, ContentCache.TimeToLive timeToLive) throws IOException {
+        try (OutputStream entry = cache.put(key, timeToLive)) {
+            entry.write(content.getBytes());
+            entry.flush();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link Histogram}.
+ */
+public class HistogramTest {
+
+    @Test
+    public void shouldBeEmpty() throws Exception {
+        // when
+        final Histogram histogram = new Histogram();
+
+        // then
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getPercentile(0.99));
+        assertEquals(0, histogram.getMean(), 0);
+    }
+
+    @Test
+    public void shouldBoundBuckets() throws Exception {
+        long previous = -1;
+        for (long value : new long[] { 0, 1, 7, 8, 9, 15, 16, 1000, 123456789, Long.MAX_VALUE }) {
+            final int index = Histogram.indexOf(value);
+            // bucket contains value...
+            assertTrue(Histogram.upperBoundOf(index) >= value);
+            assertTrue(index == 0 || Histogram.upperBoundOf(index - 1) < value);
+            // ... and buckets are sorted
+            assertTrue(index > previous);
+            previous = index;
+        }
+    }
+
+    @Test
+    public void shouldComputePercentiles() throws Exception {
+        // given
+        final Histogram histogram = new Histogram();
+
+        // when
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        // then
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1000000, histogram.getMax());
+        assertEquals(500500, histogram.getMean(), 0.1);
+        assertEquals(500000, histogram.getPercentile(0.5), 500000 * 0.125);
+        assertEquals(990000, histogram.getPercentile(0.99), 990000 * 0.125);
+        assertEquals(1000000, histogram.getPercentile(1));
+    }
+}
@@ -0,0 +1,192 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.preparation.store.file;
+
+import static org.junit.Assert.*;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import javax.annotation.Resource;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.SpringApplicationConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.talend.dataprep.api.preparation.Action;
+import org.talend.dataprep.api.preparation.Preparation;
+import org.talend.dataprep.api.preparation.PreparationActions;
+import org.talend.dataprep.api.preparation.Step;
+import org.talend.dataprep.api.service.info.VersionService;
+import org.talend.dataprep.preparation.PreparationTest;
+import org.talend.dataprep.preparation.store.PreparationRepository;
+import org.talend.dataprep.preparation.store.PreparationRepositoryTest;
+
+/**
+ * Unit test for the IndexedFileSystemPreparationRepository.
+ *
+ * @see IndexedFileSystemPreparationRepository
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringApplicationConfiguration(classes = IndexedFileSystemPreparationRepositoryTest.class)
+@ComponentScan(basePackages = "org.talend.dataprep")
+@TestPropertySource(inheritLocations = false, inheritProperties = false, properties = { "preparation.store=indexed-file",
+        "preparation.store.file.location=target/test/store/indexed-preparation", "preparation.store.actions.cache.size=2" })
+public class IndexedFileSystemPreparationRepositoryTest extends PreparationRepositoryTest {
+
+    /** The root step. */
+    @Resource(name = "rootStep")
+    private Step rootStep;
+
+    @Autowired
+    private VersionService versionService;
+
+    /**
+     * Bean needed to resolve test properties set by the @TestPropertySource annotation
+     */
+    @Bean
+    public static PropertySourcesPlaceholderConfigurer propertiesResolver() {
+        return new PropertySourcesPlaceholderConfigurer();
+    }
+
+    /** The preparation repository to test. */
+    @Autowired
+    private IndexedFileSystemPreparationRepository repository;
+
+    /**
+     * Clean up repository after each test.
+     */
+    @After
+    public void cleanUpAfterTests() {
+        repository.clear();
+    }
+
+    @Test
+    public void shouldNotModifyIndexedPreparation() {
+        // given
+        final Preparation preparation = getPreparation("1234");
+        repository.add(preparation);
+
+        // when
+        preparation.setName("modified");
+        repository.get(preparation.id(), Preparation.class).setDataSetId("5678");
+
+        // then
+        assertEquals("prep-1234", repository.get(preparation.id(), Preparation.class).getName());
+        assertEquals(1, repository.getByDataSet("1234").size());
+        assertTrue(repository.getByDataSet("5678").isEmpty());
+    }
+
+    @Test
+    public void shouldUpdateIndexes() {
+        // given
+        final Preparation preparation = getPreparation("1234");
+        repository.add(preparation);
+
+        // when
+        preparation.setDataSetId("5678");
+        preparation.setName("New Name");
+        repository.add(preparation);
+
+        // then
+        assertTrue(repository.getByDataSet("1234").isEmpty());
+        assertEquals(1, repository.getByDataSet("5678").size());
+        assertTrue(repository.getByMatchingName("prep-1234", true).isEmpty());
+        final Collection<Preparation> byName = repository.getByMatchingName("new name", true);
+        assertEquals(1, byName.size());
+        assertNotNull(byName.iterator().next().getOwner());
+
+        // when
+        repository.remove(preparation);
+
+        // then
+        assertTrue(repository.getByDataSet("5678").isEmpty());
+        assertNull(repository.get(preparation.id(), Preparation.class));
+    }
+
+    @Test
+    public void shouldReadEvictedActions() {
+        // given (more actions than cache size)
+        final String version = versionService.version().getVersionId();
+        PreparationActions actions = new PreparationActions(version);
+        for (int i = 0; i < 5; i++) {
+            final List<Action> action = PreparationTest.getSimpleAction("uppercase", "column_name", "col" + i);
+            actions = actions.append(action);
+            repository.add(actions);
+        }
+        final PreparationActions first = new PreparationActions(
+                PreparationTest.getSimpleAction("uppercase", "column_name", "col0"), version);
+
+        // when
+        final PreparationActions actual = repository.get(first.id(), PreparationActions.class);
+
+        // then
+        assertEquals(first, actual);
+    }
+
+    @Test
+    public void shouldNotModifyCachedActions() {
+        // given
+        final String version = versionService.version().getVersionId();
+        final PreparationActions actions = new PreparationActions(
+                PreparationTest.getSimpleAction("uppercase", "column_name", "col0"), version);
+        final String id = actions.id();
+        repository.add(actions);
+
+        // when
+        actions.getActions().get(0).getParameters().put("column_name", "modified");
+        repository.get(id, PreparationActions.class).getActions().get(0).getParameters().put("column_name", "modified");
+
+        // then
+        final PreparationActions actual = repository.get(id, PreparationActions.class);
+        assertEquals("col0", actual.getActions().get(0).getParameters().get("column_name"));
+    }
+
+    @Test
+    public void shouldListSteps() {
+        // given
+        final Step step = new Step(rootStep.id(), "684fdqs638", versionService.version().getVersionId());
+        repository.add(step);
+
+        // then
+        assertEquals(step, repository.get(step.id(), Step.class));
+        assertNull(repository.get(step.id(), Preparation.class));
+        assertTrue(repository.listAll(Step.class).contains(step));
+        assertTrue(repository.listAll(Step.class).contains(rootStep));
+    }
+
+    /**
+     * @param datasetId the preparation id.
+     * @return a preparation with a root step an a the given dataset id.
+     */
+    @Override
+    protected Preparation getPreparation(String datasetId) {
+        Preparation preparation = new Preparation(UUID.randomUUID().toString(), datasetId, rootStep.id(),
+                versionService.version().getVersionId());
+        preparation.setName("prep-" + datasetId);
+        return preparation;
+    }
+
+    @Override
+    public PreparationRepository getRepository() {
+        return repository;
+    }
+}
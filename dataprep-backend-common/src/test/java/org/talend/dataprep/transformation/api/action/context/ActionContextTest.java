@@ -146,4 +146,34 @@ public class ActionContextTest {
         assertThat(actual, is(new BigInteger("123")));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testValueMemo() {
+        final ValueMemo memo = context.getValueMemo();
+
+        assertThat(memo.get("a", String::toUpperCase), is("A"));
+        assertThat(memo.get(null, v -> "null value"), is("null value"));
+        // the second calls have another function that fails the test
+        assertThat(memo.get("a", v -> {
+            fail("should not be invoked");
+            return v;
+        }), is("A"));
+        assertThat(memo.get(null, v -> {
+            fail("should not be invoked");
+            return v;
+        }), is("null value"));
+
+        assertThat(memo.getHits(), is(2L));
+        assertThat(memo.getMisses(), is(2L));
+    }
+
+    @Test
+    public void testValueMemoClearedOnNewRowMetadata() {
+        context.getValueMemo().get("a", String::toUpperCase);
+
+        context.setRowMetadata(new RowMetadata());
+
+        assertThat(context.getValueMemo().get("a", String::toLowerCase), is("a"));
+        assertThat(context.getValueMemo().getMisses(), is(2L));
+    }
+
+}
@@ -0,0 +1,97 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.transformation.api.action.metadata.datablending;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.DataSetRow;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.type.Type;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Unit test for the LookupIndex.
+ *
+ * @see LookupIndex
+ */
+public class LookupIndexTest {
+
+    private final List<ColumnMetadata> columns = Arrays.asList( //
+            ColumnMetadata.Builder.column().id(0).name("code").type(Type.STRING).build(), //
+            ColumnMetadata.Builder.column().id(1).name("state").type(Type.STRING).build());
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private DataSetRow row(String code, String state) {
+        final DataSetRow row = new DataSetRow(new RowMetadata(columns));
+        row.set("0000", code);
+        row.set("0001", state);
+        return row;
+    }
+
+    private LookupIndex build() {
+        return LookupIndex.build(columns, Stream.of(row("GA", "Georgia"), row("FL", "Florida"), row("GA", "Other")), "0000");
+    }
+
+    @Test
+    public void shouldMatchFirstRow() throws Exception {
+        // when
+        final LookupIndex index = build();
+
+        // then
+        assertEquals(2, index.size());
+        assertArrayEquals(new String[] { "GA", "Georgia" }, index.get("GA"));
+        assertNull(index.get("TX"));
+        assertEquals(1, index.indexOf("0001"));
+        assertEquals(-1, index.indexOf("0002"));
+    }
+
+    @Test
+    public void shouldReadWrittenIndex() throws Exception {
+        // given
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        build().write(output, mapper);
+
+        // when
+        final LookupIndex index = LookupIndex.read(new ByteArrayInputStream(output.toByteArray()), mapper);
+
+        // then
+        assertEquals(2, index.size());
+        assertArrayEquals(new String[] { "FL", "Florida" }, index.get("FL"));
+        assertEquals("state", index.getColumns().get(1).getName());
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldNotReadIncompleteIndex() throws Exception {
+        // given
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        build().write(output, mapper);
+        final byte[] content = Arrays.copyOf(output.toByteArray(), output.size() - 4);
+
+        // when
+        LookupIndex.read(new ByteArrayInputStream(content), mapper);
+    }
+}
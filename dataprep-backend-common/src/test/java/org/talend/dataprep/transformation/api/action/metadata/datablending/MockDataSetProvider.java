@@ -42,4 +42,16 @@ public class MockDataSetProvider {
         return IOUtils.toString(this.getClass().getResourceAsStream(lookupId + ".json"));
     }
 
+    /**
+     * Lookup metadata (lookup content also contains metadata).
+     *
+     * @param lookupId the lookup id.
+     * @return the lookup content with its metadata.
+     * @throws IOException if lookup can't be read.
+     */
+    @RequestMapping(value = "/datasets/{id}/metadata", method = RequestMethod.GET, consumes = MediaType.ALL_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public String getSampleRemoteMetadata(@PathVariable(value = "id") String lookupId) throws IOException {
+        return getSampleRemoteFile(lookupId);
+    }
+
 }
@@ -14,12 +14,15 @@
 package org.talend.dataprep.transformation.api.action.metadata.date;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
 import static org.talend.dataprep.transformation.api.action.metadata.ActionMetadataTestUtils.*;
 
 import java.io.IOException;
 import java.text.ParseException;
 import java.time.DateTimeException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.TemporalAccessor;
 import java.util.ArrayList;
@@ -143,4 +146,70 @@ public class DateParserTest extends BaseDateTests {
         assertEquals(2, actual.size());
         assertEquals(new PatternFrequency("d/M/yyyy", 1), actual.get(1));
     }
+
+    @Test
+    public void shouldParseWithColumnPatterns() {
+        // given
+        final ColumnMetadata column = getColumn(Type.DATE);
+        column.getStatistics().getPatternFrequencies().add(new PatternFrequency("yyyy/MM/dd", 2));
+        column.getStatistics().getPatternFrequencies().add(new PatternFrequency("MM-dd-yy HH:mm", 5));
+
+        // when
+        final LocalDateTime date = action.parse("2015/08/17", column);
+        final LocalDateTime dateTime = action.parse("08-17-15 10:30", column);
+
+        // then
+        assertEquals(LocalDateTime.of(2015, 8, 17, 0, 0), date);
+        assertEquals(LocalDateTime.of(2015, 8, 17, 10, 30), dateTime);
+        assertEquals(date, action.parse("2015/08/17", column));
+        assertEquals("MM-dd-yy HH:mm", action.getMostFrequentPattern(column).getPattern());
+    }
+
+    @Test
+    public void shouldNotParseInvalidValueAgain() {
+        // given
+        final ColumnMetadata column = getColumn(Type.DATE);
+        column.getStatistics().getPatternFrequencies().add(new PatternFrequency("yyyy/MM/dd", 2));
+        for (int i = 0; i < 2; i++) {
+            try {
+                // when
+                action.parse("not a date", column);
+                fail("'not a date' should not be parsed");
+            } catch (DateTimeException e) {
+                // then
+                assertEquals(1, column.getStatistics().getPatternFrequencies().size());
+            }
+        }
+    }
+
+    @Test
+    public void shouldParseFromColumnPatternsOnly() {
+        // given
+        final ColumnMetadata column = getColumn(Type.DATE);
+        column.getStatistics().getPatternFrequencies().add(new PatternFrequency("yyyy/MM/dd", 2));
+
+        // then
+        assertEquals(LocalDateTime.of(2015, 8, 17, 0, 0), action.parseFromColumnPatterns("2015/08/17", column));
+        assertNull(action.parseFromColumnPatterns("01/02/2015", column));
+        assertNull(action.parseFromColumnPatterns(null, column));
+        // DQ library was not called to guess a new pattern
+        assertEquals(1, column.getStatistics().getPatternFrequencies().size());
+    }
+
+    @Test
+    public void shouldParseWithUpdatedColumnPatterns() {
+        // given
+        final ColumnMetadata column = getColumn(Type.DATE);
+        final List<PatternFrequency> patternFrequencies = column.getStatistics().getPatternFrequencies();
+        patternFrequencies.add(new PatternFrequency("yyyy/MM/dd", 2));
+        assertNull(action.parseFromColumnPatterns("17-08-2015", column));
+
+        // when (statistics are updated in place, as done by the statistics adapter)
+        patternFrequencies.clear();
+        patternFrequencies.add(new PatternFrequency("dd-MM-yyyy", 2));
+
+        // then
+        assertEquals(LocalDateTime.of(2015, 8, 17, 0, 0), action.parseFromColumnPatterns("17-08-2015", column));
+        assertNull(action.parseFromColumnPatterns("2015/08/17", column));
+    }
 }
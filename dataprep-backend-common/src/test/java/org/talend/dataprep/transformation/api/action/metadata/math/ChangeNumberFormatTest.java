@@ -406,6 +406,26 @@ public class ChangeNumberFormatTest extends AbstractMetadataBaseTest {
         assertEquals(expectedRow3.values(), row3.values());
     }
 
+    @Test
+    public void should_process_repeated_values() throws Exception {
+        // given
+        final DataSetRow row1 = getRow("toto", "0012.50", "tata");
+        final DataSetRow row2 = getRow("titi", "azerty", "tata");
+        final DataSetRow row3 = getRow("tutu", "0012.50", "tata");
+        final DataSetRow row4 = getRow("tete", "azerty", "tata");
+        Collection<DataSetRow> rows = Arrays.asList(row1, row2, row3, row4);
+
+        // when
+        ActionTestWorkbench.test(rows, actionRegistry, factory.create(action, parameters));
+
+        // then (values computed once per distinct value are the same for all rows)
+        assertEquals(getRow("toto", "12.5", "tata").values(), row1.values());
+        assertEquals(getRow("titi", "azerty", "tata").values(), row2.values());
+        assertEquals(getRow("tutu", "12.5", "tata").values(), row3.values());
+        assertEquals(getRow("tete", "azerty", "tata").values(), row4.values());
+        assertEquals(Type.DOUBLE.getName(), row1.getRowMetadata().getById("0001").getType());
+    }
+
     @Test
     public void should_accept_column() {
         assertTrue(action.acceptColumn(getColumn(Type.NUMERIC)));
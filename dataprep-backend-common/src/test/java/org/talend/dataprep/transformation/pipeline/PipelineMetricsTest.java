@@ -0,0 +1,85 @@
+package org.talend.dataprep.transformation.pipeline;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.DataSetRow;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.preparation.Action;
+import org.talend.dataprep.api.type.Type;
+import org.talend.dataprep.metrics.Metrics;
+import org.talend.dataprep.transformation.api.action.context.TransformationContext;
+import org.talend.dataprep.transformation.pipeline.link.BasicLink;
+import org.talend.dataprep.transformation.pipeline.node.BasicNode;
+import org.talend.dataprep.transformation.pipeline.node.FusedActionNode;
+import org.talend.dataprep.transformation.pipeline.node.ParallelNode;
+
+public class PipelineMetricsTest {
+
+    private final RowMetadata rowMetadata = new RowMetadata(Arrays.asList( //
+            ColumnMetadata.Builder.column().id(0).name("first").type(Type.STRING).build()));
+
+    private static Action action(String name) {
+        return Action.Builder.builder() //
+                .withName(name) //
+                .withRow((row, context) -> row) //
+                .build();
+    }
+
+    private DataSetRow row(String value) {
+        final DataSetRow row = new DataSetRow(rowMetadata);
+        row.set("0000", value);
+        return row;
+    }
+
+    @Test
+    public void shouldReportFusedActionsUnderFixedName() throws Exception {
+        // Given
+        final FusedActionNode node = new FusedActionNode(Arrays.asList(action("uppercase"), action("lowercase")),
+                new TransformationContext(), false);
+        node.setLink(new BasicLink(new BasicNode()));
+        node.receive(row("a"), rowMetadata);
+        node.receive(row("b"), rowMetadata);
+        final Metrics metrics = new Metrics();
+
+        // When
+        node.accept(new PipelineMetrics(metrics));
+
+        // Then
+        assertEquals(Arrays.asList("pipeline.action.lowercase", "pipeline.action.uppercase", "pipeline.fused"),
+                Arrays.asList(metrics.getAll().keySet().toArray()));
+        assertEquals(2, metrics.get("pipeline.fused").getRows());
+        assertEquals(2, metrics.get("pipeline.action.uppercase").getRows());
+        assertEquals(2, metrics.get("pipeline.action.lowercase").getRows());
+    }
+
+    @Test
+    public void shouldReportParallelActionsUnderFixedName() throws Exception {
+        // Given
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            final ParallelNode node = new ParallelNode(Arrays.asList(action("uppercase"), action("lowercase")), pool);
+            node.setLink(new BasicLink(new BasicNode()));
+            for (int i = 0; i < ParallelNode.BATCH_SIZE + 1; i++) {
+                node.receive(row(String.valueOf(i)), rowMetadata);
+            }
+            node.signal(Signal.END_OF_STREAM);
+            final Metrics metrics = new Metrics();
+
+            // When
+            node.accept(new PipelineMetrics(metrics));
+
+            // Then
+            assertEquals(Arrays.asList("pipeline.action.lowercase", "pipeline.action.uppercase", "pipeline.parallel"),
+                    Arrays.asList(metrics.getAll().keySet().toArray()));
+            assertEquals(ParallelNode.BATCH_SIZE + 1, metrics.get("pipeline.action.uppercase").getRows());
+            assertEquals(ParallelNode.BATCH_SIZE + 1, metrics.get("pipeline.action.lowercase").getRows());
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package org.talend.dataprep.transformation.pipeline;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.*;
+
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.DataSetRow;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.preparation.Action;
+import org.talend.dataprep.api.type.Type;
+import org.talend.dataprep.transformation.api.action.DataSetRowAction;
+import org.talend.dataprep.transformation.api.action.context.TransformationContext;
+import org.talend.dataprep.transformation.api.action.metadata.column.DeleteColumn;
+import org.talend.dataprep.transformation.api.action.metadata.common.ActionMetadata;
+import org.talend.dataprep.transformation.api.action.metadata.delete.DeleteEmpty;
+import org.talend.dataprep.transformation.api.action.metadata.delete.DeleteInvalid;
+import org.talend.dataprep.transformation.api.action.metadata.text.LowerCase;
+import org.talend.dataprep.transformation.api.action.metadata.text.UpperCase;
+import org.talend.dataprep.transformation.pipeline.node.BasicNode;
+import org.talend.dataprep.transformation.pipeline.node.FusedActionNode;
+
+public class PipelinePlannerTest {
+
+    private final Map<Action, ActionMetadata> actionToMetadata = new HashMap<>();
+
+    private Action action(ActionMetadata metadata, String columnId, DataSetRowAction rowAction) {
+        final Map<String, String> parameters = new HashMap<>();
+        parameters.put("scope", "column");
+        parameters.put("column_id", columnId);
+        final Action action = Action.Builder.builder() //
+                .withName(metadata.getName()) //
+                .withParameters(parameters) //
+                .withRow(rowAction) //
+                .build();
+        actionToMetadata.put(action, metadata);
+        return action;
+    }
+
+    private Action action(ActionMetadata metadata, String columnId) {
+        return action(metadata, columnId, Action.IDLE_ROW_ACTION);
+    }
+
+    @Test
+    public void shouldRemoveActionOnDeletedColumn() throws Exception {
+        // Given
+        final Action upperCase = action(new UpperCase(), "0001");
+        final Action lowerCase = action(new LowerCase(), "0002");
+        final Action deleteColumn = action(new DeleteColumn(), "0001");
+        final PipelinePlanner planner = new PipelinePlanner(actionToMetadata);
+
+        // When
+        final List<Action> planned = planner.plan(Arrays.asList(upperCase, lowerCase, deleteColumn));
+
+        // Then
+        assertEquals(Arrays.asList(lowerCase, deleteColumn), planned);
+        assertEquals(1, planner.getDecisions().size());
+    }
+
+    @Test
+    public void shouldKeepActionOnColumnReadBeforeDeletion() throws Exception {
+        // Given
+        final Action upperCase = action(new UpperCase(), "0001");
+        final Action deleteEmpty = action(new DeleteEmpty(), "0001");
+        final Action deleteColumn = action(new DeleteColumn(), "0001");
+        final PipelinePlanner planner = new PipelinePlanner(actionToMetadata);
+
+        // When
+        final List<Action> planned = planner.plan(Arrays.asList(upperCase, deleteEmpty, deleteColumn));
+
+        // Then
+        assertEquals(Arrays.asList(upperCase, deleteEmpty, deleteColumn), planned);
+        assertTrue(planner.getDecisions().isEmpty());
+    }
+
+    @Test
+    public void shouldMoveRowDeletionBeforeActionsOnOtherColumns() throws Exception {
+        // Given
+        final Action upperCase = action(new UpperCase(), "0001");
+        final Action lowerCase = action(new LowerCase(), "0002");
+        final Action deleteEmpty = action(new DeleteEmpty(), "0001");
+        final PipelinePlanner planner = new PipelinePlanner(actionToMetadata);
+
+        // When
+        final List<Action> planned = planner.plan(Arrays.asList(upperCase, lowerCase, deleteEmpty));
+
+        // Then (delete can't move before upper case: it reads the column upper case changes)
+        assertEquals(Arrays.asList(upperCase, deleteEmpty, lowerCase), planned);
+        assertEquals(1, planner.getDecisions().size());
+    }
+
+    @Test
+    public void shouldNotMoveRowDeletionThatNeedsStatistics() throws Exception {
+        // Given
+        final Action lowerCase = action(new LowerCase(), "0002");
+        final Action deleteInvalid = action(new DeleteInvalid(), "0001");
+        final PipelinePlanner planner = new PipelinePlanner(actionToMetadata);
+
+        // When
+        final List<Action> planned = planner.plan(Arrays.asList(lowerCase, deleteInvalid));
+
+        // Then
+        assertEquals(Arrays.asList(lowerCase, deleteInvalid), planned);
+    }
+
+    @Test
+    public void shouldFuseStatelessActions() throws Exception {
+        // Given
+        final Action upperCase = action(new UpperCase(), "0000", (row, context) -> {
+            row.set("0000", row.get("0000").toUpperCase());
+            return row;
+        });
+        final Action lowerCase = action(new LowerCase(), "0001", (row, context) -> {
+            row.set("0001", row.get("0001").toLowerCase());
+            return row;
+        });
+        final RowMetadata rowMetadata = new RowMetadata(Arrays.asList( //
+                ColumnMetadata.Builder.column().id(0).name("first").type(Type.STRING).build(), //
+                ColumnMetadata.Builder.column().id(1).name("last").type(Type.STRING).build()));
+        final List<DataSetRow> rows = new ArrayList<>();
+        final Pipeline pipeline = Pipeline.Builder.builder() //
+                .withActions(Arrays.asList(upperCase, lowerCase)) //
+                .withActionRegistry(name -> actionToMetadata.keySet().stream() //
+                        .filter(a -> a.getName().equals(name)) //
+                        .map(actionToMetadata::get) //
+                        .findFirst() //
+                        .orElse(null)) //
+                .withInitialMetadata(rowMetadata) //
+                .withContext(new TransformationContext()) //
+                .withGlobalStatistics(false) //
+                .withPlanner(true) //
+                .withOutput(() -> new BasicNode() {
+
+                    @Override
+                    public void receive(DataSetRow row, RowMetadata metadata) {
+                        rows.add(row.clone());
+                    }
+                }) //
+                .build();
+        final List<Class> nodes = new ArrayList<>();
+        pipeline.accept(new Visitor() {
+
+            @Override
+            public void visitFused(FusedActionNode fusedActionNode) {
+                nodes.add(fusedActionNode.getClass());
+                super.visitFused(fusedActionNode);
+            }
+        });
+        final DataSetRow row = new DataSetRow(rowMetadata);
+        row.set("0000", "John");
+        row.set("0001", "DOE");
+
+        // When
+        pipeline.receive(row, rowMetadata);
+        pipeline.signal(Signal.END_OF_STREAM);
+
+        // Then
+        assertEquals(Collections.singletonList(FusedActionNode.class), nodes);
+        assertEquals(1, pipeline.getPlan().size());
+        assertTrue(pipeline.toString().contains("FUSED [uppercase, lowercase]"));
+        assertEquals(1, rows.size());
+        assertEquals("JOHN", rows.get(0).get("0000"));
+        assertEquals("doe", rows.get(0).get("0001"));
+    }
+}
@@ -1,8 +1,10 @@
 package org.talend.dataprep.transformation.pipeline;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.hamcrest.CoreMatchers;
@@ -341,6 +343,60 @@ public class PipelineTest {
         assertEquals(2, wasDestroyed.get());
     }
 
+    @Test
+    public void testParallelNode() throws Exception {
+        // Given
+        final Action upperCase = new Action() {
+
+            @Override
+            public DataSetRowAction getRowAction() {
+                return (r, context) -> {
+                    r.set("0000", r.get("0000").toUpperCase());
+                    return r;
+                };
+            }
+        };
+        final Action suffix = new Action() {
+
+            @Override
+            public DataSetRowAction getRowAction() {
+                return (r, context) -> {
+                    r.set("0000", r.get("0000") + "_" + r.getTdpId());
+                    return r;
+                };
+            }
+        };
+        final List<String> values = new ArrayList<>();
+        final BasicNode collector = new BasicNode() {
+
+            @Override
+            public void receive(DataSetRow row, RowMetadata metadata) {
+                values.add(row.get("0000"));
+            }
+        };
+        final ParallelNode parallelNode = new ParallelNode(Arrays.asList(upperCase, suffix), new ForkJoinPool(4));
+        final Node node = NodeBuilder.source().to(parallelNode).to(collector).to(output).build();
+        final RowMetadata rowMetadata = new RowMetadata();
+        final DataSetRow row = new DataSetRow(rowMetadata);
+        final int rowCount = ParallelNode.BATCH_SIZE * 10 + 7;
+
+        // When (same row instance is reused, as sources do)
+        for (long i = 1; i <= rowCount; i++) {
+            row.setTdpId(i);
+            row.set("0000", "value");
+            node.exec().receive(row, rowMetadata);
+        }
+        node.exec().signal(Signal.END_OF_STREAM);
+
+        // Then
+        assertEquals(rowCount, values.size());
+        for (int i = 0; i < rowCount; i++) {
+            assertEquals("VALUE_" + (i + 1), values.get(i));
+        }
+        assertEquals(Signal.END_OF_STREAM, output.getSignal());
+        assertEquals(rowCount, parallelNode.getCount());
+    }
+
     private static class TestOutput extends BasicNode {
 
         private DataSetRow row;
@@ -0,0 +1,85 @@
+package org.talend.dataprep.transformation.pipeline.node;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.DataSetRow;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.type.Type;
+
+public class RowReservoirTest {
+
+    private static final int ROW_COUNT = 1000;
+
+    private final List<ColumnMetadata> columns = Arrays.asList( //
+            ColumnMetadata.Builder.column().id(0).name("id").type(Type.INTEGER).build(), //
+            ColumnMetadata.Builder.column().id(1).name("name").type(Type.STRING).build());
+
+    private final RowMetadata metadata = new RowMetadata(columns);
+
+    private void fill(RowReservoir reservoir) throws Exception {
+        final DataSetRow row = new DataSetRow(metadata);
+        for (long i = 1; i <= ROW_COUNT; i++) {
+            row.clear();
+            row.setTdpId(i * 2);
+            row.setDeleted(i % 10 == 0);
+            row.set("0000", String.valueOf(i));
+            if (i % 3 != 0) {
+                row.set("0001", "name é " + i);
+            }
+            reservoir.add(row, columns);
+        }
+    }
+
+    private void assertReplay(RowReservoir reservoir) throws Exception {
+        final List<DataSetRow> rows = new ArrayList<>();
+        reservoir.replay(metadata, r -> rows.add(r.clone()));
+        assertEquals(ROW_COUNT, rows.size());
+        for (int i = 1; i <= ROW_COUNT; i++) {
+            final DataSetRow row = rows.get(i - 1);
+            assertEquals(Long.valueOf(i * 2), row.getTdpId());
+            assertEquals(i % 10 == 0, row.isDeleted());
+            assertEquals(String.valueOf(i), row.get("0000"));
+            // Missing values are replayed as empty values
+            assertEquals(i % 3 != 0 ? "name é " + i : "", row.get("0001"));
+        }
+    }
+
+    @Test
+    public void shouldReplayFromMemory() throws Exception {
+        try (RowReservoir reservoir = new RowReservoir(Long.MAX_VALUE)) {
+            fill(reservoir);
+            assertFalse(reservoir.isSpilled());
+            assertEquals(ROW_COUNT, reservoir.size());
+            assertReplay(reservoir);
+            assertReplay(reservoir);
+        }
+    }
+
+    @Test
+    public void shouldReplayFromDisk() throws Exception {
+        try (RowReservoir reservoir = new RowReservoir(10 * 1024)) {
+            fill(reservoir);
+            assertTrue(reservoir.isSpilled());
+            assertEquals(ROW_COUNT, reservoir.size());
+            assertReplay(reservoir);
+            assertReplay(reservoir);
+        }
+    }
+
+    @Test
+    public void shouldReplayNothing() throws Exception {
+        try (RowReservoir reservoir = new RowReservoir(0)) {
+            final List<DataSetRow> rows = new ArrayList<>();
+            reservoir.replay(metadata, rows::add);
+            assertTrue(rows.isEmpty());
+        }
+    }
+}
@@ -258,7 +258,9 @@ public class DataSetService extends BaseDataSetService {
             @ApiParam(value = "Filter on favorite data sets") @RequestParam(defaultValue = "false") boolean favorite,
             @ApiParam(value = "Only return a limited number of data sets") @RequestParam(defaultValue = "false", required = false) boolean limit) {
 
-        Spliterator<DataSetMetadata> iterator = dataSetMetadataRepository.list().spliterator();
+        final Iterable<DataSetMetadata> candidates = certified ? dataSetMetadataRepository.listByCertification(Certification.CERTIFIED)
+                : dataSetMetadataRepository.listImported();
+        Spliterator<DataSetMetadata> iterator = candidates.spliterator();
         // Return sorted results
         String userId = security.getUserId();
         final UserData userData = userDataRepository.get(userId);
@@ -455,6 +457,101 @@ public class DataSetService extends BaseDataSetService {
         return dataSet;
     }
 
+    /**
+     * Returns a sample of the data set content for given id: rows are sampled from the whole content during content
+     * indexing and keep the tdp id they have in full content.
+     *
+     * @param metadata If <code>true</code>, includes data set metadata information.
+     * @param dataSetId A data set id.
+     * @return The data set sample.
+     * @see org.talend.dataprep.dataset.store.content.DataSetContentStore#sample(DataSetMetadata)
+     */
+    @RequestMapping(value = "/datasets/{id}/sample", method = RequestMethod.GET, produces = APPLICATION_JSON_VALUE)
+    @ApiOperation(value = "Get a data set sample by id", notes = "Get a representative sample of a data set content based on provided id.")
+    @Timed
+    @ResponseBody
+    public DataSet getSample(
+            @RequestParam(defaultValue = "true") @ApiParam(name = "metadata", value = "Include metadata information in the response") boolean metadata, //
+            @PathVariable(value = "id") @ApiParam(name = "id", value = "Id of the requested data set") String dataSetId) {
+        HttpResponseContext.header(CONTENT_TYPE, APPLICATION_JSON_VALUE);
+        final Marker marker = Markers.dataset(dataSetId);
+        LOG.debug(marker, "Get data set #{} sample", dataSetId);
+        try {
+            DataSetMetadata dataSetMetadata = dataSetMetadataRepository.getForContent(dataSetId);
+            assertDataSetMetadata(dataSetMetadata, dataSetId);
+            // Build the result
+            DataSet dataSet = new DataSet();
+            if (metadata) {
+                completeWithUserData(dataSetMetadata);
+                dataSet.setMetadata(dataSetMetadata);
+            }
+            dataSet.setRecords(contentStore.sample(dataSetMetadata));
+            return dataSet;
+        } finally {
+            LOG.debug(marker, "Get sample done.");
+        }
+    }
+
+    /**
+     * Returns the rows of the data set content with a tdp id between <code>from</code> and <code>to</code> (in tdp id
+     * order). Only the requested rows are read when the content store is able to seek to a row.
+     *
+     * @param metadata If <code>true</code>, includes data set metadata information.
+     * @param dataSetId A data set id.
+     * @param from The tdp id of the first requested row.
+     * @param to The tdp id of the last requested row.
+     * @return The data set with the requested rows.
+     * @see org.talend.dataprep.dataset.store.content.DataSetContentStore#select(DataSetMetadata, long, long)
+     */
+    @RequestMapping(value = "/datasets/{id}/records", method = RequestMethod.GET, produces = APPLICATION_JSON_VALUE)
+    @ApiOperation(value = "Get data set rows by tdp id", notes = "Get the rows of a data set content within a tdp id range (bounds included).")
+    @Timed
+    @ResponseBody
+    public DataSet getRecords(
+            @RequestParam(defaultValue = "true") @ApiParam(name = "metadata", value = "Include metadata information in the response") boolean metadata, //
+            @PathVariable(value = "id") @ApiParam(name = "id", value = "Id of the requested data set") String dataSetId, //
+            @RequestParam @ApiParam(name = "from", value = "Tdp id of the first requested row") long from, //
+            @RequestParam @ApiParam(name = "to", value = "Tdp id of the last requested row") long to) {
+        HttpResponseContext.header(CONTENT_TYPE, APPLICATION_JSON_VALUE);
+        final Marker marker = Markers.dataset(dataSetId);
+        LOG.debug(marker, "Get data set #{} records {} to {}", dataSetId, from, to);
+        try {
+            DataSetMetadata dataSetMetadata = dataSetMetadataRepository.getForContent(dataSetId);
+            assertDataSetMetadata(dataSetMetadata, dataSetId);
+            // Build the result
+            DataSet dataSet = new DataSet();
+            if (metadata) {
+                completeWithUserData(dataSetMetadata);
+                dataSet.setMetadata(dataSetMetadata);
+            }
+            dataSet.setRecords(contentStore.select(dataSetMetadata, from, to));
+            return dataSet;
+        } finally {
+            LOG.debug(marker, "Get records done.");
+        }
+    }
+
+    /**
+     * Returns the data set {@link DataSetMetadata metadata} of the sample for given <code>dataSetId</code>. Statistics
+     * are computed on full content, so they are the data set ones.
+     *
+     * @param dataSetId A data set id.
+     */
+    @RequestMapping(value = "/datasets/{id}/sample/metadata", method = RequestMethod.GET, produces = APPLICATION_JSON_VALUE)
+    @ApiOperation(value = "Get metadata information of a data set sample by id", notes = "Get metadata information of a data set sample by id. Not valid or non existing data set id returns empty content.")
+    @Timed
+    @ResponseBody
+    public DataSetMetadata getSampleMetadata(
+            @PathVariable(value = "id") @ApiParam(name = "id", value = "Id of the data set metadata") String dataSetId) {
+        DataSetMetadata metadata = dataSetMetadataRepository.get(dataSetId);
+        if (metadata == null) {
+            HttpResponseContext.status(HttpStatus.NO_CONTENT);
+            return null;
+        }
+        completeWithUserData(metadata);
+        return metadata;
+    }
+
     /**
      * Deletes a data set with provided id.
      *
@@ -528,9 +625,7 @@ public class DataSetService extends BaseDataSetService {
 
             // Save data set content
             LOG.debug(marker, "Storing content...");
-            try (InputStream content = contentStore.getAsRaw(original)) {
-                contentStore.storeAsRaw(target, content);
-            }
+            contentStore.copy(original, target);
 
             LOG.debug(marker, "Content stored.");
 
@@ -553,7 +648,7 @@ public class DataSetService extends BaseDataSetService {
      */
     private void checkIfNameIsAvailable(String id, String name) {
 
-        final Optional<DataSetMetadata> clash = stream(dataSetMetadataRepository.list().spliterator(), false) //
+        final Optional<DataSetMetadata> clash = stream(dataSetMetadataRepository.listByName(name).spliterator(), false) //
                 .filter(m -> name.equals(m.getName())) //
                 .findFirst();
 
@@ -995,7 +1090,9 @@ public class DataSetService extends BaseDataSetService {
         LOG.debug("search datasets metadata for {}", name);
 
         final Set<DataSetMetadata> found;
-        try (final Stream<DataSetMetadata> stream = stream(dataSetMetadataRepository.list().spliterator(), false)) {
+        final Iterable<DataSetMetadata> candidates = strict ? dataSetMetadataRepository.listByName(name)
+                : dataSetMetadataRepository.list();
+        try (final Stream<DataSetMetadata> stream = stream(candidates.spliterator(), false)) {
             found = stream
                     .filter(metadata -> StringsHelper.match(metadata.getName(), name, strict))
                     .collect(toSet());
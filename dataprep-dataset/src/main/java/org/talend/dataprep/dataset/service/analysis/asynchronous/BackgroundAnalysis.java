@@ -15,13 +15,16 @@ package org.talend.dataprep.dataset.service.analysis.asynchronous;
 
 import static org.talend.dataprep.exception.error.DataSetErrorCodes.UNABLE_TO_ANALYZE_DATASET_QUALITY;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.BiConsumer;
 import java.util.stream.Stream;
 
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
@@ -39,6 +42,12 @@ import org.talend.dataquality.common.inference.ValueQualityStatistics;
 
 /**
  * Compute statistics analysis on the full dataset.
+ * <p>
+ * Schema (type and semantic) and advanced statistics are computed in a single scan of the dataset content, the
+ * advanced statistics being configured with the types and domains found by the synchronous schema analysis. Base
+ * analysis progress (types only, semantic types being final once all content is analyzed) is saved every
+ * {@link #partialResultRecords} records so types are available early. Content is only scanned again when full content
+ * changes a column type or domain (advanced statistics are then recomputed).
  */
 @Component
 public class BackgroundAnalysis {
@@ -62,6 +71,10 @@ public class BackgroundAnalysis {
     @Autowired
     StatisticsAdapter adapter;
 
+    /** Number of records between two saves of base analysis progress. */
+    @Value("${dataset.analysis.partial.records:100000}")
+    long partialResultRecords;
+
     /**
      * @see DataSetAnalyzer#analyze
      */
@@ -86,42 +99,56 @@ public class BackgroundAnalysis {
             if (columns.isEmpty()) {
                 LOGGER.debug("Skip statistics of {} (no column information).", metadata.getId());
             } else {
-                // base analysis
-                try (final Stream<DataSetRow> stream = store.stream(metadata)) {
-                    try (Analyzer<Analyzers.Result> analyzer = analyzerService.schemaAnalysis(columns)) {
-                        computeStatistics(analyzer, columns, stream);
-                        LOGGER.debug("Base statistics analysis done for{}", dataSetId);
+                // Column types and domains the advanced analysis is configured with
+                final List<String> schema = getSchema(columns);
+                boolean analyzed = false;
+                // single scan for schema and advanced analysis
+                try (final Stream<DataSetRow> stream = store.stream(metadata);
+                        Analyzer<Analyzers.Result> schemaAnalyzer = analyzerService.schemaAnalysis(columns);
+                        Analyzer<Analyzers.Result> advancedAnalyzer = analyzerService.advancedAnalysis(columns)) {
+                    final long[] count = { 0 };
+                    stream.map(row -> row.toArray(DataSetRow.SKIP_TDP_ID)).forEach(values -> {
+                        schemaAnalyzer.analyze(values);
+                        advancedAnalyzer.analyze(values);
+                        if (partialResultRecords > 0 && ++count[0] % partialResultRecords == 0) {
+                            // Save base analysis progress (semantic types are only final once analysis ends)
+                            saveAnalyzerResults(dataSetId, schemaAnalyzer.getResult(), adapter::adaptTypes);
+                        }
+                    });
+                    schemaAnalyzer.end();
+                    advancedAnalyzer.end();
+                    adapter.adapt(columns, schemaAnalyzer.getResult());
+                    LOGGER.debug("Base statistics analysis done for {}", dataSetId);
+                    // Advanced analysis is only valid if base analysis did not change its configuration
+                    if (schema.equals(getSchema(columns))) {
+                        adapter.adapt(columns, advancedAnalyzer.getResult());
+                        updateNbRecords(metadata, advancedAnalyzer.getResult());
+                        LOGGER.debug("Advanced statistics analysis done for {}", dataSetId);
+                        saveAnalysis(metadata, schemaAnalyzer.getResult(), advancedAnalyzer.getResult());
+                        analyzed = true;
+                    } else {
                         // Save base analysis
-                        saveAnalyzerResults(dataSetId, analyzer);
+                        saveAnalyzerResults(dataSetId, schemaAnalyzer.getResult(), adapter::adapt);
                     }
                 } catch (Exception e) {
-                    LOGGER.warn("Base statistics analysis, dataset {} generates an error", dataSetId, e);
+                    LOGGER.warn("Statistics analysis, dataset {} generates an error", dataSetId, e);
                     throw new TDPException(UNABLE_TO_ANALYZE_DATASET_QUALITY, e);
                 }
-                // advanced analysis
-                try (final Stream<DataSetRow> stream = store.stream(metadata)) {
-                    try (Analyzer<Analyzers.Result> analyzer = analyzerService.full(columns)) {
-                        computeStatistics(analyzer, columns, stream);
+                if (!analyzed) {
+                    // Types or domains changed: advanced analysis needs to be computed with the new ones
+                    LOGGER.debug("Schema of {} changed during analysis, advanced statistics are computed again.", dataSetId);
+                    try (final Stream<DataSetRow> stream = store.stream(metadata);
+                            Analyzer<Analyzers.Result> analyzer = analyzerService.advancedAnalysis(columns)) {
+                        stream.map(row -> row.toArray(DataSetRow.SKIP_TDP_ID)).forEach(analyzer::analyze);
+                        analyzer.end();
+                        adapter.adapt(columns, analyzer.getResult());
                         updateNbRecords(metadata, analyzer.getResult());
-                        LOGGER.debug("Advanced statistics analysis done for{}", dataSetId);
-                        // Save advanced analysis
-                        saveAnalyzerResults(dataSetId, analyzer);
-                    }
-                } catch (Exception e) {
-                    LOGGER.warn("Advanced statistics analysis, dataset {} generates an error", dataSetId, e);
-                    throw new TDPException(UNABLE_TO_ANALYZE_DATASET_QUALITY, e);
-                }
-                // Tag data set quality: now analyzed
-                DistributedLock datasetLock = repository.createDatasetMetadataLock(metadata.getId());
-                try {
-                    datasetLock.lock();
-                    final DataSetMetadata dataSetMetadata = repository.get(dataSetId);
-                    if (dataSetMetadata != null) {
-                        dataSetMetadata.getLifecycle().qualityAnalyzed(true);
-                        repository.add(metadata);
+                        LOGGER.debug("Advanced statistics analysis done for {}", dataSetId);
+                        saveAnalysis(metadata, analyzer.getResult());
+                    } catch (Exception e) {
+                        LOGGER.warn("Advanced statistics analysis, dataset {} generates an error", dataSetId, e);
+                        throw new TDPException(UNABLE_TO_ANALYZE_DATASET_QUALITY, e);
                     }
-                } finally {
-                    datasetLock.unlock();
                 }
                 LOGGER.info("Statistics analysis done for {}", dataSetId);
             }
@@ -130,13 +157,46 @@ public class BackgroundAnalysis {
         }
     }
 
-    private void saveAnalyzerResults(String id, Analyzer<Analyzers.Result> analyzer) {
+    /**
+     * Saves intermediate analysis results in dataset metadata.
+     *
+     * @param id the dataset id.
+     * @param results the analysis results.
+     * @param adaptation how results are injected in the columns metadata.
+     */
+    private void saveAnalyzerResults(String id, List<Analyzers.Result> results,
+            BiConsumer<List<ColumnMetadata>, List<Analyzers.Result>> adaptation) {
         DistributedLock datasetLock = repository.createDatasetMetadataLock(id);
         try {
             datasetLock.lock();
             final DataSetMetadata dataSetMetadata = repository.get(id);
             if (dataSetMetadata != null) {
-                adapter.adapt(dataSetMetadata.getRowMetadata().getColumns(), analyzer.getResult());
+                adaptation.accept(dataSetMetadata.getRowMetadata().getColumns(), results);
+                repository.add(dataSetMetadata);
+            }
+        } finally {
+            datasetLock.unlock();
+        }
+    }
+
+    /**
+     * Saves final analysis results in dataset metadata and tags data set quality as analyzed.
+     *
+     * @param metadata the analyzed dataset metadata.
+     * @param results the analysis results (in analysis order).
+     */
+    @SafeVarargs
+    private final void saveAnalysis(DataSetMetadata metadata, List<Analyzers.Result>... results) {
+        DistributedLock datasetLock = repository.createDatasetMetadataLock(metadata.getId());
+        try {
+            datasetLock.lock();
+            final DataSetMetadata dataSetMetadata = repository.get(metadata.getId());
+            if (dataSetMetadata != null) {
+                for (List<Analyzers.Result> result : results) {
+                    adapter.adapt(dataSetMetadata.getRowMetadata().getColumns(), result);
+                }
+                dataSetMetadata.getContent().setNbRecords(metadata.getContent().getNbRecords());
+                dataSetMetadata.getLifecycle().qualityAnalyzed(true);
                 repository.add(dataSetMetadata);
             }
         } finally {
@@ -144,6 +204,19 @@ public class BackgroundAnalysis {
         }
     }
 
+    /**
+     * @param columns the columns metadata.
+     * @return the types and domains of the columns (what analyzers are configured with).
+     */
+    private static List<String> getSchema(List<ColumnMetadata> columns) {
+        final List<String> schema = new ArrayList<>(columns.size() * 2);
+        for (ColumnMetadata column : columns) {
+            schema.add(column.getType());
+            schema.add(column.getDomain());
+        }
+        return schema;
+    }
+
     /**
      * Update the number of records for the dataset.
      * 
@@ -164,21 +237,4 @@ public class BackgroundAnalysis {
         LOGGER.debug("nb records for {} is updated to {}", metadata.getId(), metadata.getContent().getNbRecords());
     }
 
-    /**
-     * Compute the statistics for the given dataset metadata and content.
-     *
-     * @param analyzer the analyzer to perform.
-     * @param columns the columns metadata.
-     * @param stream the content to compute the statistics from.
-     */
-    private void computeStatistics(final Analyzer<Analyzers.Result> analyzer, final List<ColumnMetadata> columns,
-            final Stream<DataSetRow> stream) {
-        // Create a content with the expected format for the StatisticsClientJson class
-        stream.map(row -> row.toArray(DataSetRow.SKIP_TDP_ID)).forEach(analyzer::analyze);
-        analyzer.end();
-
-        // Store results back in data set
-        adapter.adapt(columns, analyzer.getResult());
-    }
-
 }
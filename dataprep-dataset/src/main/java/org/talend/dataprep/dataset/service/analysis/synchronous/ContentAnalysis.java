@@ -15,6 +15,7 @@ package org.talend.dataprep.dataset.service.analysis.synchronous;
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Stream;
 
 import org.apache.commons.lang.StringUtils;
@@ -72,7 +73,20 @@ public class ContentAnalysis implements SynchronousDataSetAnalyzer {
                 LOG.info("Indexing content of data set #{}...", metadata.getId());
 
                 updateHeaderAndFooter(metadata);
-                updateLimit(metadata);
+                // single scan of the content: columnar content is stored while the limit is checked
+                final AtomicBoolean overLimit = new AtomicBoolean();
+                final boolean scanned = contentStore.storeAsColumnar(metadata, row -> {
+                    if (row.getTdpId() != null && row.getTdpId() > sizeLimit) {
+                        overLimit.set(true);
+                    }
+                });
+                if (scanned) {
+                    if (overLimit.get()) {
+                        metadata.getContent().setLimit(sizeLimit);
+                    }
+                } else {
+                    updateLimit(metadata);
+                }
 
                 metadata.getLifecycle().contentIndexed(true);
                 repository.add(metadata);
@@ -107,7 +121,8 @@ public class ContentAnalysis implements SynchronousDataSetAnalyzer {
     }
 
     /**
-     * Update the dataset limit if it's too large for the system settings.
+     * Update the dataset limit if it's too large for the system settings (used when content could not be checked while
+     * stored as columnar).
      * 
      * @param metadata the dataset metadata to update.
      */
@@ -14,11 +14,15 @@
 package org.talend.dataprep.dataset.store.content;
 
 import java.io.InputStream;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Service;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.DataSetRow;
 
 /**
  * Routes the requests to the targeted content store.
@@ -59,6 +63,64 @@ public class ContentStoreRouter extends DataSetContentStore {
         return target.get(dataSetMetadata);
     }
 
+    /**
+     * @see DataSetContentStore#stream(DataSetMetadata)
+     */
+    @Override
+    public Stream<DataSetRow> stream(DataSetMetadata dataSetMetadata) {
+        DataSetContentStore target = wrapStore(dataSetMetadata);
+        return target.stream(dataSetMetadata);
+    }
+
+    /**
+     * @see DataSetContentStore#sample(DataSetMetadata)
+     */
+    @Override
+    public Stream<DataSetRow> sample(DataSetMetadata dataSetMetadata) {
+        DataSetContentStore target = wrapStore(dataSetMetadata);
+        return target.sample(dataSetMetadata);
+    }
+
+    /**
+     * @see DataSetContentStore#select(DataSetMetadata, long, long)
+     */
+    @Override
+    public Stream<DataSetRow> select(DataSetMetadata dataSetMetadata, long from, long to) {
+        DataSetContentStore target = wrapStore(dataSetMetadata);
+        return target.select(dataSetMetadata, from, to);
+    }
+
+    /**
+     * @see DataSetContentStore#storeAsColumnar(DataSetMetadata)
+     */
+    @Override
+    public void storeAsColumnar(DataSetMetadata dataSetMetadata) {
+        DataSetContentStore target = wrapStore(dataSetMetadata);
+        target.storeAsColumnar(dataSetMetadata);
+    }
+
+    /**
+     * @see DataSetContentStore#storeAsColumnar(DataSetMetadata, Consumer)
+     */
+    @Override
+    public boolean storeAsColumnar(DataSetMetadata dataSetMetadata, Consumer<DataSetRow> observer) {
+        DataSetContentStore target = wrapStore(dataSetMetadata);
+        return target.storeAsColumnar(dataSetMetadata, observer);
+    }
+
+    /**
+     * @see DataSetContentStore#copy(DataSetMetadata, DataSetMetadata)
+     */
+    @Override
+    public void copy(DataSetMetadata source, DataSetMetadata target) {
+        if (Objects.equals(source.getLocation().getLocationType(), target.getLocation().getLocationType())) {
+            // Same store for both data sets, let it share content if it can
+            wrapStore(source).copy(source, target);
+        } else {
+            super.copy(source, target);
+        }
+    }
+
     /**
      * @see DataSetContentStore#getAsRaw(DataSetMetadata)
      */
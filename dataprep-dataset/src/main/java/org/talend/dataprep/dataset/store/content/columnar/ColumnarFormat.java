@@ -0,0 +1,89 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.dataset.store.content.columnar;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.DataSetContent;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+
+/**
+ * <p>
+ * Constants and helpers shared by {@link ColumnarWriter} and {@link ColumnarReader}. The columnar content file has the
+ * following layout:
+ * </p>
+ * <ul>
+ * <li><b>header</b>: magic number, format version, content signature, column count and (id, type) for each column.</li>
+ * <li><b>row groups</b>: row count, raw length, compressed length and a deflated block. Inside a block, values are
+ * stored column after column, each column chunk being either plain or dictionary encoded.</li>
+ * <li><b>end marker</b>: a row group with a row count of 0.</li>
+ * <li><b>index</b>: row group count, then (offset, first row id, row count) for each row group.</li>
+ * <li><b>trailer</b>: offset of the index and magic number.</li>
+ * </ul>
+ */
+public final class ColumnarFormat {
+
+    /** Magic number written at the beginning and at the end of a columnar file ("TDPC"). */
+    static final int MAGIC = 0x54445043;
+
+    /** Current version of the format. */
+    static final int VERSION = 1;
+
+    /** Number of rows in a row group. */
+    static final int ROW_GROUP_SIZE = 8192;
+
+    /** Chunk encoding: each value is written as (length, UTF-8 bytes). */
+    static final byte PLAIN = 0;
+
+    /** Chunk encoding: distinct values are written once, then one byte per row points to the distinct value. */
+    static final byte DICTIONARY = 1;
+
+    /** Maximum number of distinct values for a dictionary encoded chunk (one byte per row). */
+    static final int MAX_DICTIONARY_SIZE = 256;
+
+    /** Length written for a <code>null</code> value. */
+    static final int NULL_LENGTH = -1;
+
+    /** Size in bytes of the trailer (index offset + magic number). */
+    static final int TRAILER_SIZE = 8 + 4;
+
+    private ColumnarFormat() {
+    }
+
+    /**
+     * Computes a signature of everything in <code>metadata</code> that changes the way raw content is parsed into rows.
+     * A columnar file whose signature differs from the current data set one must not be used.
+     *
+     * @param metadata The data set metadata.
+     * @return A signature as string.
+     */
+    public static String signature(DataSetMetadata metadata) {
+        final StringBuilder builder = new StringBuilder();
+        final DataSetContent content = metadata.getContent();
+        builder.append(content.getFormatFamilyId()).append('|');
+        builder.append(metadata.getEncoding()).append('|');
+        builder.append(metadata.getSheetName()).append('|');
+        final Map<String, String> parameters = content.getParameters() == null ? new TreeMap<>()
+                : new TreeMap<>(content.getParameters());
+        builder.append(parameters).append('|');
+        for (ColumnMetadata column : metadata.getRowMetadata().getColumns()) {
+            builder.append(column.getId()).append(',');
+        }
+        return DigestUtils.sha1Hex(builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
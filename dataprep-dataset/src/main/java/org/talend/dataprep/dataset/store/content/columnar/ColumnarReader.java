@@ -0,0 +1,351 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.dataset.store.content.columnar;
+
+import static org.talend.dataprep.dataset.store.content.columnar.ColumnarFormat.*;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import org.talend.dataprep.api.dataset.DataSetRow;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.exception.TDPException;
+import org.talend.dataprep.exception.error.DataSetErrorCodes;
+
+/**
+ * Reads {@link DataSetRow rows} from a columnar content file written by {@link ColumnarWriter}. Similarly to
+ * {@link org.talend.dataprep.api.dataset.json.DataSetRowIterator}, the same row instance is returned (cleaned) at each
+ * iteration.
+ */
+public class ColumnarReader implements Iterator<DataSetRow>, Closeable {
+
+    private final RandomAccessFile file;
+
+    private final String signature;
+
+    /** Ids of the columns, in the order of the columnar file. */
+    private final String[] columnIds;
+
+    /** Types of the columns, in the order of the columnar file. */
+    private final String[] columnTypes;
+
+    private final Inflater inflater = new Inflater();
+
+    /** DataSetRow object used to read rows (cleaned and reused at each iteration). */
+    private final DataSetRow row = new DataSetRow(new RowMetadata());
+
+    /** Decoded values of the current row group, one array per column. */
+    private String[][] group;
+
+    /** Number of rows in the current row group. */
+    private int groupSize;
+
+    /** Position of the next row to return in the current row group. */
+    private int position;
+
+    /** Id of the first row in the current row group. */
+    private long firstRowId = 1;
+
+    /** Id of the first row of the next row group to be read. */
+    private long nextRowId = 1;
+
+    /** <code>true</code> once the end marker has been read. */
+    private boolean exhausted;
+
+    /** Row group index (offset, first row id, row count), lazily loaded. */
+    private long[][] index;
+
+    /**
+     * Opens a columnar file and reads its header.
+     *
+     * @param columnarFile The file to read.
+     * @throws IOException In case of read error or if file is not a columnar content file.
+     */
+    public ColumnarReader(File columnarFile) throws IOException {
+        this.file = new RandomAccessFile(columnarFile, "r");
+        try {
+            if (file.readInt() != MAGIC || file.readInt() != VERSION) {
+                throw new IOException("Unsupported columnar file '" + columnarFile + "'.");
+            }
+            this.signature = file.readUTF();
+            final int columnCount = file.readInt();
+            this.columnIds = new String[columnCount];
+            this.columnTypes = new String[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                columnIds[i] = file.readUTF();
+                columnTypes[i] = file.readUTF();
+            }
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return The signature of the content (see {@link ColumnarFormat#signature}).
+     */
+    public String getSignature() {
+        return signature;
+    }
+
+    /**
+     * @return Ids of the columns stored in the file.
+     */
+    public String[] getColumnIds() {
+        return columnIds;
+    }
+
+    /**
+     * @return Types of the columns stored in the file.
+     */
+    public String[] getColumnTypes() {
+        return columnTypes;
+    }
+
+    /**
+     * Moves the reader so that next row returned by {@link #next()} is the one with the given row id.
+     *
+     * @param rowId The row id (tdp id) to move to.
+     * @return <code>true</code> if the row exists, <code>false</code> otherwise (in this case reader position is
+     * unchanged).
+     * @throws IOException In case of read error.
+     */
+    public boolean seek(long rowId) throws IOException {
+        if (groupSize > 0 && rowId >= firstRowId && rowId < firstRowId + groupSize) {
+            // row is in the current row group: no need to read it again
+            position = (int) (rowId - firstRowId);
+            return true;
+        }
+        // row groups are sorted by first row id
+        final long[][] entries = getIndex();
+        int low = 0;
+        int high = entries.length - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            final long[] entry = entries[middle];
+            if (rowId < entry[1]) {
+                high = middle - 1;
+            } else if (rowId >= entry[1] + entry[2]) {
+                low = middle + 1;
+            } else {
+                file.seek(entry[0]);
+                exhausted = false;
+                nextRowId = entry[1];
+                readGroup();
+                position = (int) (rowId - firstRowId);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long[][] getIndex() throws IOException {
+        if (index == null) {
+            final long current = file.getFilePointer();
+            file.seek(file.length() - TRAILER_SIZE);
+            final long indexOffset = file.readLong();
+            if (file.readInt() != MAGIC) {
+                throw new IOException("Invalid columnar file trailer.");
+            }
+            file.seek(indexOffset);
+            final int groupCount = file.readInt();
+            final long[][] entries = new long[groupCount][];
+            for (int i = 0; i < groupCount; i++) {
+                entries[i] = new long[] { file.readLong(), file.readLong(), file.readInt() };
+            }
+            file.seek(current);
+            index = entries;
+        }
+        return index;
+    }
+
+    /**
+     * Reads and decodes the row group at the current file position.
+     */
+    private void readGroup() throws IOException {
+        final int rowCount = file.readInt();
+        if (rowCount == 0) {
+            exhausted = true;
+            groupSize = 0;
+            position = 0;
+            return;
+        }
+        final int rawLength = file.readInt();
+        final byte[] compressed = new byte[file.readInt()];
+        file.readFully(compressed);
+        final byte[] raw = new byte[rawLength];
+        inflater.reset();
+        inflater.setInput(compressed);
+        try {
+            int read = 0;
+            while (read < rawLength && !inflater.finished()) {
+                read += inflater.inflate(raw, read, rawLength - read);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupted columnar row group.", e);
+        }
+        final ByteBuffer buffer = ByteBuffer.wrap(raw);
+        if (group == null || (group.length > 0 && group[0].length < rowCount)) {
+            group = new String[columnIds.length][Math.max(rowCount, ROW_GROUP_SIZE)];
+        }
+        for (String[] values : group) {
+            readChunk(buffer, values, rowCount);
+        }
+        groupSize = rowCount;
+        position = 0;
+        firstRowId = nextRowId;
+    }
+
+    private static void readChunk(ByteBuffer buffer, String[] values, int count) {
+        final byte encoding = buffer.get();
+        if (encoding == DICTIONARY) {
+            final String[] entries = new String[buffer.getShort() & 0xFFFF];
+            for (int i = 0; i < entries.length; i++) {
+                entries[i] = readValue(buffer);
+            }
+            for (int i = 0; i < count; i++) {
+                values[i] = entries[buffer.get() & 0xFF];
+            }
+        } else {
+            for (int i = 0; i < count; i++) {
+                values[i] = readValue(buffer);
+            }
+        }
+    }
+
+    private static String readValue(ByteBuffer buffer) {
+        final int length = buffer.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        final String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    /**
+     * @see Iterator#hasNext()
+     */
+    @Override
+    public boolean hasNext() {
+        if (position < groupSize) {
+            return true;
+        }
+        if (exhausted) {
+            return false;
+        }
+        try {
+            nextRowId = firstRowId + groupSize;
+            readGroup();
+            return groupSize > 0;
+        } catch (IOException e) {
+            throw new TDPException(DataSetErrorCodes.UNABLE_TO_READ_DATASET_CONTENT, e);
+        }
+    }
+
+    /**
+     * @see Iterator#next()
+     */
+    @Override
+    public DataSetRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        row.clear();
+        row.setTdpId(firstRowId + position);
+        for (int i = 0; i < columnIds.length; i++) {
+            final String value = group[i][position];
+            if (value != null) {
+                row.set(columnIds[i], value);
+            }
+        }
+        position++;
+        return row;
+    }
+
+    /**
+     * @return The remaining rows of the file as a {@link Stream}, closing the stream closes this reader.
+     */
+    public Stream<DataSetRow> stream() {
+        return toStream(this);
+    }
+
+    /**
+     * Reads only the rows with an id between <code>from</code> and <code>to</code> (both included): row groups before
+     * <code>from</code> are skipped and reading stops after <code>to</code>.
+     *
+     * @param from The row id (tdp id) of the first row to read.
+     * @param to The row id (tdp id) of the last row to read.
+     * @return The rows as a {@link Stream}, closing the stream closes this reader.
+     */
+    public Stream<DataSetRow> stream(long from, long to) {
+        final Iterator<DataSetRow> iterator = new Iterator<DataSetRow>() {
+
+            /** <code>true</code> once reader moved to the first row (if it exists). */
+            private boolean started;
+
+            /** <code>false</code> if there's no row with id <code>from</code>. */
+            private boolean found;
+
+            @Override
+            public boolean hasNext() {
+                if (!started) {
+                    started = true;
+                    try {
+                        found = from <= to && seek(Math.max(from, 1));
+                    } catch (IOException e) {
+                        throw new TDPException(DataSetErrorCodes.UNABLE_TO_READ_DATASET_CONTENT, e);
+                    }
+                }
+                return found && ColumnarReader.this.hasNext() && firstRowId + position <= to;
+            }
+
+            @Override
+            public DataSetRow next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return ColumnarReader.this.next();
+            }
+        };
+        return toStream(iterator);
+    }
+
+    private Stream<DataSetRow> toStream(Iterator<DataSetRow> iterator) {
+        final Iterable<DataSetRow> rowIterable = () -> iterator;
+        return StreamSupport.stream(rowIterable.spliterator(), false).onClose(() -> {
+            try {
+                close();
+            } catch (IOException e) {
+                throw new TDPException(DataSetErrorCodes.UNABLE_TO_READ_DATASET_CONTENT, e);
+            }
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        inflater.end();
+        file.close();
+    }
+}
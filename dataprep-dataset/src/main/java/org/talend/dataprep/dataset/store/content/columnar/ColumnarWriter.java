@@ -0,0 +1,217 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.dataset.store.content.columnar;
+
+import static org.talend.dataprep.dataset.store.content.columnar.ColumnarFormat.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+import org.apache.commons.io.output.CountingOutputStream;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.DataSetRow;
+
+/**
+ * Writes {@link DataSetRow rows} to a columnar content file (see {@link ColumnarFormat} for the file layout). Rows are
+ * buffered in memory until a row group is full, then the row group is encoded column by column and compressed.
+ */
+public class ColumnarWriter implements Closeable {
+
+    /** The underlying output, counts written bytes to build the row group index. */
+    private final CountingOutputStream counter;
+
+    private final DataOutputStream output;
+
+    /** Ids of the columns, in the order of the columnar file. */
+    private final String[] columnIds;
+
+    /** Values of the current row group, one array per column. */
+    private final String[][] buffer;
+
+    /** Reusable encoding buffer for a row group. */
+    private final ByteArrayOutputStream rawGroup = new ByteArrayOutputStream();
+
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+
+    /** Row group index entries: offset, first row id and row count. */
+    private final List<long[]> index = new ArrayList<>();
+
+    /** Number of rows in the current row group. */
+    private int rowCount;
+
+    /** Id of the first row in the current row group. */
+    private long firstRowId;
+
+    /** Id of the next row to be written, ids are assigned the same way as data set rows ids (starting at 1). */
+    private long nextRowId = 1;
+
+    private boolean closed;
+
+    /**
+     * Creates a new writer and writes the file header.
+     *
+     * @param outputStream Where to write the columnar content.
+     * @param columns The columns of the rows to be written.
+     * @param signature The content signature (see {@link ColumnarFormat#signature}).
+     * @throws IOException In case of write error.
+     */
+    public ColumnarWriter(OutputStream outputStream, List<ColumnMetadata> columns, String signature) throws IOException {
+        this.counter = new CountingOutputStream(new BufferedOutputStream(outputStream));
+        this.output = new DataOutputStream(counter);
+        this.columnIds = new String[columns.size()];
+        this.buffer = new String[columns.size()][ROW_GROUP_SIZE];
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+        output.writeUTF(signature);
+        output.writeInt(columns.size());
+        for (int i = 0; i < columns.size(); i++) {
+            final ColumnMetadata column = columns.get(i);
+            columnIds[i] = column.getId();
+            output.writeUTF(column.getId());
+            output.writeUTF(column.getType() == null ? "" : column.getType());
+        }
+    }
+
+    /**
+     * Adds a row to the columnar content.
+     *
+     * @param row The row to write, only values of the columns given at creation are written.
+     * @throws IOException In case of write error.
+     */
+    public void write(DataSetRow row) throws IOException {
+        if (rowCount == 0) {
+            firstRowId = nextRowId;
+        }
+        nextRowId++;
+        for (int i = 0; i < columnIds.length; i++) {
+            buffer[i][rowCount] = row.get(columnIds[i]);
+        }
+        rowCount++;
+        if (rowCount == ROW_GROUP_SIZE) {
+            flushGroup();
+        }
+    }
+
+    private void flushGroup() throws IOException {
+        if (rowCount == 0) {
+            return;
+        }
+        rawGroup.reset();
+        final DataOutputStream group = new DataOutputStream(rawGroup);
+        for (String[] values : buffer) {
+            writeChunk(group, values, rowCount);
+        }
+        group.flush();
+        final byte[] raw = rawGroup.toByteArray();
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, raw.length / 2));
+        final byte[] chunk = new byte[8192];
+        while (!deflater.finished()) {
+            final int length = deflater.deflate(chunk);
+            compressed.write(chunk, 0, length);
+        }
+        index.add(new long[] { counter.getByteCount(), firstRowId, rowCount });
+        output.writeInt(rowCount);
+        output.writeInt(raw.length);
+        output.writeInt(compressed.size());
+        compressed.writeTo(output);
+        // Release references to values of this row group
+        for (String[] values : buffer) {
+            Arrays.fill(values, 0, rowCount, null);
+        }
+        rowCount = 0;
+    }
+
+    /**
+     * Writes the values of a column for the current row group, dictionary encoding is used when the column has few
+     * distinct values in the row group.
+     */
+    private static void writeChunk(DataOutputStream group, String[] values, int count) throws IOException {
+        final Map<String, Integer> dictionary = new HashMap<>();
+        boolean hasNull = false;
+        for (int i = 0; i < count && dictionary.size() <= MAX_DICTIONARY_SIZE; i++) {
+            if (values[i] == null) {
+                hasNull = true;
+            } else if (!dictionary.containsKey(values[i])) {
+                dictionary.put(values[i], dictionary.size());
+            }
+        }
+        if (!hasNull && dictionary.size() <= MAX_DICTIONARY_SIZE && dictionary.size() < count) {
+            group.writeByte(DICTIONARY);
+            final String[] entries = new String[dictionary.size()];
+            dictionary.forEach((value, position) -> entries[position] = value);
+            group.writeShort(entries.length);
+            for (String entry : entries) {
+                writeValue(group, entry);
+            }
+            for (int i = 0; i < count; i++) {
+                group.writeByte(dictionary.get(values[i]));
+            }
+        } else {
+            group.writeByte(PLAIN);
+            for (int i = 0; i < count; i++) {
+                writeValue(group, values[i]);
+            }
+        }
+    }
+
+    private static void writeValue(DataOutputStream group, String value) throws IOException {
+        if (value == null) {
+            group.writeInt(NULL_LENGTH);
+        } else {
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            group.writeInt(bytes.length);
+            group.write(bytes);
+        }
+    }
+
+    /**
+     * Flushes the last row group, writes the row group index and the trailer then closes the underlying output.
+     *
+     * @throws IOException In case of write error.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            flushGroup();
+            // End marker
+            output.writeInt(0);
+            final long indexOffset = counter.getByteCount();
+            output.writeInt(index.size());
+            for (long[] entry : index) {
+                output.writeLong(entry[0]);
+                output.writeLong(entry[1]);
+                output.writeInt((int) entry[2]);
+            }
+            output.writeLong(indexOffset);
+            output.writeInt(MAGIC);
+            output.flush();
+        } finally {
+            deflater.end();
+            output.close();
+        }
+    }
+}
@@ -16,11 +16,22 @@ package org.talend.dataprep.dataset.store.content.file;
 import static org.talend.daikon.exception.ExceptionContext.build;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.annotation.PostConstruct;
 
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
@@ -30,14 +41,31 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.DataSetRow;
+import org.talend.dataprep.api.dataset.json.DataSetRowIterator;
 import org.talend.dataprep.dataset.store.content.DataSetContentStore;
+import org.talend.dataprep.dataset.store.content.columnar.ColumnarFormat;
+import org.talend.dataprep.dataset.store.content.columnar.ColumnarReader;
+import org.talend.dataprep.dataset.store.content.columnar.ColumnarWriter;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.DataSetErrorCodes;
 import org.talend.dataprep.log.Markers;
 import org.talend.dataprep.util.FilesHelper;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
 /**
  * Local dataset content that stores content in files.
+ * <p>
+ * When the file system supports hard links, raw contents are stored once in a blob named after the SHA-256 of the
+ * content, and the data set file is a hard link to this blob: identical uploads and data set copies share the same blob
+ * and the link count of the blob is its reference count. A blob is freed when its last data set is deleted, blobs left
+ * unreferenced by a crash are reclaimed at startup.
+ * <p>
+ * The store location may be shared by several instances (e.g. over NFS): a blob is created as a link to the
+ * temporary file of the upload (so it's never freed while the upload is linked), a blob freed by another instance
+ * while it's being linked is stored again, and only the files older than a grace period are reclaimed at startup.
  */
 @Component("ContentStore#local")
 @ConditionalOnProperty(name = "dataset.content.store", havingValue = "file", matchIfMissing = false)
@@ -46,9 +74,51 @@ public class LocalFileContentStore extends DataSetContentStore {
     /** This class' logger. */
     private static final Logger LOGGER = LoggerFactory.getLogger(LocalFileContentStore.class);
 
+    /** Extension of the files that hold the columnar content of a data set. */
+    private static final String COLUMNAR_EXTENSION = ".columnar"; //$NON-NLS-1$
+
+    /** Extension of the files that hold the content sample of a data set. */
+    private static final String SAMPLE_EXTENSION = ".sample"; //$NON-NLS-1$
+
+    /** Extension of the files that hold the hash of the blob a data set raw content is linked to. */
+    private static final String BLOB_EXTENSION = ".blob"; //$NON-NLS-1$
+
+    /** Extension of the files being written. */
+    private static final String TEMPORARY_EXTENSION = ".tmp"; //$NON-NLS-1$
+
+    /** Name of the directory that holds the raw content blobs. */
+    private static final String BLOBS_DIRECTORY = "blobs"; //$NON-NLS-1$
+
+    /** Maximum number of attempts to link a data set to a blob freed by another instance in the meantime. */
+    private static final int MAX_LINK_ATTEMPTS = 3;
+
+    /** Lock for blobs links in this instance, a blob must not be freed while it's being linked to a data set. */
+    private final Object blobLock = new Object();
+
+    /** <code>true</code> if file system supports hard links, raw contents are then shared as blobs. */
+    private boolean blobSupported;
+
     @Value("${dataset.content.store.file.location}")
     private String storeLocation;
 
+    /**
+     * Minimum age (in minutes) of unreferenced blobs and temporary files reclaimed at startup (younger ones may belong
+     * to an upload in progress in another instance).
+     */
+    @Value("${dataset.content.store.file.reclaim.minutes:60}")
+    private long reclaimMinutes;
+
+    /**
+     * Maximum number of rows in data set content sample (defaults to the records limit, so that the sample of a data set
+     * is the same as its limited content).
+     */
+    @Value("${dataset.sample.size:${dataset.records.limit:30000}}")
+    private int sampleSize;
+
+    /** Size limit for data sets, rows after the limit are not sampled. */
+    @Value("${dataset.records.limit:30000}")
+    private long recordsLimit;
+
     @PostConstruct
     public void init() {
         if (storeLocation == null) {
@@ -57,21 +127,115 @@ public class LocalFileContentStore extends DataSetContentStore {
         if (!storeLocation.endsWith("/")) { //$NON-NLS-1$
             storeLocation += "/"; //$NON-NLS-1$
         }
-        LOGGER.info("Content store location: {}", storeLocation);
+        blobSupported = initBlobs();
+        LOGGER.info("Content store location: {} (shared contents: {})", storeLocation, blobSupported);
+    }
+
+    /**
+     * Checks the file system supports hard links and reclaims the blobs no data set is linked to (left by a crash
+     * between the storage of a blob and its link to a data set, or by a crash during a delete). Only files older than
+     * the reclaim delay are reclaimed.
+     *
+     * @return <code>true</code> if raw contents can be stored as shared blobs.
+     */
+    private boolean initBlobs() {
+        final File blobs = new File(storeLocation + BLOBS_DIRECTORY);
+        final Path probe = new File(blobs, "probe" + TEMPORARY_EXTENSION).toPath(); //$NON-NLS-1$
+        final Path link = new File(blobs, "probe-link" + TEMPORARY_EXTENSION).toPath(); //$NON-NLS-1$
+        try {
+            FileUtils.forceMkdir(blobs);
+            Files.deleteIfExists(link);
+            Files.deleteIfExists(probe);
+            Files.createFile(probe);
+            Files.createLink(link, probe);
+            if (getLinkCount(probe) != 2) {
+                LOGGER.info("Unable to count links in '{}', data set contents will not be shared.", blobs);
+                return false;
+            }
+        } catch (IOException | UnsupportedOperationException | IllegalArgumentException | SecurityException e) {
+            LOGGER.info("Hard links are not supported in '{}', data set contents will not be shared.", blobs);
+            LOGGER.debug("Unable to create hard link.", e);
+            return false;
+        } finally {
+            FilesHelper.deleteQuietly(link.toFile());
+            FilesHelper.deleteQuietly(probe.toFile());
+        }
+
+        final File[] files = blobs.listFiles();
+        final long reclaimBefore = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(reclaimMinutes);
+        int reclaimed = 0;
+        for (File file : files == null ? new File[0] : files) {
+            try {
+                if (file.lastModified() >= reclaimBefore) {
+                    continue;
+                }
+                if (file.getName().endsWith(TEMPORARY_EXTENSION) || getLinkCount(file.toPath()) <= 1) {
+                    FilesHelper.delete(file);
+                    reclaimed++;
+                }
+            } catch (IOException e) {
+                LOGGER.warn("Unable to reclaim blob '{}'.", file, e);
+            }
+        }
+        LOGGER.info("{} unreferenced blob(s) reclaimed.", reclaimed);
+        return true;
+    }
+
+    /**
+     * @param path A file path.
+     * @return the number of hard links to the file.
+     */
+    private static int getLinkCount(Path path) throws IOException {
+        return ((Number) Files.getAttribute(path, "unix:nlink")).intValue(); //$NON-NLS-1$
     }
 
     private File getFile(DataSetMetadata dataSetMetadata) {
         return new File(storeLocation + dataSetMetadata.getId());
     }
 
+    private File getColumnarFile(DataSetMetadata dataSetMetadata) {
+        return new File(storeLocation + dataSetMetadata.getId() + COLUMNAR_EXTENSION);
+    }
+
+    private File getSampleFile(DataSetMetadata dataSetMetadata) {
+        return new File(storeLocation + dataSetMetadata.getId() + SAMPLE_EXTENSION);
+    }
+
+    private File getBlobReferenceFile(DataSetMetadata dataSetMetadata) {
+        return new File(storeLocation + dataSetMetadata.getId() + BLOB_EXTENSION);
+    }
+
+    private File getBlob(String hash) {
+        return new File(storeLocation + BLOBS_DIRECTORY + '/' + hash);
+    }
+
+    /**
+     * @param dataSetMetadata A data set metadata.
+     * @return <code>true</code> if data set is analyzed enough to be stored as columnar content.
+     */
+    private static boolean isColumnarSupported(DataSetMetadata dataSetMetadata) {
+        return !dataSetMetadata.isDraft() //
+                && dataSetMetadata.getContent().getFormatFamilyId() != null //
+                && dataSetMetadata.getRowMetadata() != null //
+                && !dataSetMetadata.getRowMetadata().getColumns().isEmpty();
+    }
+
     @Override
     public void storeAsRaw(DataSetMetadata dataSetMetadata, InputStream dataSetContent) {
         final Marker marker = Markers.dataset(dataSetMetadata.getId());
         try {
-            File dataSetFile = getFile(dataSetMetadata);
-            FileUtils.touch(dataSetFile);
-            FileOutputStream fos = new FileOutputStream(dataSetFile);
-            IOUtils.copy(dataSetContent, fos);
+            // Raw content changes, previous columnar content and sample (if any) are no longer valid
+            FilesHelper.delete(getColumnarFile(dataSetMetadata));
+            FilesHelper.delete(getSampleFile(dataSetMetadata));
+            final File dataSetFile = getFile(dataSetMetadata);
+            if (blobSupported) {
+                storeAsBlob(dataSetMetadata, dataSetContent);
+            } else {
+                FileUtils.touch(dataSetFile);
+                try (FileOutputStream output = new FileOutputStream(dataSetFile)) {
+                    IOUtils.copy(dataSetContent, output);
+                }
+            }
             LOGGER.debug(marker, "Data set stored to '{}'.", dataSetFile);
         } catch (IOException e) {
             throw new TDPException(DataSetErrorCodes.UNABLE_TO_STORE_DATASET_CONTENT, e, build().put("id",
@@ -79,6 +243,319 @@ public class LocalFileContentStore extends DataSetContentStore {
         }
     }
 
+    /**
+     * Stores the content in the blob named after the content hash (unless such a blob already exists) and links the
+     * data set file to it. The data set file is never written in place as its previous content may be shared.
+     *
+     * @param dataSetMetadata The data set metadata.
+     * @param dataSetContent The raw content.
+     */
+    private void storeAsBlob(DataSetMetadata dataSetMetadata, InputStream dataSetContent) throws IOException {
+        final File blobs = new File(storeLocation + BLOBS_DIRECTORY);
+        FileUtils.forceMkdir(blobs);
+        final File temporaryFile = File.createTempFile("content", TEMPORARY_EXTENSION, blobs); //$NON-NLS-1$
+        try {
+            final MessageDigest digest = DigestUtils.getSha256Digest();
+            try (OutputStream output = new FileOutputStream(temporaryFile)) {
+                IOUtils.copy(new DigestInputStream(dataSetContent, digest), output);
+            }
+            final String hash = Hex.encodeHexString(digest.digest());
+            synchronized (blobLock) {
+                final String previousHash = unlink(dataSetMetadata);
+                linkBlob(getFile(dataSetMetadata), getBlob(hash), temporaryFile);
+                Files.write(getBlobReferenceFile(dataSetMetadata).toPath(), hash.getBytes(StandardCharsets.UTF_8));
+                release(previousHash);
+            }
+        } finally {
+            FilesHelper.deleteQuietly(temporaryFile);
+        }
+    }
+
+    /**
+     * Links the data set file to the blob, the blob is created as a link to the temporary file if it does not exist yet
+     * (the temporary file then keeps the blob referenced until it's deleted). If the blob is freed by another instance
+     * before the data set file is linked, it's created again.
+     *
+     * @param dataSetFile The data set file to create.
+     * @param blob The blob of the content.
+     * @param temporaryFile The temporary file that holds the content.
+     */
+    private static void linkBlob(File dataSetFile, File blob, File temporaryFile) throws IOException {
+        for (int attempt = 1;; attempt++) {
+            try {
+                Files.createLink(blob.toPath(), temporaryFile.toPath());
+            } catch (FileAlreadyExistsException e) {
+                LOGGER.trace("Blob '{}' already stored.", blob, e);
+            }
+            try {
+                Files.createLink(dataSetFile.toPath(), blob.toPath());
+                return;
+            } catch (NoSuchFileException e) {
+                if (attempt >= MAX_LINK_ATTEMPTS) {
+                    throw e;
+                }
+                LOGGER.debug("Blob '{}' was freed before it was linked, storing it again.", blob);
+            }
+        }
+    }
+
+    /**
+     * Removes the data set file and its blob reference, the blob itself is left untouched (see {@link #release}).
+     * Caller must hold the blob lock.
+     *
+     * @param dataSetMetadata The data set metadata.
+     * @return the hash of the blob the data set was linked to, or <code>null</code> if none.
+     */
+    private String unlink(DataSetMetadata dataSetMetadata) throws IOException {
+        final File referenceFile = getBlobReferenceFile(dataSetMetadata);
+        String hash = null;
+        if (referenceFile.exists()) {
+            hash = new String(Files.readAllBytes(referenceFile.toPath()), StandardCharsets.UTF_8).trim();
+        }
+        FilesHelper.delete(getFile(dataSetMetadata));
+        FilesHelper.delete(referenceFile);
+        return hash;
+    }
+
+    /**
+     * Deletes the blob if no data set is linked to it anymore. Caller must hold the blob lock.
+     *
+     * @param hash The hash of the blob (may be <code>null</code>).
+     */
+    private void release(String hash) throws IOException {
+        if (hash == null || hash.isEmpty()) {
+            return;
+        }
+        final File blob = getBlob(hash);
+        if (blob.exists() && getLinkCount(blob.toPath()) <= 1) {
+            FilesHelper.delete(blob);
+            LOGGER.debug("Blob '{}' no longer referenced, deleted.", hash);
+        }
+    }
+
+    /**
+     * Links the copy to the raw content of the original data set (as well as to its columnar content and sample) so
+     * that copy time does not depend on the content size.
+     *
+     * @see DataSetContentStore#copy(DataSetMetadata, DataSetMetadata)
+     */
+    @Override
+    public void copy(DataSetMetadata source, DataSetMetadata target) {
+        if (!blobSupported) {
+            super.copy(source, target);
+            return;
+        }
+        try {
+            FilesHelper.delete(getColumnarFile(target));
+            FilesHelper.delete(getSampleFile(target));
+            synchronized (blobLock) {
+                final String previousHash = unlink(target);
+                Files.createLink(getFile(target).toPath(), getFile(source).toPath());
+                final File referenceFile = getBlobReferenceFile(source);
+                if (referenceFile.exists()) {
+                    Files.copy(referenceFile.toPath(), getBlobReferenceFile(target).toPath());
+                }
+                release(previousHash);
+            }
+            // Columnar content and sample are replaced (never written in place), they can be shared as well.
+            linkIfExists(getColumnarFile(source), getColumnarFile(target));
+            linkIfExists(getSampleFile(source), getSampleFile(target));
+            LOGGER.debug(Markers.dataset(target.getId()), "Data set content linked to '{}'.", source.getId());
+        } catch (IOException e) {
+            throw new TDPException(DataSetErrorCodes.UNABLE_TO_STORE_DATASET_CONTENT, e, build().put("id", target.getId()));
+        }
+    }
+
+    private static void linkIfExists(File existing, File link) throws IOException {
+        try {
+            Files.createLink(link.toPath(), existing.toPath());
+        } catch (NoSuchFileException e) {
+            LOGGER.trace("No file '{}' to link.", existing, e);
+        }
+    }
+
+    /**
+     * Writes the rows of the data set in a columnar file next to the raw content. The file is written to a temporary
+     * location first so that concurrent readers never see a partial file. A uniform sample of the rows within the records
+     * limit is built during the same scan and stored next to the columnar file.
+     *
+     * @see DataSetContentStore#storeAsColumnar(DataSetMetadata)
+     */
+    @Override
+    public void storeAsColumnar(DataSetMetadata dataSetMetadata) {
+        storeAsColumnar(dataSetMetadata, row -> {
+            // nothing to observe
+        });
+    }
+
+    /**
+     * Same as {@link #storeAsColumnar(DataSetMetadata)}, rows are given to the observer in the same scan of the raw
+     * content.
+     *
+     * @see DataSetContentStore#storeAsColumnar(DataSetMetadata, Consumer)
+     */
+    @Override
+    public boolean storeAsColumnar(DataSetMetadata dataSetMetadata, Consumer<DataSetRow> observer) {
+        if (!isColumnarSupported(dataSetMetadata)) {
+            return false;
+        }
+        final Marker marker = Markers.dataset(dataSetMetadata.getId());
+        final File columnarFile = getColumnarFile(dataSetMetadata);
+        final File temporaryFile = new File(columnarFile.getPath() + ".tmp"); //$NON-NLS-1$
+        final String signature = ColumnarFormat.signature(dataSetMetadata);
+        final RowSample sample = new RowSample(sampleSize, dataSetMetadata.getId().hashCode());
+        try {
+            try (Stream<DataSetRow> rows = super.stream(dataSetMetadata);
+                    ColumnarWriter writer = new ColumnarWriter(new FileOutputStream(temporaryFile),
+                            dataSetMetadata.getRowMetadata().getColumns(), signature)) {
+                final Iterator<DataSetRow> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    final DataSetRow row = iterator.next();
+                    writer.write(row);
+                    // only sample rows within data set size limit (rows after limit are not shown)
+                    if (row.getTdpId() == null || row.getTdpId() <= recordsLimit) {
+                        sample.add(row);
+                    }
+                    observer.accept(row);
+                }
+            }
+            Files.move(temporaryFile.toPath(), columnarFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            LOGGER.debug(marker, "Columnar content stored to '{}'.", columnarFile);
+        } catch (IOException | TDPException e) {
+            // Columnar content is only an optimization, data set remains readable from its raw content.
+            LOGGER.warn(marker, "Unable to store columnar content, raw content will be used.", e);
+            FilesHelper.deleteQuietly(temporaryFile);
+            return false;
+        }
+        storeSample(dataSetMetadata, signature, sample);
+        return true;
+    }
+
+    /**
+     * Writes the sample in a file next to the raw content: content signature (see {@link ColumnarFormat#signature})
+     * followed by the sampled rows (with their tdp id) as a JSON array.
+     *
+     * @param dataSetMetadata The data set metadata.
+     * @param signature The signature of the content the sample was taken from.
+     * @param sample The sample to store.
+     */
+    private void storeSample(DataSetMetadata dataSetMetadata, String signature, RowSample sample) {
+        final Marker marker = Markers.dataset(dataSetMetadata.getId());
+        final File sampleFile = getSampleFile(dataSetMetadata);
+        final File temporaryFile = new File(sampleFile.getPath() + ".tmp"); //$NON-NLS-1$
+        try {
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporaryFile)))) {
+                output.writeUTF(signature);
+                final JsonGenerator generator = new JsonFactory().createGenerator(output);
+                generator.writeStartArray();
+                for (DataSetRow row : sample.getRows()) {
+                    generator.writeStartObject();
+                    if (row.getTdpId() != null) {
+                        generator.writeStringField(DataSetRow.TDP_ID, String.valueOf(row.getTdpId()));
+                    }
+                    for (Map.Entry<String, Object> value : row.values().entrySet()) {
+                        generator.writeStringField(value.getKey(), (String) value.getValue());
+                    }
+                    generator.writeEndObject();
+                }
+                generator.writeEndArray();
+                generator.flush();
+            }
+            Files.move(temporaryFile.toPath(), sampleFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            LOGGER.debug(marker, "Sample ({} rows out of {}) stored to '{}'.", Math.min(sampleSize, sample.getCount()),
+                    sample.getCount(), sampleFile);
+        } catch (IOException e) {
+            // Sample is only an optimization, sample is then read from content.
+            LOGGER.warn(marker, "Unable to store sample.", e);
+            FilesHelper.deleteQuietly(temporaryFile);
+        }
+    }
+
+    /**
+     * Reads rows from the stored sample when it's available and up to date with data set metadata, otherwise
+     * returns the full content.
+     *
+     * @see DataSetContentStore#sample(DataSetMetadata)
+     */
+    @Override
+    public Stream<DataSetRow> sample(DataSetMetadata dataSetMetadata) {
+        final File sampleFile = getSampleFile(dataSetMetadata);
+        if (sampleFile.exists() && isColumnarSupported(dataSetMetadata)) {
+            final Marker marker = Markers.dataset(dataSetMetadata.getId());
+            try {
+                final DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(sampleFile)));
+                if (input.readUTF().equals(ColumnarFormat.signature(dataSetMetadata))) {
+                    final DataSetRowIterator iterator = new DataSetRowIterator(input, false);
+                    final Iterable<DataSetRow> rowIterable = () -> iterator;
+                    return StreamSupport.stream(rowIterable.spliterator(), false).onClose(() -> {
+                        try {
+                            input.close();
+                        } catch (IOException e) {
+                            LOGGER.debug(marker, "Unable to close sample.", e);
+                        }
+                    });
+                }
+                input.close();
+                LOGGER.debug(marker, "Sample is outdated, full content will be used.");
+            } catch (IOException e) {
+                LOGGER.warn(marker, "Unable to read sample, full content will be used.", e);
+            }
+        }
+        return stream(dataSetMetadata);
+    }
+
+    /**
+     * Reads rows from the columnar content when it's available and up to date with data set metadata, otherwise
+     * rows are parsed from the raw content.
+     *
+     * @see DataSetContentStore#stream(DataSetMetadata)
+     */
+    @Override
+    public Stream<DataSetRow> stream(DataSetMetadata dataSetMetadata) {
+        final File columnarFile = getColumnarFile(dataSetMetadata);
+        if (columnarFile.exists() && isColumnarSupported(dataSetMetadata)) {
+            final Marker marker = Markers.dataset(dataSetMetadata.getId());
+            try {
+                final ColumnarReader reader = new ColumnarReader(columnarFile);
+                if (reader.getSignature().equals(ColumnarFormat.signature(dataSetMetadata))) {
+                    return reader.stream();
+                }
+                reader.close();
+                LOGGER.debug(marker, "Columnar content is outdated, raw content will be used.");
+            } catch (IOException e) {
+                LOGGER.warn(marker, "Unable to read columnar content, raw content will be used.", e);
+            }
+        }
+        return super.stream(dataSetMetadata);
+    }
+
+    /**
+     * Seeks the requested rows in the columnar content when it's available and up to date with data set metadata (only
+     * the row groups of the requested rows are read), otherwise rows are filtered from the raw content.
+     *
+     * @see DataSetContentStore#select(DataSetMetadata, long, long)
+     */
+    @Override
+    public Stream<DataSetRow> select(DataSetMetadata dataSetMetadata, long from, long to) {
+        final File columnarFile = getColumnarFile(dataSetMetadata);
+        if (columnarFile.exists() && isColumnarSupported(dataSetMetadata)) {
+            final Marker marker = Markers.dataset(dataSetMetadata.getId());
+            try {
+                final ColumnarReader reader = new ColumnarReader(columnarFile);
+                if (reader.getSignature().equals(ColumnarFormat.signature(dataSetMetadata))) {
+                    return reader.stream(from, to);
+                }
+                reader.close();
+                LOGGER.debug(marker, "Columnar content is outdated, raw content will be used.");
+            } catch (IOException e) {
+                LOGGER.warn(marker, "Unable to read columnar content, raw content will be used.", e);
+            }
+        }
+        return super.select(dataSetMetadata, from, to);
+    }
+
     @Override
     public InputStream getAsRaw(DataSetMetadata dataSetMetadata) {
         try {
@@ -91,7 +568,11 @@ public class LocalFileContentStore extends DataSetContentStore {
     @Override
     public void delete(DataSetMetadata dataSetMetadata) {
         try {
-            FilesHelper.delete(getFile(dataSetMetadata));
+            FilesHelper.delete(getColumnarFile(dataSetMetadata));
+            FilesHelper.delete(getSampleFile(dataSetMetadata));
+            synchronized (blobLock) {
+                release(unlink(dataSetMetadata));
+            }
         } catch (IOException e) {
             throw new TDPException(DataSetErrorCodes.UNABLE_TO_DELETE_DATASET, e, build().put("dataSetId", dataSetMetadata.getId()));
         }
@@ -0,0 +1,84 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.dataset.store.content.file;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.talend.dataprep.api.dataset.DataSetRow;
+
+/**
+ * A uniform random sample of rows built in a single pass (reservoir sampling): after <code>n</code> rows were added,
+ * each of them has the same probability to be in the sample. Rows keep their tdp id, so sampled rows can be mapped
+ * back to the full content.
+ */
+class RowSample {
+
+    /** Maximum number of rows in sample. */
+    private final int size;
+
+    /** Random used to select rows (seeded so a sample can be built again the same way). */
+    private final Random random;
+
+    /** Sampled rows. */
+    private final List<DataSetRow> rows;
+
+    /** Number of rows added to sample. */
+    private long count;
+
+    /**
+     * @param size Maximum number of rows in sample.
+     * @param seed Seed of the row selection.
+     */
+    RowSample(int size, long seed) {
+        this.size = size;
+        this.random = new Random(seed);
+        this.rows = new ArrayList<>(Math.min(size, 1024));
+    }
+
+    /**
+     * Offers a row to the sample. Row is cloned if it is selected (so callers may reuse row instances).
+     *
+     * @param row A row of the content.
+     */
+    void add(DataSetRow row) {
+        count++;
+        if (rows.size() < size) {
+            rows.add(row.clone());
+        } else {
+            final long position = (long) (random.nextDouble() * count);
+            if (position < size) {
+                rows.set((int) position, row.clone());
+            }
+        }
+    }
+
+    /**
+     * @return The number of rows added to sample.
+     */
+    long getCount() {
+        return count;
+    }
+
+    /**
+     * @return The sampled rows in content order.
+     */
+    List<DataSetRow> getRows() {
+        final List<DataSetRow> sorted = new ArrayList<>(rows);
+        sorted.sort(Comparator.comparing(DataSetRow::getTdpId, Comparator.nullsFirst(Comparator.naturalOrder())));
+        return sorted;
+    }
+}
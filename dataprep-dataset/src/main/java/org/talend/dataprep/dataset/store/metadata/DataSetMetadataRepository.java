@@ -14,11 +14,14 @@
 package org.talend.dataprep.dataset.store.metadata;
 
 import java.util.Collections;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import javax.annotation.Nullable;
 
+import org.apache.commons.lang.StringUtils;
+import org.talend.dataprep.api.dataset.DataSetGovernance.Certification;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
 import org.talend.dataprep.lock.DistributedLock;
 
@@ -48,6 +51,47 @@ public interface DataSetMetadataRepository {
         return stream::iterator;
     }
 
+    /**
+     * @param name A data set name.
+     * @return The data sets whose name is <code>name</code> (ignoring case).
+     */
+    default Iterable<DataSetMetadata> listByName(String name) {
+        return filter(m -> StringUtils.equalsIgnoreCase(m.getName(), name));
+    }
+
+    /**
+     * @param author A data set author.
+     * @return The data sets created by <code>author</code>.
+     */
+    default Iterable<DataSetMetadata> listByAuthor(String author) {
+        return filter(m -> StringUtils.equals(m.getAuthor(), author));
+    }
+
+    /**
+     * @param certification A certification step.
+     * @return The data sets at the given certification step.
+     */
+    default Iterable<DataSetMetadata> listByCertification(Certification certification) {
+        return filter(m -> certification == m.getGovernance().getCertificationStep());
+    }
+
+    /**
+     * @return The data sets that are not being imported.
+     */
+    default Iterable<DataSetMetadata> listImported() {
+        return filter(m -> !m.getLifecycle().importing());
+    }
+
+    /**
+     * @param predicate A predicate on data sets.
+     * @return The data sets of {@link #list()} that match <code>predicate</code>.
+     */
+    default Iterable<DataSetMetadata> filter(Predicate<DataSetMetadata> predicate) {
+        final Stream<DataSetMetadata> stream = StreamSupport.stream(list().spliterator(), false)
+                .filter(m -> m != null && predicate.test(m));
+        return stream::iterator;
+    }
+
     /**
      * <p>
      * Creates a new {@link DataSetMetadata data set}. If a previous one already exists, it will be updated by this
@@ -0,0 +1,211 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.dataset.store.metadata.file;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+import org.apache.commons.lang.StringUtils;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.DataSetGovernance.Certification;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+
+/**
+ * Heap index of data set metadata: metadata by id, and secondary indexes on name (ignoring case), author,
+ * certification step, lifecycle (importing or not) and schema signature (the names and types of the columns, so
+ * compatible data sets share the same signature).
+ * <p>
+ * Index is thread safe: updates are exclusive, reads are concurrent. Indexed metadata must not be modified.
+ */
+class DataSetMetadataIndex {
+
+    /** Signature of the data sets without row metadata. */
+    private static final String NO_SCHEMA = "<none>";
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, DataSetMetadata> metadata = new HashMap<>();
+
+    private final SecondaryIndex<String> byName = new SecondaryIndex<>(m -> StringUtils.lowerCase(m.getName()));
+
+    private final SecondaryIndex<String> byAuthor = new SecondaryIndex<>(DataSetMetadata::getAuthor);
+
+    private final SecondaryIndex<Certification> byCertification = new SecondaryIndex<>(
+            m -> m.getGovernance().getCertificationStep());
+
+    private final SecondaryIndex<Boolean> byImporting = new SecondaryIndex<>(m -> m.getLifecycle().importing());
+
+    private final SecondaryIndex<String> bySignature = new SecondaryIndex<>(m -> signature(m.getRowMetadata()));
+
+    private final List<SecondaryIndex<?>> secondaryIndexes = Arrays.asList(byName, byAuthor, byCertification, byImporting,
+            bySignature);
+
+    /**
+     * @param rowMetadata A row metadata (may be <code>null</code>).
+     * @return The names and types of the columns (2 row metadata are compatible if they have the same signature).
+     * @see RowMetadata#compatible(RowMetadata)
+     */
+    static String signature(RowMetadata rowMetadata) {
+        if (rowMetadata == null) {
+            return NO_SCHEMA;
+        }
+        final List<ColumnMetadata> columns = rowMetadata.getColumns();
+        final StringBuilder signature = new StringBuilder().append(columns.size());
+        for (ColumnMetadata column : columns) {
+            signature.append('\u0000').append(column.getName()).append('\u0000').append(column.getType());
+        }
+        return signature.toString();
+    }
+
+    /**
+     * Adds (or replaces) a metadata in index.
+     *
+     * @param dataSetMetadata The metadata to index, it must not be modified once indexed.
+     */
+    void put(DataSetMetadata dataSetMetadata) {
+        lock.writeLock().lock();
+        try {
+            final DataSetMetadata previous = metadata.put(dataSetMetadata.getId(), dataSetMetadata);
+            for (SecondaryIndex<?> index : secondaryIndexes) {
+                if (previous != null) {
+                    index.remove(previous);
+                }
+                index.add(dataSetMetadata);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param id A data set id.
+     * @return The removed metadata (or <code>null</code> if id was not indexed).
+     */
+    DataSetMetadata remove(String id) {
+        lock.writeLock().lock();
+        try {
+            final DataSetMetadata previous = metadata.remove(id);
+            if (previous != null) {
+                secondaryIndexes.forEach(index -> index.remove(previous));
+            }
+            return previous;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    DataSetMetadata get(String id) {
+        lock.readLock().lock();
+        try {
+            return metadata.get(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return metadata.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    List<DataSetMetadata> all() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(metadata.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    List<DataSetMetadata> byName(String name) {
+        return lookup(byName, StringUtils.lowerCase(name));
+    }
+
+    List<DataSetMetadata> byAuthor(String author) {
+        return lookup(byAuthor, author);
+    }
+
+    List<DataSetMetadata> byCertification(Certification certification) {
+        return lookup(byCertification, certification);
+    }
+
+    List<DataSetMetadata> byImporting(boolean importing) {
+        return lookup(byImporting, importing);
+    }
+
+    /**
+     * @param dataSetMetadata A data set metadata.
+     * @return The other data sets compatible with the given one.
+     * @see DataSetMetadata#compatible(DataSetMetadata)
+     */
+    List<DataSetMetadata> compatibleWith(DataSetMetadata dataSetMetadata) {
+        final List<DataSetMetadata> compatible = lookup(bySignature, signature(dataSetMetadata.getRowMetadata()));
+        compatible.removeIf(m -> m.getId().equals(dataSetMetadata.getId()));
+        return compatible;
+    }
+
+    private <K> List<DataSetMetadata> lookup(SecondaryIndex<K> index, K key) {
+        lock.readLock().lock();
+        try {
+            final Set<String> ids = index.get(key);
+            final List<DataSetMetadata> found = new ArrayList<>(ids.size());
+            for (String id : ids) {
+                found.add(metadata.get(id));
+            }
+            return found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of indexed metadata by key (guarded by index lock).
+     */
+    private static class SecondaryIndex<K> {
+
+        private final Function<DataSetMetadata, K> key;
+
+        private final Map<K, Set<String>> ids = new HashMap<>();
+
+        private SecondaryIndex(Function<DataSetMetadata, K> key) {
+            this.key = key;
+        }
+
+        private void add(DataSetMetadata dataSetMetadata) {
+            ids.computeIfAbsent(key.apply(dataSetMetadata), k -> new HashSet<>()).add(dataSetMetadata.getId());
+        }
+
+        private void remove(DataSetMetadata dataSetMetadata) {
+            final K k = key.apply(dataSetMetadata);
+            final Set<String> keyIds = ids.get(k);
+            if (keyIds != null) {
+                keyIds.remove(dataSetMetadata.getId());
+                if (keyIds.isEmpty()) {
+                    ids.remove(k);
+                }
+            }
+        }
+
+        private Set<String> get(K k) {
+            return ids.getOrDefault(k, Collections.emptySet());
+        }
+    }
+}
@@ -0,0 +1,214 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.dataset.store.metadata.file;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only journal of data set metadata changes. Each change is a record (operation, data set id, metadata json
+ * and checksum) that is flushed to disk before {@link #put(String, byte[])} or {@link #remove(String)} returns.
+ * <p>
+ * When journal is replayed, an incomplete or corrupted record (e.g. the last record written before a crash) ends the
+ * journal. This class is not thread safe.
+ */
+class DataSetMetadataJournal implements Closeable {
+
+    /** This class' logger. */
+    private static final Logger LOG = LoggerFactory.getLogger(DataSetMetadataJournal.class);
+
+    private static final byte PUT = 'P';
+
+    private static final byte REMOVE = 'R';
+
+    /** Maximum length of a record part (larger lengths can only be read from corrupted records). */
+    private static final int MAX_LENGTH = 1 << 28;
+
+    /** Receives the records of a replayed journal. */
+    interface Replay {
+
+        void put(String id, byte[] json) throws IOException;
+
+        void remove(String id) throws IOException;
+    }
+
+    private final File file;
+
+    private DataOutputStream output;
+
+    /** Number of records in journal. */
+    private int size;
+
+    DataSetMetadataJournal(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Replays the records of the journal and opens it for new records (records after a corrupted one are discarded).
+     *
+     * @param replay Where to send records.
+     */
+    void replay(Replay replay) throws IOException {
+        long valid = 0;
+        size = 0;
+        if (file.exists()) {
+            try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+                while (true) {
+                    final Record record = Record.read(input);
+                    if (record == null) {
+                        break;
+                    }
+                    if (record.operation == PUT) {
+                        replay.put(record.id, record.json);
+                    } else {
+                        replay.remove(record.id);
+                    }
+                    valid += record.length();
+                    size++;
+                }
+            }
+            if (valid < file.length()) {
+                LOG.warn("Discard {} bytes of incomplete records at end of journal {}.", file.length() - valid, file);
+                try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+                    channel.truncate(valid);
+                }
+            }
+        }
+        output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)));
+    }
+
+    /**
+     * Appends a new or updated metadata to journal.
+     */
+    void put(String id, byte[] json) throws IOException {
+        append(new Record(PUT, id, json));
+    }
+
+    /**
+     * Appends a metadata removal to journal.
+     */
+    void remove(String id) throws IOException {
+        append(new Record(REMOVE, id, new byte[0]));
+    }
+
+    /**
+     * @return The number of records in journal.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Removes all records of journal (once all changes are saved elsewhere).
+     */
+    void reset() throws IOException {
+        close();
+        output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, false)));
+        size = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (output != null) {
+            output.close();
+            output = null;
+        }
+    }
+
+    private void append(Record record) throws IOException {
+        if (output == null) {
+            throw new IOException("Journal " + file + " is not open.");
+        }
+        record.write(output);
+        output.flush();
+        size++;
+    }
+
+    private static class Record {
+
+        private final byte operation;
+
+        private final String id;
+
+        private final byte[] json;
+
+        private final byte[] idBytes;
+
+        private Record(byte operation, String id, byte[] json) throws UnsupportedEncodingException {
+            this.operation = operation;
+            this.id = id;
+            this.json = json;
+            this.idBytes = id.getBytes("UTF-8");
+        }
+
+        private long length() {
+            // operation + id length + id + json length + json + checksum
+            return 1 + 4 + idBytes.length + 4 + json.length + 8;
+        }
+
+        private long checksum() {
+            final CRC32 crc = new CRC32();
+            crc.update(operation);
+            crc.update(idBytes);
+            crc.update(json);
+            return crc.getValue();
+        }
+
+        private void write(DataOutputStream output) throws IOException {
+            output.writeByte(operation);
+            output.writeInt(idBytes.length);
+            output.write(idBytes);
+            output.writeInt(json.length);
+            output.write(json);
+            output.writeLong(checksum());
+        }
+
+        /**
+         * @return The next record of input, or <code>null</code> at end of input or if next record is incomplete or
+         * corrupted.
+         */
+        private static Record read(DataInputStream input) throws IOException {
+            try {
+                final int operation = input.read();
+                if (operation != PUT && operation != REMOVE) {
+                    return null;
+                }
+                final byte[] idBytes = readBytes(input);
+                final byte[] json = readBytes(input);
+                if (idBytes == null || json == null) {
+                    return null;
+                }
+                final Record record = new Record((byte) operation, new String(idBytes, "UTF-8"), json);
+                return record.checksum() == input.readLong() ? record : null;
+            } catch (EOFException e) {
+                return null;
+            }
+        }
+
+        private static byte[] readBytes(DataInputStream input) throws IOException {
+            final int length = input.readInt();
+            if (length < 0 || length > MAX_LENGTH) {
+                return null;
+            }
+            final byte[] bytes = new byte[length];
+            input.readFully(bytes);
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,367 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.dataset.store.metadata.file;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.talend.daikon.exception.ExceptionContext;
+import org.talend.dataprep.api.dataset.DataSetGovernance.Certification;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.DataSetMetadataBuilder;
+import org.talend.dataprep.api.share.Owner;
+import org.talend.dataprep.dataset.store.metadata.DataSetMetadataRepository;
+import org.talend.dataprep.dataset.store.metadata.DataSetMetadataRepositoryAdapter;
+import org.talend.dataprep.exception.TDPException;
+import org.talend.dataprep.exception.error.DataSetErrorCodes;
+import org.talend.dataprep.lock.DistributedLock;
+import org.talend.dataprep.util.FilesHelper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * File system implementation of the DataSetMetadataRepository that serves all reads from a heap
+ * {@link DataSetMetadataIndex index}.
+ * <ul>
+ * <li>Metadata are stored as gzipped json files, the same way {@link FileSystemDataSetMetadataRepository} does, and
+ * the index is built from these files at startup.</li>
+ * <li>Changes are written through to an append-only {@link DataSetMetadataJournal journal} before they are visible in
+ * index. Once journal has <code>dataset.metadata.store.journal.size</code> records, the changed metadata files are
+ * written (or deleted) and journal is reset. Journal is replayed at startup, so no change is lost.</li>
+ * </ul>
+ * As index is not shared, this repository expects to be the only one to write in its location.
+ */
+@Component
+@ConditionalOnProperty(name = "dataset.metadata.store", havingValue = "indexed-file")
+public class IndexedFileSystemDataSetMetadataRepository extends DataSetMetadataRepositoryAdapter {
+
+    /** This class' logger. */
+    private static final Logger LOG = LoggerFactory.getLogger(IndexedFileSystemDataSetMetadataRepository.class);
+
+    /** Name of the journal file (hidden, so it's never read as a metadata). */
+    private static final String JOURNAL = ".journal";
+
+    /** The dataprep ready jackson builder. */
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired
+    private DataSetMetadataBuilder metadataBuilder;
+
+    /** Where to store the dataset metadata */
+    @Value("${dataset.metadata.store.file.location}")
+    private String storeLocation;
+
+    /** Number of journal records before changed metadata are written to their files. */
+    @Value("${dataset.metadata.store.journal.size:1000}")
+    private int journalSize;
+
+    private final DataSetMetadataIndex index = new DataSetMetadataIndex();
+
+    /** The journal of the changes (also used as lock for all changes). */
+    private DataSetMetadataJournal journal;
+
+    /** Ids of the metadata changed since their files were written (guarded by journal). */
+    private final Set<String> changed = new HashSet<>();
+
+    @PostConstruct
+    private void init() {
+        final long start = System.currentTimeMillis();
+        try {
+            Files.createDirectories(getRootFolder().toPath());
+        } catch (IOException e) {
+            throw new RuntimeException("unable to create dataset metadata store folder", e);
+        }
+        final File[] files = getRootFolder().listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (!file.getName().startsWith(".")) {
+                    final DataSetMetadata metadata = read(file);
+                    if (metadata != null) {
+                        index.put(metadata);
+                    }
+                }
+            }
+        }
+        journal = new DataSetMetadataJournal(new File(getRootFolder(), JOURNAL));
+        synchronized (journal) {
+            try {
+                journal.replay(new DataSetMetadataJournal.Replay() {
+
+                    @Override
+                    public void put(String id, byte[] json) throws IOException {
+                        index.put(mapper.readerFor(DataSetMetadata.class).readValue(json));
+                        changed.add(id);
+                    }
+
+                    @Override
+                    public void remove(String id) {
+                        index.remove(id);
+                        changed.add(id);
+                    }
+                });
+            } catch (IOException e) {
+                throw new RuntimeException("unable to read dataset metadata journal", e);
+            }
+            writeChanges();
+        }
+        LOG.info("{} dataset metadata indexed in {} ms", index.size(), System.currentTimeMillis() - start);
+    }
+
+    @PreDestroy
+    private void close() {
+        synchronized (journal) {
+            writeChanges();
+            try {
+                journal.close();
+            } catch (IOException e) {
+                LOG.warn("unable to close dataset metadata journal", e);
+            }
+        }
+    }
+
+    /**
+     * @see DataSetMetadataRepository#add(DataSetMetadata)
+     */
+    @Override
+    public void add(DataSetMetadata metadata) {
+        try {
+            final byte[] json = mapper.writer().writeValueAsBytes(metadata);
+            // index a copy, so caller can't modify indexed metadata
+            final DataSetMetadata indexed = mapper.readerFor(DataSetMetadata.class).readValue(json);
+            synchronized (journal) {
+                journal.put(metadata.getId(), json);
+                index.put(indexed);
+                changed.add(metadata.getId());
+                if (journal.size() >= journalSize) {
+                    writeChanges();
+                }
+            }
+        } catch (IOException e) {
+            LOG.error("Error saving {}", metadata, e);
+            throw new TDPException(DataSetErrorCodes.UNABLE_TO_STORE_DATASET_METADATA, e,
+                    ExceptionContext.build().put("id", metadata.getId()));
+        }
+    }
+
+    /**
+     * @see DataSetMetadataRepository#get(String)
+     */
+    @Override
+    public DataSetMetadata get(String id) {
+        final DataSetMetadata indexed = index.get(id);
+        if (indexed == null) {
+            LOG.info("dataset #{} not found in file system", id);
+            return null;
+        }
+        try {
+            // exact copy, as caller is free to modify returned metadata
+            final byte[] json = mapper.writer().writeValueAsBytes(indexed);
+            return withDefaults(mapper.readerFor(DataSetMetadata.class).readValue(json));
+        } catch (IOException e) {
+            LOG.error("unable to load dataset {}", id, e);
+            return null;
+        }
+    }
+
+    /**
+     * @see DataSetMetadataRepository#remove(String)
+     */
+    @Override
+    public void remove(String id) {
+        synchronized (journal) {
+            try {
+                journal.remove(id);
+                changed.add(id);
+            } catch (IOException e) {
+                LOG.warn("unable to journal removal of metadata {}, remove its file", id, e);
+                FilesHelper.deleteQuietly(getFile(id));
+            }
+            index.remove(id);
+        }
+        LOG.debug("metadata {} successfully deleted", id);
+    }
+
+    /**
+     * @see DataSetMetadataRepository#size()
+     */
+    @Override
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * @see DataSetMetadataRepository#list()
+     */
+    @Override
+    public Iterable<DataSetMetadata> list() {
+        return copies(index.all());
+    }
+
+    /**
+     * @see DataSetMetadataRepository#listCompatible(String)
+     */
+    @Override
+    public Iterable<DataSetMetadata> listCompatible(String id) {
+        final DataSetMetadata metadata = index.get(id);
+        if (metadata == null) {
+            return Collections.emptyList();
+        }
+        return copies(index.compatibleWith(metadata));
+    }
+
+    /**
+     * @see DataSetMetadataRepository#listByName(String)
+     */
+    @Override
+    public Iterable<DataSetMetadata> listByName(String name) {
+        return copies(index.byName(name));
+    }
+
+    /**
+     * @see DataSetMetadataRepository#listByAuthor(String)
+     */
+    @Override
+    public Iterable<DataSetMetadata> listByAuthor(String author) {
+        return copies(index.byAuthor(author));
+    }
+
+    /**
+     * @see DataSetMetadataRepository#listByCertification(Certification)
+     */
+    @Override
+    public Iterable<DataSetMetadata> listByCertification(Certification certification) {
+        return copies(index.byCertification(certification));
+    }
+
+    /**
+     * @see DataSetMetadataRepository#listImported()
+     */
+    @Override
+    public Iterable<DataSetMetadata> listImported() {
+        return copies(index.byImporting(false));
+    }
+
+    /**
+     * @see DataSetMetadataRepository#clear()
+     */
+    @Override
+    public void clear() {
+        // Remove all data set (but use lock for remaining asynchronous processes).
+        for (DataSetMetadata metadata : index.all()) {
+            final DistributedLock lock = createDatasetMetadataLock(metadata.getId());
+            try {
+                lock.lock();
+                remove(metadata.getId());
+            } finally {
+                lock.unlock();
+            }
+        }
+        LOG.debug("dataset metadata repository cleared.");
+    }
+
+    /**
+     * Listed metadata are built from indexed ones (they share the column statistics, use {@link #get(String)} to get a
+     * metadata to modify).
+     */
+    private List<DataSetMetadata> copies(List<DataSetMetadata> indexed) {
+        return indexed.stream() //
+                .map(m -> withDefaults(metadataBuilder.metadata().copy(m).build())) //
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Set default values for sharing and owner.
+     */
+    private static DataSetMetadata withDefaults(DataSetMetadata dataSetMetadata) {
+        dataSetMetadata.setSharedDataSet(false);
+        final Owner owner = new Owner();
+        owner.setFirstName(dataSetMetadata.getAuthor());
+        dataSetMetadata.setOwner(owner);
+        return dataSetMetadata;
+    }
+
+    /**
+     * Writes the files of the metadata changed since last call and resets journal (must be called with journal lock).
+     */
+    private void writeChanges() {
+        for (String id : changed) {
+            final DataSetMetadata metadata = index.get(id);
+            if (metadata == null) {
+                FilesHelper.deleteQuietly(getFile(id));
+                continue;
+            }
+            try (GZIPOutputStream output = new GZIPOutputStream(new FileOutputStream(getFile(id)))) {
+                mapper.writer().writeValue(output, metadata);
+            } catch (IOException e) {
+                // keep journal, changes are written again on next call
+                LOG.error("unable to write metadata {}", id, e);
+                return;
+            }
+        }
+        try {
+            journal.reset();
+            LOG.debug("{} dataset metadata written", changed.size());
+            changed.clear();
+        } catch (IOException e) {
+            LOG.error("unable to reset dataset metadata journal", e);
+        }
+    }
+
+    private DataSetMetadata read(File file) {
+        try (GZIPInputStream input = new GZIPInputStream(new FileInputStream(file))) {
+            return mapper.readerFor(DataSetMetadata.class).readValue(input);
+        } catch (IOException e) {
+            LOG.error("unable to load dataset {}", file.getName(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Return the file that matches the given metadata id.
+     *
+     * @param metadataId the metadata id.
+     * @return the file where to read/write the metadata.
+     */
+    private File getFile(String metadataId) {
+        return new File(storeLocation + '/' + metadataId);
+    }
+
+    /**
+     * @return the metadata root folder.
+     */
+    private File getRootFolder() {
+        return new File(storeLocation + '/');
+    }
+
+}
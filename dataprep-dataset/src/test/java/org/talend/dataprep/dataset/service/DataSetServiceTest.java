@@ -585,6 +585,23 @@ public class DataSetServiceTest extends DataSetBaseTest {
         assertEquals(100, getNumberOfRecords(sample));
     }
 
+    @Test
+    public void getRecordsByTdpIdRange() throws Exception {
+        // given
+        String dataSetId = createCSVDataSet(this.getClass().getResourceAsStream(T_SHIRT_100_CSV), "ds-records");
+        // when
+        final String content = given() //
+                .expect().statusCode(200).log().ifError() //
+                .when() //
+                .get("/datasets/{id}/records?metadata=false&from=98&to=1000", dataSetId) //
+                .asString();
+        // then (in tdp id order, range is bounded by the last row)
+        final JsonNode records = mapper.readTree(content).get("records");
+        assertEquals(3, records.size());
+        assertEquals(98, records.get(0).get("tdpId").asLong());
+        assertEquals(100, records.get(2).get("tdpId").asLong());
+    }
+
     @Test
     public void delete() throws Exception {
         String expectedId = UUID.randomUUID().toString();
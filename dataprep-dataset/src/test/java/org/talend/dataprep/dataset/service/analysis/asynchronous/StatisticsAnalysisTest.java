@@ -17,19 +17,26 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.*;
 
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.DataSetRow;
 import org.talend.dataprep.api.dataset.statistics.PatternFrequency;
 import org.talend.dataprep.dataset.DataSetBaseTest;
 import org.talend.dataprep.dataset.service.analysis.synchronous.ContentAnalysis;
 import org.talend.dataprep.dataset.service.analysis.synchronous.FormatAnalysis;
 import org.talend.dataprep.dataset.service.analysis.synchronous.SchemaAnalysis;
+import org.talend.dataprep.dataset.store.content.ContentStoreRouter;
 
 public class StatisticsAnalysisTest extends DataSetBaseTest {
 
@@ -45,6 +52,9 @@ public class StatisticsAnalysisTest extends DataSetBaseTest {
     @Autowired
     SyncBackgroundAnalyzer statisticsAnalysis;
 
+    @Autowired
+    BackgroundAnalysis backgroundAnalysis;
+
     /** Random to generate random dataset id. */
     private Random random = new Random();
 
@@ -90,6 +100,18 @@ public class StatisticsAnalysisTest extends DataSetBaseTest {
      * @return the analyzed dataset metadata.
      */
     private DataSetMetadata initializeDataSetMetadata(InputStream content) {
+        return initializeDataSetMetadata(content, metadata -> {
+        });
+    }
+
+    /**
+     * Initialize a dataset with the given content. Perform the format and the schema analysis.
+     *
+     * @param content the dataset content.
+     * @param beforeStatistics changes to the dataset metadata (saved before statistics analysis).
+     * @return the analyzed dataset metadata.
+     */
+    private DataSetMetadata initializeDataSetMetadata(InputStream content, Consumer<DataSetMetadata> beforeStatistics) {
         String id = String.valueOf(random.nextInt(10000));
         final DataSetMetadata metadata = metadataBuilder.metadata().id(id).build();
         dataSetMetadataRepository.add(metadata);
@@ -97,6 +119,9 @@ public class StatisticsAnalysisTest extends DataSetBaseTest {
         formatAnalysis.analyze(id);
         contentAnalysis.analyze(id);
         schemaAnalysis.analyze(id);
+        final DataSetMetadata schemaAnalyzed = dataSetMetadataRepository.get(id);
+        beforeStatistics.accept(schemaAnalyzed);
+        dataSetMetadataRepository.add(schemaAnalyzed);
         statisticsAnalysis.analyze(id);
 
         final DataSetMetadata analyzed = dataSetMetadataRepository.get(id);
@@ -121,4 +146,110 @@ public class StatisticsAnalysisTest extends DataSetBaseTest {
         assertEquals(-924912000000D, min, 0.5);
         assertEquals(-707529600000D, max, 0.5);
     }
+
+    @Test
+    public void shouldScanContentOnceWhenSchemaIsUnchanged() throws Exception {
+        // given
+        final CountingContentStore store = new CountingContentStore();
+
+        // when
+        final DataSetMetadata metadata = withStore(store,
+                () -> initializeDataSetMetadata(this.getClass().getResourceAsStream("dataset.csv")));
+
+        // then
+        assertThat(store.streams, is(1));
+        assertThat(metadata.getLifecycle().qualityAnalyzed(), is(true));
+        final ColumnMetadata age = metadata.getRowMetadata().getById("0003");
+        assertThat(age.getType(), is("integer"));
+        assertEquals(40, age.getStatistics().getMin(), 0.5);
+        assertEquals(74, age.getStatistics().getMax(), 0.5);
+    }
+
+    @Test
+    public void shouldScanContentAgainWhenSchemaChanges() throws Exception {
+        // given
+        final CountingContentStore store = new CountingContentStore();
+
+        // when (full content analysis finds another type than the one saved)
+        final DataSetMetadata metadata = withStore(store,
+                () -> initializeDataSetMetadata(this.getClass().getResourceAsStream("dataset.csv"),
+                        m -> m.getRowMetadata().getById("0003").setType("string")));
+
+        // then
+        assertThat(store.streams, is(2));
+        assertThat(metadata.getLifecycle().qualityAnalyzed(), is(true));
+        final ColumnMetadata age = metadata.getRowMetadata().getById("0003");
+        assertThat(age.getType(), is("integer"));
+        assertEquals(40, age.getStatistics().getMin(), 0.5);
+        assertEquals(74, age.getStatistics().getMax(), 0.5);
+        assertThat(metadata.getContent().getNbRecords(), is(4L));
+    }
+
+    @Test
+    public void shouldOnlySaveTypesDuringAnalysis() throws Exception {
+        // given
+        final List<String> types = new ArrayList<>();
+        final List<String> domains = new ArrayList<>();
+        final CountingContentStore store = new CountingContentStore();
+        store.firstScanObserver = m -> {
+            final ColumnMetadata age = dataSetMetadataRepository.get(m.getId()).getRowMetadata().getById("0003");
+            types.add(age.getType());
+            domains.add(age.getDomain());
+        };
+        final long originalPartialRecords = backgroundAnalysis.partialResultRecords;
+        ReflectionTestUtils.setField(backgroundAnalysis, "partialResultRecords", 1L);
+
+        // when
+        try {
+            withStore(store, () -> initializeDataSetMetadata(this.getClass().getResourceAsStream("dataset.csv"), m -> {
+                final ColumnMetadata age = m.getRowMetadata().getById("0003");
+                age.setType("string");
+                age.setDomain("custom_domain");
+            }));
+        } finally {
+            ReflectionTestUtils.setField(backgroundAnalysis, "partialResultRecords", originalPartialRecords);
+        }
+
+        // then (observed before each row is analyzed)
+        assertThat(types.size(), is(4));
+        assertThat(types.get(0), is("string"));
+        assertThat(types.get(3), is("integer"));
+        assertTrue(domains.stream().allMatch("custom_domain"::equals));
+    }
+
+    /**
+     * Runs the given initialization with the content store used by background analysis replaced by the given one.
+     */
+    private DataSetMetadata withStore(CountingContentStore store, Supplier<DataSetMetadata> initialization) {
+        final ContentStoreRouter original = backgroundAnalysis.store;
+        store.delegate = original;
+        backgroundAnalysis.store = store;
+        try {
+            return initialization.get();
+        } finally {
+            backgroundAnalysis.store = original;
+        }
+    }
+
+    /**
+     * A content store that counts how many times content is streamed.
+     */
+    private static class CountingContentStore extends ContentStoreRouter {
+
+        private ContentStoreRouter delegate;
+
+        private Consumer<DataSetMetadata> firstScanObserver = m -> {
+        };
+
+        private int streams;
+
+        @Override
+        public Stream<DataSetRow> stream(DataSetMetadata dataSetMetadata) {
+            final Stream<DataSetRow> stream = delegate.stream(dataSetMetadata);
+            if (++streams == 1) {
+                return stream.peek(row -> firstScanObserver.accept(dataSetMetadata));
+            }
+            return stream;
+        }
+    }
 }
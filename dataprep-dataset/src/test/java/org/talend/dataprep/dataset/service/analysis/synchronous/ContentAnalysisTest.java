@@ -15,6 +15,7 @@ package org.talend.dataprep.dataset.service.analysis.synchronous;
 
 import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.*;
+import static org.talend.dataprep.api.dataset.ColumnMetadata.Builder.column;
 
 import java.util.Optional;
 
@@ -23,6 +24,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
 import org.talend.dataprep.api.dataset.location.LocalStoreLocation;
+import org.talend.dataprep.api.type.Type;
 import org.talend.dataprep.dataset.DataSetBaseTest;
 import org.talend.dataprep.schema.csv.CSVFormatFamily;
 
@@ -88,6 +90,33 @@ public class ContentAnalysisTest extends DataSetBaseTest {
         assertThat(limit.get(), is(newLimit));
     }
 
+    @Test
+    public void testAnalysisWithLimitWhileStoringColumnarContent() {
+        // given a data set with columns (so that content is stored as columnar)
+        final DataSetMetadata metadata = metadataBuilder.metadata().id("3549") //
+                .row(column().type(Type.INTEGER).name("id"), column().type(Type.STRING).name("first_name"),
+                        column().type(Type.STRING).name("last_name"), column().type(Type.STRING).name("email"),
+                        column().type(Type.STRING).name("gender"), column().type(Type.STRING).name("ip_address")) //
+                .build();
+        createCsvDataSet(metadata, "100_lines.csv");
+
+        final Long newLimit = 16L;
+        final Long originalLimit = (Long) ReflectionTestUtils.getField(contentAnalysis, ContentAnalysis.class, "sizeLimit");
+        ReflectionTestUtils.setField(contentAnalysis, "sizeLimit", newLimit);
+
+        // when
+        contentAnalysis.analyze(metadata.getId());
+        ReflectionTestUtils.setField(contentAnalysis, "sizeLimit", originalLimit);
+
+        // then
+        final DataSetMetadata actual = dataSetMetadataRepository.get(metadata.getId());
+        final Optional<Long> limit = actual.getContent().getLimit();
+        assertTrue(limit.isPresent());
+        assertThat(limit.get(), is(newLimit));
+        // stored content keeps all the rows (limit is applied when content is read)
+        assertThat(contentStore.stream(actual).count(), is(100L));
+    }
+
     @Test
     public void testAnalysisWithoutLimit() {
         final DataSetMetadata metadata = metadataBuilder.metadata().id("8520").build();
@@ -0,0 +1,144 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.dataset.store.content.columnar;
+
+import static org.junit.Assert.*;
+import static org.talend.dataprep.api.dataset.ColumnMetadata.Builder.column;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.DataSetRow;
+import org.talend.dataprep.api.type.Type;
+
+/**
+ * Unit test for {@link ColumnarWriter} and {@link ColumnarReader}.
+ */
+public class ColumnarReaderWriterTest {
+
+    private static final int ROW_COUNT = ColumnarFormat.ROW_GROUP_SIZE * 2 + 10;
+
+    private final List<ColumnMetadata> columns = Arrays.asList( //
+            column().id(0).name("id").type(Type.INTEGER).build(), //
+            column().id(1).name("name").type(Type.STRING).build(), //
+            column().id(2).name("state").type(Type.STRING).build());
+
+    private File file;
+
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile("columnar", ".test");
+        try (ColumnarWriter writer = new ColumnarWriter(new FileOutputStream(file), columns, "signature")) {
+            for (int i = 1; i <= ROW_COUNT; i++) {
+                writer.write(row(i));
+            }
+        }
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    private static DataSetRow row(int i) {
+        final Map<String, String> values = new HashMap<>();
+        values.put("0000", String.valueOf(i));
+        // A missing value every 7 rows and non ASCII characters
+        if (i % 7 != 0) {
+            values.put("0001", "name é " + i);
+        }
+        // Few distinct values: dictionary encoded
+        values.put("0002", i % 2 == 0 ? "CA" : "NY");
+        return new DataSetRow(values);
+    }
+
+    @Test
+    public void shouldReadHeader() throws Exception {
+        try (ColumnarReader reader = new ColumnarReader(file)) {
+            assertEquals("signature", reader.getSignature());
+            assertArrayEquals(new String[] { "0000", "0001", "0002" }, reader.getColumnIds());
+            assertArrayEquals(new String[] { "integer", "string", "string" }, reader.getColumnTypes());
+        }
+    }
+
+    @Test
+    public void shouldReadAllRows() throws Exception {
+        try (ColumnarReader reader = new ColumnarReader(file)) {
+            long count = 0;
+            while (reader.hasNext()) {
+                final DataSetRow row = reader.next();
+                count++;
+                assertEquals(Long.valueOf(count), row.getTdpId());
+                assertEquals(row((int) count).values(), row.values());
+            }
+            assertEquals(ROW_COUNT, count);
+        }
+    }
+
+    @Test
+    public void shouldStreamRows() throws Exception {
+        final ColumnarReader reader = new ColumnarReader(file);
+        assertEquals(ROW_COUNT, reader.stream().count());
+    }
+
+    @Test
+    public void shouldSeekToRow() throws Exception {
+        try (ColumnarReader reader = new ColumnarReader(file)) {
+            final long rowId = ColumnarFormat.ROW_GROUP_SIZE + 5;
+            assertTrue(reader.seek(rowId));
+            final DataSetRow row = reader.next();
+            assertEquals(Long.valueOf(rowId), row.getTdpId());
+            assertEquals(String.valueOf(rowId), row.get("0000"));
+            // Seek backward
+            assertTrue(reader.seek(2));
+            assertEquals("2", reader.next().get("0000"));
+            // Out of bounds
+            assertFalse(reader.seek(ROW_COUNT + 1));
+        }
+    }
+
+    @Test
+    public void shouldStreamSelectedRows() throws Exception {
+        // Range over 2 row groups
+        final long from = ColumnarFormat.ROW_GROUP_SIZE - 1;
+        final List<String> ids = new ColumnarReader(file).stream(from, from + 2) //
+                .map(row -> row.getTdpId() + ":" + row.get("0000")) //
+                .collect(Collectors.toList());
+        assertEquals(Arrays.asList(from + ":" + from, (from + 1) + ":" + (from + 1), (from + 2) + ":" + (from + 2)), ids);
+        // Range ending after last row
+        assertEquals(2, new ColumnarReader(file).stream(ROW_COUNT - 1, ROW_COUNT + 5).count());
+        // Range starting after last row
+        assertEquals(0, new ColumnarReader(file).stream(ROW_COUNT + 1, ROW_COUNT + 5).count());
+    }
+
+    @Test
+    public void shouldReadEmptyContent() throws Exception {
+        try (ColumnarWriter writer = new ColumnarWriter(new FileOutputStream(file), columns, "empty")) {
+            // No row
+        }
+        try (ColumnarReader reader = new ColumnarReader(file)) {
+            assertFalse(reader.hasNext());
+            assertFalse(reader.seek(1));
+        }
+    }
+}
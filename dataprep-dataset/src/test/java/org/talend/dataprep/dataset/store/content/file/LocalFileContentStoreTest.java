@@ -0,0 +1,137 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.dataset.store.content.file;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.dataset.DataSetBaseTest;
+
+/**
+ * Unit test for the shared contents of the {@link LocalFileContentStore}.
+ */
+public class LocalFileContentStoreTest extends DataSetBaseTest {
+
+    @Value("${dataset.content.store.file.location}")
+    private String storeLocation;
+
+    @Test
+    public void identicalContentsShareBlob() throws Exception {
+        // given
+        final DataSetMetadata first = metadataBuilder.metadata().id("first").build();
+        final DataSetMetadata second = metadataBuilder.metadata().id("second").build();
+
+        // when
+        contentStore.storeAsRaw(first, content("a,b\n1,2"));
+        contentStore.storeAsRaw(second, content("a,b\n1,2"));
+
+        // then
+        assertThat(getBlobCount(), is(1));
+        assertThat(read(first), is("a,b\n1,2"));
+        assertThat(read(second), is("a,b\n1,2"));
+    }
+
+    @Test
+    public void storeDoesNotChangeSharedContent() throws Exception {
+        // given
+        final DataSetMetadata first = metadataBuilder.metadata().id("first").build();
+        final DataSetMetadata second = metadataBuilder.metadata().id("second").build();
+        contentStore.storeAsRaw(first, content("a,b\n1,2"));
+        contentStore.copy(first, second);
+
+        // when
+        contentStore.storeAsRaw(first, content("a,b\n3,4"));
+
+        // then
+        assertThat(getBlobCount(), is(2));
+        assertThat(read(first), is("a,b\n3,4"));
+        assertThat(read(second), is("a,b\n1,2"));
+    }
+
+    @Test
+    public void copyRemainsAfterOriginalDelete() throws Exception {
+        // given
+        final DataSetMetadata original = metadataBuilder.metadata().id("original").build();
+        final DataSetMetadata copy = metadataBuilder.metadata().id("copy").build();
+        contentStore.storeAsRaw(original, content("a,b\n1,2"));
+        contentStore.copy(original, copy);
+        assertThat(getBlobCount(), is(1));
+
+        // when
+        contentStore.delete(original);
+
+        // then
+        assertThat(getBlobCount(), is(1));
+        assertThat(read(copy), is("a,b\n1,2"));
+
+        // when
+        contentStore.delete(copy);
+
+        // then
+        assertThat(getBlobCount(), is(0));
+    }
+
+    @Test
+    public void onlyOldUnreferencedBlobsAreReclaimed() throws Exception {
+        // given an unreferenced blob and the temporary file of an upload in progress
+        final File blobs = new File(storeLocation, "blobs");
+        final File unreferenced = new File(blobs, "unreferenced");
+        final File upload = new File(blobs, "upload.tmp");
+        FileUtils.touch(unreferenced);
+        FileUtils.touch(upload);
+
+        // when (files are recent)
+        ((LocalFileContentStore) contentStore).init();
+
+        // then
+        assertThat(unreferenced.exists(), is(true));
+        assertThat(upload.exists(), is(true));
+
+        // when (files are older than reclaim delay)
+        final long old = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(1);
+        assertThat(unreferenced.setLastModified(old), is(true));
+        assertThat(upload.setLastModified(old), is(true));
+        ((LocalFileContentStore) contentStore).init();
+
+        // then
+        assertThat(unreferenced.exists(), is(false));
+        assertThat(upload.exists(), is(false));
+    }
+
+    private static InputStream content(String content) {
+        return new ByteArrayInputStream(content.getBytes());
+    }
+
+    private String read(DataSetMetadata metadata) throws IOException {
+        try (InputStream content = contentStore.getAsRaw(metadata)) {
+            return IOUtils.toString(content);
+        }
+    }
+
+    private int getBlobCount() {
+        final String[] blobs = new File(storeLocation, "blobs").list();
+        return blobs == null ? 0 : blobs.length;
+    }
+}
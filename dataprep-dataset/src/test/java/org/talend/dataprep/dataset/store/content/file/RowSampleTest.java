@@ -0,0 +1,82 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.dataset.store.content.file;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.DataSetRow;
+
+/**
+ * Unit test for {@link RowSample}.
+ */
+public class RowSampleTest {
+
+    private static void addRows(RowSample sample, int count) {
+        // same instance for all rows, as content streams do
+        final DataSetRow row = new DataSetRow(new HashMap<>());
+        for (int i = 1; i <= count; i++) {
+            row.setTdpId((long) i);
+            row.set("0000", String.valueOf(i));
+            sample.add(row);
+        }
+    }
+
+    @Test
+    public void shouldKeepAllRowsOfSmallContent() throws Exception {
+        // given
+        final RowSample sample = new RowSample(10, 0);
+
+        // when
+        addRows(sample, 5);
+
+        // then
+        final List<DataSetRow> rows = sample.getRows();
+        assertEquals(5, rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            assertEquals(Long.valueOf(i + 1), rows.get(i).getTdpId());
+            assertEquals(String.valueOf(i + 1), rows.get(i).get("0000"));
+        }
+    }
+
+    @Test
+    public void shouldSampleWholeContent() throws Exception {
+        // given
+        final RowSample sample = new RowSample(100, 0);
+
+        // when
+        addRows(sample, 10000);
+
+        // then
+        final List<DataSetRow> rows = sample.getRows();
+        assertEquals(100, rows.size());
+        assertEquals(10000, sample.getCount());
+        long previous = 0;
+        int inSecondHalf = 0;
+        for (DataSetRow row : rows) {
+            assertTrue(row.getTdpId() > previous);
+            assertEquals(String.valueOf(row.getTdpId()), row.get("0000"));
+            previous = row.getTdpId();
+            if (row.getTdpId() > 5000) {
+                inSecondHalf++;
+            }
+        }
+        // not only the head of content
+        assertTrue(inSecondHalf > 25);
+    }
+}
@@ -0,0 +1,171 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.dataset.store.metadata.file;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.talend.dataprep.api.dataset.DataSetGovernance.Certification;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.dataset.DataSetBaseTest;
+import org.talend.dataprep.dataset.store.metadata.DataSetMetadataRepositoryTestUtils;
+
+/**
+ * Unit/integration test for the indexed file system dataset metadata repository.
+ */
+@TestPropertySource(properties = { "dataset.metadata.store=indexed-file",
+        "dataset.metadata.store.file.location=target/test/store/indexed-metadata", "dataset.metadata.store.journal.size=10" })
+public class IndexedFileSystemDataSetMetadataRepositoryTest extends DataSetBaseTest {
+
+    /** Where to store the dataset metadata. */
+    @Value("${dataset.metadata.store.file.location}")
+    private String storeLocation;
+
+    /** The repository to test. */
+    @Autowired
+    private IndexedFileSystemDataSetMetadataRepository repository;
+
+    /** DataPrep jackson ready to use builder. */
+    @Autowired
+    Jackson2ObjectMapperBuilder builder;
+
+    @After
+    public void clear() {
+        repository.clear();
+    }
+
+    @Test
+    public void getShouldReturnSameMetadataThatWasAdded() throws IOException {
+        // given
+        final DataSetMetadata expected = getMetadata("456789");
+
+        // when
+        repository.add(expected);
+        final DataSetMetadata actual = repository.get(expected.getId());
+
+        // then
+        actual.setOwner(null); // for simplicity
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void shouldNotModifyIndexedMetadata() throws IOException {
+        // given
+        repository.add(getMetadata("1"));
+
+        // when
+        repository.get("1").setName("modified");
+
+        // then
+        assertNotEquals("modified", repository.get("1").getName());
+    }
+
+    @Test
+    public void shouldListByIndexedKeys() throws IOException {
+        // given
+        final DataSetMetadata certified = getMetadata("1");
+        certified.setName("Customers");
+        certified.getGovernance().setCertificationStep(Certification.CERTIFIED);
+        repository.add(certified);
+        final DataSetMetadata importing = getMetadata("2");
+        importing.setName("Orders");
+        importing.getLifecycle().importing(true);
+        repository.add(importing);
+
+        // then
+        assertEquals(ids("1"), ids(repository.listByName("customers")));
+        assertEquals(ids(), ids(repository.listByName("Custom")));
+        assertEquals(ids("1"), ids(repository.listByCertification(Certification.CERTIFIED)));
+        assertEquals(ids("1"), ids(repository.listImported()));
+        assertEquals(ids("1", "2"), ids(repository.listByAuthor(certified.getAuthor())));
+
+        // when
+        certified.getGovernance().setCertificationStep(Certification.NONE);
+        repository.add(certified);
+
+        // then
+        assertEquals(ids(), ids(repository.listByCertification(Certification.CERTIFIED)));
+    }
+
+    @Test
+    public void shouldRebuildIndexFromFilesAndJournal() throws Exception {
+        // given (more changes than journal size, so some metadata are written to files, others are in journal)
+        for (int i = 1; i <= 15; i++) {
+            repository.add(getMetadata(String.valueOf(i)));
+        }
+        repository.remove("3");
+        repository.remove("12");
+        // incomplete record at end of journal (crash while writing)
+        try (RandomAccessFile journal = new RandomAccessFile(new File(storeLocation, ".journal"), "rw")) {
+            journal.seek(journal.length());
+            journal.write(new byte[] { 'P', 0, 0 });
+        }
+
+        // when
+        final IndexedFileSystemDataSetMetadataRepository restarted = new IndexedFileSystemDataSetMetadataRepository();
+        ReflectionTestUtils.setField(restarted, "mapper", mapper);
+        ReflectionTestUtils.setField(restarted, "metadataBuilder", metadataBuilder);
+        ReflectionTestUtils.setField(restarted, "storeLocation", storeLocation);
+        ReflectionTestUtils.setField(restarted, "journalSize", 10);
+        ReflectionTestUtils.invokeMethod(restarted, "init");
+
+        // then
+        assertEquals(13, restarted.size());
+        assertNull(restarted.get("3"));
+        assertNull(restarted.get("12"));
+        assertEquals("15", restarted.get("15").getId());
+        assertEquals(repository.get("14"), restarted.get("14"));
+    }
+
+    @Test
+    public void shouldOnlyReturnDataSetWithSimilarSchema() {
+        DataSetMetadataRepositoryTestUtils.ensureThatOnlyCompatibleDataSetsAreReturned(repository, metadataBuilder);
+    }
+
+    private static List<String> ids(String... ids) {
+        return Arrays.asList(ids);
+    }
+
+    private static List<String> ids(Iterable<DataSetMetadata> metadata) {
+        return StreamSupport.stream(metadata.spliterator(), false).map(DataSetMetadata::getId).sorted()
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Return a dataset metadata with the given id.
+     *
+     * @param id the wanted dataset id.
+     * @return a dataset metadata with the given id.
+     * @throws IOException if an error occurs reading the json source file.
+     */
+    public DataSetMetadata getMetadata(String id) throws IOException {
+        DataSetMetadata original = builder.build().readerFor(DataSetMetadata.class)
+                .readValue(this.getClass().getResourceAsStream("dataset.json"));
+        return metadataBuilder.metadata().copy(original).id(id).build();
+    }
+}
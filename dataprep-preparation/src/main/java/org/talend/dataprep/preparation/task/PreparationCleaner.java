@@ -13,36 +13,48 @@
 
 package org.talend.dataprep.preparation.task;
 
-import static java.util.stream.Collectors.*;
+import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
 
-import java.util.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
-import java.util.function.Predicate;
 
+import javax.annotation.PostConstruct;
 import javax.annotation.Resource;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.talend.dataprep.api.preparation.Preparation;
-import org.talend.dataprep.api.preparation.PreparationUtils;
 import org.talend.dataprep.api.preparation.Step;
 import org.talend.dataprep.preparation.store.PreparationRepository;
 
 /**
  * Scheduler that clean the repository.
- * It removes all the steps that do NOT belong to any preparation
+ * It removes all the steps that do NOT belong to any preparation. Steps that belong to a preparation are known from
+ * {@link StepReferences}, so the whole repository is only read when orphan steps are about to be removed.
  */
 @Component
 @EnableScheduling
 public class PreparationCleaner {
 
+    /** This class' logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(PreparationCleaner.class);
+
     @Autowired
     private PreparationRepository repository;
 
-    private Map<Step, Integer> orphansStepsTags = new HashMap<>();
+    @Autowired
+    private StepReferences references;
+
+    /** Number of consecutive checks each orphan step was found orphan, by step id. */
+    private Map<String, Integer> orphansStepsTags = new HashMap<>();
 
     @Value("${preparation.store.remove.hours}")
     private int orphanTime;
@@ -51,56 +63,50 @@ public class PreparationCleaner {
     @Resource(name = "rootStep")
     private Step rootStep;
 
-    @Autowired
-    private PreparationUtils preparationUtils;
-
     /**
-     * Get all the step ids that belong to a preparation
-     * @return The step ids
+     * Computes the step references from the repository content (done at startup and before steps are removed,
+     * references are maintained on each repository change in between).
      */
-    private Set<String> getPreparationStepIds() {
-        return repository.listAll(Preparation.class)
-                .stream()
-                .flatMap(prep -> preparationUtils.listStepsIds(prep.getHeadId(), repository).stream())
-                .collect(toSet());
-    }
-
-    /**
-     * Get current steps that has no preparation
-     * @return The orphan steps
-     */
-    private List<Step> getCurrentOrphanSteps() {
-        final Collection<Step> steps = repository.listAll(Step.class);
-        final Set<String> preparationStepIds = getPreparationStepIds();
-
-        final Predicate<Step> isNotRootStep = step -> !rootStep.getId().equals(step.getId());
-        final Predicate<Step> isOrphan = step -> !preparationStepIds.contains(step.getId());
-
-        return steps.stream()
-                .filter(isNotRootStep)
-                .filter(isOrphan)
-                .collect(toList());
+    @PostConstruct
+    public void init() {
+        final long start = System.currentTimeMillis();
+        references.init(repository.listAll(Step.class), repository.listAll(Preparation.class));
+        LOGGER.info("Step references computed in {} ms.", System.currentTimeMillis() - start);
     }
 
     /**
      * Tag the orphans steps.
-     * @param currentOrphans The current orphans
+     * @param currentOrphans The current orphans ids
      */
-    private void updateOrphanTags(final List<Step> currentOrphans) {
+    private void updateOrphanTags(final Set<String> currentOrphans) {
+        currentOrphans.remove(rootStep.id());
         orphansStepsTags = currentOrphans.stream()
-                .collect(toMap(Function.identity(), step -> {
-                    final Integer tag = orphansStepsTags.get(step);
+                .collect(toMap(Function.identity(), id -> {
+                    final Integer tag = orphansStepsTags.get(id);
                     return tag == null ? 0 : tag + 1;
                 }));
     }
 
     /**
-     * Remove all the orphan steps that is orphans since {preparation.store.remove.hours} hours
+     * Remove all the orphan steps that is orphans since {preparation.store.remove.hours} hours. References are only
+     * maintained on the changes made by this instance, so they are computed again from the repository (that may be
+     * shared with other instances) before any step is removed: a step is only removed if it is still an orphan.
      */
     private void cleanSteps() {
-        orphansStepsTags.entrySet().stream()
+        final Set<String> expiredSteps = orphansStepsTags.entrySet().stream()
                 .filter(entry -> entry.getValue() >= orphanTime)
-                .forEach(entry -> repository.remove(entry.getKey()));
+                .map(Map.Entry::getKey)
+                .collect(toSet());
+        if (expiredSteps.isEmpty()) {
+            return;
+        }
+        init();
+        final Set<String> orphans = references.getOrphans();
+        expiredSteps.stream()
+                .filter(orphans::contains)
+                .map(id -> repository.get(id, Step.class))
+                .filter(step -> step != null)
+                .forEach(repository::remove);
     }
 
     /**
@@ -108,8 +114,7 @@ public class PreparationCleaner {
      */
     @Scheduled(fixedDelay = 60000)
     public void removeOrphanSteps() {
-        final List<Step> currentOrphans = getCurrentOrphanSteps();
-        updateOrphanTags(currentOrphans);
+        updateOrphanTags(references.getOrphans());
         cleanSteps();
     }
 }
@@ -0,0 +1,160 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.preparation.task;
+
+import java.util.*;
+
+import org.springframework.stereotype.Component;
+import org.talend.dataprep.api.preparation.Identifiable;
+import org.talend.dataprep.api.preparation.Preparation;
+import org.talend.dataprep.api.preparation.Step;
+
+/**
+ * Keeps track of the steps that belong to a preparation, so orphan steps are known without reading the whole
+ * repository.
+ * <p>
+ * Each step has a reference count: the number of preparations whose head is this step plus the number of its child
+ * steps that are referenced. A step is referenced as long as it is in the history of a preparation, and when the count
+ * of a step drops to 0, the count of its parent is decremented (and so on). Steps with no reference are kept as orphan
+ * candidates, so finding orphans only costs the number of steps that were unreferenced since last check.
+ * <p>
+ * The repository is read at startup and before orphan steps are removed (see {@link PreparationCleaner}), counts are
+ * maintained in between as preparations and steps are added to / removed from the repository by this instance (see
+ * {@link StepReferencesAspect}).
+ */
+@Component
+public class StepReferences {
+
+    /** Parent step id by step id. */
+    private final Map<String, String> parents = new HashMap<>();
+
+    /** Reference count by step id (steps with no reference are not in map). */
+    private final Map<String, Integer> references = new HashMap<>();
+
+    /** Head step id by preparation id. */
+    private final Map<String, String> heads = new HashMap<>();
+
+    /** Steps whose reference count dropped to 0 (some may have been referenced again since then). */
+    private final Set<String> candidates = new HashSet<>();
+
+    /**
+     * Computes all references from scratch.
+     *
+     * @param steps All the steps of the repository.
+     * @param preparations All the preparations of the repository.
+     */
+    public synchronized void init(Collection<Step> steps, Collection<Preparation> preparations) {
+        reset();
+        steps.forEach(this::add);
+        preparations.forEach(this::add);
+    }
+
+    /**
+     * @param object An object added (or updated) in repository.
+     */
+    public synchronized void add(Identifiable object) {
+        if (object instanceof Step) {
+            add((Step) object);
+        } else if (object instanceof Preparation) {
+            add((Preparation) object);
+        }
+    }
+
+    /**
+     * @param object An object removed from repository.
+     */
+    public synchronized void remove(Identifiable object) {
+        if (object instanceof Step) {
+            final String id = object.id();
+            final String parent = parents.remove(id);
+            if (references.remove(id) != null) {
+                decrement(parent);
+            }
+            candidates.remove(id);
+        } else if (object instanceof Preparation) {
+            decrement(heads.remove(object.id()));
+        }
+    }
+
+    /**
+     * Forgets all references (the repository was cleared).
+     */
+    public synchronized void reset() {
+        parents.clear();
+        references.clear();
+        heads.clear();
+        candidates.clear();
+    }
+
+    /**
+     * @return The ids of the steps that are known in repository but belong to no preparation.
+     */
+    public synchronized Set<String> getOrphans() {
+        candidates.removeIf(id -> references.containsKey(id) || !parents.containsKey(id));
+        return new HashSet<>(candidates);
+    }
+
+    private void add(Step step) {
+        final String id = step.id();
+        if (id == null || parents.containsKey(id)) {
+            return;
+        }
+        final String parent = step.getParent();
+        parents.put(id, parent);
+        if (references.containsKey(id)) {
+            // a preparation was added before this step: reference its history
+            increment(parent);
+        } else {
+            candidates.add(id);
+        }
+    }
+
+    private void add(Preparation preparation) {
+        final String head = preparation.getHeadId();
+        final String previous = heads.put(preparation.id(), head);
+        if (!Objects.equals(head, previous)) {
+            // increment first, so the history the previous and the new head share is never unreferenced
+            increment(head);
+            decrement(previous);
+        }
+    }
+
+    private void increment(String stepId) {
+        String current = stepId;
+        while (current != null) {
+            if (references.merge(current, 1, Integer::sum) > 1) {
+                return; // history of step is already referenced
+            }
+            current = parents.get(current);
+        }
+    }
+
+    private void decrement(String stepId) {
+        String current = stepId;
+        while (current != null) {
+            final Integer count = references.get(current);
+            if (count == null) {
+                return;
+            } else if (count > 1) {
+                references.put(current, count - 1);
+                return;
+            }
+            references.remove(current);
+            if (parents.containsKey(current)) {
+                candidates.add(current);
+            }
+            current = parents.get(current);
+        }
+    }
+}
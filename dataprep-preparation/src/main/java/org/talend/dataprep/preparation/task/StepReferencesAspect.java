@@ -0,0 +1,47 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.preparation.task;
+
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.talend.dataprep.api.preparation.Identifiable;
+
+/**
+ * Maintains {@link StepReferences} on each change of the preparation repository, whoever changes it (append, update
+ * or deletion of steps, move of a preparation head, deletion of a preparation...).
+ */
+@Configuration
+@Aspect
+class StepReferencesAspect {
+
+    @Autowired
+    private StepReferences references;
+
+    @AfterReturning("execution(* org.talend.dataprep.preparation.store.PreparationRepository.add(..)) && args(object)")
+    public void added(Identifiable object) {
+        references.add(object);
+    }
+
+    @AfterReturning("execution(* org.talend.dataprep.preparation.store.PreparationRepository.remove(..)) && args(object)")
+    public void removed(Identifiable object) {
+        references.remove(object);
+    }
+
+    @AfterReturning("execution(* org.talend.dataprep.preparation.store.PreparationRepository.clear())")
+    public void cleared() {
+        references.reset();
+    }
+}
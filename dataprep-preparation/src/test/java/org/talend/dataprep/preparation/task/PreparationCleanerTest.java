@@ -32,6 +32,9 @@ public class PreparationCleanerTest extends BasePreparationTest {
     @Autowired
     private PreparationCleaner cleaner;
 
+    @Autowired
+    private StepReferences references;
+
     @Autowired
     ConfigurableEnvironment environment;
 
@@ -101,6 +104,30 @@ public class PreparationCleanerTest extends BasePreparationTest {
         assertNotNull(repository.get(thirdStep.getId(), Step.class));
     }
 
+    @Test
+    public void removeOrphanSteps_should_not_remove_step_referenced_by_another_instance() {
+        //given
+        final String version = versionService.version().getVersionId();
+        final Step firstStep = new Step(rootStep.getId(), "first", version);
+        final Step secondStep = new Step(firstStep.getId(), "second", version);
+        final Preparation preparation = new Preparation("#789", "1", secondStep.id(), version);
+
+        repository.add(firstStep);
+        repository.add(secondStep);
+        repository.add(preparation);
+        // preparation head was moved by another instance: it is unknown from the references of this instance
+        references.remove(preparation);
+
+        //when
+        cleaner.removeOrphanSteps(); //0 hour
+        cleaner.removeOrphanSteps(); //1 hour
+        cleaner.removeOrphanSteps(); //2 hour
+
+        //then
+        assertNotNull(repository.get(firstStep.getId(), Step.class));
+        assertNotNull(repository.get(secondStep.getId(), Step.class));
+    }
+
     @Test
     public void removeOrphanSteps_should_not_remove_root_step() {
         //given
@@ -0,0 +1,111 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.preparation.task;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.talend.dataprep.api.preparation.Preparation;
+import org.talend.dataprep.api.preparation.Step;
+
+/**
+ * Unit test for {@link StepReferences}.
+ */
+public class StepReferencesTest {
+
+    private StepReferences references;
+
+    private Step first;
+
+    private Step second;
+
+    private Step third;
+
+    @Before
+    public void setUp() throws Exception {
+        references = new StepReferences();
+        first = new Step(null, "first", "1.0");
+        second = new Step(first.id(), "second", "1.0");
+        third = new Step(second.id(), "third", "1.0");
+    }
+
+    @Test
+    public void shouldReferenceHistoryOfPreparationHead() throws Exception {
+        // when
+        references.init(asList(first, second, third), singletonList(new Preparation("#1", "ds", second.id(), "1.0")));
+
+        // then
+        assertThat(references.getOrphans(), containsInAnyOrder(third.id()));
+    }
+
+    @Test
+    public void shouldReferenceStepsAddedAfterPreparation() throws Exception {
+        // given
+        references.init(emptyList(), emptyList());
+
+        // when
+        references.add(new Preparation("#1", "ds", third.id(), "1.0"));
+        references.add(third);
+        references.add(second);
+        references.add(first);
+
+        // then
+        assertThat(references.getOrphans(), empty());
+    }
+
+    @Test
+    public void shouldUnreferenceStepsWhenHeadMoves() throws Exception {
+        // given
+        final Preparation preparation = new Preparation("#1", "ds", third.id(), "1.0");
+        references.init(asList(first, second, third), singletonList(preparation));
+
+        // when
+        preparation.setHeadId(first.id());
+        references.add(preparation);
+
+        // then
+        assertThat(references.getOrphans(), containsInAnyOrder(second.id(), third.id()));
+    }
+
+    @Test
+    public void shouldKeepStepsSharedByPreparations() throws Exception {
+        // given
+        final Preparation preparation = new Preparation("#1", "ds", third.id(), "1.0");
+        references.init(asList(first, second, third), asList(preparation, new Preparation("#2", "ds", second.id(), "1.0")));
+
+        // when
+        references.remove(preparation);
+
+        // then
+        assertThat(references.getOrphans(), containsInAnyOrder(third.id()));
+    }
+
+    @Test
+    public void shouldForgetRemovedSteps() throws Exception {
+        // given
+        references.init(asList(first, second, third), singletonList(new Preparation("#1", "ds", first.id(), "1.0")));
+
+        // when
+        references.remove(third);
+
+        // then
+        assertThat(references.getOrphans(), containsInAnyOrder(second.id()));
+    }
+}
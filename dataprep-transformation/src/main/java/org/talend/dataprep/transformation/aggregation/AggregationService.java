@@ -13,9 +13,18 @@
 
 package org.talend.dataprep.transformation.aggregation;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.talend.dataprep.api.dataset.DataSet;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
@@ -26,22 +35,30 @@ import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.CommonErrorCodes;
 import org.talend.dataprep.transformation.aggregation.api.AggregationParameters;
 import org.talend.dataprep.transformation.aggregation.api.AggregationResult;
-import org.talend.dataprep.transformation.aggregation.operation.Aggregator;
-import org.talend.dataprep.transformation.aggregation.operation.AggregatorFactory;
+import org.talend.dataprep.transformation.aggregation.operation.GroupAggregator;
 
 /**
  * Service in charge of... aggregation !
+ * <p>
+ * All the operations are computed in a single scan of the records. Records are read (and filtered) by the calling
+ * thread, then batches of projected records are aggregated by partitions running in parallel and merged at the end.
  */
 @Service
 public class AggregationService {
 
-    /** Aggregator factory. */
-    @Autowired
-    private AggregatorFactory factory;
+    /** This class' logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(AggregationService.class);
+
+    /** Number of records in a batch sent to a partition. */
+    private static final int BATCH_SIZE = 4096;
 
     @Autowired
     private FilterService filterService;
 
+    /** Number of partitions used to aggregate records (0 means one per available processor). */
+    @Value("${aggregation.partitions:0}")
+    private int partitions;
+
     /**
      * Process an aggregation.
      *
@@ -56,10 +73,13 @@ public class AggregationService {
             throw new TDPException(CommonErrorCodes.BAD_AGGREGATION_PARAMETERS);
         }
 
-        AggregationResult result = new AggregationResult(parameters.getOperations().get(0).getOperator());
-
         // get the aggregator
-        Aggregator aggregator = factory.get(parameters);
+        final GroupAggregator aggregator;
+        try {
+            aggregator = new GroupAggregator(parameters.getGroupBy(), parameters.getOperations());
+        } catch (IllegalArgumentException e) {
+            throw new TDPException(CommonErrorCodes.BAD_AGGREGATION_PARAMETERS, e);
+        }
 
         // Build optional filter
         final DataSetMetadata metadata = dataset.getMetadata();
@@ -67,11 +87,86 @@ public class AggregationService {
         final Predicate<DataSetRow> filter = filterService.build(parameters.getFilter(), rowMetadata);
 
         // process the dataset
-        dataset.getRecords().filter(filter).forEach(row -> aggregator.accept(row, result));
+        final Stream<DataSetRow> records = dataset.getRecords().filter(filter);
+        final int partitionCount = partitions > 0 ? partitions : Runtime.getRuntime().availableProcessors();
+        if (partitionCount <= 1) {
+            records.forEach(aggregator::accept);
+        } else {
+            final Partitions partitioned = new Partitions(aggregator, partitionCount);
+            records.forEach(partitioned);
+            partitioned.merge();
+        }
+        return aggregator.getResult();
+    }
+
+    /**
+     * Dispatch batches of projected records to partitions (round robin), a partition aggregates one batch at a time.
+     */
+    private static class Partitions implements Consumer<DataSetRow> {
+
+        /** The aggregator to merge partitions into. */
+        private final GroupAggregator aggregator;
+
+        /** The partitions. */
+        private final GroupAggregator[] partitions;
 
-        // Normalize result (perform clean / optimization now that all input was processed).
-        aggregator.normalize(result);
+        /** The batch being processed by each partition. */
+        private final CompletableFuture<?>[] tasks;
 
-        return result;
+        /** The current batch. */
+        private List<String[]> batch = new ArrayList<>(BATCH_SIZE);
+
+        /** Number of batches sent so far. */
+        private int batches;
+
+        private Partitions(GroupAggregator aggregator, int count) {
+            this.aggregator = aggregator;
+            this.partitions = new GroupAggregator[count];
+            this.tasks = new CompletableFuture<?>[count];
+            for (int i = 0; i < count; i++) {
+                partitions[i] = aggregator.newPartition();
+                tasks[i] = CompletableFuture.completedFuture(null);
+            }
+        }
+
+        @Override
+        public void accept(DataSetRow row) {
+            batch.add(aggregator.project(row));
+            if (batch.size() == BATCH_SIZE) {
+                send();
+            }
+        }
+
+        /**
+         * Send the current batch to the next partition, once this partition is done with its previous batch.
+         */
+        private void send() {
+            final int index = batches++ % partitions.length;
+            final GroupAggregator partition = partitions[index];
+            final List<String[]> toAggregate = batch;
+            join(tasks[index]);
+            tasks[index] = CompletableFuture.runAsync(() -> toAggregate.forEach(partition::accept));
+            batch = new ArrayList<>(BATCH_SIZE);
+        }
+
+        /**
+         * Aggregate the remaining records, wait for all partitions and merge them in the aggregator.
+         */
+        private void merge() {
+            batch.forEach(aggregator::accept);
+            for (int i = 0; i < partitions.length; i++) {
+                join(tasks[i]);
+                aggregator.merge(partitions[i]);
+            }
+            LOGGER.debug("{} batch(es) aggregated in {} partition(s).", batches, partitions.length);
+        }
+
+        private static void join(CompletableFuture<?> task) {
+            try {
+                task.join();
+            } catch (CompletionException e) {
+                throw new TDPException(CommonErrorCodes.UNABLE_TO_AGGREGATE, e.getCause());
+            }
+        }
     }
 }
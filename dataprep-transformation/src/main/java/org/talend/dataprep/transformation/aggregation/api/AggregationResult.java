@@ -13,7 +13,9 @@
 
 package org.talend.dataprep.transformation.aggregation.api;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -27,9 +29,12 @@ import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 @JsonSerialize(using = AggregationResultSerializer.class)
 public class AggregationResult {
 
-    /** The aggregation operator. */
+    /** The aggregation operator (of the first operation). */
     private Operator operator;
 
+    /** The name of each operation value in the result. */
+    private List<String> names;
+
     /** Where all the results are stored. */
     private Map<String, WorkingContext> results;
 
@@ -39,8 +44,19 @@ public class AggregationResult {
      * @param operator the aggregation operator.
      */
     public AggregationResult(Operator operator) {
+        this(operator, Collections.singletonList(operator.name()));
+    }
+
+    /**
+     * Constructor for a result of several operations.
+     *
+     * @param operator the aggregation operator of the first operation.
+     * @param names the name of each operation value (see {@link WorkingContext#getValue(int)}).
+     */
+    public AggregationResult(Operator operator, List<String> names) {
         results = new HashMap<>();
         this.operator = operator;
+        this.names = names;
     }
 
     /**
@@ -78,6 +94,13 @@ public class AggregationResult {
         return operator;
     }
 
+    /**
+     * @return the name of each operation value.
+     */
+    public List<String> getNames() {
+        return names;
+    }
+
     /**
      * @return the result entries.
      */
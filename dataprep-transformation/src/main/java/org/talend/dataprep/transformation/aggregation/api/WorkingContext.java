@@ -23,4 +23,20 @@ public interface WorkingContext {
      */
     double getValue();
 
+    /**
+     * @param index the index of the operation in the aggregation result names.
+     * @return the working context value for the given operation, {@link Double#NaN} if the operation has no value.
+     */
+    default double getValue(int index) {
+        return getValue();
+    }
+
+    /**
+     * @return the group by values if the result is grouped by several columns, <code>null</code> if the result key is
+     * the only group by value.
+     */
+    default String[] getGroup() {
+        return null;
+    }
+
 }
@@ -37,19 +37,42 @@ public class AggregationResultSerializer extends JsonSerializer<AggregationResul
     @Override
     public void serialize(AggregationResult result, JsonGenerator gen, SerializerProvider provider) throws IOException {
 
-        // sort the results first
-        Comparator<Map.Entry<String, WorkingContext>> comparator = (e1, e2) -> Double.compare(e2.getValue().getValue(),
-                e1.getValue().getValue());
+        // sort the results first (entries without value for the first operation last)
+        Comparator<Map.Entry<String, WorkingContext>> comparator = (e1, e2) -> {
+            final double v1 = e1.getValue().getValue();
+            final double v2 = e2.getValue().getValue();
+            if (Double.isNaN(v1) || Double.isNaN(v2)) {
+                return Boolean.compare(Double.isNaN(v1), Double.isNaN(v2));
+            }
+            return Double.compare(v2, v1);
+        };
         final List<Map.Entry<String, WorkingContext>> entries = result.entries().stream().sorted(comparator)
                 .collect(Collectors.toList());
 
         // then write it
+        final List<String> names = result.getNames();
         gen.writeStartArray();
         for (Map.Entry<String, WorkingContext> entry : entries) {
-            String key = entry.getKey();
+            final WorkingContext context = entry.getValue();
             gen.writeStartObject();
-            gen.writeStringField("data", key);
-            gen.writeNumberField(result.getOperator().name(), entry.getValue().getValue());
+            final String[] group = context.getGroup();
+            if (group == null) {
+                gen.writeStringField("data", entry.getKey());
+            } else {
+                gen.writeArrayFieldStart("data");
+                for (String value : group) {
+                    gen.writeString(value);
+                }
+                gen.writeEndArray();
+            }
+            for (int i = 0; i < names.size(); i++) {
+                final double value = context.getValue(i);
+                if (Double.isNaN(value)) {
+                    gen.writeNullField(names.get(i));
+                } else {
+                    gen.writeNumberField(names.get(i), value);
+                }
+            }
             gen.writeEndObject();
         }
         gen.writeEndArray();
@@ -0,0 +1,370 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.transformation.aggregation.operation;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.commons.lang.StringUtils;
+import org.talend.dataprep.transformation.aggregation.api.AggregationOperation;
+
+/**
+ * State of one aggregation operation for all the groups, stored in primitive arrays indexed by group id (see
+ * {@link GroupTable}).
+ */
+abstract class Accumulator {
+
+    /**
+     * Create the accumulator for the given operation.
+     *
+     * @param operation the aggregation operation.
+     * @param capacity the initial number of groups.
+     * @return the accumulator of the operation.
+     */
+    static Accumulator of(AggregationOperation operation, int capacity) {
+        switch (operation.getOperator()) {
+        case COUNT:
+            return new Count(capacity, StringUtils.isEmpty(operation.getColumnId()));
+        case MIN:
+            return new Min(capacity);
+        case MAX:
+            return new Max(capacity);
+        case AVERAGE:
+            return new Average(capacity);
+        case SUM:
+            return new Sum(capacity);
+        case DISTINCT_COUNT:
+            return new DistinctCount(capacity);
+        case PERCENTILE:
+            final Double percentile = operation.getPercentile();
+            return new Percentile(capacity, percentile == null ? 50d : percentile);
+        default:
+            throw new IllegalArgumentException("Operation '" + operation.getOperator() + "' not supported");
+        }
+    }
+
+    /**
+     * @param value the value to parse.
+     * @return the value as number or {@link Double#NaN} if the value is empty or not a number.
+     */
+    static double parse(String value) {
+        if (StringUtils.isEmpty(value)) {
+            return Double.NaN;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Make room for the given number of groups.
+     *
+     * @param capacity the new number of groups.
+     */
+    abstract void resize(int capacity);
+
+    /**
+     * Accumulate the value in the group.
+     *
+     * @param group the group id.
+     * @param value the value to accumulate (may be null or empty).
+     */
+    abstract void accept(int group, String value);
+
+    /**
+     * Merge a group of another accumulator of the same operation into a group of this one.
+     *
+     * @param group the group id in this accumulator.
+     * @param other the other accumulator.
+     * @param otherGroup the group id in the other accumulator.
+     */
+    abstract void merge(int group, Accumulator other, int otherGroup);
+
+    /**
+     * @param group the group id.
+     * @return the aggregated value of the group or {@link Double#NaN} if the group has no value.
+     */
+    abstract double getValue(int group);
+
+    /**
+     * Count of the non empty values (or of the rows if the operation has no column).
+     */
+    private static class Count extends Accumulator {
+
+        private final boolean rows;
+
+        private long[] counts;
+
+        private Count(int capacity, boolean rows) {
+            this.rows = rows;
+            this.counts = new long[capacity];
+        }
+
+        @Override
+        void resize(int capacity) {
+            counts = Arrays.copyOf(counts, capacity);
+        }
+
+        @Override
+        void accept(int group, String value) {
+            if (rows || StringUtils.isNotEmpty(value)) {
+                counts[group]++;
+            }
+        }
+
+        @Override
+        void merge(int group, Accumulator other, int otherGroup) {
+            counts[group] += ((Count) other).counts[otherGroup];
+        }
+
+        @Override
+        double getValue(int group) {
+            return counts[group];
+        }
+    }
+
+    /**
+     * Sum of the numeric values.
+     */
+    private static class Sum extends Accumulator {
+
+        long[] counts;
+
+        double[] sums;
+
+        private Sum(int capacity) {
+            counts = new long[capacity];
+            sums = new double[capacity];
+        }
+
+        @Override
+        void resize(int capacity) {
+            counts = Arrays.copyOf(counts, capacity);
+            sums = Arrays.copyOf(sums, capacity);
+        }
+
+        @Override
+        void accept(int group, String value) {
+            final double number = parse(value);
+            if (!Double.isNaN(number)) {
+                counts[group]++;
+                sums[group] += number;
+            }
+        }
+
+        @Override
+        void merge(int group, Accumulator other, int otherGroup) {
+            counts[group] += ((Sum) other).counts[otherGroup];
+            sums[group] += ((Sum) other).sums[otherGroup];
+        }
+
+        @Override
+        double getValue(int group) {
+            return counts[group] == 0 ? Double.NaN : sums[group];
+        }
+    }
+
+    /**
+     * Average of the numeric values.
+     */
+    private static class Average extends Sum {
+
+        private Average(int capacity) {
+            super(capacity);
+        }
+
+        @Override
+        double getValue(int group) {
+            return sums[group] / counts[group];
+        }
+    }
+
+    /**
+     * Minimum of the numeric values.
+     */
+    private static class Min extends Accumulator {
+
+        long[] counts;
+
+        double[] values;
+
+        private Min(int capacity) {
+            counts = new long[capacity];
+            values = new double[capacity];
+        }
+
+        @Override
+        void resize(int capacity) {
+            counts = Arrays.copyOf(counts, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        void accept(int group, String value) {
+            final double number = parse(value);
+            if (!Double.isNaN(number)) {
+                values[group] = counts[group]++ == 0 ? number : select(values[group], number);
+            }
+        }
+
+        @Override
+        void merge(int group, Accumulator other, int otherGroup) {
+            final Min that = (Min) other;
+            if (that.counts[otherGroup] > 0) {
+                values[group] = counts[group] == 0 ? that.values[otherGroup] : select(values[group], that.values[otherGroup]);
+                counts[group] += that.counts[otherGroup];
+            }
+        }
+
+        /**
+         * @return the value to keep between the current one and the new one.
+         */
+        double select(double current, double number) {
+            return Math.min(current, number);
+        }
+
+        @Override
+        double getValue(int group) {
+            return counts[group] == 0 ? Double.NaN : values[group];
+        }
+    }
+
+    /**
+     * Maximum of the numeric values.
+     */
+    private static class Max extends Min {
+
+        private Max(int capacity) {
+            super(capacity);
+        }
+
+        @Override
+        double select(double current, double number) {
+            return Math.max(current, number);
+        }
+    }
+
+    /**
+     * Number of distinct non empty values.
+     */
+    private static class DistinctCount extends Accumulator {
+
+        private Set<String>[] values;
+
+        @SuppressWarnings("unchecked")
+        private DistinctCount(int capacity) {
+            values = new Set[capacity];
+        }
+
+        @Override
+        void resize(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        void accept(int group, String value) {
+            if (StringUtils.isNotEmpty(value)) {
+                values(group).add(value);
+            }
+        }
+
+        @Override
+        void merge(int group, Accumulator other, int otherGroup) {
+            final Set<String> others = ((DistinctCount) other).values[otherGroup];
+            if (others != null) {
+                values(group).addAll(others);
+            }
+        }
+
+        private Set<String> values(int group) {
+            if (values[group] == null) {
+                values[group] = new HashSet<>();
+            }
+            return values[group];
+        }
+
+        @Override
+        double getValue(int group) {
+            return values[group] == null ? 0 : values[group].size();
+        }
+    }
+
+    /**
+     * Exact percentile of the numeric values (linear interpolation between the closest ranks).
+     */
+    private static class Percentile extends Accumulator {
+
+        /** The percentile to compute, between 0 and 1. */
+        private final double percentile;
+
+        private double[][] values;
+
+        private int[] sizes;
+
+        private Percentile(int capacity, double percentile) {
+            this.percentile = percentile / 100;
+            values = new double[capacity][];
+            sizes = new int[capacity];
+        }
+
+        @Override
+        void resize(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+            sizes = Arrays.copyOf(sizes, capacity);
+        }
+
+        @Override
+        void accept(int group, String value) {
+            final double number = parse(value);
+            if (!Double.isNaN(number)) {
+                add(group, number);
+            }
+        }
+
+        @Override
+        void merge(int group, Accumulator other, int otherGroup) {
+            final Percentile that = (Percentile) other;
+            for (int i = 0; i < that.sizes[otherGroup]; i++) {
+                add(group, that.values[otherGroup][i]);
+            }
+        }
+
+        private void add(int group, double number) {
+            double[] groupValues = values[group];
+            if (groupValues == null) {
+                groupValues = values[group] = new double[8];
+            } else if (sizes[group] == groupValues.length) {
+                groupValues = values[group] = Arrays.copyOf(groupValues, groupValues.length * 2);
+            }
+            groupValues[sizes[group]++] = number;
+        }
+
+        @Override
+        double getValue(int group) {
+            final int size = sizes[group];
+            if (size == 0) {
+                return Double.NaN;
+            }
+            final double[] groupValues = values[group];
+            Arrays.sort(groupValues, 0, size);
+            final double rank = percentile * (size - 1);
+            final int lower = (int) Math.floor(rank);
+            final int upper = Math.min(lower + 1, size - 1);
+            return groupValues[lower] + (rank - lower) * (groupValues[upper] - groupValues[lower]);
+        }
+    }
+}
@@ -0,0 +1,273 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.transformation.aggregation.operation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang.StringUtils;
+import org.talend.dataprep.api.dataset.DataSetRow;
+import org.talend.dataprep.transformation.aggregation.api.AggregationOperation;
+import org.talend.dataprep.transformation.aggregation.api.AggregationResult;
+import org.talend.dataprep.transformation.aggregation.api.Operator;
+import org.talend.dataprep.transformation.aggregation.api.WorkingContext;
+
+/**
+ * Aggregator that computes all the operations over all the group by columns in a single scan of the rows.
+ * <p>
+ * Groups are stored in a {@link GroupTable} and each operation keeps its state in primitive arrays indexed by group id.
+ * Rows are first projected on the needed columns (see {@link #project(DataSetRow)}) so that projections can be
+ * aggregated by several partitions (see {@link #newPartition()}) then merged back (see {@link #merge(GroupAggregator)}).
+ * <p>
+ * A single instance is not thread safe.
+ */
+public class GroupAggregator {
+
+    /** The group by column ids. */
+    private final List<String> groupBy;
+
+    /** The aggregation operations. */
+    private final List<AggregationOperation> operations;
+
+    /** The projected columns (group by columns first). */
+    private final List<String> columns = new ArrayList<>();
+
+    /** Index of each operation column in the projection (-1 if operation has no column). */
+    private final int[] operationColumns;
+
+    /** The groups. */
+    private final GroupTable groups = new GroupTable();
+
+    /** The accumulator of each operation. */
+    private final Accumulator[] accumulators;
+
+    /** Group by key of the current row (reused across rows). */
+    private final String[] key;
+
+    /**
+     * Constructor.
+     *
+     * @param groupBy the group by column ids.
+     * @param operations the aggregation operations.
+     * @throws IllegalArgumentException if group by or operations are empty, if an operation is not supported, or if a
+     * percentile is not between 0 and 100.
+     */
+    public GroupAggregator(List<String> groupBy, List<AggregationOperation> operations) {
+        if (groupBy.isEmpty() || operations.isEmpty()) {
+            throw new IllegalArgumentException("Invalid aggregation parameters");
+        }
+        this.groupBy = groupBy;
+        this.operations = operations;
+        this.key = new String[groupBy.size()];
+
+        columns.addAll(groupBy);
+        operationColumns = new int[operations.size()];
+        accumulators = new Accumulator[operations.size()];
+        for (int i = 0; i < operations.size(); i++) {
+            final AggregationOperation operation = operations.get(i);
+            if (operation.getOperator() == null) {
+                throw new IllegalArgumentException("Missing operator in " + operation);
+            }
+            final Double percentile = operation.getPercentile();
+            if (operation.getOperator() == Operator.PERCENTILE && percentile != null
+                    && !(percentile >= 0 && percentile <= 100)) {
+                throw new IllegalArgumentException("Percentile must be between 0 and 100 in " + operation);
+            }
+            final String columnId = operation.getColumnId();
+            if (StringUtils.isEmpty(columnId)) {
+                operationColumns[i] = -1;
+            } else {
+                if (!columns.contains(columnId)) {
+                    columns.add(columnId);
+                }
+                operationColumns[i] = columns.indexOf(columnId);
+            }
+            accumulators[i] = Accumulator.of(operation, groups.capacity());
+        }
+    }
+
+    /**
+     * @return a new empty aggregator for the same operations, to be merged in this one once done.
+     */
+    public GroupAggregator newPartition() {
+        return new GroupAggregator(groupBy, operations);
+    }
+
+    /**
+     * @param row the row to project.
+     * @return the values of the columns needed by this aggregation (the row may then be reused by the caller).
+     */
+    public String[] project(DataSetRow row) {
+        final String[] values = new String[columns.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = row.get(columns.get(i));
+        }
+        return values;
+    }
+
+    /**
+     * Aggregate the given row.
+     *
+     * @param row the row to aggregate.
+     */
+    public void accept(DataSetRow row) {
+        accept(project(row));
+    }
+
+    /**
+     * Aggregate the given projected row (see {@link #project(DataSetRow)}).
+     *
+     * @param values the projected row to aggregate.
+     */
+    public void accept(String[] values) {
+        boolean empty = true;
+        for (int i = 0; i < key.length; i++) {
+            key[i] = values[i] == null ? StringUtils.EMPTY : values[i];
+            empty &= key[i].isEmpty();
+        }
+        // skip rows without any group by value
+        if (empty) {
+            return;
+        }
+
+        final int group = group(key);
+        for (int i = 0; i < accumulators.length; i++) {
+            final int column = operationColumns[i];
+            accumulators[i].accept(group, column < 0 ? null : values[column]);
+        }
+    }
+
+    /**
+     * Merge all the groups of the given aggregator (a partition of this one) into this aggregator.
+     *
+     * @param partition the aggregator to merge.
+     * @return this aggregator.
+     */
+    public GroupAggregator merge(GroupAggregator partition) {
+        for (int otherGroup = 0; otherGroup < partition.groups.size(); otherGroup++) {
+            final int group = group(partition.groups.key(otherGroup));
+            for (int i = 0; i < accumulators.length; i++) {
+                accumulators[i].merge(group, partition.accumulators[i], otherGroup);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * @return the aggregation result, groups without any value are left out.
+     */
+    public AggregationResult getResult() {
+        final AggregationResult result = new AggregationResult(operations.get(0).getOperator(), getNames());
+        for (int group = 0; group < groups.size(); group++) {
+            final double[] values = new double[accumulators.length];
+            boolean empty = true;
+            for (int i = 0; i < accumulators.length; i++) {
+                values[i] = accumulators[i].getValue(group);
+                empty &= Double.isNaN(values[i]);
+            }
+            if (!empty) {
+                final String[] groupKey = groups.key(group);
+                if (groupKey.length == 1) {
+                    result.put(groupKey[0], new GroupContext(null, values));
+                } else {
+                    result.put(StringUtils.join(groupKey, '\u0000'), new GroupContext(groupKey, values));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Return the name of each operation in the result: the operator name, suffixed with the percentile for
+     * percentiles, and with the column id when several operations share the same name.
+     *
+     * @return the name of each operation.
+     */
+    private List<String> getNames() {
+        final List<String> names = new ArrayList<>(operations.size());
+        for (AggregationOperation operation : operations) {
+            names.add(getName(operation));
+        }
+        final List<String> uniqueNames = new ArrayList<>(names.size());
+        for (int i = 0; i < names.size(); i++) {
+            final String name = names.get(i);
+            if (names.indexOf(name) != names.lastIndexOf(name)) {
+                uniqueNames.add(name + '_' + operations.get(i).getColumnId());
+            } else {
+                uniqueNames.add(name);
+            }
+        }
+        return uniqueNames;
+    }
+
+    private static String getName(AggregationOperation operation) {
+        if (operation.getOperator() != Operator.PERCENTILE) {
+            return operation.getOperator().name();
+        }
+        final double percentile = operation.getPercentile() == null ? 50d : operation.getPercentile();
+        if (percentile == Math.rint(percentile)) {
+            return Operator.PERCENTILE.name() + '_' + (long) percentile;
+        }
+        return Operator.PERCENTILE.name() + '_' + percentile;
+    }
+
+    /**
+     * Return the group id of the given key, accumulators are resized if a new group does not fit in them.
+     *
+     * @param groupKey the group by key.
+     * @return the group id.
+     */
+    private int group(String[] groupKey) {
+        final int capacity = groups.capacity();
+        final int group = groups.add(groupKey);
+        if (groups.capacity() != capacity) {
+            for (Accumulator accumulator : accumulators) {
+                accumulator.resize(groups.capacity());
+            }
+        }
+        return group;
+    }
+
+    /**
+     * Working context of a group: the values of all the operations.
+     */
+    private static class GroupContext implements WorkingContext {
+
+        /** The group by values (null if grouped by a single column). */
+        private final String[] group;
+
+        /** The value of each operation. */
+        private final double[] values;
+
+        private GroupContext(String[] group, double[] values) {
+            this.group = group;
+            this.values = values;
+        }
+
+        @Override
+        public double getValue() {
+            return values[0];
+        }
+
+        @Override
+        public double getValue(int index) {
+            return values[index];
+        }
+
+        @Override
+        public String[] getGroup() {
+            return group;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.transformation.aggregation.operation;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing (linear probing) hash table that gives a dense id (0, 1, 2...) to each distinct group by key. Group
+ * ids are meant to be used as index in the accumulator arrays of the aggregation.
+ */
+class GroupTable {
+
+    /** Initial number of slots (must be a power of 2). */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** Group id + 1 for each slot (0 means an empty slot). */
+    private int[] slots = new int[INITIAL_CAPACITY];
+
+    /** Group by keys, indexed by group id. */
+    private String[][] keys = new String[INITIAL_CAPACITY / 2][];
+
+    /** Hash of the group by keys, indexed by group id. */
+    private int[] hashes = new int[INITIAL_CAPACITY / 2];
+
+    /** Number of groups. */
+    private int size;
+
+    /**
+     * Return the group id of the given key, a new group is created if the key is not known yet.
+     *
+     * @param key the group by key (copied if a new group is created, so the caller is free to reuse it).
+     * @return the group id of the key.
+     */
+    int add(String[] key) {
+        final int hash = hash(key);
+        final int mask = slots.length - 1;
+        int slot = hash & mask;
+        while (slots[slot] != 0) {
+            final int group = slots[slot] - 1;
+            if (hashes[group] == hash && Arrays.equals(keys[group], key)) {
+                return group;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        // new group
+        final int group = size++;
+        if (group == keys.length) {
+            keys = Arrays.copyOf(keys, keys.length * 2);
+            hashes = Arrays.copyOf(hashes, hashes.length * 2);
+        }
+        keys[group] = key.clone();
+        hashes[group] = hash;
+        slots[slot] = group + 1;
+        // keep the load factor under 0.5 so that probe sequences remain short
+        if (size * 2 > slots.length) {
+            rehash();
+        }
+        return group;
+    }
+
+    /**
+     * @return the number of groups.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return the number of groups that can be added before arrays are resized.
+     */
+    int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * @param group the group id.
+     * @return the group by key of the group.
+     */
+    String[] key(int group) {
+        return keys[group];
+    }
+
+    /**
+     * Double the number of slots and put all the groups back in it.
+     */
+    private void rehash() {
+        slots = new int[slots.length * 2];
+        final int mask = slots.length - 1;
+        for (int group = 0; group < size; group++) {
+            int slot = hashes[group] & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = group + 1;
+        }
+    }
+
+    /**
+     * @param key the group by key.
+     * @return the spread hash of the key.
+     */
+    private static int hash(String[] key) {
+        final int hash = Arrays.hashCode(key) * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -32,6 +32,15 @@ public interface TransformerWriter {
      */
     void write(RowMetadata columns) throws IOException;
 
+    /**
+     * @return <code>true</code> if this writer should get the row metadata before the rows (rows can then be written as
+     * they come instead of being buffered until row metadata is known), <code>false</code> if row metadata should be
+     * written after the rows.
+     */
+    default boolean requireMetadataFirst() {
+        return false;
+    }
+
     /**
      * Write the given row.
      *
@@ -25,6 +25,7 @@ import org.talend.dataprep.api.dataset.DataSetRow;
 import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.format.export.ExportFormat;
 import org.talend.dataprep.transformation.api.action.context.TransformationContext;
+import org.talend.dataprep.transformation.cache.StepCheckpointCacheKey;
 import org.talend.dataprep.transformation.format.JsonFormat;
 import org.talend.dataprep.transformation.pipeline.Node;
 import org.talend.dataprep.transformation.pipeline.node.BasicNode;
@@ -67,6 +68,9 @@ public class Configuration {
     private final boolean globalStatistics;
     private final Volume dataVolume;
 
+    /** Where to save the rows of the step (<code>null</code> if rows should not be saved). */
+    private final StepCheckpointCacheKey checkpoint;
+
     /**
      * List of transformation context, one per action.
      */
@@ -86,6 +90,25 @@ public class Configuration {
                             boolean allowMetadataChange, //
                             boolean globalStatistics, //
                             final Volume dataVolume) {
+        this(output, filter, outFilter, monitorSupplier, format, actions, arguments, stepId, allowMetadataChange,
+                globalStatistics, dataVolume, null);
+    }
+
+    /**
+     * Constructor for the transformer configuration.
+     */
+    protected Configuration(final OutputStream output, //
+                            final Predicate<DataSetRow> filter, //
+                            final Function<RowMetadata, Predicate<DataSetRow>> outFilter, //
+                            final Supplier<Node> monitorSupplier, //
+                            final String format, //
+                            final String actions, //
+                            final Map<String, String> arguments, //
+                            final String stepId, //
+                            boolean allowMetadataChange, //
+                            boolean globalStatistics, //
+                            final Volume dataVolume, //
+                            final StepCheckpointCacheKey checkpoint) {
         this.output = output;
         this.filter = filter;
         this.outFilter = outFilter;
@@ -97,6 +120,7 @@ public class Configuration {
         this.allowMetadataChange = allowMetadataChange;
         this.globalStatistics = globalStatistics;
         this.dataVolume = dataVolume;
+        this.checkpoint = checkpoint;
         this.transformationContext = new TransformationContext();
     }
 
@@ -170,6 +194,13 @@ public class Configuration {
         return globalStatistics;
     }
 
+    /**
+     * @return The cache key where rows of the step should be saved, <code>null</code> if rows should not be saved.
+     */
+    public StepCheckpointCacheKey getCheckpoint() {
+        return checkpoint;
+    }
+
     public enum Volume {
         LARGE,
         SMALL
@@ -213,10 +244,13 @@ public class Configuration {
 
         private Predicate<DataSetRow> filter = r -> true;
 
-        private Function<RowMetadata, Predicate<DataSetRow>> outFilter = metadata -> r -> true;
+        /** No out filter by default (all rows are written). */
+        private Function<RowMetadata, Predicate<DataSetRow>> outFilter;
 
         private boolean globalStatistics = true;
 
+        private StepCheckpointCacheKey checkpoint;
+
         public Builder monitor(Supplier<Node> monitorSupplier) {
             this.monitorSupplier = monitorSupplier;
             return this;
@@ -235,7 +269,7 @@ public class Configuration {
          * @return a new {@link Configuration} from the mapper setup.
          */
         public Configuration build() {
-            return new Configuration(output, filter, outFilter, monitorSupplier, format, actions, arguments, stepId, allowMetadataChange, globalStatistics, dataVolume);
+            return new Configuration(output, filter, outFilter, monitorSupplier, format, actions, arguments, stepId, allowMetadataChange, globalStatistics, dataVolume, checkpoint);
         }
 
         /**
@@ -300,5 +334,16 @@ public class Configuration {
             this.outFilter = outFilter;
             return this;
         }
+
+        /**
+         * Builder DSL for checkpoint setter
+         *
+         * @param checkpoint Where to save the rows of the step (<code>null</code> to disable).
+         * @return The mapper
+         */
+        public Builder checkpoint(StepCheckpointCacheKey checkpoint) {
+            this.checkpoint = checkpoint;
+            return this;
+        }
     }
 }
@@ -1,13 +1,17 @@
 package org.talend.dataprep.transformation.api.transformer.json;
 
+import java.util.concurrent.ForkJoinPool;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.talend.dataprep.api.dataset.DataSet;
 import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.dataset.statistics.StatisticsAdapter;
 import org.talend.dataprep.cache.ContentCache;
+import org.talend.dataprep.metrics.Metrics;
 import org.talend.dataprep.quality.AnalyzerService;
 import org.talend.dataprep.transformation.api.action.ActionParser;
 import org.talend.dataprep.transformation.api.transformer.Transformer;
@@ -15,9 +19,14 @@ import org.talend.dataprep.transformation.api.transformer.TransformerWriter;
 import org.talend.dataprep.transformation.api.transformer.configuration.Configuration;
 import org.talend.dataprep.transformation.format.WriterRegistrationService;
 import org.talend.dataprep.transformation.pipeline.ActionRegistry;
+import org.talend.dataprep.transformation.pipeline.Node;
 import org.talend.dataprep.transformation.pipeline.Pipeline;
+import org.talend.dataprep.transformation.pipeline.PipelineMetrics;
+import org.talend.dataprep.transformation.pipeline.model.CheckpointNode;
 import org.talend.dataprep.transformation.pipeline.model.WriterNode;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 @Component
 public class PipelineTransformer implements Transformer {
 
@@ -41,6 +50,24 @@ public class PipelineTransformer implements Transformer {
     @Autowired
     ContentCache contentCache;
 
+    @Autowired
+    ObjectMapper mapper;
+
+    @Autowired
+    Metrics metrics;
+
+    /** <code>true</code> to apply stateless actions on all available cores. */
+    @Value("${transformation.parallel.enabled:true}")
+    boolean parallel;
+
+    /** Estimated size (in bytes) of rows kept in memory by each reservoir before they are spilled to disk. */
+    @Value("${transformation.reservoir.memory:16777216}")
+    long reservoirMemoryBudget;
+
+    /** <code>true</code> to optimize the pipeline (remove, reorder and fuse actions) before transformation. */
+    @Value("${transformation.planner.enabled:true}")
+    boolean planner;
+
     @Override
     public void transform(DataSet input, Configuration configuration) {
         final RowMetadata rowMetadata = input.getMetadata().getRowMetadata();
@@ -61,16 +88,26 @@ public class PipelineTransformer implements Transformer {
                 .withMonitor(configuration.getMonitor())
                 .withFilter(configuration.getFilter())
                 .withFilterOut(configuration.getOutFilter())
-                .withOutput(() -> new WriterNode(writer, contentCache, configuration.stepId()))
+                .withOutput(() -> {
+                    final Node writerNode = new WriterNode(writer, contentCache, configuration.stepId());
+                    if (configuration.getCheckpoint() != null) {
+                        return new CheckpointNode(writerNode, contentCache, configuration.getCheckpoint(), mapper);
+                    }
+                    return writerNode;
+                })
                 .withContext(configuration.getTransformationContext())
                 .withStatisticsAdapter(adapter)
                 .withGlobalStatistics(configuration.isGlobalStatistics())
                 .allowMetadataChange(configuration.isAllowMetadataChange())
+                .withParallelism(parallel ? ForkJoinPool.commonPool() : null)
+                .withReservoirMemoryBudget(reservoirMemoryBudget)
+                .withPlanner(planner)
                 .build();
         try {
             LOGGER.debug("Before transformation: {}", pipeline);
             pipeline.execute(input);
         } finally {
+            pipeline.accept(new PipelineMetrics(metrics));
             LOGGER.debug("After transformation: {}", pipeline);
         }
     }
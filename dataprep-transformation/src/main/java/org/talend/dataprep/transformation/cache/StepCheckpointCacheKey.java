@@ -0,0 +1,112 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.cache;
+
+import java.io.IOException;
+import java.util.Objects;
+
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.cache.ContentCacheKey;
+
+/**
+ * Content cache key used to cache the rows (and the row metadata, see {@link #getMetadataKey()}) of a data set after
+ * the actions of a preparation step. A step checkpoint does not depend on the output format, so a transformation of a
+ * child step can resume from it.
+ */
+public class StepCheckpointCacheKey implements ContentCacheKey {
+
+    /** The preparation id. */
+    private final String preparationId;
+
+    /** The dataset id. */
+    private final String datasetId;
+
+    /** The dataset metadata hash. */
+    private final String datasetMetadataHash;
+
+    /** The step id. */
+    private final String stepId;
+
+    /** <code>true</code> if this key is for the row metadata, <code>false</code> for the rows. */
+    private final boolean metadata;
+
+    /**
+     * Create a content cache key for the rows of a step.
+     *
+     * @param preparationId the preparation id.
+     * @param metadata the (original) dataset metadata.
+     * @param stepId the preparation step (<code>head</code> is not allowed).
+     * @throws IOException if an error occurs while computing the cache key.
+     */
+    public StepCheckpointCacheKey(String preparationId, DataSetMetadata metadata, String stepId) throws IOException {
+        if ("head".equals(stepId)) {
+            throw new IllegalArgumentException("'head' is not allowed as step id for cache key");
+        }
+        this.preparationId = preparationId;
+        this.datasetId = metadata.getId();
+        this.datasetMetadataHash = TransformationCacheKey.hash(metadata);
+        this.stepId = stepId;
+        this.metadata = false;
+    }
+
+    private StepCheckpointCacheKey(StepCheckpointCacheKey other, String stepId, boolean metadata) {
+        this.preparationId = other.preparationId;
+        this.datasetId = other.datasetId;
+        this.datasetMetadataHash = other.datasetMetadataHash;
+        this.stepId = stepId;
+        this.metadata = metadata;
+    }
+
+    /**
+     * @param otherStepId Another step of the same preparation.
+     * @return The key for the rows of <code>otherStepId</code> on the same dataset.
+     */
+    public StepCheckpointCacheKey forStep(String otherStepId) {
+        return new StepCheckpointCacheKey(this, otherStepId, false);
+    }
+
+    /**
+     * @return The key for the row metadata of the same step. Row metadata is written once all rows are, so its presence
+     * in cache means the step checkpoint is complete.
+     */
+    public StepCheckpointCacheKey getMetadataKey() {
+        return metadata ? this : new StepCheckpointCacheKey(this, stepId, true);
+    }
+
+    /**
+     * @return the step id.
+     */
+    public String getStepId() {
+        return stepId;
+    }
+
+    /**
+     * @see Object#toString()
+     */
+    @Override
+    public String toString() {
+        return "StepCheckpointCacheKey{" + "datasetId='" + datasetId + '\'' + ", datasetMetadataHash='" + datasetMetadataHash
+                + '\'' + ", preparationId='" + preparationId + '\'' + ", stepId='" + stepId + '\'' + ", metadata=" + metadata
+                + '}';
+    }
+
+    /**
+     * @see ContentCacheKey#getKey()
+     */
+    @Override
+    public String getKey() {
+        return "transformation-checkpoint-" + (metadata ? "metadata-" : "rows-")
+                + Objects.hash(preparationId, datasetId, datasetMetadataHash, stepId);
+    }
+}
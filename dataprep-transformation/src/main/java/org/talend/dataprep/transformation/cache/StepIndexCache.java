@@ -0,0 +1,56 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.transformation.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.talend.dataprep.api.filter.RowIndex;
+import org.talend.dataprep.cache.ContentCache;
+
+/**
+ * Keeps the {@link RowIndex row indexes} of the most recently filtered step checkpoints (see
+ * {@link StepCheckpointCacheKey}), so that filters on the rows of a cached step are evaluated without reading rows
+ * again. Columns of an index are indexed on first use, from the rows in the content cache.
+ */
+@Component
+public class StepIndexCache {
+
+    /** Maximum number of step indexes kept. */
+    private static final int MAX_INDEXES = 8;
+
+    @Autowired
+    private ContentCache contentCache;
+
+    /** Row indexes by checkpoint key (in access order). */
+    private final Map<String, RowIndex> indexes = new LinkedHashMap<String, RowIndex>(16, 0.75f, true) {
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, RowIndex> eldest) {
+            return size() > MAX_INDEXES;
+        }
+    };
+
+    /**
+     * @param checkpoint The key of a complete step checkpoint.
+     * @return The index of the rows of the step checkpoint (created if needed).
+     */
+    public RowIndex get(StepCheckpointCacheKey checkpoint) {
+        synchronized (indexes) {
+            return indexes.computeIfAbsent(checkpoint.getKey(), k -> new RowIndex(() -> contentCache.get(checkpoint)));
+        }
+    }
+}
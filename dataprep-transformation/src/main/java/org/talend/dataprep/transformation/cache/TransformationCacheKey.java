@@ -87,7 +87,7 @@ public class TransformationCacheKey implements ContentCacheKey {
      * @return the md5 hash of the given dataset metadata.
      * @throws IOException if an error occurs while computing the cache key.
      */
-    private String hash(DataSetMetadata metadata) throws IOException {
+    static String hash(DataSetMetadata metadata) throws IOException {
         ObjectMapper mapper = new ObjectMapper();
         String json = mapper.writer().writeValueAsString(metadata);
         return DigestUtils.sha1Hex(json.getBytes("UTF-8"));
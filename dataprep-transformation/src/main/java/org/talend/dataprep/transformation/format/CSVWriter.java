@@ -35,7 +35,8 @@ import org.talend.dataprep.transformation.api.transformer.TransformerWriter;
 import org.talend.dataprep.util.FilesHelper;
 
 /**
- * Write datasets in CSV.
+ * Write datasets in CSV. Once the header is written, rows are directly written to the output; rows written before the
+ * header are buffered on disk.
  */
 @Scope("prototype")
 @Component("writer#" + CSV)
@@ -53,9 +54,11 @@ public class CSVWriter implements TransformerWriter {
 
     private final char separator;
 
-    private final File bufferFile;
+    /** Holds rows written before row metadata (<code>null</code> if row metadata was written first). */
+    private File bufferFile;
 
-    private final au.com.bytecode.opencsv.CSVWriter recordsWriter;
+    /** Where rows are written: the output once row metadata is written, the buffer file before. */
+    private au.com.bytecode.opencsv.CSVWriter recordsWriter;
 
     /**
      * Simple constructor with default separator value.
@@ -73,21 +76,23 @@ public class CSVWriter implements TransformerWriter {
      * @param parameters parameters to get the separator from.
      */
     public CSVWriter(final OutputStream output, Map<String, String> parameters) {
-        try {
-            this.output = output;
-            String separatorParameter = parameters.get(SEPARATOR_PARAM_NAME);
-            if (separatorParameter == null || StringUtils.isEmpty(separatorParameter) || separatorParameter.length() > 1) {
-                this.separator = String.valueOf(DEFAULT_SEPARATOR).charAt(0);
-            } else {
-                this.separator = separatorParameter.charAt(0);
-            }
-            bufferFile = File.createTempFile("csvWriter", ".csv");
-            recordsWriter = new au.com.bytecode.opencsv.CSVWriter(new FileWriter(bufferFile), separator);
-        } catch (IOException e) {
-            throw new TDPException(TransformationErrorCodes.UNABLE_TO_USE_EXPORT, e);
+        this.output = output;
+        String separatorParameter = parameters.get(SEPARATOR_PARAM_NAME);
+        if (separatorParameter == null || StringUtils.isEmpty(separatorParameter) || separatorParameter.length() > 1) {
+            this.separator = String.valueOf(DEFAULT_SEPARATOR).charAt(0);
+        } else {
+            this.separator = separatorParameter.charAt(0);
         }
     }
 
+    /**
+     * @see TransformerWriter#requireMetadataFirst()
+     */
+    @Override
+    public boolean requireMetadataFirst() {
+        return true;
+    }
+
     /**
      * @see TransformerWriter#write(RowMetadata)
      */
@@ -99,22 +104,33 @@ public class CSVWriter implements TransformerWriter {
         new au.com.bytecode.opencsv.CSVWriter(new OutputStreamWriter(output), separator);
         csvWriter.writeNext(columnsName);
         csvWriter.flush();
-        // Write buffered records
-        recordsWriter.flush();
-        try (InputStream input = new FileInputStream(bufferFile)) {
-            IOUtils.copy(input, output);
-        } finally {
+        if (bufferFile != null) {
+            // Write buffered records
             recordsWriter.close();
+            try (InputStream input = new FileInputStream(bufferFile)) {
+                IOUtils.copy(input, output);
+            } finally {
+                deleteBuffer();
+            }
         }
-
+        // next records are written after header
+        recordsWriter = csvWriter;
     }
 
     /**
      * @see TransformerWriter#write(DataSetRow)
-     * @throws UnsupportedOperationException if CsvWriter#write(RowMetadata) was not called before.
      */
     @Override
     public void write(final DataSetRow row) throws IOException {
+        if (recordsWriter == null) {
+            LOGGER.debug("Buffering records (metadata not ready).");
+            try {
+                bufferFile = File.createTempFile("csvWriter", ".csv");
+                recordsWriter = new au.com.bytecode.opencsv.CSVWriter(new FileWriter(bufferFile), separator);
+            } catch (IOException e) {
+                throw new TDPException(TransformationErrorCodes.UNABLE_TO_USE_EXPORT, e);
+            }
+        }
         // values need to be written in the same order as the columns
         recordsWriter.writeNext(row.order().toArray(DataSetRow.SKIP_TDP_ID));
     }
@@ -124,12 +140,23 @@ public class CSVWriter implements TransformerWriter {
      */
     @Override
     public void flush() throws IOException {
+        if (bufferFile != null) {
+            // row metadata was never written
+            recordsWriter.close();
+            deleteBuffer();
+        } else if (recordsWriter != null) {
+            recordsWriter.flush();
+        }
         output.flush();
+    }
+
+    private void deleteBuffer() {
         try {
             FilesHelper.delete(bufferFile);
         } catch (IOException e) {
             LOGGER.warn("Unable to delete temporary file '{}'", bufferFile, e);
         }
+        bufferFile = null;
     }
 
 }
@@ -13,18 +13,22 @@
 
 package org.talend.dataprep.transformation.format;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.talend.dataprep.transformation.format.XlsFormat.XLSX;
 
 import java.io.*;
-import java.util.Collections;
-import java.util.Map;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import org.apache.commons.lang.StringUtils;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.streaming.SXSSFWorkbook;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
@@ -33,11 +37,19 @@ import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.type.Type;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.TransformationErrorCodes;
+import org.talend.dataprep.transformation.api.action.metadata.date.DateParser;
 import org.talend.dataprep.transformation.api.transformer.TransformerWriter;
 import org.talend.dataprep.util.FilesHelper;
 
 import au.com.bytecode.opencsv.CSVReader;
 
+/**
+ * Writes records in the Office Open XML spreadsheet format (xlsx).
+ * <p>
+ * Sheet XML is generated directly in the zip output as records arrive (no intermediate workbook). Cells are typed after
+ * the column types (numbers, booleans and dates parsed with the column patterns), repeated short values are written
+ * in the shared strings table and a new sheet is started each time the Excel row limit is reached.
+ */
 @Scope("prototype")
 @Component("writer#" + XLSX)
 public class XlsWriter implements TransformerWriter {
@@ -47,51 +59,148 @@ public class XlsWriter implements TransformerWriter {
     // The separator to be used in temporary record buffer
     private static final char BUFFER_CSV_SEPARATOR = ',';
 
+    /** Maximum number of rows in an Excel sheet. */
+    static final int MAX_ROWS_PER_SHEET = 1048576;
+
+    /** Maximum number of characters in an Excel cell. */
+    private static final int MAX_CELL_LENGTH = 32767;
+
+    /** Only values up to this length are candidates for the shared strings table. */
+    private static final int MAX_SHARED_STRING_LENGTH = 64;
+
+    /** Maximum number of distinct values tracked to find repeated values. */
+    private static final int MAX_TRACKED_STRINGS = 100000;
+
+    /** Marker of a tracked value seen only once (hence written as inline string). */
+    private static final int NOT_SHARED = -1;
+
+    /** Origin of Excel serial dates (1900 date system). */
+    private static final LocalDate EXCEL_EPOCH = LocalDate.of(1899, 12, 30);
+
+    /** Excel wrongly considers 1900 as leap year, serial dates are only valid after this date. */
+    private static final LocalDate EXCEL_MIN_DATE = LocalDate.of(1900, 3, 1);
+
+    private static final double NANOS_PER_DAY = 86400_000_000_000d;
+
+    /** Style index (in styles.xml) of date cells. */
+    private static final int DATE_STYLE = 1;
+
+    /** Style index (in styles.xml) of date time cells. */
+    private static final int DATE_TIME_STYLE = 2;
+
+    private static final String SPREADSHEET_NS = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+
+    private static final String RELATIONSHIPS_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+    private static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+
+    private static final String STYLES = XML_DECLARATION //
+            + "<styleSheet xmlns=\"" + SPREADSHEET_NS + "\">" //
+            + "<numFmts count=\"2\">" //
+            + "<numFmt numFmtId=\"164\" formatCode=\"yyyy-mm-dd\"/>" //
+            + "<numFmt numFmtId=\"165\" formatCode=\"yyyy-mm-dd hh:mm:ss\"/>" //
+            + "</numFmts>" //
+            + "<fonts count=\"1\"><font><sz val=\"11\"/><name val=\"Calibri\"/></font></fonts>" //
+            + "<fills count=\"2\"><fill><patternFill patternType=\"none\"/></fill>" //
+            + "<fill><patternFill patternType=\"gray125\"/></fill></fills>" //
+            + "<borders count=\"1\"><border><left/><right/><top/><bottom/><diagonal/></border></borders>" //
+            + "<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/></cellStyleXfs>" //
+            + "<cellXfs count=\"3\">" //
+            + "<xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\"/>" //
+            + "<xf numFmtId=\"164\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyNumberFormat=\"1\"/>" //
+            + "<xf numFmtId=\"165\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyNumberFormat=\"1\"/>" //
+            + "</cellXfs>" //
+            + "<cellStyles count=\"1\"><cellStyle name=\"Normal\" xfId=\"0\" builtinId=\"0\"/></cellStyles>" //
+            + "</styleSheet>";
+
+    private static final String ROOT_RELATIONSHIPS = XML_DECLARATION //
+            + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">" //
+            + "<Relationship Id=\"rId1\" Type=\"" + RELATIONSHIPS_NS + "/officeDocument\" Target=\"xl/workbook.xml\"/>" //
+            + "</Relationships>";
+
     private final OutputStream outputStream;
 
-    private final SXSSFWorkbook workbook;
+    private final ZipOutputStream zip;
+
+    /** Writes the XML of the current zip entry. */
+    private final Writer xml;
 
-    private final Sheet sheet;
+    /** Used to parse date values with the column patterns. */
+    @Autowired(required = false)
+    private DateParser dateParser;
 
-    // Holds a temporary buffer on disk (as CSV) of records to be written
-    private final File bufferFile;
+    /** Maximum number of rows per sheet (header included). */
+    private int maxRowsPerSheet = MAX_ROWS_PER_SHEET;
+
+    // Holds a temporary buffer on disk (as CSV) of records written before row metadata
+    private File bufferFile;
 
     // The CSV Writer to write to buffer
-    private final au.com.bytecode.opencsv.CSVWriter recordsWriter;
+    private au.com.bytecode.opencsv.CSVWriter recordsWriter;
+
+    // The columns (null until row metadata is written)
+    private List<ColumnMetadata> columns;
+
+    // The type of each column (null until row metadata is written)
+    private Type[] types;
+
+    // The letters of each column (e.g. 'A', 'B'... 'AA'...), used to write cell references
+    private String[] columnNames;
+
+    /** Number of sheets started so far. */
+    private int sheetCount;
+
+    /** Number of rows written in current sheet (header included). */
+    private int rowIdx;
+
+    /** Tracked values with their index in the shared strings table (or {@link #NOT_SHARED} if seen once). */
+    private final Map<String, Integer> strings = new HashMap<>();
+
+    /** The shared strings table. */
+    private final List<String> sharedStrings = new ArrayList<>();
 
-    private int rowIdx = 0;
+    /** Number of cells referencing the shared strings table. */
+    private long sharedStringsReferences;
+
+    private boolean finished;
 
     public XlsWriter(final OutputStream output) {
         this(output, Collections.emptyMap());
     }
 
     public XlsWriter(final OutputStream output, Map<String, String> parameters) {
-        try {
-            this.outputStream = output;
-            // we limit to only 50 rows in memory
-            this.workbook = new SXSSFWorkbook(50);
-            // TODO sheet name as an option?
-            this.sheet = this.workbook.createSheet("sheet1");
-            bufferFile = File.createTempFile("xlsWriter", ".csv");
-            recordsWriter = new au.com.bytecode.opencsv.CSVWriter(new FileWriter(bufferFile), BUFFER_CSV_SEPARATOR);
-        } catch (IOException e) {
-            throw new TDPException(TransformationErrorCodes.UNABLE_TO_USE_EXPORT, e);
-        }
+        this.outputStream = output;
+        this.zip = new ZipOutputStream(output, UTF_8);
+        this.xml = new BufferedWriter(new OutputStreamWriter(zip, UTF_8), 65536);
+    }
+
+    /**
+     * @param maxRowsPerSheet the maximum number of rows per sheet (header included).
+     */
+    void setMaxRowsPerSheet(int maxRowsPerSheet) {
+        this.maxRowsPerSheet = maxRowsPerSheet;
     }
 
     @Override
-    public void write(RowMetadata columns) throws IOException {
-        LOGGER.debug("write RowMetadata: {}", columns);
-        if (columns.getColumns().isEmpty()) {
+    public boolean requireMetadataFirst() {
+        return true;
+    }
+
+    @Override
+    public void write(RowMetadata rowMetadata) throws IOException {
+        LOGGER.debug("write RowMetadata: {}", rowMetadata);
+        if (rowMetadata.getColumns().isEmpty()) {
             return;
         }
-        CreationHelper createHelper = this.workbook.getCreationHelper();
-        // writing headers so first row
-        Row headerRow = this.sheet.createRow(rowIdx++);
-        int cellIdx = 0;
-        for (ColumnMetadata columnMetadata : columns.getColumns()) {
-            // TODO apply some formatting as it's an header cell?
-            headerRow.createCell(cellIdx++).setCellValue(createHelper.createRichTextString(columnMetadata.getName()));
+        this.columns = new ArrayList<>(rowMetadata.getColumns());
+        this.types = columns.stream().map(c -> Type.get(c.getType())).toArray(Type[]::new);
+        this.columnNames = new String[columns.size()];
+        for (int i = 0; i < columnNames.length; i++) {
+            columnNames[i] = columnName(i);
+        }
+        startSheet();
+        if (bufferFile == null) {
+            return;
         }
         // Empty buffer
         recordsWriter.flush();
@@ -100,58 +209,384 @@ public class XlsWriter implements TransformerWriter {
             try (CSVReader bufferReader = new CSVReader(reader, BUFFER_CSV_SEPARATOR, '\"', '\0')) {
                 String[] nextRow;
                 while ((nextRow = bufferReader.readNext()) != null) {
-                    // writing data
-                    Row row = this.sheet.createRow(rowIdx++);
-                    cellIdx = 0;
-                    for (ColumnMetadata columnMetadata : columns.getColumns()) {
-                        Cell cell = row.createCell(cellIdx);
-                        String val = nextRow[cellIdx];
-                        switch (Type.get(columnMetadata.getType())) {
-                            case NUMERIC:
-                            case INTEGER:
-                            case DOUBLE:
-                            case FLOAT:
-                                try {
-                                    if (!StringUtils.isEmpty(val)) {
-                                        cell.setCellValue(Double.valueOf(val));
-                                    }
-                                } catch (NumberFormatException e) {
-                                    LOGGER.warn("skip NumberFormatException and use string for value {} row {} cell {}", //
-                                            val, rowIdx - 1, cellIdx - 1);
-                                    cell.setCellValue(val);
-                                }
-                                break;
-                            case BOOLEAN:
-                                cell.setCellValue(Boolean.valueOf(val));
-                                break;
-                            // FIXME ATM we don't have any idea about the date format so this can generate exceptions
-                            // case "date":
-                            // cell.setCellValue( );
-                            default:
-                                cell.setCellValue(val);
-                        }
-                        cellIdx++;
-                    }
+                    writeRow(nextRow);
                 }
             }
+        } finally {
+            deleteBuffer();
         }
     }
 
     @Override
     public void write(DataSetRow row) throws IOException {
-        LOGGER.trace("Buffering DataSetRow (metadata not ready): {}", row);
         // values need to be written in the same order as the columns
-        recordsWriter.writeNext(row.order().toArray(DataSetRow.SKIP_TDP_ID));
+        final String[] values = row.order().toArray(DataSetRow.SKIP_TDP_ID);
+        if (types != null) {
+            writeRow(values);
+            return;
+        }
+        LOGGER.trace("Buffering DataSetRow (metadata not ready): {}", row);
+        if (recordsWriter == null) {
+            try {
+                bufferFile = File.createTempFile("xlsWriter", ".csv");
+                recordsWriter = new au.com.bytecode.opencsv.CSVWriter(new FileWriter(bufferFile), BUFFER_CSV_SEPARATOR);
+            } catch (IOException e) {
+                throw new TDPException(TransformationErrorCodes.UNABLE_TO_USE_EXPORT, e);
+            }
+        }
+        recordsWriter.writeNext(values);
+    }
+
+    /**
+     * Starts a new sheet in the zip output, with the column names as first row.
+     */
+    private void startSheet() throws IOException {
+        if (sheetCount > 0) {
+            endSheet();
+        }
+        sheetCount++;
+        rowIdx = 0;
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet" + sheetCount + ".xml"));
+        xml.write(XML_DECLARATION);
+        xml.write("<worksheet xmlns=\"" + SPREADSHEET_NS + "\"><sheetData>");
+        if (columns != null) {
+            startRow();
+            for (int cellIdx = 0; cellIdx < columns.size(); cellIdx++) {
+                // TODO apply some formatting as it's an header cell?
+                writeString(cellIdx, columns.get(cellIdx).getName());
+            }
+            xml.write("</row>");
+        }
+    }
+
+    private void endSheet() throws IOException {
+        xml.write("</sheetData></worksheet>");
+        xml.flush();
+        zip.closeEntry();
+    }
+
+    private void startRow() throws IOException {
+        rowIdx++;
+        xml.write("<row r=\"");
+        xml.write(Integer.toString(rowIdx));
+        xml.write("\">");
+    }
+
+    private void writeRow(String[] values) throws IOException {
+        if (rowIdx >= maxRowsPerSheet) {
+            LOGGER.debug("Row limit of sheet #{} reached, start a new sheet.", sheetCount);
+            startSheet();
+        }
+        startRow();
+        final int length = Math.min(values.length, types.length);
+        for (int cellIdx = 0; cellIdx < length; cellIdx++) {
+            final String val = values[cellIdx];
+            if (StringUtils.isEmpty(val)) {
+                writeBlank(cellIdx);
+                continue;
+            }
+            switch (types[cellIdx]) {
+            case NUMERIC:
+            case INTEGER:
+            case DOUBLE:
+            case FLOAT:
+                writeNumber(cellIdx, val);
+                break;
+            case BOOLEAN:
+                startCell(cellIdx, "b", 0);
+                xml.write(Boolean.valueOf(val) ? '1' : '0');
+                xml.write("</v></c>");
+                break;
+            case DATE:
+                writeDate(cellIdx, val);
+                break;
+            default:
+                writeString(cellIdx, val);
+            }
+        }
+        xml.write("</row>");
+    }
+
+    /**
+     * Writes the opening of a value cell (up to the &lt;v&gt; element).
+     *
+     * @param cellIdx the cell column index.
+     * @param type the cell type (<code>null</code> for numbers).
+     * @param style the cell style index (0 for default style).
+     */
+    private void startCell(int cellIdx, String type, int style) throws IOException {
+        writeCellReference(cellIdx);
+        if (type != null) {
+            xml.write("\" t=\"");
+            xml.write(type);
+        }
+        if (style != 0) {
+            xml.write("\" s=\"");
+            xml.write(Integer.toString(style));
+        }
+        xml.write("\"><v>");
+    }
+
+    private void writeCellReference(int cellIdx) throws IOException {
+        xml.write("<c r=\"");
+        xml.write(columnNames[cellIdx]);
+        xml.write(Integer.toString(rowIdx));
+    }
+
+    /**
+     * Writes a blank cell (no value).
+     */
+    private void writeBlank(int cellIdx) throws IOException {
+        writeCellReference(cellIdx);
+        xml.write("\"/>");
+    }
+
+    private void writeNumber(int cellIdx, String val) throws IOException {
+        final double number;
+        try {
+            number = Double.parseDouble(val);
+        } catch (NumberFormatException e) {
+            LOGGER.debug("Use string for non numeric value {} row {} cell {}", val, rowIdx - 1, cellIdx);
+            writeString(cellIdx, val);
+            return;
+        }
+        if (Double.isNaN(number) || Double.isInfinite(number)) {
+            writeString(cellIdx, val);
+            return;
+        }
+        startCell(cellIdx, null, 0);
+        writeDouble(number);
+        xml.write("</v></c>");
+    }
+
+    private void writeDouble(double number) throws IOException {
+        if (number == Math.rint(number) && Math.abs(number) < 1e15) {
+            xml.write(Long.toString((long) number));
+        } else {
+            xml.write(Double.toString(number));
+        }
+    }
+
+    /**
+     * Writes a date cell (as Excel serial date) if the value matches one of the column date patterns, a string cell
+     * otherwise.
+     */
+    private void writeDate(int cellIdx, String val) throws IOException {
+        final LocalDateTime date = dateParser == null ? null : dateParser.parseFromColumnPatterns(val, columns.get(cellIdx));
+        if (date == null || date.toLocalDate().isBefore(EXCEL_MIN_DATE) || date.getYear() > 9999) {
+            writeString(cellIdx, val);
+            return;
+        }
+        final LocalTime time = date.toLocalTime();
+        startCell(cellIdx, null, time.equals(LocalTime.MIDNIGHT) ? DATE_STYLE : DATE_TIME_STYLE);
+        writeDouble(ChronoUnit.DAYS.between(EXCEL_EPOCH, date.toLocalDate()) + time.toNanoOfDay() / NANOS_PER_DAY);
+        xml.write("</v></c>");
+    }
+
+    /**
+     * Writes a string cell. A value is written inline the first time it is seen, and in the shared strings table when it
+     * is repeated (so unique values, e.g. identifiers, do not bloat the table). A blank cell is written for a
+     * <code>null</code> or empty value.
+     */
+    private void writeString(int cellIdx, String val) throws IOException {
+        if (StringUtils.isEmpty(val)) {
+            writeBlank(cellIdx);
+            return;
+        }
+        if (val.length() <= MAX_SHARED_STRING_LENGTH) {
+            Integer index = strings.get(val);
+            if (index == null) {
+                if (strings.size() < MAX_TRACKED_STRINGS) {
+                    strings.put(val, NOT_SHARED);
+                }
+            } else {
+                if (index == NOT_SHARED) {
+                    index = sharedStrings.size();
+                    sharedStrings.add(val);
+                    strings.put(val, index);
+                }
+                sharedStringsReferences++;
+                startCell(cellIdx, "s", 0);
+                xml.write(Integer.toString(index));
+                xml.write("</v></c>");
+                return;
+            }
+        }
+        writeCellReference(cellIdx);
+        xml.write("\" t=\"inlineStr\"><is>");
+        writeText(val);
+        xml.write("</is></c>");
+    }
+
+    /**
+     * Writes a &lt;t&gt; text element (escaped and truncated to the Excel cell limit).
+     */
+    private void writeText(String val) throws IOException {
+        String text = val;
+        if (text.length() > MAX_CELL_LENGTH) {
+            LOGGER.debug("Truncate value longer than {} characters (row {})", MAX_CELL_LENGTH, rowIdx - 1);
+            text = text.substring(0, MAX_CELL_LENGTH);
+        }
+        if (!text.isEmpty()
+                && (Character.isWhitespace(text.charAt(0)) || Character.isWhitespace(text.charAt(text.length() - 1)))) {
+            xml.write("<t xml:space=\"preserve\">");
+        } else {
+            xml.write("<t>");
+        }
+        writeEscaped(text);
+        xml.write("</t>");
+    }
+
+    private void writeEscaped(String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            switch (c) {
+            case '<':
+                xml.write("&lt;");
+                break;
+            case '>':
+                xml.write("&gt;");
+                break;
+            case '&':
+                xml.write("&amp;");
+                break;
+            case '"':
+                xml.write("&quot;");
+                break;
+            case '\t':
+            case '\n':
+            case '\r':
+                xml.write(c);
+                break;
+            default:
+                // skip characters that are not allowed in XML documents
+                if (c >= 0x20 && c != 0xFFFE && c != 0xFFFF) {
+                    xml.write(c);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param index the column index (0 based).
+     * @return the column name in Excel ('A', 'B'... 'Z', 'AA'...).
+     */
+    private static String columnName(int index) {
+        final StringBuilder name = new StringBuilder();
+        for (int i = index + 1; i > 0; i = (i - 1) / 26) {
+            name.insert(0, (char) ('A' + (i - 1) % 26));
+        }
+        return name.toString();
     }
 
     @Override
     public void flush() throws IOException {
-        this.workbook.write(outputStream);
+        if (finished) {
+            outputStream.flush();
+            return;
+        }
+        finished = true;
+        if (bufferFile != null) {
+            // row metadata was never written
+            recordsWriter.close();
+            deleteBuffer();
+        }
+        if (sheetCount == 0) {
+            // a workbook needs at least one sheet
+            startSheet();
+        }
+        endSheet();
+        if (!sharedStrings.isEmpty()) {
+            writeSharedStrings();
+        }
+        writeEntry("xl/styles.xml", STYLES);
+        writeEntry("xl/workbook.xml", workbook());
+        writeEntry("xl/_rels/workbook.xml.rels", workbookRelationships());
+        writeEntry("_rels/.rels", ROOT_RELATIONSHIPS);
+        writeEntry("[Content_Types].xml", contentTypes());
+        // finish the zip without closing the output (owned by caller)
+        zip.finish();
+        outputStream.flush();
+    }
+
+    private void writeSharedStrings() throws IOException {
+        zip.putNextEntry(new ZipEntry("xl/sharedStrings.xml"));
+        xml.write(XML_DECLARATION);
+        xml.write("<sst xmlns=\"" + SPREADSHEET_NS + "\" count=\"" + sharedStringsReferences + "\" uniqueCount=\""
+                + sharedStrings.size() + "\">");
+        for (String sharedString : sharedStrings) {
+            xml.write("<si>");
+            writeText(sharedString);
+            xml.write("</si>");
+        }
+        xml.write("</sst>");
+        xml.flush();
+        zip.closeEntry();
+    }
+
+    private void writeEntry(String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        xml.write(content);
+        xml.flush();
+        zip.closeEntry();
+    }
+
+    private String workbook() {
+        final StringBuilder workbook = new StringBuilder(XML_DECLARATION) //
+                .append("<workbook xmlns=\"").append(SPREADSHEET_NS).append("\" xmlns:r=\"").append(RELATIONSHIPS_NS)
+                .append("\"><sheets>");
+        for (int i = 1; i <= sheetCount; i++) {
+            // TODO sheet name as an option?
+            workbook.append("<sheet name=\"sheet").append(i).append("\" sheetId=\"").append(i).append("\" r:id=\"rId")
+                    .append(i).append("\"/>");
+        }
+        return workbook.append("</sheets></workbook>").toString();
+    }
+
+    private String workbookRelationships() {
+        final StringBuilder relationships = new StringBuilder(XML_DECLARATION) //
+                .append("<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">");
+        for (int i = 1; i <= sheetCount; i++) {
+            relationships.append("<Relationship Id=\"rId").append(i).append("\" Type=\"").append(RELATIONSHIPS_NS)
+                    .append("/worksheet\" Target=\"worksheets/sheet").append(i).append(".xml\"/>");
+        }
+        relationships.append("<Relationship Id=\"rId").append(sheetCount + 1).append("\" Type=\"").append(RELATIONSHIPS_NS)
+                .append("/styles\" Target=\"styles.xml\"/>");
+        if (!sharedStrings.isEmpty()) {
+            relationships.append("<Relationship Id=\"rId").append(sheetCount + 2).append("\" Type=\"")
+                    .append(RELATIONSHIPS_NS).append("/sharedStrings\" Target=\"sharedStrings.xml\"/>");
+        }
+        return relationships.append("</Relationships>").toString();
+    }
+
+    private String contentTypes() {
+        final String officeDocument = "application/vnd.openxmlformats-officedocument.spreadsheetml.";
+        final StringBuilder contentTypes = new StringBuilder(XML_DECLARATION) //
+                .append("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">") //
+                .append("<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>") //
+                .append("<Default Extension=\"xml\" ContentType=\"application/xml\"/>") //
+                .append("<Override PartName=\"/xl/workbook.xml\" ContentType=\"").append(officeDocument)
+                .append("sheet.main+xml\"/>") //
+                .append("<Override PartName=\"/xl/styles.xml\" ContentType=\"").append(officeDocument)
+                .append("styles+xml\"/>");
+        for (int i = 1; i <= sheetCount; i++) {
+            contentTypes.append("<Override PartName=\"/xl/worksheets/sheet").append(i).append(".xml\" ContentType=\"")
+                    .append(officeDocument).append("worksheet+xml\"/>");
+        }
+        if (!sharedStrings.isEmpty()) {
+            contentTypes.append("<Override PartName=\"/xl/sharedStrings.xml\" ContentType=\"").append(officeDocument)
+                    .append("sharedStrings+xml\"/>");
+        }
+        return contentTypes.append("</Types>").toString();
+    }
+
+    private void deleteBuffer() {
         try {
             FilesHelper.delete(bufferFile);
         } catch (IOException e) {
             LOGGER.warn("Unable to delete temporary file '{}'", bufferFile, e);
         }
+        bufferFile = null;
     }
 
 }
@@ -0,0 +1,170 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline.model;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.talend.dataprep.api.dataset.DataSetRow;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.cache.ContentCache;
+import org.talend.dataprep.transformation.cache.StepCheckpointCacheKey;
+import org.talend.dataprep.transformation.pipeline.Monitored;
+import org.talend.dataprep.transformation.pipeline.Node;
+import org.talend.dataprep.transformation.pipeline.Signal;
+import org.talend.dataprep.transformation.pipeline.Visitor;
+import org.talend.dataprep.transformation.pipeline.node.BasicNode;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * A node that saves all the rows it receives (including deleted ones) and the final row metadata in the content cache
+ * as the checkpoint of a preparation step (see {@link StepCheckpointCacheKey}), then forwards them to the output node.
+ * Rows are written as a JSON array that can be read back with a
+ * {@link org.talend.dataprep.api.dataset.json.DataSetRowIterator}.
+ */
+public class CheckpointNode extends BasicNode implements Monitored {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CheckpointNode.class);
+
+    /** The output node (e.g. {@link WriterNode}) rows are forwarded to. */
+    private final Node output;
+
+    private final ContentCache contentCache;
+
+    private final StepCheckpointCacheKey key;
+
+    private final ObjectMapper mapper;
+
+    private OutputStream rows;
+
+    private JsonGenerator generator;
+
+    /** <code>true</code> if the checkpoint can't be written (checkpoint is then discarded). */
+    private boolean failed;
+
+    private RowMetadata lastRowMetadata;
+
+    private long totalTime;
+
+    private int count;
+
+    public CheckpointNode(Node output, ContentCache contentCache, StepCheckpointCacheKey key, ObjectMapper mapper) {
+        this.output = output;
+        this.contentCache = contentCache;
+        this.key = key;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public void receive(DataSetRow row, RowMetadata metadata) {
+        final long start = System.nanoTime();
+        try {
+            if (!failed) {
+                if (generator == null) {
+                    rows = contentCache.put(key, ContentCache.TimeToLive.DEFAULT);
+                    generator = mapper.getFactory().createGenerator(rows);
+                    generator.writeStartArray();
+                }
+                lastRowMetadata = metadata;
+                write(row);
+            }
+        } catch (Exception e) {
+            discard(e);
+        } finally {
+            totalTime += System.nanoTime() - start;
+            count++;
+        }
+        output.exec().receive(row, metadata);
+        super.receive(row, metadata);
+    }
+
+    private void write(DataSetRow row) throws IOException {
+        generator.writeStartObject();
+        if (row.getTdpId() != null) {
+            // Written as string to be read back by DataSetRowIterator
+            generator.writeStringField(DataSetRow.TDP_ID, String.valueOf(row.getTdpId()));
+        }
+        if (row.isDeleted()) {
+            generator.writeBooleanField("_deleted", true);
+        }
+        for (Map.Entry<String, Object> entry : row.values().entrySet()) {
+            generator.writeStringField(entry.getKey(), (String) entry.getValue());
+        }
+        generator.writeEndObject();
+    }
+
+    @Override
+    public void signal(Signal signal) {
+        output.exec().signal(signal);
+        final long start = System.nanoTime();
+        try {
+            if (signal == Signal.END_OF_STREAM && !failed && generator != null) {
+                generator.writeEndArray();
+                generator.close();
+                rows.close();
+                // Metadata is written last: its presence in cache means checkpoint is complete
+                try (OutputStream metadata = contentCache.put(key.getMetadataKey(), ContentCache.TimeToLive.DEFAULT)) {
+                    mapper.writerFor(RowMetadata.class).writeValue(metadata, lastRowMetadata);
+                }
+                LOGGER.debug("Checkpoint saved for step #{}.", key.getStepId());
+            } else if (signal == Signal.CANCEL) {
+                discard(null);
+            }
+        } catch (Exception e) {
+            discard(e);
+        } finally {
+            totalTime += System.nanoTime() - start;
+        }
+        super.signal(signal);
+    }
+
+    /**
+     * Stops writing checkpoint and removes all content written so far.
+     */
+    private void discard(Exception cause) {
+        if (cause != null) {
+            LOGGER.debug("Unable to save checkpoint for step #{}.", key.getStepId(), cause);
+        }
+        failed = true;
+        IOUtils.closeQuietly(generator);
+        IOUtils.closeQuietly(rows);
+        contentCache.evict(key);
+        contentCache.evict(key.getMetadataKey());
+    }
+
+    @Override
+    public void accept(Visitor visitor) {
+        visitor.visitNode(this);
+    }
+
+    @Override
+    public long getTotalTime() {
+        return totalTime;
+    }
+
+    @Override
+    public long getCount() {
+        return count;
+    }
+
+    public Node getOutput() {
+        return output;
+    }
+}
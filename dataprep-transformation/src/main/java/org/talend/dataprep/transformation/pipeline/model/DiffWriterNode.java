@@ -55,7 +55,7 @@ public class DiffWriterNode extends BasicNode implements Monitored {
 
     @Override
     public void receive(DataSetRow row, RowMetadata metadata) {
-        final long start = System.currentTimeMillis();
+        final long start = System.nanoTime();
         try {
             if (!startRecords) {
                 writer.startObject();
@@ -74,7 +74,7 @@ public class DiffWriterNode extends BasicNode implements Monitored {
         } catch (IOException e) {
             LOGGER.error("Unable to write record.", e);
         } finally {
-            totalTime += System.currentTimeMillis() - start;
+            totalTime += System.nanoTime() - start;
             count++;
         }
     }
@@ -94,7 +94,7 @@ public class DiffWriterNode extends BasicNode implements Monitored {
     @Override
     public void signal(Signal signal) {
         if ((signal == Signal.END_OF_STREAM || signal == Signal.CANCEL) && !endMetadata) {
-            final long start = System.currentTimeMillis();
+            final long start = System.nanoTime();
             try {
                 emptyRowSources();
                 writer.endArray(); // <- end records
@@ -120,7 +120,7 @@ public class DiffWriterNode extends BasicNode implements Monitored {
             } catch (IOException e) {
                 LOGGER.error("Unable to end writer.", e);
             } finally {
-                totalTime += System.currentTimeMillis() - start;
+                totalTime += System.nanoTime() - start;
                 endMetadata = true;
             }
         } else {
@@ -32,6 +32,9 @@ public class WriterNode extends BasicNode implements Monitored {
 
     private boolean startRecords = false;
 
+    /** <code>true</code> if row metadata was written before the rows (see {@link TransformerWriter#requireMetadataFirst()}). */
+    private boolean metadataWritten = false;
+
     private long totalTime;
 
     private int count;
@@ -44,13 +47,19 @@ public class WriterNode extends BasicNode implements Monitored {
 
     @Override
     public void receive(DataSetRow row, RowMetadata metadata) {
-        final long start = System.currentTimeMillis();
+        final long start = System.nanoTime();
         try {
             if (!startRecords) {
                 writer.startObject();
                 writer.fieldName("records");
                 writer.startArray();
                 startRecords = true;
+                // all actions were compiled when first row went through the pipeline, and nodes whose metadata depend
+                // on values (type inference, statistics) only emit rows once they've seen them all: columns are known.
+                if (writer.requireMetadataFirst()) {
+                    writer.write(metadata);
+                    metadataWritten = true;
+                }
             }
             lastRowMetadata = metadata;
             if (row.shouldWrite()) {
@@ -60,7 +69,7 @@ public class WriterNode extends BasicNode implements Monitored {
         } catch (IOException e) {
             LOGGER.error("Unable to write record.", e);
         } finally {
-            totalTime += System.currentTimeMillis() - start;
+            totalTime += System.nanoTime() - start;
             count++;
         }
         super.receive(row, metadata);
@@ -69,14 +78,16 @@ public class WriterNode extends BasicNode implements Monitored {
     @Override
     public void signal(Signal signal) {
         if (signal == Signal.END_OF_STREAM || signal == Signal.CANCEL) {
-            final long start = System.currentTimeMillis();
+            final long start = System.nanoTime();
             try {
                 writer.endArray(); // <- end records
                 writer.fieldName("metadata"); // <- start metadata
                 writer.startObject();
 
                 writer.fieldName("columns");
-                writer.write(lastRowMetadata);
+                if (!metadataWritten) {
+                    writer.write(lastRowMetadata);
+                }
 
                 writer.endObject();
                 writer.endObject(); // <- end data set
@@ -84,7 +95,7 @@ public class WriterNode extends BasicNode implements Monitored {
             } catch (IOException e) {
                 LOGGER.error("Unable to end writer.", e);
             } finally {
-                totalTime += System.currentTimeMillis() - start;
+                totalTime += System.nanoTime() - start;
             }
         } else {
             LOGGER.debug("Unhandled signal {}.", signal);
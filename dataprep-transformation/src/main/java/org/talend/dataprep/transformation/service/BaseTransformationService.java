@@ -43,6 +43,7 @@ import org.talend.dataprep.format.export.ExportFormat;
 import org.talend.dataprep.http.HttpResponseContext;
 import org.talend.dataprep.transformation.api.transformer.TransformerFactory;
 import org.talend.dataprep.transformation.api.transformer.configuration.Configuration;
+import org.talend.dataprep.transformation.cache.StepCheckpointCacheKey;
 import org.talend.dataprep.transformation.format.FormatRegistrationService;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -104,6 +105,24 @@ public abstract class BaseTransformationService {
         // get the actions to apply (no preparation ==> dataset export ==> no actions)
         final String actions = getActions(preparationId, stepId);
 
+        internalTransform(actions, null, dataSet, response, format, stepId, exportName, arguments);
+    }
+
+    /**
+     * Transformation business logic with already known actions.
+     *
+     * @param actions the actions to apply (as JSON string).
+     * @param checkpoint where to save the transformed rows of the step (<code>null</code> to disable).
+     * @param dataSet the dataset to transform.
+     * @param response where to write the transformation.
+     * @param format the wanted export format.
+     * @param stepId the step id of the preparation to apply.
+     * @param exportName the export name.
+     * @param arguments the optional transformation argument (e.g. csv separator...)
+     */
+    protected void internalTransform(String actions, StepCheckpointCacheKey checkpoint, DataSet dataSet, OutputStream response,
+            ExportFormat format, String stepId, String exportName, Map<String, String> arguments) {
+
         setExportHeaders(exportName, format);
 
         Configuration configuration = Configuration.builder() //
@@ -112,6 +131,7 @@ public abstract class BaseTransformationService {
                 .output(response) //
                 .actions(actions) //
                 .stepId(stepId) //
+                .checkpoint(checkpoint) //
                 .build();
 
         factory.get(configuration).transform(dataSet, configuration);
@@ -23,7 +23,9 @@ import static org.talend.dataprep.transformation.api.action.metadata.category.Sc
 
 import java.io.*;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -48,10 +50,18 @@ import org.talend.daikon.exception.ExceptionContext;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.DataSet;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.DataSetRow;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.json.DataSetRowIterator;
+import org.talend.dataprep.api.filter.RowFilter;
+import org.talend.dataprep.api.filter.RowIndex;
 import org.talend.dataprep.api.org.talend.dataprep.api.export.ExportParameters;
 import org.talend.dataprep.api.preparation.Preparation;
 import org.talend.dataprep.api.preparation.StepDiff;
 import org.talend.dataprep.cache.ContentCache;
+import org.talend.dataprep.command.GenericCommand;
+import org.talend.dataprep.command.dataset.DataSetGet;
+import org.talend.dataprep.command.dataset.DataSetRecordsGet;
 import org.talend.dataprep.command.dataset.DataSetSampleGet;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.CommonErrorCodes;
@@ -72,12 +82,15 @@ import org.talend.dataprep.transformation.api.transformer.configuration.Configur
 import org.talend.dataprep.transformation.api.transformer.configuration.PreviewConfiguration;
 import org.talend.dataprep.transformation.api.transformer.suggestion.Suggestion;
 import org.talend.dataprep.transformation.api.transformer.suggestion.SuggestionEngine;
+import org.talend.dataprep.transformation.cache.StepCheckpointCacheKey;
+import org.talend.dataprep.transformation.cache.StepIndexCache;
 import org.talend.dataprep.transformation.cache.TransformationCacheKey;
 import org.talend.dataprep.transformation.format.JsonFormat;
 import org.talend.dataprep.transformation.preview.api.PreviewParameters;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
@@ -114,6 +127,10 @@ public class TransformationService extends BaseTransformationService {
     @Autowired
     private TransformerFactory factory;
 
+    /** Row indexes of the cached step checkpoints. */
+    @Autowired
+    private StepIndexCache stepIndexCache;
+
     /** Task executor for asynchronous processing. */
     @Resource(name = "serializer#json#executor")
     private TaskExecutor executor;
@@ -161,8 +178,9 @@ public class TransformationService extends BaseTransformationService {
                                final OutputStream output) {
         //@formatter:on
 
-        // get the dataset content (in an auto-closable block to make sure it is properly closed)
-        final DataSetSampleGet dataSetGet = context.getBean(DataSetSampleGet.class, datasetId);
+        // get the full dataset content (in an auto-closable block to make sure it is properly closed), step checkpoints
+        // are also used to export the preparation
+        final DataSetGet dataSetGet = context.getBean(DataSetGet.class, datasetId);
         try (InputStream datasetContent = dataSetGet.execute()) {
 
             // the parser need to be encapsulated within an auto closeable block so that its records can be fully
@@ -251,7 +269,11 @@ public class TransformationService extends BaseTransformationService {
         // or save it into the cache (and make sure the cache entry is closed properly)
         try (final OutputStream newCacheEntry = contentCache.put(key, ContentCache.TimeToLive.DEFAULT)) {
             OutputStream outputStreams = new TeeOutputStream(output, newCacheEntry);
-            internalTransform(preparationId, dataSet, outputStreams, formatName, stepId, name, optionalParams);
+            if (StringUtils.isEmpty(preparationId)) {
+                internalTransform(preparationId, dataSet, outputStreams, formatName, stepId, name, optionalParams);
+            } else {
+                stepTransform(preparationId, dataSet, outputStreams, formatName, version, name, optionalParams);
+            }
         } catch (RuntimeException e) {
             contentCache.evict(key); // TDP-1729: Don't cache a potentially wrong content.
             throw e;
@@ -261,6 +283,155 @@ public class TransformationService extends BaseTransformationService {
         }
     }
 
+    /**
+     * Transforms the dataset with the preparation at <code>stepId</code>. If the rows of this step or of one of its
+     * ancestors are cached, transformation resumes from the nearest one and only applies the actions added since. The
+     * rows of <code>stepId</code> are cached so that child steps can later resume from them.
+     *
+     * @param preparationId the preparation id.
+     * @param dataSet the DataSet.
+     * @param output where to write the output.
+     * @param formatName the format name.
+     * @param stepId the preparation step id ('head' is not allowed).
+     * @param name the preparation name.
+     * @param optionalParams list of optional parameters.
+     * @throws IOException if an error occurs.
+     */
+    private void stepTransform(String preparationId, DataSet dataSet, OutputStream output, String formatName,
+            String stepId, String name, Map<String, String> optionalParams) throws IOException {
+
+        final ExportFormat format = getFormat(formatName);
+        final String actions = getActions(preparationId, stepId);
+        final StepCheckpointCacheKey checkpoint = new StepCheckpointCacheKey(preparationId, dataSet.getMetadata(), stepId);
+
+        // look for the nearest cached step, root step has no action so no need to look for it
+        final List<String> steps = getPreparation(preparationId).getSteps();
+        final int stepIndex = steps.indexOf(stepId);
+        for (int i = stepIndex; i > 0; i--) {
+            final String ancestorId = steps.get(i);
+            final StepCheckpointCacheKey ancestor = checkpoint.forStep(ancestorId);
+            final RowMetadata ancestorMetadata = getCheckpointMetadata(ancestor);
+            if (ancestorMetadata == null) {
+                continue;
+            }
+            final String ancestorActions = i == stepIndex ? actions : getActions(preparationId, ancestorId);
+            final String remainingActions = getRemainingActions(ancestorActions, actions);
+            if (remainingActions == null) {
+                LOG.debug("Actions of step #{} are not a prefix of step #{} actions.", ancestorId, stepId);
+                break;
+            }
+            try (InputStream rows = contentCache.get(ancestor)) {
+                if (rows == null) {
+                    continue;
+                }
+                LOG.debug("Transformation of step #{} resumes from step #{}.", stepId, ancestorId);
+                dataSet.getMetadata().setRowMetadata(ancestorMetadata);
+                final DataSetRowIterator iterator = new DataSetRowIterator(rows, true);
+                final Iterable<DataSetRow> rowIterable = () -> iterator;
+                dataSet.setRecords(StreamSupport.stream(rowIterable.spliterator(), false));
+                // no need to save rows again if they come from this step
+                internalTransform(remainingActions, i == stepIndex ? null : checkpoint, dataSet, output, format, stepId, name,
+                        optionalParams);
+                return;
+            }
+        }
+
+        // no cached step, apply all the actions
+        internalTransform(actions, checkpoint, dataSet, output, format, stepId, name, optionalParams);
+    }
+
+    /**
+     * Exports the rows of a cached step checkpoint that match the export filter. The filter is evaluated on the
+     * {@link RowIndex index} of the checkpoint rows, so only the matching rows are read and no action is applied.
+     *
+     * @param preparationId the preparation id.
+     * @param stepId the preparation step id ('head' is not allowed).
+     * @param dataSet the DataSet.
+     * @param parameters the export parameters.
+     * @param format the export format.
+     * @param output where to write the output.
+     * @return <code>true</code> if rows were exported, <code>false</code> if step checkpoint is not cached or if filter
+     * can't be evaluated on the index (rows must then be filtered one by one).
+     * @throws IOException if an error occurs.
+     */
+    private boolean exportCheckpoint(String preparationId, String stepId, DataSet dataSet, ExportParameters parameters,
+            ExportFormat format, OutputStream output) throws IOException {
+        final StepCheckpointCacheKey checkpoint = new StepCheckpointCacheKey(preparationId, dataSet.getMetadata(), stepId);
+        final RowMetadata rowMetadata = getCheckpointMetadata(checkpoint);
+        if (rowMetadata == null) {
+            return false;
+        }
+        final long start = System.currentTimeMillis();
+        final RowFilter filter = RowFilter.of(filterService.build(parameters.getFilter(), rowMetadata));
+        final BitSet selection = filter.filter(stepIndexCache.get(checkpoint));
+        if (selection == null) {
+            LOG.debug("Filter of step #{} can't be evaluated on index.", stepId);
+            return false;
+        }
+        try (InputStream rows = contentCache.get(checkpoint)) {
+            if (rows == null) {
+                return false;
+            }
+            LOG.debug("Filter of step #{} evaluated on index ({} rows selected) in {} ms.", stepId, selection.cardinality(),
+                    System.currentTimeMillis() - start);
+            dataSet.getMetadata().setRowMetadata(rowMetadata);
+            final Iterator<DataSetRow> iterator = new DataSetRowIterator(rows, true).select(selection);
+            final Iterable<DataSetRow> rowIterable = () -> iterator;
+            dataSet.setRecords(StreamSupport.stream(rowIterable.spliterator(), false));
+            final Configuration configuration = Configuration.builder() //
+                    .args(parameters.getArguments()) //
+                    .format(format.getName()) //
+                    .stepId(parameters.getStepId()) //
+                    .volume(Configuration.Volume.SMALL) //
+                    .output(output) //
+                    .build();
+            factory.get(configuration).transform(dataSet, configuration);
+            return true;
+        }
+    }
+
+    /**
+     * @param checkpoint a step checkpoint key.
+     * @return the row metadata of the step if the step checkpoint is complete, <code>null</code> otherwise.
+     */
+    private RowMetadata getCheckpointMetadata(StepCheckpointCacheKey checkpoint) {
+        try (InputStream metadata = contentCache.get(checkpoint.getMetadataKey())) {
+            if (metadata == null) {
+                return null;
+            }
+            return mapper.readerFor(RowMetadata.class).readValue(metadata);
+        } catch (IOException e) {
+            LOG.debug("Unable to read metadata of {}.", checkpoint, e);
+            return null;
+        }
+    }
+
+    /**
+     * @param ancestorActions the actions of an ancestor step (as JSON string).
+     * @param actions the actions of the step (as JSON string).
+     * @return the actions to apply after <code>ancestorActions</code> to get <code>actions</code> (as JSON string) or
+     * <code>null</code> if <code>ancestorActions</code> are not the first actions of <code>actions</code>.
+     * @throws IOException if actions can't be parsed.
+     */
+    private String getRemainingActions(String ancestorActions, String actions) throws IOException {
+        final JsonNode ancestor = mapper.readTree(ancestorActions).get("actions");
+        final JsonNode all = mapper.readTree(actions).get("actions");
+        if (ancestor == null || all == null || ancestor.size() > all.size()) {
+            return null;
+        }
+        final ArrayNode remaining = mapper.createArrayNode();
+        for (int i = 0; i < all.size(); i++) {
+            if (i < ancestor.size()) {
+                if (!ancestor.get(i).equals(all.get(i))) {
+                    return null;
+                }
+            } else {
+                remaining.add(all.get(i));
+            }
+        }
+        return "{\"actions\": " + mapper.writeValueAsString(remaining) + '}';
+    }
+
     /**
      * Compute the given aggregation.
      *
@@ -304,8 +475,7 @@ public class TransformationService extends BaseTransformationService {
                 throw new TDPException(CommonErrorCodes.UNABLE_TO_AGGREGATE, e);
             }
         } else {
-            final DataSetSampleGet dataSetGet = context.getBean(DataSetSampleGet.class, //
-                    parameters.getDatasetId());
+            final DataSetGet dataSetGet = context.getBean(DataSetGet.class, parameters.getDatasetId());
             contentToAggregate = dataSetGet.execute();
         }
 
@@ -357,15 +527,27 @@ public class TransformationService extends BaseTransformationService {
             throw new TDPException(TransformationErrorCodes.UNABLE_TO_PERFORM_PREVIEW, e);
         }
 
+        final PreviewConfiguration configuration = previewConfiguration(previewParameters.getNewActions(),
+                previewParameters.getBaseActions(), previewParameters.getTdpIds(), output);
+
+        // only get the rows between the first and last previewed rows (if any) instead of the whole sample
+        final List<Long> tdpIds = configuration.getIndexes();
+        final GenericCommand<InputStream> dataSetGet;
+        if (tdpIds == null || tdpIds.isEmpty()) {
+            dataSetGet = context.getBean(DataSetSampleGet.class, previewParameters.getDataSetId());
+        } else {
+            final long from = tdpIds.stream().mapToLong(Long::longValue).min().getAsLong();
+            final long to = tdpIds.stream().mapToLong(Long::longValue).max().getAsLong();
+            dataSetGet = context.getBean(DataSetRecordsGet.class, previewParameters.getDataSetId(), from, to);
+        }
+
         // because of dataset records streaming, the dataset content must be within an auto closeable block
-        final DataSetSampleGet dataSetGet = context.getBean(DataSetSampleGet.class, previewParameters.getDataSetId());
         try (InputStream dataSetContent = dataSetGet.execute(); //
                 JsonParser parser = mapper.getFactory().createParser(dataSetContent)) {
             final DataSet dataSet = mapper.readerFor(DataSet.class).readValue(parser);
 
             // execute the... preview !
-            executePreview(previewParameters.getNewActions(), previewParameters.getBaseActions(), previewParameters.getTdpIds(),
-                    dataSet, output);
+            factory.get(configuration).transform(dataSet, configuration);
 
         } catch (IOException e) {
             throw new TDPException(TransformationErrorCodes.UNABLE_TO_PERFORM_PREVIEW, e);
@@ -433,7 +615,22 @@ public class TransformationService extends BaseTransformationService {
      */
     private void executePreview(final String actions, final String referenceActions, final String indexes, final DataSet dataSet,
             final OutputStream output) {
-        final PreviewConfiguration configuration = PreviewConfiguration.preview() //
+        final PreviewConfiguration configuration = previewConfiguration(actions, referenceActions, indexes, output);
+        factory.get(configuration).transform(dataSet, configuration);
+    }
+
+    /**
+     * Build the preview configuration
+     *
+     * @param actions The actions to execute to diff with reference
+     * @param referenceActions The reference actions
+     * @param indexes The record indexes to diff. If null, it will process all records
+     * @param output The output stream where to write the result
+     * @return the preview configuration.
+     */
+    private PreviewConfiguration previewConfiguration(final String actions, final String referenceActions, final String indexes,
+            final OutputStream output) {
+        return PreviewConfiguration.preview() //
                 .withActions(actions) //
                 .withIndexes(indexes) //
                 .fromReference( //
@@ -444,7 +641,6 @@ public class TransformationService extends BaseTransformationService {
                                 .build() //
                 ) //
                 .build();
-        factory.get(configuration).transform(dataSet, configuration);
     }
 
     /**
@@ -596,7 +792,7 @@ public class TransformationService extends BaseTransformationService {
             return outputStream -> {
 
                 // get the dataset content (in an auto-closable block to make sure it is properly closed)
-                final DataSetSampleGet dataSetGet = applicationContext.getBean(DataSetSampleGet.class, parameters.getDatasetId());
+                final DataSetGet dataSetGet = applicationContext.getBean(DataSetGet.class, parameters.getDatasetId());
                 try (InputStream datasetContent = dataSetGet.execute()) {
                     try (JsonParser parser = mapper.getFactory().createParser(datasetContent)) {
                         // Create dataset
@@ -632,8 +828,7 @@ public class TransformationService extends BaseTransformationService {
             setExportHeaders(parameters.getExportName(), format);
             return outputStream -> {
                 // get the dataset content (in an auto-closable block to make sure it is properly closed)
-                final DataSetSampleGet dataSetGet = applicationContext.getBean(DataSetSampleGet.class,
-                        preparation.getDataSetId());
+                final DataSetGet dataSetGet = applicationContext.getBean(DataSetGet.class, preparation.getDataSetId());
                 try (InputStream datasetContent = dataSetGet.execute()) {
                     try (JsonParser parser = mapper.getFactory().createParser(datasetContent)) {
                         // head is not allowed as step id
@@ -643,6 +838,11 @@ public class TransformationService extends BaseTransformationService {
                         }
                         // Create dataset
                         final DataSet dataSet = mapper.readerFor(DataSet.class).readValue(parser);
+                        // filtered rows of a cached step are read from the step checkpoint
+                        if (StringUtils.isNotEmpty(parameters.getFilter())
+                                && exportCheckpoint(preparationId, version, dataSet, parameters, format, outputStream)) {
+                            return;
+                        }
                         // get the actions to apply (no preparation ==> dataset export ==> no actions)
                         String actions = getActions(preparationId, version);
 
@@ -0,0 +1,273 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.transformation.aggregation.operation;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.DataSetRow;
+import org.talend.dataprep.transformation.aggregation.api.AggregationOperation;
+import org.talend.dataprep.transformation.aggregation.api.AggregationResult;
+import org.talend.dataprep.transformation.aggregation.api.Operator;
+import org.talend.dataprep.transformation.aggregation.api.WorkingContext;
+
+/**
+ * Unit test for the GroupAggregator.
+ *
+ * @see GroupAggregator
+ */
+public class GroupAggregatorTest {
+
+    @Test
+    public void shouldComputeAllOperationsInOneScan() {
+        // given
+        GroupAggregator aggregator = new GroupAggregator(Collections.singletonList("0000"), Arrays.asList( //
+                new AggregationOperation("0001", Operator.SUM), //
+                new AggregationOperation("0001", Operator.AVERAGE), //
+                new AggregationOperation("0001", Operator.MIN), //
+                new AggregationOperation("0001", Operator.MAX), //
+                new AggregationOperation(null, Operator.COUNT), //
+                new AggregationOperation("0001", Operator.DISTINCT_COUNT), //
+                new AggregationOperation("0001", 50)));
+
+        // when
+        aggregator.accept(getRow("toto", "10"));
+        aggregator.accept(getRow("toto", "2"));
+        aggregator.accept(getRow("toto", ""));
+        aggregator.accept(getRow("toto", "2"));
+        aggregator.accept(getRow("toto", "abc"));
+        aggregator.accept(getRow("tata", "5"));
+        aggregator.accept(getRow("", "1000"));
+        final AggregationResult result = aggregator.getResult();
+
+        // then
+        assertEquals(Arrays.asList("SUM", "AVERAGE", "MIN", "MAX", "COUNT", "DISTINCT_COUNT", "PERCENTILE_50"),
+                result.getNames());
+        final WorkingContext toto = result.get("toto");
+        assertEquals(14d, toto.getValue(0), 0);
+        assertEquals(4.666d, toto.getValue(1), 0.001d);
+        assertEquals(2d, toto.getValue(2), 0);
+        assertEquals(10d, toto.getValue(3), 0);
+        assertEquals(5d, toto.getValue(4), 0);
+        assertEquals(3d, toto.getValue(5), 0);
+        assertEquals(2d, toto.getValue(6), 0);
+        assertEquals(5d, result.get("tata").getValue(), 0);
+        // rows without group by value are skipped
+        assertNull(result.get(""));
+    }
+
+    @Test
+    public void shouldLeaveOutGroupsWithoutValue() {
+        // given
+        GroupAggregator aggregator = new GroupAggregator(Collections.singletonList("0000"),
+                Collections.singletonList(new AggregationOperation("0001", Operator.AVERAGE)));
+
+        // when
+        aggregator.accept(getRow("toto", "10"));
+        aggregator.accept(getRow("empty", ""));
+        aggregator.accept(getRow("empty", "not a number"));
+
+        // then
+        final AggregationResult result = aggregator.getResult();
+        assertEquals(10d, result.get("toto").getValue(), 0);
+        assertNull(result.get("empty"));
+    }
+
+    @Test
+    public void shouldComputeSum() {
+        // given
+        GroupAggregator aggregator = new GroupAggregator(Collections.singletonList("0000"),
+                Collections.singletonList(new AggregationOperation("0001", Operator.SUM)));
+
+        // when
+        aggregator.accept(getRow("toto", "514.3"));
+        aggregator.accept(getRow("toto", "0"));
+        aggregator.accept(getRow("toto", ""));
+        aggregator.accept(getRow("toto", "-786.25"));
+        aggregator.accept(getRow("toto", "235874"));
+        aggregator.accept(getRow("toto", "-8760"));
+
+        // then
+        assertEquals(226842.05d, aggregator.getResult().get("toto").getValue(), 0.001d);
+    }
+
+    @Test
+    public void shouldComputeAveragePerGroup() {
+        // given
+        GroupAggregator aggregator = new GroupAggregator(Collections.singletonList("0000"),
+                Collections.singletonList(new AggregationOperation("0001", Operator.AVERAGE)));
+
+        // when
+        aggregator.accept(getRow("toto", "10"));
+        aggregator.accept(getRow("toto", "2"));
+        aggregator.accept(getRow("toto", "3.6"));
+        aggregator.accept(getRow("toto", ""));
+        aggregator.accept(getRow("toto", "8.2"));
+        aggregator.accept(getRow("tata", "10"));
+        aggregator.accept(getRow("toto", "-8"));
+        aggregator.accept(getRow("toto", "12.3"));
+        aggregator.accept(getRow("tata", "5"));
+
+        // then
+        final AggregationResult result = aggregator.getResult();
+        assertEquals(4.683d, result.get("toto").getValue(), 0.001d);
+        assertEquals(7.5d, result.get("tata").getValue(), 0);
+    }
+
+    @Test
+    public void shouldComputeMinAndMax() {
+        // given
+        GroupAggregator aggregator = new GroupAggregator(Collections.singletonList("0000"), Arrays.asList( //
+                new AggregationOperation("0001", Operator.MIN), //
+                new AggregationOperation("0001", Operator.MAX)));
+
+        // when
+        aggregator.accept(getRow("toto", "5123.4"));
+        aggregator.accept(getRow("tata", "-50.2")); // <-- min here for tata
+        aggregator.accept(getRow("toto", "786.884"));
+        aggregator.accept(getRow("tata", "-0.2"));
+        aggregator.accept(getRow("toto", "41843.453")); // <-- max here for toto
+        aggregator.accept(getRow("toto", "0"));
+        aggregator.accept(getRow("tata", "20"));
+        aggregator.accept(getRow("toto", "-1")); // <-- min here for toto
+        aggregator.accept(getRow("toto", "8.87"));
+        aggregator.accept(getRow("tata", "875")); // <-- max here for tata
+        aggregator.accept(getRow("toto", "-0.01"));
+        aggregator.accept(getRow("tutu", "dqsfqs")); // <-- should not be part of the result
+
+        // then
+        final AggregationResult result = aggregator.getResult();
+        assertEquals(-1d, result.get("toto").getValue(0), 0);
+        assertEquals(41843.453d, result.get("toto").getValue(1), 0);
+        assertEquals(-50.2d, result.get("tata").getValue(0), 0);
+        assertEquals(875d, result.get("tata").getValue(1), 0);
+        assertNull(result.get("tutu"));
+    }
+
+    @Test
+    public void shouldGroupBySeveralColumns() {
+        // given
+        GroupAggregator aggregator = new GroupAggregator(Arrays.asList("0000", "0002"),
+                Collections.singletonList(new AggregationOperation("0001", Operator.SUM)));
+
+        // when
+        aggregator.accept(getRow("toto", "10", "a"));
+        aggregator.accept(getRow("toto", "2", "b"));
+        aggregator.accept(getRow("toto", "3", "a"));
+
+        // then
+        final AggregationResult result = aggregator.getResult();
+        assertEquals(2, result.entries().size());
+        for (Map.Entry<String, WorkingContext> entry : result.entries()) {
+            final String[] group = entry.getValue().getGroup();
+            if ("a".equals(group[1])) {
+                assertArrayEquals(new String[] { "toto", "a" }, group);
+                assertEquals(13d, entry.getValue().getValue(), 0);
+            } else {
+                assertArrayEquals(new String[] { "toto", "b" }, group);
+                assertEquals(2d, entry.getValue().getValue(), 0);
+            }
+        }
+    }
+
+    @Test
+    public void shouldMergePartitions() {
+        // given
+        GroupAggregator aggregator = new GroupAggregator(Collections.singletonList("0000"), Arrays.asList( //
+                new AggregationOperation("0001", Operator.AVERAGE), //
+                new AggregationOperation("0001", Operator.MAX), //
+                new AggregationOperation("0001", 90)));
+        GroupAggregator[] partitions = { aggregator.newPartition(), aggregator.newPartition() };
+
+        // when
+        for (int i = 1; i <= 1000; i++) {
+            final DataSetRow row = getRow("group-" + (i % 100), String.valueOf(i));
+            partitions[i % 2].accept(aggregator.project(row));
+        }
+        for (GroupAggregator partition : partitions) {
+            aggregator.merge(partition);
+        }
+
+        // then group-0 holds 100, 200... 1000
+        final AggregationResult result = aggregator.getResult();
+        assertEquals(100, result.entries().size());
+        assertEquals(550d, result.get("group-0").getValue(0), 0);
+        assertEquals(1000d, result.get("group-0").getValue(1), 0);
+        assertEquals(910d, result.get("group-0").getValue(2), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAggregateWithoutGroupBy() {
+        new GroupAggregator(Collections.emptyList(),
+                Collections.singletonList(new AggregationOperation("0001", Operator.SUM)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAggregateWithoutOperation() {
+        new GroupAggregator(Collections.singletonList("0000"), Collections.emptyList());
+    }
+
+    @Test
+    public void shouldNotAggregateWithPercentileOutOfRange() {
+        for (double percentile : new double[] { -1, 100.5, Double.NaN }) {
+            try {
+                new GroupAggregator(Collections.singletonList("0000"),
+                        Collections.singletonList(new AggregationOperation("0001", percentile)));
+                fail("Percentile " + percentile + " should not be accepted");
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void shouldComputePercentileBounds() {
+        // given
+        GroupAggregator aggregator = new GroupAggregator(Collections.singletonList("0000"), Arrays.asList( //
+                new AggregationOperation("0001", 0), //
+                new AggregationOperation("0001", 100)));
+
+        // when
+        aggregator.accept(getRow("toto", "3"));
+        aggregator.accept(getRow("toto", "1"));
+        aggregator.accept(getRow("toto", "2"));
+        final AggregationResult result = aggregator.getResult();
+
+        // then
+        assertEquals(1d, result.get("toto").getValue(0), 0);
+        assertEquals(3d, result.get("toto").getValue(1), 0);
+    }
+
+    private DataSetRow getRow(String groupBy, String value) {
+        return getRow(groupBy, value, null);
+    }
+
+    private DataSetRow getRow(String groupBy, String value, String otherGroupBy) {
+        Map<String, String> values = new HashMap<>();
+        values.put("0000", groupBy);
+        values.put("0001", value);
+        if (otherGroupBy != null) {
+            values.put("0002", otherGroupBy);
+        }
+        return new DataSetRow(values);
+    }
+}
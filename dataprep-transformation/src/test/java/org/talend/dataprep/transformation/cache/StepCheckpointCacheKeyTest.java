@@ -0,0 +1,78 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.transformation.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.io.IOException;
+import java.util.Date;
+
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.type.Type;
+import org.talend.dataprep.transformation.TransformationBaseTest;
+
+/**
+ * Unit test for the StepCheckpointCacheKey.
+ *
+ * @see StepCheckpointCacheKey
+ */
+public class StepCheckpointCacheKeyTest extends TransformationBaseTest {
+
+    /** When the unit test is created. */
+    private final Long now = new Date().getTime();
+
+    @Test
+    public void shouldGenerateSameKey() throws Exception {
+        StepCheckpointCacheKey key1 = getSampleKey("prep1", "step1");
+        StepCheckpointCacheKey key2 = getSampleKey("prep1", "step1");
+        assertEquals(key1.getKey(), key2.getKey());
+    }
+
+    @Test
+    public void shouldGenerateKeyForOtherStep() throws Exception {
+        StepCheckpointCacheKey key1 = getSampleKey("prep1", "step1");
+        StepCheckpointCacheKey key2 = getSampleKey("prep1", "step2");
+        assertEquals(key2.getKey(), key1.forStep("step2").getKey());
+        assertNotEquals(key1.getKey(), key2.getKey());
+    }
+
+    @Test
+    public void shouldGenerateDifferentKeyForMetadata() throws Exception {
+        StepCheckpointCacheKey key = getSampleKey("prep1", "step1");
+        assertNotEquals(key.getKey(), key.getMetadataKey().getKey());
+        assertEquals(key.getMetadataKey().getKey(), key.getMetadataKey().getMetadataKey().getKey());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void headNotAllowed() throws Exception {
+        getSampleKey("prep1", "head");
+    }
+
+    private StepCheckpointCacheKey getSampleKey(String prepId, String step) throws IOException {
+        return new StepCheckpointCacheKey(prepId, getDataSetMetadataSample(), step);
+    }
+
+    private DataSetMetadata getDataSetMetadataSample() {
+        return metadataBuilder.metadata() //
+                .id("123456789") //
+                .modified(now) //
+                .created(now) //
+                .name("good name").mediaType("String").encoding("ISO-8859-1")
+                .row(ColumnMetadata.Builder.column().name("col1").type(Type.STRING))
+                .row(ColumnMetadata.Builder.column().name("col2").type(Type.STRING)).build();
+    }
+}
@@ -124,4 +124,29 @@ public class CSVWriterTest extends BaseFormatTest {
         assertThat(outputStream.toString()).isEqualTo(expectedCsv);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void write_should_write_rows_directly_after_columns() throws Exception {
+        // given
+        final ColumnMetadata column1 = ColumnMetadata.Builder.column().id(1).name("id").type(Type.STRING).build();
+        final ColumnMetadata column2 = ColumnMetadata.Builder.column().id(2).name("firstname").type(Type.STRING).build();
+        final List<ColumnMetadata> columns = Arrays.asList(column1, column2);
+
+        final DataSetRow row = new DataSetRow(Collections.emptyMap());
+        row.set("0001", "64a5456ac148b64524ef165");
+        row.set("0002", "Superman");
+
+        // when
+        writer.write(new RowMetadata(columns));
+
+        // then (header is written before any row)
+        assertThat(outputStream.toString()).isEqualTo("\"id\";\"firstname\"\n");
+
+        // when
+        writer.write(row);
+        writer.flush();
+
+        // then
+        assertThat(outputStream.toString()).isEqualTo("\"id\";\"firstname\"\n" + "\"64a5456ac148b64524ef165\";\"Superman\"\n");
+    }
+
+}
@@ -15,19 +15,27 @@ package org.talend.dataprep.transformation.format;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.DateUtil;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.ss.usermodel.WorkbookFactory;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.talend.dataprep.api.dataset.DataSet;
-import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.*;
+import org.talend.dataprep.api.dataset.statistics.PatternFrequency;
+import org.talend.dataprep.api.type.Type;
 import org.talend.dataprep.schema.SchemaParser;
 import org.talend.dataprep.transformation.api.transformer.Transformer;
 import org.talend.dataprep.transformation.api.transformer.TransformerFactory;
@@ -186,6 +194,75 @@ public class XlsWriterTest extends BaseFormatTest {
         assertThat(row.getCell(2).getStringCellValue()).isEqualTo("Hola");
     }
 
+    @Test
+    public void write_should_split_sheets_and_type_cells() throws Exception {
+        // given
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final XlsWriter writer = (XlsWriter) context.getBean("writer#XLSX", outputStream, Collections.emptyMap());
+        writer.setMaxRowsPerSheet(3);
 
+        final ColumnMetadata date = ColumnMetadata.Builder.column().id(2).name("date").type(Type.DATE).build();
+        date.getStatistics().getPatternFrequencies().add(new PatternFrequency("yyyy-MM-dd", 5));
+        final List<ColumnMetadata> columns = Arrays.asList( //
+                ColumnMetadata.Builder.column().id(1).name("name").type(Type.STRING).build(), date);
+
+        // when
+        writer.write(new RowMetadata(columns));
+        for (int i = 1; i <= 5; i++) {
+            final DataSetRow row = new DataSetRow(Collections.emptyMap());
+            row.set("0001", "same name");
+            row.set("0002", i % 2 == 0 ? "2015-01-0" + i : "not a date");
+            writer.write(row);
+        }
+        writer.flush();
+
+        // then (2 rows + header per sheet)
+        final Workbook workbook = WorkbookFactory.create(new ByteArrayInputStream(outputStream.toByteArray()));
+        assertThat(workbook.getNumberOfSheets()).isEqualTo(3);
+        final Sheet first = workbook.getSheetAt(0);
+        assertThat(first.getLastRowNum()).isEqualTo(2);
+        assertThat(first.getRow(0).getCell(0).getRichStringCellValue().getString()).isEqualTo("name");
+        assertThat(first.getRow(1).getCell(0).getStringCellValue()).isEqualTo("same name");
+        assertThat(first.getRow(1).getCell(1).getStringCellValue()).isEqualTo("not a date");
+        assertThat(first.getRow(2).getCell(0).getStringCellValue()).isEqualTo("same name");
+        assertThat(first.getRow(2).getCell(1).getNumericCellValue()).isEqualTo(42006d);
+        assertThat(DateUtil.isCellDateFormatted(first.getRow(2).getCell(1))).isTrue();
+
+        final Sheet last = workbook.getSheetAt(2);
+        assertThat(last.getLastRowNum()).isEqualTo(1);
+        assertThat(last.getRow(0).getCell(1).getRichStringCellValue().getString()).isEqualTo("date");
+        assertThat(last.getRow(1).getCell(0).getStringCellValue()).isEqualTo("same name");
+    }
+
+    @Test
+    public void write_should_write_blank_cells_for_empty_names_and_values() throws Exception {
+        // given
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final XlsWriter writer = (XlsWriter) context.getBean("writer#XLSX", outputStream, Collections.emptyMap());
+        final List<ColumnMetadata> columns = Arrays.asList( //
+                ColumnMetadata.Builder.column().id(1).name("a").type(Type.STRING).build(), //
+                ColumnMetadata.Builder.column().id(2).name("").type(Type.STRING).build(), //
+                ColumnMetadata.Builder.column().id(3).name(null).type(Type.INTEGER).build());
+
+        // when
+        writer.write(new RowMetadata(columns));
+        final DataSetRow row = new DataSetRow(Collections.emptyMap());
+        row.set("0001", "");
+        row.set("0002", "b");
+        row.set("0003", "");
+        writer.write(row);
+        writer.flush();
+
+        // then
+        final Workbook workbook = WorkbookFactory.create(new ByteArrayInputStream(outputStream.toByteArray()));
+        final Sheet sheet = workbook.getSheetAt(0);
+        assertThat(sheet.getLastRowNum()).isEqualTo(1);
+        assertThat(sheet.getRow(0).getCell(0).getRichStringCellValue().getString()).isEqualTo("a");
+        assertThat(sheet.getRow(0).getCell(1).getCellType()).isEqualTo(Cell.CELL_TYPE_BLANK);
+        assertThat(sheet.getRow(0).getCell(2).getCellType()).isEqualTo(Cell.CELL_TYPE_BLANK);
+        assertThat(sheet.getRow(1).getCell(0).getCellType()).isEqualTo(Cell.CELL_TYPE_BLANK);
+        assertThat(sheet.getRow(1).getCell(1).getStringCellValue()).isEqualTo("b");
+        assertThat(sheet.getRow(1).getCell(2).getCellType()).isEqualTo(Cell.CELL_TYPE_BLANK);
+    }
 
 }
@@ -15,9 +15,13 @@ package org.talend.dataprep.transformation.service;
 
 import static com.jayway.restassured.RestAssured.given;
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
 import static org.junit.Assert.*;
 import static org.skyscreamer.jsonassert.JSONAssert.assertEquals;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+
 import org.apache.commons.io.IOUtils;
 import org.junit.Assert;
 import org.junit.Before;
@@ -27,8 +31,10 @@ import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
 import org.talend.dataprep.api.preparation.Preparation;
 import org.talend.dataprep.cache.ContentCache;
+import org.talend.dataprep.transformation.cache.StepCheckpointCacheKey;
 import org.talend.dataprep.transformation.cache.TransformationCacheKey;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.jayway.restassured.response.Response;
 
 /**
@@ -228,4 +234,84 @@ public class TransformTests extends TransformationServiceBaseTests {
         assertFalse(contentCache.has(key));
     }
 
+    @Test
+    public void shouldResumeFromCachedStep() throws Exception {
+        // given (step 1 deletes lines, step 2 copies a column)
+        String dataSetId = createDataset("input_dataset.csv", "checkpoint", "text/csv");
+        String preparationId = createEmptyPreparationFromDataset(dataSetId, "checkpoint prep");
+        applyActionFromFile(preparationId, "delete_state_action.json");
+        applyActionFromFile(preparationId, "copy_firstname_action.json");
+        final String checkpointStep = getPreparation(preparationId).getHeadId();
+        transform(preparationId, dataSetId, checkpointStep);
+        final StepCheckpointCacheKey checkpoint = getCheckpointKey(preparationId, dataSetId, checkpointStep);
+        assertTrue(contentCache.has(checkpoint.getMetadataKey()));
+
+        // change checkpoint rows so that output tells if they were used
+        final String rows;
+        try (InputStream content = contentCache.get(checkpoint)) {
+            rows = IOUtils.toString(content);
+        }
+        try (OutputStream content = contentCache.put(checkpoint, ContentCache.TimeToLive.DEFAULT)) {
+            IOUtils.write(rows.replace("Philip", "Resumed"), content);
+        }
+        applyActionFromFile(preparationId, "uppercase_firstname_action.json");
+
+        // when
+        final JsonNode records = getRecords(transform(preparationId, dataSetId, getPreparation(preparationId).getHeadId()));
+
+        // then (only the uppercase action is applied on checkpoint rows)
+        assertThat(records.get(0).get("0001").asText(), is("RESUMED"));
+        assertThat(records.get(0).get("0009").asText(), is("Resumed"));
+        for (JsonNode record : records) {
+            assertFalse(record.has("0010"));
+            assertThat(record.get("0005").asText(), not("NY"));
+        }
+    }
+
+    @Test
+    public void shouldResumeFromCachedStepAsFullTransformation() throws Exception {
+        // given
+        String dataSetId = createDataset("input_dataset.csv", "checkpoint", "text/csv");
+        String preparationId = createEmptyPreparationFromDataset(dataSetId, "checkpoint prep");
+        applyActionFromFile(preparationId, "delete_state_action.json");
+        applyActionFromFile(preparationId, "copy_firstname_action.json");
+        transform(preparationId, dataSetId, getPreparation(preparationId).getHeadId());
+        applyActionFromFile(preparationId, "uppercase_firstname_action.json");
+        final String headId = getPreparation(preparationId).getHeadId();
+
+        // when
+        final String resumed = transform(preparationId, dataSetId, headId);
+        contentCache.clear();
+        final String full = transform(preparationId, dataSetId, headId);
+
+        // then
+        final JsonNode records = getRecords(resumed);
+        assertEquals(getRecords(full).toString(), records.toString(), true);
+        assertThat(records.size(), is(9));
+        assertThat(records.get(0).get("0001").asText(), is("PHILIP"));
+        assertThat(records.get(0).get("0009").asText(), is("Philip"));
+    }
+
+    private String transform(String preparationId, String dataSetId, String stepId) {
+        return given() //
+                .queryParam("stepId", stepId) //
+                .expect().statusCode(200).log().ifError()//
+                .when() //
+                .get("/apply/preparation/{preparationId}/dataset/{datasetId}/{format}", preparationId, dataSetId, "JSON") //
+                .asString();
+    }
+
+    private StepCheckpointCacheKey getCheckpointKey(String preparationId, String dataSetId, String stepId) throws Exception {
+        String dataSetMetadataContent = given() //
+                .expect().statusCode(200).log().ifError()//
+                .when() //
+                .get("/datasets/{id}/metadata", dataSetId) //
+                .asString();
+        final DataSetMetadata metadata = builder.build().readerFor(DataSetMetadata.class).readValue(dataSetMetadataContent);
+        return new StepCheckpointCacheKey(preparationId, metadata, stepId);
+    }
+
+    private JsonNode getRecords(String transformedContent) throws Exception {
+        return mapper.readTree(transformedContent).get("records");
+    }
 }